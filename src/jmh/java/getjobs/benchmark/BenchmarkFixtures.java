@@ -0,0 +1,157 @@
+package getjobs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.modules.boss.dto.BossApiResponse;
+import getjobs.modules.job51.dto.Job51ApiResponse;
+import getjobs.modules.zhilian.dto.ZhiLianApiResponse;
+import getjobs.repository.entity.ConfigEntity;
+import getjobs.repository.entity.JobEntity;
+import getjobs.utils.BossJobDataConverter;
+import getjobs.utils.Job51DataConverter;
+import getjobs.utils.ZhiLianDataConverter;
+import org.springframework.beans.BeanUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 基准测试数据
+ * <p>
+ * fixtures目录下是各平台列表接口的一页响应与Boss直聘职位详情接口的响应，由各平台监控服务使用的同一套DTO解析。
+ * 这些文件应由{@link FixtureExporter}从接口响应归档中导出（脱敏后的真实响应），manifest.json记录每个文件的来源；
+ * 来源不是归档的文件（桩站点生成或手工编写）会在运行基准测试时列出，其结果只能用于对比改动前后，不代表线上数据。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+final class BenchmarkFixtures {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Map<String, Object>> bossJobs() {
+        return read(RecruitmentPlatformEnum.BOSS_ZHIPIN, BossApiResponse.class).getZpData().getJobList();
+    }
+
+    static List<Job51ApiResponse.Job51JobItem> job51Jobs() {
+        return read(RecruitmentPlatformEnum.JOB_51, Job51ApiResponse.class).getResultbody().getJob().getItems();
+    }
+
+    static List<ZhiLianApiResponse.ZhiLianJobItem> zhilianJobs() {
+        return read(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN, ZhiLianApiResponse.class).getData().getList();
+    }
+
+    /**
+     * 三个平台录制页面转换后的岗位实体，顺序为Boss直聘、51job、智联招聘
+     */
+    static List<JobEntity> jobEntities() {
+        List<JobEntity> entities = new ArrayList<>();
+        BossJobDataConverter bossConverter = new BossJobDataConverter();
+        bossJobs().forEach(job -> entities.add(bossConverter.convertToJobEntity(job)));
+        Job51DataConverter job51Converter = new Job51DataConverter();
+        job51Jobs().forEach(job -> entities.add(job51Converter.convertToJobEntity(job)));
+        ZhiLianDataConverter zhilianConverter = new ZhiLianDataConverter();
+        zhilianJobs().forEach(job -> entities.add(zhilianConverter.convertToJobEntity(job)));
+        return entities;
+    }
+
+    /**
+     * 复制岗位实体，只替换加密职位ID，用于生成任意数量互不重复的岗位
+     */
+    static JobEntity copyOf(JobEntity template, String encryptJobId) {
+        JobEntity copy = new JobEntity();
+        BeanUtils.copyProperties(template, copy, "id");
+        copy.setEncryptJobId(encryptJobId);
+        return copy;
+    }
+
+    /**
+     * 常见的过滤配置：期望薪资15-30K，过滤近半年不活跃的HR
+     */
+    static ConfigEntity configEntity() {
+        ConfigEntity entity = new ConfigEntity();
+        entity.setPlatformType(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode());
+        entity.setKeywords(List.of("Java", "Java架构师", "后端开发", "Golang", "大数据开发"));
+        entity.setCityCode(List.of("101020100", "101210100", "101280600"));
+        entity.setCustomCityCode(Map.of("上海", "101020100", "杭州", "101210100", "深圳", "101280600"));
+        entity.setIndustry(List.of("100020", "100021"));
+        entity.setExperience(List.of("105", "106"));
+        entity.setDegree(List.of("203"));
+        entity.setScale(List.of("303", "304", "305", "306"));
+        entity.setStage(List.of("0"));
+        entity.setExpectedSalary(List.of(15, 30));
+        // 与从数据库读出的配置一致使用ArrayList，过滤时会以null（未提供HR活跃状态的平台）调用contains
+        entity.setDeadStatus(new ArrayList<>(List.of("半年前活跃", "近半年活跃", "4月内活跃")));
+        entity.setFilterDeadHR(true);
+        entity.setRecommendJobs(false);
+        return entity;
+    }
+
+    static ConfigDTO config() {
+        return ConfigDTO.convertFromEntity(configEntity());
+    }
+
+    /**
+     * 列表接口原始响应体
+     */
+    static String body(RecruitmentPlatformEnum platform) {
+        return resource(platform.getPlatformCode() + "-page.json");
+    }
+
+    /**
+     * Boss直聘职位详情接口原始响应体，encryptId与列表页第一个岗位相同
+     */
+    static String bossDetailBody() {
+        return resource("boss-detail.json");
+    }
+
+    /**
+     * 来源不是接口响应归档的数据文件
+     *
+     * @return 文件名 -> 来源
+     */
+    static Map<String, String> uncaptured() {
+        Map<String, String> uncaptured = new TreeMap<>();
+        try {
+            OBJECT_MAPPER.readTree(resource("manifest.json")).fields().forEachRemaining(entry -> {
+                String source = entry.getValue().path("source").asText("unknown");
+                if (!"archive".equals(source)) {
+                    uncaptured.put(entry.getKey(), source);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("解析基准测试数据清单失败", e);
+        }
+        return uncaptured;
+    }
+
+    private static String resource(String file) {
+        String resource = "fixtures/" + file;
+        try (InputStream in = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("基准测试数据不存在: " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取基准测试数据失败: " + resource, e);
+        }
+    }
+
+    private static <T> T read(RecruitmentPlatformEnum platform, Class<T> type) {
+        try {
+            return OBJECT_MAPPER.readValue(body(platform), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("解析基准测试数据失败: " + platform.getPlatformCode(), e);
+        }
+    }
+}
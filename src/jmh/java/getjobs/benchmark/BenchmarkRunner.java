@@ -0,0 +1,242 @@
+package getjobs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 基准测试入口
+ * <p>
+ * 运行getjobs.benchmark下的基准测试，附加GC分析器统计分配速率，输出每个基准的ops/s、每次操作分配字节数与分配速率，
+ * 并与基线文件对比：吞吐下降或每次操作分配增加超过阈值的标记为回退，本次应运行但没有结果（执行出错）的基准标记为缺失，
+ * 存在回退或缺失时以状态码1退出。
+ * <p>
+ * 参数：
+ * <ul>
+ *     <li>--update-baseline：把本次结果写入基线文件，只运行部分基准时保留其余基准的基线</li>
+ *     <li>--quick：预热1轮、测量2轮，每轮1秒，用于快速确认改动方向，不建议用来更新基线</li>
+ *     <li>--threshold=0.10：回退阈值，默认10%</li>
+ *     <li>--baseline=path：基线文件，默认src/jmh/baseline.json</li>
+ *     <li>其余参数作为基准名称的正则，只运行匹配的基准，如 ConverterBenchmark、JobRepositoryBenchmark.search</li>
+ * </ul>
+ * 示例：mvn -Pbenchmark compile exec:exec@benchmark -Dbenchmark.args="--quick ConverterBenchmark"
+ * <p>
+ * 原始结果为JMH的JSON格式，写入target/jmh/result.json。基准测试数据中有不是从接口响应归档导出的文件时会先列出。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public final class BenchmarkRunner {
+
+    private static final String PACKAGE = BenchmarkRunner.class.getPackageName() + ".";
+    private static final Path RESULT_FILE = Path.of("target", "jmh", "result.json");
+    private static final Path DEFAULT_BASELINE = Path.of("src", "jmh", "baseline.json");
+    /**
+     * 每次操作分配字节数的波动下限，低于该差值不视为回退
+     */
+    private static final double ALLOC_NOISE_BYTES = 64;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * 一个基准的测量结果，基线文件中的每一项
+     *
+     * @param opsPerSecond     吞吐
+     * @param opsError         吞吐的99.9%置信区间半宽
+     * @param allocBytesPerOp  每次操作分配的字节数
+     * @param allocMbPerSecond 分配速率
+     */
+    public record Measurement(double opsPerSecond, double opsError, double allocBytesPerOp, double allocMbPerSecond) {
+    }
+
+    /**
+     * 基线文件
+     *
+     * @param createdAt  生成时间
+     * @param jdk        生成时的JDK版本
+     * @param benchmarks 基准名称（含参数） -> 测量结果
+     */
+    public record Baseline(String createdAt, String jdk, Map<String, Measurement> benchmarks) {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        boolean updateBaseline = false;
+        boolean quick = false;
+        double threshold = 0.10;
+        Path baselineFile = DEFAULT_BASELINE;
+        List<String> includes = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--update-baseline")) {
+                updateBaseline = true;
+            } else if (arg.equals("--quick")) {
+                quick = true;
+            } else if (arg.startsWith("--threshold=")) {
+                threshold = Double.parseDouble(arg.substring("--threshold=".length()));
+            } else if (arg.startsWith("--baseline=")) {
+                baselineFile = Path.of(arg.substring("--baseline=".length()));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("未知参数: " + arg);
+            } else if (!arg.isBlank()) {
+                includes.add(arg);
+            }
+        }
+
+        Files.createDirectories(RESULT_FILE.getParent());
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .timeUnit(TimeUnit.SECONDS)
+                .jvmArgsAppend("-Xmx1g", "-Dlogback.configurationFile=logback-benchmark.xml")
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE.toString());
+        List<Pattern> patterns = (includes.isEmpty() ? List.of("Benchmark") : includes).stream()
+                .map(include -> Pattern.compile(PACKAGE.replace(".", "\\.") + ".*" + include))
+                .toList();
+        patterns.forEach(pattern -> options.include(pattern.pattern()));
+        if (quick) {
+            options.warmupIterations(1).warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(2).measurementTime(TimeValue.seconds(1));
+        }
+
+        Map<String, String> uncaptured = BenchmarkFixtures.uncaptured();
+        if (!uncaptured.isEmpty()) {
+            System.out.println("以下基准测试数据不是从接口响应归档导出的，结果不代表线上数据，可用FixtureExporter替换: "
+                    + uncaptured);
+        }
+
+        Map<String, Measurement> current = toMeasurements(new Runner(options.build()).run());
+        Baseline baseline = Files.exists(baselineFile)
+                ? OBJECT_MAPPER.readValue(baselineFile.toFile(), Baseline.class) : null;
+        int regressions = report(current, baseline, threshold, patterns);
+
+        if (updateBaseline) {
+            Map<String, Measurement> merged = new TreeMap<>();
+            if (baseline != null) {
+                merged.putAll(baseline.benchmarks());
+            }
+            merged.putAll(current);
+            OBJECT_MAPPER.writeValue(baselineFile.toFile(), new Baseline(
+                    LocalDateTime.now().withNano(0).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+                    Runtime.version().toString(), merged));
+            System.out.println("基线已更新: " + baselineFile);
+        } else if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Measurement> toMeasurements(Collection<RunResult> results) {
+        Map<String, Measurement> measurements = new LinkedHashMap<>();
+        for (RunResult result : results) {
+            StringBuilder name = new StringBuilder(result.getParams().getBenchmark().substring(PACKAGE.length()));
+            Collection<String> paramKeys = result.getParams().getParamsKeys();
+            if (!paramKeys.isEmpty()) {
+                List<String> params = new ArrayList<>();
+                paramKeys.forEach(key -> params.add(key + "=" + result.getParams().getParam(key)));
+                name.append('[').append(String.join(",", params)).append(']');
+            }
+            Map<String, Double> secondary = new LinkedHashMap<>();
+            for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
+                // 旧版本JMH的次要结果名称带有"·"前缀
+                secondary.put(entry.getKey().replace("·", ""), entry.getValue().getScore());
+            }
+            measurements.put(name.toString(), new Measurement(
+                    round(result.getPrimaryResult().getScore()),
+                    round(result.getPrimaryResult().getScoreError()),
+                    round(secondary.getOrDefault("gc.alloc.rate.norm", Double.NaN)),
+                    round(secondary.getOrDefault("gc.alloc.rate", Double.NaN))));
+        }
+        return measurements;
+    }
+
+    /**
+     * 输出对比表
+     *
+     * @return 回退与缺失的基准数
+     */
+    private static int report(Map<String, Measurement> current, Baseline baseline, double threshold,
+                              List<Pattern> patterns) {
+        String format = "%-58s %14s %9s %14s %9s %10s  %s%n";
+        System.out.println();
+        System.out.printf(format, "Benchmark", "ops/s", "vs base", "B/op", "vs base", "MB/s", "");
+        int regressions = 0;
+        for (Map.Entry<String, Measurement> entry : current.entrySet()) {
+            Measurement now = entry.getValue();
+            Measurement base = baseline == null ? null : baseline.benchmarks().get(entry.getKey());
+            String verdict = "无基线";
+            String opsDelta = "";
+            String allocDelta = "";
+            if (base != null) {
+                double opsChange = change(now.opsPerSecond(), base.opsPerSecond());
+                double allocChange = change(now.allocBytesPerOp(), base.allocBytesPerOp());
+                opsDelta = percent(opsChange);
+                allocDelta = percent(allocChange);
+                List<String> reasons = new ArrayList<>();
+                if (opsChange < -threshold) {
+                    reasons.add("吞吐下降");
+                }
+                if (allocChange > threshold && now.allocBytesPerOp() - base.allocBytesPerOp() > ALLOC_NOISE_BYTES) {
+                    reasons.add("分配增加");
+                }
+                verdict = reasons.isEmpty() ? "正常" : "回退: " + String.join("、", reasons);
+                regressions += reasons.isEmpty() ? 0 : 1;
+            }
+            System.out.printf(format, entry.getKey(), "%.1f".formatted(now.opsPerSecond()), opsDelta,
+                    "%.0f".formatted(now.allocBytesPerOp()), allocDelta,
+                    "%.1f".formatted(now.allocMbPerSecond()), verdict);
+        }
+        if (baseline != null) {
+            for (String name : baseline.benchmarks().keySet()) {
+                String benchmark = PACKAGE + name.replaceFirst("\\[.*$", "");
+                if (!current.containsKey(name) && patterns.stream().anyMatch(p -> p.matcher(benchmark).find())) {
+                    System.out.printf(format, name, "-", "", "-", "", "-", "缺失: 本次没有结果，检查上方的异常");
+                    regressions++;
+                }
+            }
+        }
+        System.out.println();
+        if (baseline == null) {
+            System.out.println("未找到基线文件，使用 --update-baseline 生成");
+        } else {
+            System.out.printf("基线生成于 %s（JDK %s），回退阈值 %.0f%%，回退或缺失 %d 项%n",
+                    baseline.createdAt(), baseline.jdk(), threshold * 100, regressions);
+        }
+        System.out.println("原始结果: " + RESULT_FILE);
+        return regressions;
+    }
+
+    private static double change(double now, double base) {
+        return base == 0 || Double.isNaN(base) || Double.isNaN(now) ? 0 : (now - base) / base;
+    }
+
+    private static String percent(double change) {
+        return "%+.1f%%".formatted(change * 100);
+    }
+
+    private static double round(double value) {
+        return Double.isNaN(value) ? value : Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,91 @@
+package getjobs.benchmark;
+
+import com.github.openjson.JSONObject;
+import getjobs.modules.boss.service.playwright.BossApiMonitorService;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import getjobs.utils.BossJobDataConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Boss直聘职位详情响应的解析与回填
+ * <p>
+ * 每次操作解析一条职位详情响应，按jobInfo、bossInfo、brandComInfo回填到列表页转换出的岗位实体，
+ * 与BossApiMonitorService处理一次详情接口响应的工作量一致。仓库替换为内存实现，只测解析与回填，不含数据库写入；
+ * parse只解析响应体，作为回填部分耗时的对照。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BossDetailBenchmark {
+
+    private String body;
+    private JobEntity entity;
+    private DetailParser parser;
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkFixtures.bossDetailBody();
+        entity = new BossJobDataConverter().convertToJobEntity(BenchmarkFixtures.bossJobs().get(0));
+        parser = new DetailParser(repository(entity));
+
+        // 详情与列表页岗位不对应时解析器只记录日志后返回，这里确认测的是回填成功的路径
+        parser.parse(new JSONObject(body));
+        if (entity.getJobPostDescription() == null || entity.getBossActiveTimeDesc() == null
+                || entity.getBrandIntroduce() == null) {
+            throw new IllegalStateException("基准测试数据中的职位详情未能回填到岗位，encryptId需与列表页第一个岗位一致");
+        }
+    }
+
+    @Benchmark
+    public JSONObject parse() {
+        return new JSONObject(body);
+    }
+
+    @Benchmark
+    public JobEntity parseAndUpdate() {
+        parser.parse(new JSONObject(body));
+        return entity;
+    }
+
+    /**
+     * 只按加密职位ID返回给定岗位、保存时不做任何事的仓库，详情解析不会调用其他方法
+     */
+    private static JobRepository repository(JobEntity entity) {
+        return (JobRepository) Proxy.newProxyInstance(JobRepository.class.getClassLoader(),
+                new Class<?>[]{JobRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "findByEncryptJobId" -> entity.getEncryptJobId().equals(args[0]) ? entity : null;
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "BenchmarkJobRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * 详情解析方法为protected，通过子类调用；列表处理用到的事件、指标与抓包日志在详情解析中不会用到
+     */
+    private static final class DetailParser extends BossApiMonitorService {
+
+        private DetailParser(JobRepository jobRepository) {
+            super(jobRepository, null, null, null, new BossJobDataConverter());
+        }
+
+        private void parse(JSONObject response) {
+            parseAndUpdateJobDetail(response);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package getjobs.benchmark;
+
+import getjobs.modules.job51.dto.Job51ApiResponse;
+import getjobs.modules.zhilian.dto.ZhiLianApiResponse;
+import getjobs.utils.BossJobDataConverter;
+import getjobs.utils.Job51DataConverter;
+import getjobs.utils.ZhiLianDataConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 各平台接口数据转换为岗位实体
+ * <p>
+ * 每次操作转换录制的一整页（15个岗位），与监控服务处理一次列表接口响应的工作量一致。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConverterBenchmark {
+
+    private final BossJobDataConverter bossConverter = new BossJobDataConverter();
+    private final Job51DataConverter job51Converter = new Job51DataConverter();
+    private final ZhiLianDataConverter zhilianConverter = new ZhiLianDataConverter();
+
+    private List<Map<String, Object>> bossJobs;
+    private List<Job51ApiResponse.Job51JobItem> job51Jobs;
+    private List<ZhiLianApiResponse.ZhiLianJobItem> zhilianJobs;
+
+    @Setup
+    public void setUp() {
+        bossJobs = BenchmarkFixtures.bossJobs();
+        job51Jobs = BenchmarkFixtures.job51Jobs();
+        zhilianJobs = BenchmarkFixtures.zhilianJobs();
+    }
+
+    @Benchmark
+    public void bossPage(Blackhole blackhole) {
+        for (Map<String, Object> job : bossJobs) {
+            blackhole.consume(bossConverter.convertToJobEntity(job));
+        }
+    }
+
+    @Benchmark
+    public void job51Page(Blackhole blackhole) {
+        for (Job51ApiResponse.Job51JobItem job : job51Jobs) {
+            blackhole.consume(job51Converter.convertToJobEntity(job));
+        }
+    }
+
+    @Benchmark
+    public void zhilianPage(Blackhole blackhole) {
+        for (ZhiLianApiResponse.ZhiLianJobItem job : zhilianJobs) {
+            blackhole.consume(zhilianConverter.convertToJobEntity(job));
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package getjobs.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import getjobs.modules.boss.dto.BossApiResponse;
+import getjobs.modules.job51.dto.Job51ApiResponse;
+import getjobs.modules.zhilian.dto.ZhiLianApiResponse;
+import getjobs.service.replay.ArchivedResponse;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 从接口响应归档导出基准测试数据
+ * <p>
+ * 读取{@link getjobs.service.replay.ResponseArchive}写入的归档分段，每个路由取一条响应：列表接口取岗位数最多的一页，
+ * 详情接口取字段最完整的一条。脱敏后写入fixtures目录，并在manifest.json中记录来源分段与捕获时间。
+ * <p>
+ * 脱敏规则：
+ * <ul>
+ *     <li>各类ID、securityId、lid等标识逐字符替换为同类字符（数字换数字、字母换字母），长度与分隔符不变，
+ *     同一次导出中相同的原值得到相同的结果，列表与详情之间的关联保持不变</li>
+ *     <li>招聘者姓名只保留“先生/女士”称谓，头像地址保留域名与扩展名、替换路径</li>
+ *     <li>岗位描述与公司介绍中的手机号、邮箱、微信号按字符打码</li>
+ *     <li>以JSON字符串内嵌的字段（如51job的property、exrInfo02）先解析再脱敏，写回时仍为JSON字符串</li>
+ * </ul>
+ * 导出后用各平台监控服务使用的DTO重新解析，解析失败或内嵌字段丢失时不写入。
+ * <p>
+ * 参数：
+ * <ul>
+ *     <li>--archive=dir：归档目录，默认~/getjobs/archive（archive.dir）</li>
+ *     <li>--out=dir：输出目录，默认src/jmh/resources/fixtures</li>
+ * </ul>
+ * 示例：mvn -Pbenchmark compile exec:exec@fixtures -Dbenchmark.args="--archive=/data/getjobs/archive"
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public final class FixtureExporter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private static final Set<String> ID_KEYS = Set.of("securityId", "lid", "hrUid", "encCoId", "coId", "jobId",
+            "requestId", "sessionId", "number", "positionNumber", "companyNumber");
+    private static final Set<String> PERSON_KEYS = Set.of("bossName", "hrName", "staffName", "realName");
+    private static final Set<String> AVATAR_KEYS = Set.of("bossAvatar", "smallHrLogoUrl", "hrLogo", "tiny", "large",
+            "avatarStickerUrl", "staffAvatar", "avatar");
+    private static final Set<String> TEXT_KEYS = Set.of("jobDescribe", "postDescription", "introduce", "jobSummary",
+            "description");
+    private static final Pattern AVATAR_URL = Pattern.compile("^(https?://[^/]+)(/.*?)(\\.[A-Za-z0-9]{2,4})?$");
+    private static final Pattern CONTACT = Pattern.compile(
+            "1[3-9]\\d{9}|[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+|(微信|vx|VX|wx|WX)[:：\\s]*[A-Za-z][\\w-]{4,}");
+
+    private FixtureExporter() {
+    }
+
+    /**
+     * 导出目标
+     *
+     * @param route  归档中的路由名称
+     * @param file   输出文件名
+     * @param size   同一路由多条响应中择优的依据，越大越好，返回负数表示该响应不可用
+     * @param verify 脱敏后的校验
+     */
+    private record Target(String route, String file, ToIntFunction<JsonNode> size,
+                          Predicate<String> verify) {
+    }
+
+    /**
+     * 选中的响应
+     */
+    private record Candidate(ArchivedResponse response, String segment, int size) {
+    }
+
+    private static final List<Target> TARGETS = List.of(
+            new Target("boss-job-search", "boss-page.json",
+                    tree -> tree.path("code").asInt(-1) == 0 ? tree.path("zpData").path("jobList").size() : -1,
+                    body -> !read(body, BossApiResponse.class).getZpData().getJobList().isEmpty()),
+            new Target("job51-search", "51job-page.json",
+                    tree -> "1".equals(tree.path("status").asText()) ? items51(tree).size() : -1,
+                    FixtureExporter::verifyJob51),
+            new Target("zhilian-search", "zhilian-page.json",
+                    tree -> tree.path("code").asInt(-1) == 200 ? tree.path("data").path("list").size() : -1,
+                    body -> !read(body, ZhiLianApiResponse.class).getData().getList().isEmpty()),
+            new Target("boss-job-detail", "boss-detail.json",
+                    tree -> tree.path("code").asInt(-1) == 0 && tree.path("zpData").path("jobInfo").isObject()
+                            ? tree.path("zpData").path("jobInfo").size() + tree.path("zpData").path("bossInfo").size()
+                            + tree.path("zpData").path("brandComInfo").size() : -1,
+                    body -> read(body, JsonNode.class).path("zpData").path("jobInfo").path("encryptId").isTextual()));
+
+    public static void main(String[] args) throws IOException {
+        Path archive = Path.of(System.getProperty("user.home"), "getjobs", "archive");
+        Path out = Path.of("src", "jmh", "resources", "fixtures");
+        for (String arg : args) {
+            if (arg.startsWith("--archive=")) {
+                archive = Path.of(arg.substring("--archive=".length()));
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring("--out=".length()));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("未知参数: " + arg);
+            }
+        }
+        if (!Files.isDirectory(archive)) {
+            throw new IllegalStateException("归档目录不存在: " + archive + "，需先开启archive.enabled采集一段时间");
+        }
+
+        Map<String, Candidate> best = scan(archive);
+        Sanitizer sanitizer = new Sanitizer();
+        Path manifestFile = out.resolve("manifest.json");
+        Map<String, Map<String, Object>> manifest = new TreeMap<>();
+        if (Files.exists(manifestFile)) {
+            manifest.putAll(OBJECT_MAPPER.readValue(manifestFile.toFile(),
+                    new TypeReference<Map<String, Map<String, Object>>>() {
+                    }));
+        }
+        int exported = 0;
+        for (Target target : TARGETS) {
+            Candidate candidate = best.get(target.route());
+            if (candidate == null) {
+                System.out.printf("%-18s 归档中没有可用的响应，保留原文件%n", target.route());
+                continue;
+            }
+            String body = sanitizer.sanitize(candidate.response().body());
+            if (!verify(target, body)) {
+                System.out.printf("%-18s 脱敏后无法按DTO解析，保留原文件%n", target.route());
+                continue;
+            }
+            Files.createDirectories(out);
+            Files.writeString(out.resolve(target.file()), body, StandardCharsets.UTF_8);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("source", "archive");
+            entry.put("route", target.route());
+            entry.put("segment", candidate.segment());
+            entry.put("capturedAt", candidate.response().time());
+            entry.put("exportedAt", LocalDateTime.now().withNano(0));
+            entry.put("size", candidate.size());
+            manifest.put(target.file(), entry);
+            exported++;
+            System.out.printf("%-18s -> %s（%s，%s，%d项）%n", target.route(), target.file(), candidate.segment(),
+                    candidate.response().time(), candidate.size());
+        }
+        if (exported > 0) {
+            OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(manifestFile.toFile(), manifest);
+        }
+        System.out.println("已导出 " + exported + " 个基准测试数据文件，脱敏替换 " + sanitizer.replaced + " 个字段");
+    }
+
+    /**
+     * 扫描全部分段，每个路由保留择优依据最大的响应
+     */
+    private static Map<String, Candidate> scan(Path archive) throws IOException {
+        Map<String, Target> byRoute = new LinkedHashMap<>();
+        TARGETS.forEach(target -> byRoute.put(target.route(), target));
+        Map<String, Candidate> best = new LinkedHashMap<>();
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(archive)) {
+            segments = files.filter(file -> file.getFileName().toString().endsWith(".ndjson.gz")).sorted().toList();
+        }
+        for (Path segment : segments) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(segment)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    ArchivedResponse response;
+                    try {
+                        response = OBJECT_MAPPER.readValue(line, ArchivedResponse.class);
+                    } catch (IOException e) {
+                        // 进程崩溃时分段末尾可能不完整
+                        continue;
+                    }
+                    Target target = byRoute.get(response.route());
+                    if (target == null || response.status() != 200 || response.body() == null) {
+                        continue;
+                    }
+                    int size;
+                    try {
+                        size = target.size().applyAsInt(OBJECT_MAPPER.readTree(response.body()));
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    Candidate current = best.get(response.route());
+                    if (size >= 0 && (current == null || size > current.size())) {
+                        best.put(response.route(), new Candidate(response, segment.getFileName().toString(), size));
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("读取归档分段失败，跳过: " + segment.getFileName() + "，" + e.getMessage());
+            }
+        }
+        return best;
+    }
+
+    private static boolean verify(Target target, String body) {
+        try {
+            return target.verify().test(body);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 51job的property与exrInfo02以JSON字符串内嵌，脱敏后仍须能由内嵌字段反序列化器解析
+     */
+    private static boolean verifyJob51(String body) {
+        List<Job51ApiResponse.Job51JobItem> items = read(body, Job51ApiResponse.class).getResultbody().getJob()
+                .getItems();
+        JsonNode first = items51(read(body, JsonNode.class)).get(0);
+        return !items.isEmpty() && (!first.path("property").isTextual() || items.get(0).getProperty() != null)
+                && (!first.path("exrInfo02").isTextual() || items.get(0).getExrInfo02() != null);
+    }
+
+    private static JsonNode items51(JsonNode tree) {
+        return tree.path("resultbody").path("job").path("items");
+    }
+
+    private static <T> T read(String body, Class<T> type) {
+        try {
+            return OBJECT_MAPPER.readValue(body, type);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 脱敏，同一实例中相同的原值替换结果相同
+     */
+    static final class Sanitizer {
+
+        private final byte[] salt = new byte[16];
+        private final Map<String, String> cache = new TreeMap<>();
+        private int replaced;
+
+        Sanitizer() {
+            new SecureRandom().nextBytes(salt);
+        }
+
+        String sanitize(String body) {
+            try {
+                JsonNode tree = OBJECT_MAPPER.readTree(body);
+                return OBJECT_MAPPER.writeValueAsString(walk(null, null, tree));
+            } catch (IOException e) {
+                throw new IllegalStateException("响应体不是合法JSON", e);
+            }
+        }
+
+        private JsonNode walk(String parent, String key, JsonNode node) {
+            if (node instanceof ObjectNode object) {
+                List<String> names = new ArrayList<>();
+                object.fieldNames().forEachRemaining(names::add);
+                for (String name : names) {
+                    object.set(name, walk(key, name, object.get(name)));
+                }
+                return object;
+            }
+            if (node instanceof ArrayNode array) {
+                for (int i = 0; i < array.size(); i++) {
+                    array.set(i, walk(parent, key, array.get(i)));
+                }
+                return array;
+            }
+            if (!node.isTextual() || key == null || node.asText().isEmpty()) {
+                return node;
+            }
+            return TextNode.valueOf(sanitizeText(parent, key, node.asText()));
+        }
+
+        private String sanitizeText(String parent, String key, String value) {
+            String trimmed = value.trim();
+            if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+                try {
+                    JsonNode embedded = OBJECT_MAPPER.readTree(trimmed);
+                    return OBJECT_MAPPER.writeValueAsString(walk(parent, key, embedded));
+                } catch (IOException e) {
+                    // 不是内嵌JSON，按普通文本处理
+                }
+            }
+            if (isIdKey(key)) {
+                return count(scramble(value));
+            }
+            if (PERSON_KEYS.contains(key) || ("bossInfo".equals(parent) && "name".equals(key))) {
+                return count(value.endsWith("先生") ? "某先生" : value.endsWith("女士") ? "某女士" : "某某");
+            }
+            if (AVATAR_KEYS.contains(key)) {
+                Matcher matcher = AVATAR_URL.matcher(value);
+                return count(matcher.matches()
+                        ? matcher.group(1) + scramble(matcher.group(2)) + Objects.toString(matcher.group(3), "")
+                        : scramble(value));
+            }
+            if (TEXT_KEYS.contains(key)) {
+                Matcher matcher = CONTACT.matcher(value);
+                StringBuilder masked = new StringBuilder();
+                while (matcher.find()) {
+                    matcher.appendReplacement(masked, "*".repeat(matcher.group().length()));
+                    replaced++;
+                }
+                return matcher.appendTail(masked).toString();
+            }
+            return value;
+        }
+
+        private static boolean isIdKey(String key) {
+            return ID_KEYS.contains(key) || key.endsWith("Id") || key.endsWith("Uid") || key.endsWith("ID");
+        }
+
+        private String count(String value) {
+            replaced++;
+            return value;
+        }
+
+        /**
+         * 逐字符替换：数字换数字、大小写字母换同类字母，其余字符保留
+         */
+        private String scramble(String value) {
+            return cache.computeIfAbsent(value, original -> {
+                byte[] digest = digest(original);
+                StringBuilder result = new StringBuilder(original.length());
+                for (int i = 0; i < original.length(); i++) {
+                    char c = original.charAt(i);
+                    int n = digest[i % digest.length] & 0xff;
+                    if (i >= digest.length) {
+                        n = (n + i * 31) & 0xff;
+                    }
+                    if (c >= '0' && c <= '9') {
+                        result.append((char) ('0' + n % 10));
+                    } else if (c >= 'a' && c <= 'z') {
+                        result.append((char) ('a' + n % 26));
+                    } else if (c >= 'A' && c <= 'Z') {
+                        result.append((char) ('A' + n % 26));
+                    } else {
+                        result.append(c);
+                    }
+                }
+                return result.toString();
+            });
+        }
+
+        private byte[] digest(String value) {
+            try {
+                MessageDigest sha = MessageDigest.getInstance("SHA-256");
+                sha.update(salt);
+                return sha.digest(value.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
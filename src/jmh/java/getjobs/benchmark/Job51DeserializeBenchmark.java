@@ -0,0 +1,75 @@
+package getjobs.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.modules.job51.dto.Job51ApiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+/**
+ * 51job列表接口响应的反序列化
+ * <p>
+ * 每次操作把录制的一整页响应体（15个岗位）解析为{@link Job51ApiResponse}，使用与Job51ApiMonitorService相同的
+ * ObjectMapper配置。接口把property、exrInfo02以JSON字符串嵌在岗位中，由Job51EmbeddedJsonDeserializer在外层解析时
+ * 一并解析；embeddedObjects把这两个字段改为普通对象，作为同一页数据不经过字符串解析的对照。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class Job51DeserializeBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String embeddedStrings;
+    private String embeddedObjects;
+
+    @Setup
+    public void setUp() throws IOException {
+        embeddedStrings = BenchmarkFixtures.body(RecruitmentPlatformEnum.JOB_51);
+        ObjectNode page = (ObjectNode) objectMapper.readTree(embeddedStrings);
+        page.path("resultbody").path("job").path("items").forEach(item -> {
+            ObjectNode job = (ObjectNode) item;
+            for (String field : new String[]{"property", "exrInfo02"}) {
+                if (job.path(field).isTextual()) {
+                    try {
+                        job.set(field, objectMapper.readTree(job.get(field).asText()));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("基准测试数据中的" + field + "不是合法JSON", e);
+                    }
+                }
+            }
+        });
+        embeddedObjects = objectMapper.writeValueAsString(page);
+
+        // 内嵌字段解析失败时反序列化器只记录日志并返回null，这里确认测的是解析成功的路径
+        for (String body : new String[]{embeddedStrings, embeddedObjects}) {
+            Job51ApiResponse.Job51JobItem first = objectMapper.readValue(body, Job51ApiResponse.class)
+                    .getResultbody().getJob().getItems().get(0);
+            if (first.getProperty() == null || first.getExrInfo02() == null) {
+                throw new IllegalStateException("基准测试数据中的property或exrInfo02未能解析");
+            }
+        }
+    }
+
+    @Benchmark
+    public Job51ApiResponse embeddedStrings() throws IOException {
+        return objectMapper.readValue(embeddedStrings, Job51ApiResponse.class);
+    }
+
+    @Benchmark
+    public Job51ApiResponse embeddedObjects() throws IOException {
+        return objectMapper.readValue(embeddedObjects, Job51ApiResponse.class);
+    }
+}
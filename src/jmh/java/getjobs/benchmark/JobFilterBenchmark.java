@@ -0,0 +1,89 @@
+package getjobs.benchmark;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.modules.boss.dto.JobDTO;
+import getjobs.modules.boss.service.JobFilterService;
+import getjobs.repository.entity.JobEntity;
+import getjobs.service.JobService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * 岗位过滤与岗位实体转DTO
+ * <p>
+ * 过滤按薪资范围、HR活跃状态与岗位、公司、招聘者黑名单判断，黑名单规模与常见配置相当；
+ * 每次操作处理jobs个岗位，岗位由三个平台的录制页面循环生成。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JobFilterBenchmark {
+
+    @Param({"1000"})
+    public int jobs;
+
+    private final JobFilterService filterService = new JobFilterService();
+    private final JobService jobService = new JobService(null);
+
+    private ConfigDTO config;
+    private List<JobEntity> entities;
+    private List<JobDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        config = BenchmarkFixtures.config();
+        blacklist("blackJobs", 30, "销售");
+        blacklist("blackCompanies", 50, "外包科技有限公司");
+        blacklist("blackRecruiters", 20, "猎头");
+
+        List<JobEntity> templates = BenchmarkFixtures.jobEntities();
+        entities = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            JobEntity template = templates.get(i % templates.size());
+            entities.add(BenchmarkFixtures.copyOf(template, template.getEncryptJobId() + "-" + i));
+        }
+        dtos = entities.stream().map(jobService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public List<JobDTO> filterJobs() {
+        return filterService.filterJobs(dtos, config);
+    }
+
+    @Benchmark
+    public void convertToDTO(Blackhole blackhole) {
+        for (JobEntity entity : entities) {
+            blackhole.consume(jobService.convertToDTO(entity));
+        }
+    }
+
+    /**
+     * 黑名单没有对外的设置方法，直接写入字段，关键词编号后互不相同，第一个为常见的原词
+     */
+    @SuppressWarnings("unchecked")
+    private void blacklist(String fieldName, int size, String keyword) {
+        Field field = ReflectionUtils.findField(JobFilterService.class, fieldName);
+        ReflectionUtils.makeAccessible(field);
+        Set<String> values = (Set<String>) ReflectionUtils.getField(field, filterService);
+        values.add(keyword);
+        IntStream.range(1, size).forEach(i -> values.add(keyword + i));
+    }
+}
@@ -0,0 +1,141 @@
+package getjobs.benchmark;
+
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 岗位表的入库与搜索
+ * <p>
+ * 每个表规模单独启动一个只包含数据源、JPA与岗位仓库的Spring上下文，使用与应用相同的SQLite内存库配置，
+ * 预先写入tableSize个岗位。入库与监控服务处理一页响应的流程一致：在一个事务中逐个按加密职位ID查重，
+ * 再批量保存新岗位，每页15个岗位中5个已存在；每轮迭代结束后删除本轮新增的岗位，使表规模保持不变。
+ * 搜索调用岗位列表接口使用的分页搜索（含总数查询），分别按关键词跨平台搜索与按平台列出。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JobRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 15;
+    private static final int EXISTING_PER_PAGE = 5;
+    private static final int SEED_BATCH = 1000;
+
+    @Param({"1000", "10000", "50000"})
+    public int tableSize;
+
+    private ConfigurableApplicationContext context;
+    private JobRepository jobRepository;
+    private TransactionTemplate transactionTemplate;
+    private List<JobEntity> templates;
+    private final List<JobEntity> inserted = new ArrayList<>();
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RepositoryConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.profiles.active=benchmark",
+                        "--spring.datasource.url=jdbc:sqlite:file:jmh?mode=memory&cache=shared",
+                        "--logging.config=classpath:logback-benchmark.xml");
+        jobRepository = context.getBean(JobRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        templates = BenchmarkFixtures.jobEntities();
+
+        for (int start = 0; start < tableSize; start += SEED_BATCH) {
+            List<JobEntity> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = start; i < Math.min(start + SEED_BATCH, tableSize); i++) {
+                batch.add(BenchmarkFixtures.copyOf(templates.get(i % templates.size()), seededId(i)));
+            }
+            transactionTemplate.executeWithoutResult(status -> jobRepository.saveAll(batch));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeInserted() {
+        if (!inserted.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.deleteAllInBatch(inserted));
+            inserted.clear();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int ingestPage() {
+        List<JobEntity> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            long n = sequence++;
+            String encryptJobId = i < EXISTING_PER_PAGE ? seededId((int) (n % tableSize)) : "new-" + n;
+            page.add(BenchmarkFixtures.copyOf(templates.get((int) (n % templates.size())), encryptJobId));
+        }
+        List<JobEntity> saved = transactionTemplate.execute(status -> {
+            List<JobEntity> newJobs = page.stream()
+                    .filter(entity -> !jobRepository.existsByEncryptJobId(entity.getEncryptJobId()))
+                    .toList();
+            return jobRepository.saveAll(newJobs);
+        });
+        inserted.addAll(saved);
+        return saved.size();
+    }
+
+    @Benchmark
+    public Page<JobEntity> searchKeyword() {
+        return jobRepository.search(null, "java", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<JobEntity> searchPlatform() {
+        return jobRepository.search("zhilian", null, PageRequest.of(0, 20));
+    }
+
+    private static String seededId(int i) {
+        return "seed-" + i;
+    }
+
+    /**
+     * 只包含数据源、JPA与岗位仓库，不扫描应用的其他组件
+     */
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan("getjobs.repository.entity")
+    @EnableJpaRepositories(basePackageClasses = JobRepository.class)
+    static class RepositoryConfiguration {
+    }
+}
@@ -0,0 +1,106 @@
+package getjobs.benchmark;
+
+import getjobs.repository.entity.ConfigEntity;
+import getjobs.repository.entity.JsonListIntegerConverter;
+import getjobs.repository.entity.JsonListStringConverter;
+import getjobs.repository.entity.JsonMapLongConverter;
+import getjobs.repository.entity.JsonMapStringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA的JSON字段转换器
+ * <p>
+ * 数据取自常见的平台配置与任务计数器，分别测写入数据库列与读取为实体属性两个方向。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonConverterBenchmark {
+
+    private final JsonListStringConverter listStringConverter = new JsonListStringConverter();
+    private final JsonListIntegerConverter listIntegerConverter = new JsonListIntegerConverter();
+    private final JsonMapStringConverter mapStringConverter = new JsonMapStringConverter();
+    private final JsonMapLongConverter mapLongConverter = new JsonMapLongConverter();
+
+    private List<String> keywords;
+    private List<Integer> expectedSalary;
+    private Map<String, String> customCityCode;
+    private Map<String, Long> counters;
+    private String keywordsColumn;
+    private String expectedSalaryColumn;
+    private String customCityCodeColumn;
+    private String countersColumn;
+
+    @Setup
+    public void setUp() {
+        ConfigEntity config = BenchmarkFixtures.configEntity();
+        keywords = config.getKeywords();
+        expectedSalary = config.getExpectedSalary();
+        customCityCode = config.getCustomCityCode();
+        counters = new LinkedHashMap<>();
+        counters.put("pages", 25L);
+        counters.put("collected", 375L);
+        counters.put("newJobs", 212L);
+        counters.put("duplicates", 163L);
+        counters.put("filtered", 148L);
+        counters.put("delivered", 30L);
+        keywordsColumn = listStringConverter.convertToDatabaseColumn(keywords);
+        expectedSalaryColumn = listIntegerConverter.convertToDatabaseColumn(expectedSalary);
+        customCityCodeColumn = mapStringConverter.convertToDatabaseColumn(customCityCode);
+        countersColumn = mapLongConverter.convertToDatabaseColumn(counters);
+    }
+
+    @Benchmark
+    public String listStringToColumn() {
+        return listStringConverter.convertToDatabaseColumn(keywords);
+    }
+
+    @Benchmark
+    public List<String> listStringToAttribute() {
+        return listStringConverter.convertToEntityAttribute(keywordsColumn);
+    }
+
+    @Benchmark
+    public String listIntegerToColumn() {
+        return listIntegerConverter.convertToDatabaseColumn(expectedSalary);
+    }
+
+    @Benchmark
+    public List<Integer> listIntegerToAttribute() {
+        return listIntegerConverter.convertToEntityAttribute(expectedSalaryColumn);
+    }
+
+    @Benchmark
+    public String mapStringToColumn() {
+        return mapStringConverter.convertToDatabaseColumn(customCityCode);
+    }
+
+    @Benchmark
+    public Map<String, String> mapStringToAttribute() {
+        return mapStringConverter.convertToEntityAttribute(customCityCodeColumn);
+    }
+
+    @Benchmark
+    public String mapLongToColumn() {
+        return mapLongConverter.convertToDatabaseColumn(counters);
+    }
+
+    @Benchmark
+    public Map<String, Long> mapLongToAttribute() {
+        return mapLongConverter.convertToEntityAttribute(countersColumn);
+    }
+}
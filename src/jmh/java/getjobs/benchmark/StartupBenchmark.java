@@ -0,0 +1,200 @@
+package getjobs.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 启动耗时对比：浏览器立即启动与按需启动
+ * <p>
+ * 每轮以独立进程分别按两种方式（browser.launch.eager=true/false）启动应用，使用临时用户目录与空闲端口，
+ * 通过/api/health读取JVM启动到ApplicationReady的耗时，随后向桩站点压测接口提交一个小规模采集任务，
+ * 作为启动后的首个浏览器任务，读取它从提交到结束的耗时，结束后关闭进程。
+ * 按需启动时首个任务包含浏览器启动时间，立即启动时这部分计入应用启动，因此同时输出两者之和。
+ * <p>
+ * 参数：
+ * <ul>
+ *     <li>--rounds=3：每种方式的启动次数</li>
+ *     <li>--platform=zhilian：首个任务采集的平台，需为桩站点支持的平台</li>
+ *     <li>--timeout-seconds=180：单次启动与首个任务的等待上限</li>
+ * </ul>
+ * 示例：mvn -Pbenchmark compile exec:exec@startup -Dbenchmark.args="--rounds=3"
+ * <p>
+ * 没有安装浏览器的环境中首个任务会失败，此时任务耗时只反映启动失败前的等待，结果中的任务状态会标明。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public final class StartupBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private static final long POLL_INTERVAL_MS = 100;
+
+    private StartupBenchmark() {
+    }
+
+    /**
+     * 一次启动的测量结果
+     *
+     * @param mode           eager或lazy
+     * @param round          轮次
+     * @param readyMs        JVM启动到ApplicationReady
+     * @param firstTaskMs    首个浏览器任务从提交到结束
+     * @param firstTaskState 首个浏览器任务的结束状态
+     */
+    private record Sample(String mode, int round, long readyMs, long firstTaskMs, String firstTaskState) {
+
+        long totalMs() {
+            return readyMs + firstTaskMs;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rounds = 3;
+        String platform = "zhilian";
+        long timeoutMs = TimeUnit.SECONDS.toMillis(180);
+        for (String arg : args) {
+            if (arg.startsWith("--rounds=")) {
+                rounds = Integer.parseInt(arg.substring("--rounds=".length()));
+            } else if (arg.startsWith("--platform=")) {
+                platform = arg.substring("--platform=".length());
+            } else if (arg.startsWith("--timeout-seconds=")) {
+                timeoutMs = TimeUnit.SECONDS.toMillis(Long.parseLong(arg.substring("--timeout-seconds=".length())));
+            } else if (!arg.isBlank()) {
+                throw new IllegalArgumentException("未知参数: " + arg);
+            }
+        }
+
+        List<Sample> samples = new ArrayList<>();
+        for (int round = 1; round <= rounds; round++) {
+            // 两种方式交替启动，减少机器状态变化对某一种方式的影响
+            for (boolean eager : new boolean[]{true, false}) {
+                Sample sample = measure(eager, round, platform, timeoutMs);
+                System.out.printf("%-6s 第%d轮  就绪: %6d ms  首个任务: %6d ms（%s）  合计: %6d ms%n", sample.mode(),
+                        round, sample.readyMs(), sample.firstTaskMs(), sample.firstTaskState(), sample.totalMs());
+                samples.add(sample);
+            }
+        }
+        report(samples);
+    }
+
+    private static Sample measure(boolean eager, int round, String platform, long timeoutMs)
+            throws IOException, InterruptedException {
+        Path home = Files.createTempDirectory("getjobs-startup");
+        int port = freePort();
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx1g",
+                "-Duser.home=" + home,
+                "-cp", System.getProperty("java.class.path"),
+                "getjobs.GetJobsApplication",
+                "--server.port=" + port,
+                "--stub.site.port=" + freePort(),
+                "--browser.launch.eager=" + eager);
+        File log = home.resolve("app.log").toFile();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(log).start();
+        String base = "http://127.0.0.1:" + port;
+        try {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            JsonNode ready = awaitStartup(base, deadline, startup -> startup.path("jvmToReadyMs").isNumber(), process);
+            long readyMs = ready.path("jvmToReadyMs").asLong();
+
+            post(base + "/api/stub/benchmark", Map.of("platforms", List.of(platform), "cityCodes", "530",
+                    "keywords", "java", "pages", 1, "pageSize", 5, "filter", false, "timeoutMinutes", 2));
+            JsonNode done = awaitStartup(base, deadline, startup -> startup.path("firstBrowserTask").isObject(),
+                    process);
+            JsonNode task = done.path("firstBrowserTask");
+            return new Sample(eager ? "eager" : "lazy", round, readyMs, task.path("latencyMs").asLong(),
+                    task.path("state").asText());
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException(e.getMessage() + "，应用日志: " + log, e);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * 轮询健康检查接口，直到启动耗时满足条件
+     */
+    private static JsonNode awaitStartup(String base, long deadline, Predicate<JsonNode> until,
+                                         Process process) throws InterruptedException {
+        while (System.currentTimeMillis() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("应用进程已退出，退出码: " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = HTTP.send(HttpRequest.newBuilder(URI.create(base + "/api/health"))
+                        .timeout(Duration.ofSeconds(2)).GET().build(), HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    JsonNode startup = OBJECT_MAPPER.readTree(response.body()).path("startup");
+                    if (until.test(startup)) {
+                        return startup;
+                    }
+                }
+            } catch (IOException e) {
+                // 端口尚未监听
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+        throw new IllegalStateException("等待应用启动或首个任务超时");
+    }
+
+    private static void post(String url, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = HTTP.send(HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(OBJECT_MAPPER.writeValueAsString(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("提交首个任务失败: " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("获取空闲端口失败", e);
+        }
+    }
+
+    private static void report(List<Sample> samples) {
+        System.out.println();
+        System.out.printf("%-6s %8s %14s %14s %14s%n", "mode", "rounds", "ready ms", "first task ms", "total ms");
+        for (String mode : List.of("eager", "lazy")) {
+            List<Sample> byMode = samples.stream().filter(sample -> sample.mode().equals(mode)).toList();
+            if (byMode.isEmpty()) {
+                continue;
+            }
+            System.out.printf("%-6s %8d %14.0f %14.0f %14.0f%n", mode, byMode.size(),
+                    byMode.stream().mapToLong(Sample::readyMs).average().orElse(0),
+                    byMode.stream().mapToLong(Sample::firstTaskMs).average().orElse(0),
+                    byMode.stream().mapToLong(Sample::totalMs).average().orElse(0));
+        }
+        long failed = samples.stream().filter(sample -> !"COMPLETED".equals(sample.firstTaskState())).count();
+        if (failed > 0) {
+            System.out.println("首个任务未成功完成: " + failed + " 次，任务耗时不代表正常采集，检查临时目录中各次启动的app.log");
+        }
+    }
+}
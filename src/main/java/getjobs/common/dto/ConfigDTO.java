@@ -57,6 +57,9 @@ public class ConfigDTO {
     // 平台类型
     private String platformType;
 
+    // 本次采集同时使用的标签页数，为空时使用collection.parallel配置，不入库
+    private Integer collectTabs;
+
     // 其他列表型配置
     private List<String> deadStatus;
 
@@ -98,9 +101,9 @@ public class ConfigDTO {
     }
 
     /**
-     * 将ConfigEntity转换为BossConfigDTO
+     * 将ConfigEntity转换为ConfigDTO，定时任务等没有前端传入配置的场景使用数据库中的平台配置
      */
-    private static ConfigDTO convertFromEntity(ConfigEntity entity) {
+    public static ConfigDTO convertFromEntity(ConfigEntity entity) {
         ConfigDTO dto = new ConfigDTO();
 
         // 基础字段映射
@@ -2,6 +2,10 @@ package getjobs.common.enums;
 
 import lombok.Getter;
 
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * 招聘平台枚举
  * 
@@ -11,10 +15,15 @@ import lombok.Getter;
  */
 @Getter
 public enum RecruitmentPlatformEnum {
-    BOSS_ZHIPIN("Boss直聘", "boss", "https://www.zhipin.com"),
-    ZHILIAN_ZHAOPIN("智联招聘", "zhilian", "https://www.zhaopin.com"),
-    JOB_51("51job", "51job", "https://51job.com/"),
-    LIEPIN("猎聘", "liepin", "https://www.liepin.com/");
+    BOSS_ZHIPIN("Boss直聘", "boss", "https://www.zhipin.com", "https://www.zhipin.com/web/geek/job?"),
+    ZHILIAN_ZHAOPIN("智联招聘", "zhilian", "https://www.zhaopin.com", "https://www.zhaopin.com/sou?"),
+    JOB_51("51job", "51job", "https://51job.com/", "https://we.51job.com/pc/search?"),
+    LIEPIN("猎聘", "liepin", "https://www.liepin.com/", "https://www.liepin.com/zhaopin/?");
+
+    /**
+     * 平台代码 -> 覆盖后的基础URL，用于把采集指向本地桩站点等非正式环境
+     */
+    private static final Map<String, String> BASE_URL_OVERRIDES = new ConcurrentHashMap<>();
 
     /**
      * 平台名称
@@ -31,10 +40,63 @@ public enum RecruitmentPlatformEnum {
      */
     private final String homeUrl;
 
-    RecruitmentPlatformEnum(String platformName, String platformCode, String homeUrl) {
+    /**
+     * 岗位搜索页URL，以?结尾，后面直接拼接搜索参数
+     */
+    private final String searchUrl;
+
+    RecruitmentPlatformEnum(String platformName, String platformCode, String homeUrl, String searchUrl) {
         this.platformName = platformName;
         this.platformCode = platformCode;
         this.homeUrl = homeUrl;
+        this.searchUrl = searchUrl;
+    }
+
+    /**
+     * 平台主页URL，基础URL被覆盖时返回覆盖后的地址
+     */
+    public String getHomeUrl() {
+        String override = BASE_URL_OVERRIDES.get(platformCode);
+        return override != null ? override : homeUrl;
+    }
+
+    /**
+     * 岗位搜索页URL，基础URL被覆盖时保留原搜索页的路径，只替换协议、域名与端口
+     */
+    public String getSearchUrl() {
+        String override = BASE_URL_OVERRIDES.get(platformCode);
+        return override != null ? override + URI.create(searchUrl).getPath() + "?" : searchUrl;
+    }
+
+    /**
+     * 平台正式环境的主页URL，不受覆盖影响
+     */
+    public String getDefaultHomeUrl() {
+        return homeUrl;
+    }
+
+    /**
+     * 基础URL是否被覆盖
+     */
+    public boolean isBaseUrlOverridden() {
+        return BASE_URL_OVERRIDES.containsKey(platformCode);
+    }
+
+    /**
+     * 覆盖平台的基础URL，之后主页与搜索页都指向该地址；传入空值时恢复为正式环境
+     *
+     * @param baseUrl 基础URL，如 http://127.0.0.1:18080/r0/boss，可以包含路径前缀
+     * @return 覆盖前的基础URL，未覆盖时返回null
+     */
+    public String overrideBaseUrl(String baseUrl) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            return BASE_URL_OVERRIDES.remove(platformCode);
+        }
+        String normalized = baseUrl.trim();
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return BASE_URL_OVERRIDES.put(platformCode, normalized);
     }
 
     /**
@@ -0,0 +1,54 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Boss直聘岗位详情补全配置类，用于读取application.yml中的boss.detail-enrich配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "boss.detail-enrich")
+public class BossDetailEnrichConfig {
+
+    /**
+     * 是否启用详情补全
+     */
+    private boolean enabled = true;
+
+    /**
+     * 同时进行中的详情请求数
+     */
+    private int concurrency = 2;
+
+    /**
+     * 每秒发起的详情请求数上限
+     */
+    private double ratePerSecond = 1.0;
+
+    /**
+     * 单次补全最多处理的岗位数
+     */
+    private int maxJobsPerRun = 200;
+
+    /**
+     * 每批提交给页面执行的岗位数
+     */
+    private int batchSize = 30;
+
+    /**
+     * 单个详情请求超时时间（毫秒）
+     */
+    private int requestTimeoutMs = 15000;
+
+    /**
+     * 请求过详情仍未补全的岗位，间隔多少小时后才重新请求
+     */
+    private int retryAfterHours = 24;
+
+    /**
+     * 单个岗位请求详情的次数上限，达到后不再请求
+     */
+    private int maxAttempts = 3;
+}
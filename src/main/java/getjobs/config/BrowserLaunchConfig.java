@@ -0,0 +1,20 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 默认浏览器启动配置类，用于读取application.yml中的browser.launch配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "browser.launch")
+public class BrowserLaunchConfig {
+
+    /**
+     * 应用启动时立即启动默认浏览器，第一个浏览器任务无需等待，但应用启动变慢；
+     * 默认在第一个需要浏览器的任务到来时启动
+     */
+    private boolean eager = false;
+}
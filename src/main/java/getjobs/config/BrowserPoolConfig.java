@@ -0,0 +1,54 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 浏览器上下文池配置类，用于读取application.yml中的browser.pool配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "browser.pool")
+public class BrowserPoolConfig {
+
+    /**
+     * 池中最多同时存在的上下文数量
+     */
+    private int maxContexts = 4;
+
+    /**
+     * 每个上下文最多同时打开的页面数
+     */
+    private int maxPagesPerContext = 4;
+
+    /**
+     * 上下文累计导航次数达到该值后，在归还时回收重建
+     */
+    private int recycleAfterNavigations = 200;
+
+    /**
+     * 租用上下文的等待超时时间（秒）
+     */
+    private int leaseTimeoutSeconds = 300;
+
+    /**
+     * 上下文空闲超过该时间（分钟）后回收
+     */
+    private int idleTimeoutMinutes = 30;
+
+    /**
+     * 是否无头模式启动
+     */
+    private boolean headless = false;
+
+    /**
+     * 操作放慢的毫秒数
+     */
+    private double slowMo = 50;
+
+    /**
+     * 浏览器存储状态（Cookie与localStorage）保存目录，每个平台/账号一个文件
+     */
+    private String storageStateDir = System.getProperty("user.home") + "/getjobs/browser-state";
+}
@@ -0,0 +1,47 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 响应捕获日志配置类，用于读取application.yml中的capture.log配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "capture.log")
+public class CaptureLogConfig {
+
+    /**
+     * 默认采样率（0~1），被采样的响应以INFO级别输出一行摘要和截断后的响应体
+     */
+    private double sampleRate = 0.05;
+
+    /**
+     * 各路由的采样率，未配置的路由使用默认采样率，如 boss-job-detail: 0
+     */
+    private Map<String, Double> routeSampleRates = new HashMap<>();
+
+    /**
+     * 日志中响应体的最大字符数，超出部分截断
+     */
+    private int maxBodyChars = 2000;
+
+    /**
+     * 采样日志是否输出响应头
+     */
+    private boolean logHeaders = false;
+
+    /**
+     * 内存中保留的最近响应条数，可通过/api/capture/responses查看，0表示不保留
+     */
+    private int ringSize = 50;
+
+    /**
+     * 内存中每条响应体的最大字符数，避免大响应长期占用内存
+     */
+    private int ringBodyMaxChars = 131072;
+}
@@ -0,0 +1,21 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 跨平台采集编排配置类，用于读取application.yml中的collection.orchestrator配置
+ * <p>
+ * 各平台同时进行的采集任务数由任务引擎的平台通道（task.engine.concurrency-per-platform）统一限制
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "collection.orchestrator")
+public class CollectionOrchestratorConfig {
+
+    /**
+     * 保留的历史编排记录数
+     */
+    private int historySize = 20;
+}
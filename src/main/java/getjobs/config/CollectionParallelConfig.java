@@ -0,0 +1,57 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 并行采集配置类，用于读取application.yml中的collection.parallel配置
+ * <p>
+ * tabs与requests-per-minute按平台代码（boss、51job、zhilian、liepin）覆盖默认值
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "collection.parallel")
+public class CollectionParallelConfig {
+
+    /**
+     * 默认同时采集的标签页数
+     */
+    private int defaultTabs = 1;
+
+    /**
+     * 各平台同时采集的标签页数，key为平台代码
+     */
+    private Map<String, Integer> tabs = new HashMap<>();
+
+    /**
+     * 默认每分钟允许发起的导航与翻页次数
+     */
+    private double defaultRequestsPerMinute = 30;
+
+    /**
+     * 各平台每分钟允许发起的导航与翻页次数，key为平台代码
+     */
+    private Map<String, Double> requestsPerMinute = new HashMap<>();
+
+    /**
+     * 断点续采时间窗口（分钟），窗口内已完成的搜索单元再次采集时跳过，窗口内有进度的单元从最后一页继续，0表示不续采
+     */
+    private int resumeWindowMinutes = 60;
+
+    /**
+     * 轮询各标签页的间隔（毫秒）
+     */
+    private long pollIntervalMs = 100;
+
+    public int resolveTabs(String platformCode) {
+        return Math.max(1, tabs.getOrDefault(platformCode, defaultTabs));
+    }
+
+    public double resolveRequestsPerMinute(String platformCode) {
+        return requestsPerMinute.getOrDefault(platformCode, defaultRequestsPerMinute);
+    }
+}
@@ -0,0 +1,56 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 采集启动配置类，用于读取application.yml中的browser.collector配置
+ * <p>
+ * 采集用的浏览器上下文只需要拿到接口数据，因此以无头模式启动，并拦截图片、字体、媒体与统计脚本请求；
+ * 登录与投递仍使用可见的完整模式。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "browser.collector")
+public class CollectorProfileConfig {
+
+    /**
+     * 是否启用采集启动配置，关闭后采集与登录投递使用相同的浏览器模式
+     */
+    private boolean enabled = true;
+
+    /**
+     * 是否无头模式启动
+     */
+    private boolean headless = true;
+
+    /**
+     * 操作放慢的毫秒数
+     */
+    private double slowMo = 0;
+
+    /**
+     * 拦截的资源类型，取值参考Playwright的Request.resourceType()
+     */
+    private List<String> blockedResourceTypes = new ArrayList<>(List.of("image", "font", "media"));
+
+    /**
+     * 拦截的统计与埋点域名，匹配域名本身及其子域名
+     */
+    private List<String> blockedHosts = new ArrayList<>();
+
+    /**
+     * 各平台放行的URL片段，命中后即使属于拦截类型也放行（如验证码图片），key为平台代码
+     */
+    private Map<String, List<String>> allowList = new HashMap<>();
+
+    public List<String> resolveAllowList(String platformCode) {
+        return allowList.getOrDefault(platformCode, List.of());
+    }
+}
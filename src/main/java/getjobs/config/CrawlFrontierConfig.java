@@ -0,0 +1,24 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 采集边界配置类，用于读取application.yml中的collection.frontier配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "collection.frontier")
+public class CrawlFrontierConfig {
+
+    /**
+     * 采集边界快照文件，数据库为内存库时用于在进程重启后恢复进度
+     */
+    private String snapshotFile = System.getProperty("user.home") + "/getjobs/crawl-frontier.json";
+
+    /**
+     * 租约超时（分钟），持有者超过该时间未刷新租约时单元被回收，可由其他采集任务继续
+     */
+    private int leaseTimeoutMinutes = 10;
+}
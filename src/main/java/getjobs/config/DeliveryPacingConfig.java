@@ -0,0 +1,117 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 投递节奏配置类，用于读取application.yml中的delivery.pacing配置
+ * <p>
+ * defaults为所有平台的默认规则，platforms按平台代码（boss、51job、zhilian、liepin）覆盖其中的部分字段
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "delivery.pacing")
+public class DeliveryPacingConfig {
+
+    /**
+     * 默认节奏规则
+     */
+    private PacingRule defaults = PacingRule.defaultRule();
+
+    /**
+     * 各平台覆盖规则，key为平台代码
+     */
+    private Map<String, PacingRule> platforms = new HashMap<>();
+
+    /**
+     * 获取指定平台的生效规则
+     *
+     * @param platformCode 平台代码
+     * @return 合并默认值后的规则
+     */
+    public PacingRule resolve(String platformCode) {
+        PacingRule override = platforms.get(platformCode);
+        return override == null ? defaults : defaults.merge(override);
+    }
+
+    /**
+     * 节奏规则，字段为null时使用默认规则中的值
+     */
+    @Data
+    public static class PacingRule {
+
+        /**
+         * 最短投递间隔（秒），恢复时不会低于该值
+         */
+        private Double minIntervalSeconds;
+
+        /**
+         * 初始投递间隔（秒）
+         */
+        private Double initialIntervalSeconds;
+
+        /**
+         * 最长投递间隔（秒），退避时不会超过该值
+         */
+        private Double maxIntervalSeconds;
+
+        /**
+         * 令牌桶容量，允许的连续突发投递次数
+         */
+        private Integer burst;
+
+        /**
+         * 随机抖动比例，在间隔基础上追加0~ratio倍的随机等待
+         */
+        private Double jitterRatio;
+
+        /**
+         * 风控告警时间隔放大倍数
+         */
+        private Double backoffFactor;
+
+        /**
+         * 投递成功后间隔缩小倍数，取值(0,1]，越接近1恢复越慢
+         */
+        private Double recoveryFactor;
+
+        /**
+         * 每日投递上限
+         */
+        private Integer dailyCap;
+
+        static PacingRule defaultRule() {
+            PacingRule rule = new PacingRule();
+            rule.setMinIntervalSeconds(8.0);
+            rule.setInitialIntervalSeconds(15.0);
+            rule.setMaxIntervalSeconds(120.0);
+            rule.setBurst(1);
+            rule.setJitterRatio(0.3);
+            rule.setBackoffFactor(2.0);
+            rule.setRecoveryFactor(0.9);
+            rule.setDailyCap(100);
+            return rule;
+        }
+
+        PacingRule merge(PacingRule override) {
+            PacingRule rule = new PacingRule();
+            rule.setMinIntervalSeconds(pick(override.getMinIntervalSeconds(), minIntervalSeconds));
+            rule.setInitialIntervalSeconds(pick(override.getInitialIntervalSeconds(), initialIntervalSeconds));
+            rule.setMaxIntervalSeconds(pick(override.getMaxIntervalSeconds(), maxIntervalSeconds));
+            rule.setBurst(pick(override.getBurst(), burst));
+            rule.setJitterRatio(pick(override.getJitterRatio(), jitterRatio));
+            rule.setBackoffFactor(pick(override.getBackoffFactor(), backoffFactor));
+            rule.setRecoveryFactor(pick(override.getRecoveryFactor(), recoveryFactor));
+            rule.setDailyCap(pick(override.getDailyCap(), dailyCap));
+            return rule;
+        }
+
+        private static <T> T pick(T value, T fallback) {
+            return value != null ? value : fallback;
+        }
+    }
+}
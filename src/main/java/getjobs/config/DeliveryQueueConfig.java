@@ -0,0 +1,54 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 投递队列配置类，用于读取application.yml中的delivery.queue配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "delivery.queue")
+public class DeliveryQueueConfig {
+
+    /**
+     * 投递队列快照文件，数据库为内存库时用于在进程重启后恢复队列
+     */
+    private String snapshotFile = System.getProperty("user.home") + "/getjobs/delivery-queue.json";
+
+    /**
+     * 临时失败最多尝试次数，超过后移入死信
+     */
+    private int maxAttempts = 4;
+
+    /**
+     * 首次重试的退避时间（分钟），之后每次翻倍
+     */
+    private int backoffBaseMinutes = 10;
+
+    /**
+     * 退避时间上限（分钟）
+     */
+    private int backoffMaxMinutes = 360;
+
+    /**
+     * 薪资匹配度权重
+     */
+    private double salaryWeight = 40;
+
+    /**
+     * HR活跃度权重
+     */
+    private double activityWeight = 35;
+
+    /**
+     * 岗位新鲜度权重
+     */
+    private double freshnessWeight = 25;
+
+    /**
+     * 新鲜度半衰期（小时），岗位入库超过该时长新鲜度得分减半
+     */
+    private int freshnessHalfLifeHours = 72;
+}
@@ -0,0 +1,34 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 增量采集配置类，用于读取application.yml中的collection.incremental配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "collection.incremental")
+public class IncrementalCollectConfig {
+
+    /**
+     * 是否启用增量采集，关闭后每个搜索单元都翻到最后一页
+     */
+    private boolean enabled = true;
+
+    /**
+     * 一页中已采集过的岗位占比达到该值时停止翻页
+     */
+    private double knownRatio = 0.8;
+
+    /**
+     * 每个搜索单元至少采集的页数，达到后才允许提前结束
+     */
+    private int minPages = 1;
+
+    /**
+     * 每个搜索单元记录的上一轮顶部岗位数
+     */
+    private int watermarkSize = 60;
+}
@@ -0,0 +1,44 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * JFR录制配置类，用于读取application.yml中的profiling.jfr配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "profiling.jfr")
+public class JfrConfig {
+
+    /**
+     * 录制文件保存目录
+     */
+    private String recordingDir = System.getProperty("user.home") + "/getjobs/jfr";
+
+    /**
+     * JDK自带的录制配置：default开销约1%，profile会采集更多调用栈
+     */
+    private String settings = "default";
+
+    /**
+     * 录制内容最长保留时长（分钟），超出的旧数据被丢弃
+     */
+    private int maxAgeMinutes = 60;
+
+    /**
+     * 录制内容最大体积（MB）
+     */
+    private int maxSizeMb = 200;
+
+    /**
+     * 最多保留的录制文件数，超过时删除最早的文件
+     */
+    private int maxFiles = 10;
+
+    /**
+     * 实时汇总中虚拟线程固定与锁竞争事件的记录阈值（毫秒），低于阈值的不记录
+     */
+    private long contentionThresholdMs = 20;
+}
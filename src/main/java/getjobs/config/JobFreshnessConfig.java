@@ -0,0 +1,39 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 岗位有效性复核配置类，用于读取application.yml中的delivery.freshness配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "delivery.freshness")
+public class JobFreshnessConfig {
+
+    /**
+     * 是否启用后台复核
+     */
+    private boolean enabled = true;
+
+    /**
+     * 岗位入库或上次确认有效后超过该时长（小时）需要复核
+     */
+    private int ttlHours = 24;
+
+    /**
+     * 复核间隔（毫秒），由定时任务直接读取
+     */
+    private long intervalMs = 1800000;
+
+    /**
+     * 每轮每个平台最多复核的岗位数
+     */
+    private int maxJobsPerRun = 100;
+
+    /**
+     * 每批请求的岗位数，批次之间检查是否被风控
+     */
+    private int batchSize = 20;
+}
@@ -0,0 +1,39 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 流水线配置类，用于读取application.yml中的task.pipeline配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.pipeline")
+public class PipelineConfig {
+
+    /**
+     * 待过滤队列容量，队列满时采集线程等待
+     */
+    private int ingestQueueCapacity = 500;
+
+    /**
+     * 待投递队列容量，队列满时过滤线程等待
+     */
+    private int deliveryQueueCapacity = 30;
+
+    /**
+     * 每批过滤的岗位数
+     */
+    private int filterBatchSize = 20;
+
+    /**
+     * 每批投递的岗位数
+     */
+    private int deliveryBatchSize = 5;
+
+    /**
+     * 待过滤队列满时采集线程最长等待时间（秒），超时的岗位在采集结束后补充处理
+     */
+    private int ingestOfferTimeoutSeconds = 30;
+}
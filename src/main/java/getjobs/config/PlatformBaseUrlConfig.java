@@ -0,0 +1,38 @@
+package getjobs.config;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 平台地址配置类，用于读取application.yml中的platform配置
+ * <p>
+ * 配置的基础URL在启动时覆盖{@link RecruitmentPlatformEnum}中的正式地址，主页与搜索页都改为指向该地址，
+ * 用于把采集指向本地桩站点或测试环境。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "platform")
+public class PlatformBaseUrlConfig {
+
+    /**
+     * 各平台的基础URL，key为平台代码，如 boss: http://127.0.0.1:18080/r0/boss；未配置的平台使用正式地址
+     */
+    private Map<String, String> baseUrls = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void apply() {
+        baseUrls.forEach((platformCode, baseUrl) -> {
+            RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(platformCode);
+            if (platform == null) {
+                throw new IllegalArgumentException("platform.base-urls中的平台代码不存在: " + platformCode);
+            }
+            platform.overrideBaseUrl(baseUrl);
+        });
+    }
+}
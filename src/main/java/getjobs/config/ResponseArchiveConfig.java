@@ -0,0 +1,44 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 响应归档配置类，用于读取application.yml中的capture.archive配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "capture.archive")
+public class ResponseArchiveConfig {
+
+    /**
+     * 是否归档捕获的接口响应，默认关闭
+     */
+    private boolean enabled = false;
+
+    /**
+     * 归档目录，每个分段是一个gzip压缩的NDJSON文件
+     */
+    private String dir = System.getProperty("user.home") + "/getjobs/archive";
+
+    /**
+     * 单个分段写入的最大未压缩字节数（MB），超过后切换到新分段
+     */
+    private int segmentMaxMb = 64;
+
+    /**
+     * 单个分段最长写入时长（分钟），超过后切换到新分段
+     */
+    private int segmentMaxMinutes = 60;
+
+    /**
+     * 最多保留的分段数，超过时删除最早的分段
+     */
+    private int maxSegments = 200;
+
+    /**
+     * 待写入队列容量，写入跟不上时丢弃新的响应而不阻塞响应处理
+     */
+    private int queueCapacity = 1000;
+}
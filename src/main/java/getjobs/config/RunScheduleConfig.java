@@ -0,0 +1,34 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 定时运行配置类，用于读取application.yml中的task.schedule配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.schedule")
+public class RunScheduleConfig {
+
+    /**
+     * 是否按计划自动提交任务，关闭后计划仍可手动触发
+     */
+    private boolean enabled = true;
+
+    /**
+     * 定时计划快照文件，数据库为内存库时用于在进程重启后恢复计划
+     */
+    private String snapshotFile = System.getProperty("user.home") + "/getjobs/run-schedules.json";
+
+    /**
+     * 检查到期计划的间隔（毫秒）
+     */
+    private long tickIntervalMs = 30000;
+
+    /**
+     * 错过触发时间的宽限（分钟），进程停止期间错过超过该时长的触发直接跳过，不再补跑
+     */
+    private int misfireGraceMinutes = 30;
+}
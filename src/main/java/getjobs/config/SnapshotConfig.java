@@ -0,0 +1,19 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 快照配置类，用于读取application.yml中的snapshot配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotConfig {
+
+    /**
+     * 快照合并写入间隔（毫秒），间隔内的多次变更只写一次文件，由定时任务直接读取
+     */
+    private long flushIntervalMs = 2000;
+}
@@ -0,0 +1,61 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 桩站点配置类，用于读取application.yml中的stub.site配置
+ * <p>
+ * 桩站点在本地模拟Boss直聘、51job、智联招聘的搜索页与列表接口，供压测采集、入库与过滤流程使用。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "stub.site")
+public class StubSiteConfig {
+
+    /**
+     * 是否在启动时运行桩站点，关闭时可由压测接口按需启动
+     */
+    private boolean enabled = false;
+
+    /**
+     * 监听地址
+     */
+    private String host = "127.0.0.1";
+
+    /**
+     * 监听端口，0表示随机端口
+     */
+    private int port = 18080;
+
+    /**
+     * 每个搜索单元的页数
+     */
+    private int pages = 5;
+
+    /**
+     * 每页岗位数
+     */
+    private int pageSize = 15;
+
+    /**
+     * 列表接口的固定延迟（毫秒）
+     */
+    private int latencyMs = 150;
+
+    /**
+     * 列表接口在固定延迟之上的随机抖动（毫秒）
+     */
+    private int latencyJitterMs = 100;
+
+    /**
+     * 搜索页HTML的延迟（毫秒）
+     */
+    private int pageLatencyMs = 50;
+
+    /**
+     * 岗位样本目录，其中的{平台代码}-job.json优先于内置样本；可以放入从捕获日志中导出的真实岗位
+     */
+    private String fixtureDir = "";
+}
@@ -0,0 +1,56 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 任务引擎配置类，用于读取application.yml中的task.engine配置
+ * <p>
+ * timeout-minutes按任务类型（login、collect、filter、deliver）设置超时时间
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.engine")
+public class TaskEngineConfig {
+
+    /**
+     * 每个平台同时执行的任务数
+     */
+    private int concurrencyPerPlatform = 1;
+
+    /**
+     * 每个平台排队等待的任务数上限，超出时拒绝提交
+     */
+    private int queueCapacity = 3;
+
+    /**
+     * 已结束任务的保留时长（分钟），超时后清理
+     */
+    private int ttlMinutes = 60;
+
+    /**
+     * 任务事件流的推送间隔（毫秒），间隔内的多次变化合并为一次推送
+     */
+    private long eventIntervalMs = 500;
+
+    /**
+     * 未单独配置的任务类型的超时时间（分钟）
+     */
+    private int defaultTimeoutMinutes = 60;
+
+    /**
+     * 各任务类型的超时时间（分钟），key为任务类型
+     */
+    private Map<String, Integer> timeoutMinutes = new HashMap<>();
+
+    /**
+     * 获取指定任务类型的超时时间（分钟）
+     */
+    public int resolveTimeoutMinutes(String type) {
+        return Math.max(1, timeoutMinutes.getOrDefault(type, defaultTimeoutMinutes));
+    }
+}
@@ -0,0 +1,39 @@
+package getjobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 任务历史配置类，用于读取application.yml中的task.history配置
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "task.history")
+public class TaskHistoryConfig {
+
+    /**
+     * 是否记录任务历史
+     */
+    private boolean enabled = true;
+
+    /**
+     * 任务历史快照文件，数据库为内存库时用于在进程重启后恢复历史
+     */
+    private String snapshotFile = System.getProperty("user.home") + "/getjobs/task-history.json";
+
+    /**
+     * 历史保留天数，超过的记录在压缩时删除
+     */
+    private int retentionDays = 90;
+
+    /**
+     * 最多保留的任务记录数，超过时删除最早的记录
+     */
+    private int maxRuns = 2000;
+
+    /**
+     * 当前应用版本，随任务记录保存，用于比较不同版本的执行耗时
+     */
+    private String appVersion = "unknown";
+}
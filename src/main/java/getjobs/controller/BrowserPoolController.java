@@ -0,0 +1,37 @@
+package getjobs.controller;
+
+import getjobs.service.browser.BrowserContextPool;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 浏览器上下文池控制器
+ * 提供上下文池中各上下文的租用与健康状态查询
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/browser")
+@RequiredArgsConstructor
+public class BrowserPoolController {
+
+    private final BrowserContextPool browserContextPool;
+
+    /**
+     * 获取上下文池状态
+     */
+    @GetMapping("/pool")
+    public ResponseEntity<Map<String, Object>> getPoolStatus() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", browserContextPool.getStatus());
+        return ResponseEntity.ok(response);
+    }
+}
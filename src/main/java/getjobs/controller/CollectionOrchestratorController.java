@@ -0,0 +1,139 @@
+package getjobs.controller;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.service.CollectionOrchestrator;
+import getjobs.service.CollectionOrchestrator.SweepStatus;
+import getjobs.service.collect.CrawlFrontierStore;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 跨平台采集编排控制器
+ * 同时启动多个平台的岗位采集，并提供汇总进度查询
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/orchestrator")
+@RequiredArgsConstructor
+public class CollectionOrchestratorController {
+
+    private final CollectionOrchestrator collectionOrchestrator;
+    private final CrawlFrontierStore frontierStore;
+
+    /**
+     * 启动跨平台采集
+     * POST /api/orchestrator/collect
+     *
+     * @param request 各平台采集配置，key为平台代码，如boss、51job、zhilian、liepin
+     * @return 编排ID与初始进度
+     */
+    @PostMapping("/collect")
+    public ResponseEntity<Map<String, Object>> startCollect(@RequestBody SweepRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        Map<RecruitmentPlatformEnum, ConfigDTO> configs = new EnumMap<>(RecruitmentPlatformEnum.class);
+        if (request.getConfigs() != null) {
+            for (Map.Entry<String, ConfigDTO> entry : request.getConfigs().entrySet()) {
+                RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(entry.getKey());
+                if (platform == null || entry.getValue() == null) {
+                    response.put("success", false);
+                    response.put("message", "不支持的平台或缺少配置: " + entry.getKey());
+                    return ResponseEntity.badRequest().body(response);
+                }
+                configs.put(platform, entry.getValue());
+            }
+        }
+
+        try {
+            SweepStatus sweep = collectionOrchestrator.startSweep(configs);
+            response.put("success", true);
+            response.put("message", "跨平台采集已启动");
+            response.put("data", sweep);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException | UnsupportedOperationException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            log.error("启动跨平台采集失败", e);
+            response.put("success", false);
+            response.put("message", "启动跨平台采集失败: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * 获取最近的跨平台采集记录
+     */
+    @GetMapping("/collect")
+    public ResponseEntity<Map<String, Object>> getRecent() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", collectionOrchestrator.getRecentSweeps());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取跨平台采集进度
+     *
+     * @param sweepId 编排ID
+     */
+    @GetMapping("/collect/{sweepId}")
+    public ResponseEntity<Map<String, Object>> getSweep(@PathVariable String sweepId) {
+        Map<String, Object> response = new HashMap<>();
+        SweepStatus sweep = collectionOrchestrator.getSweep(sweepId);
+        if (sweep == null) {
+            response.put("success", false);
+            response.put("message", "编排记录不存在: " + sweepId);
+            return ResponseEntity.status(404).body(response);
+        }
+        response.put("success", true);
+        response.put("data", sweep);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取平台各搜索单元（城市×关键词）的采集断点
+     *
+     * @param platformCode 平台代码，如boss、51job、zhilian、liepin
+     */
+    @GetMapping("/checkpoints/{platformCode}")
+    public ResponseEntity<Map<String, Object>> getCheckpoints(@PathVariable String platformCode) {
+        Map<String, Object> response = new HashMap<>();
+        RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(platformCode);
+        if (platform == null) {
+            response.put("success", false);
+            response.put("message", "不支持的平台: " + platformCode);
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("success", true);
+        response.put("data", frontierStore.getUnits(platform));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 跨平台采集请求
+     */
+    @Data
+    public static class SweepRequest {
+        /**
+         * 各平台采集配置，key为平台代码
+         */
+        private Map<String, ConfigDTO> configs;
+    }
+}
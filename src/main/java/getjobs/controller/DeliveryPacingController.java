@@ -0,0 +1,58 @@
+package getjobs.controller;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.service.DeliveryPacingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 投递节奏控制器
+ * 提供各平台当前投递速率与当日剩余额度查询
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/pacing")
+@RequiredArgsConstructor
+public class DeliveryPacingController {
+
+    private final DeliveryPacingService deliveryPacingService;
+
+    /**
+     * 获取所有平台的投递节奏状态
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getAll() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", deliveryPacingService.getSnapshots());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取指定平台的投递节奏状态
+     *
+     * @param platformCode 平台代码，如boss、51job、zhilian、liepin
+     */
+    @GetMapping("/{platformCode}")
+    public ResponseEntity<Map<String, Object>> getByPlatform(@PathVariable String platformCode) {
+        Map<String, Object> response = new HashMap<>();
+        RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(platformCode);
+        if (platform == null) {
+            response.put("success", false);
+            response.put("message", "不支持的平台: " + platformCode);
+            return ResponseEntity.badRequest().body(response);
+        }
+        response.put("success", true);
+        response.put("data", deliveryPacingService.getSnapshot(platform));
+        return ResponseEntity.ok(response);
+    }
+}
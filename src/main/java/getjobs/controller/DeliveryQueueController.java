@@ -0,0 +1,88 @@
+package getjobs.controller;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.repository.entity.DeliveryQueueEntity;
+import getjobs.service.delivery.DeliveryQueueService;
+import getjobs.service.delivery.DeliveryQueueService.ItemStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 投递队列控制器
+ * 提供各平台投递队列的查询与死信重新排队
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/delivery-queue")
+@RequiredArgsConstructor
+public class DeliveryQueueController {
+
+    private final DeliveryQueueService deliveryQueueService;
+
+    /**
+     * 获取指定平台的投递队列，按得分从高到低
+     *
+     * @param platformCode 平台代码，如boss、51job、zhilian、liepin
+     * @param status       队列状态：READY、IN_FLIGHT、DONE、DEAD，为空时返回全部
+     */
+    @GetMapping("/{platformCode}")
+    public ResponseEntity<Map<String, Object>> getItems(@PathVariable String platformCode,
+                                                        @RequestParam(required = false) String status) {
+        Map<String, Object> response = new HashMap<>();
+        RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(platformCode);
+        if (platform == null) {
+            response.put("success", false);
+            response.put("message", "不支持的平台: " + platformCode);
+            return ResponseEntity.badRequest().body(response);
+        }
+        ItemStatus itemStatus = null;
+        if (status != null && !status.isBlank()) {
+            try {
+                itemStatus = ItemStatus.valueOf(status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                response.put("success", false);
+                response.put("message", "不支持的队列状态: " + status);
+                return ResponseEntity.badRequest().body(response);
+            }
+        }
+        List<DeliveryQueueEntity> items = deliveryQueueService.getItems(platform, itemStatus);
+        Map<String, Long> counts = deliveryQueueService.getItems(platform, null).stream()
+                .collect(Collectors.groupingBy(DeliveryQueueEntity::getStatus, TreeMap::new, Collectors.counting()));
+        response.put("success", true);
+        response.put("data", items);
+        response.put("counts", counts);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 把死信中的岗位重新排队
+     */
+    @PostMapping("/{platformCode}/{id}/requeue")
+    public ResponseEntity<Map<String, Object>> requeue(@PathVariable String platformCode, @PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+        RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(platformCode);
+        if (platform == null) {
+            response.put("success", false);
+            response.put("message", "不支持的平台: " + platformCode);
+            return ResponseEntity.badRequest().body(response);
+        }
+        boolean requeued = deliveryQueueService.requeue(platform, id);
+        response.put("success", requeued);
+        response.put("message", requeued ? "已重新排队" : "队列项不存在或不在死信中");
+        return ResponseEntity.ok(response);
+    }
+}
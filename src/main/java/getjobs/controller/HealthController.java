@@ -1,5 +1,8 @@
 package getjobs.controller;
 
+import getjobs.service.PlaywrightManager;
+import getjobs.service.profiling.StartupTimings;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -10,14 +13,22 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final PlaywrightManager playwrightManager;
+    private final StartupTimings startupTimings;
+
     @GetMapping("/health")
     public Map<String, Object> health() {
         Map<String, Object> response = new HashMap<>();
         response.put("status", "UP");
         response.put("timestamp", LocalDateTime.now());
         response.put("service", "npe-get-jobs");
+        // 浏览器按需启动，未执行过浏览器任务时为NOT_STARTED
+        response.put("browser", playwrightManager.getStatus());
+        // 启动至就绪耗时与首个浏览器任务延迟，用于对比浏览器立即启动与按需启动
+        response.put("startup", startupTimings.toMap());
         return response;
     }
 
@@ -0,0 +1,152 @@
+package getjobs.controller;
+
+import getjobs.service.profiling.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JFR录制控制器
+ * 提供录制的开始、停止与下载，以及基于事件流的实时耗时汇总
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/jfr")
+@RequiredArgsConstructor
+public class JfrController {
+
+    private final JfrRecordingService jfrRecordingService;
+
+    /**
+     * 获取录制状态与已保存的录制文件
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", jfrRecordingService.status());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 开始录制
+     *
+     * @param settings JDK录制配置名（default、profile），不传时使用配置文件中的值
+     */
+    @PostMapping("/recording/start")
+    public ResponseEntity<Map<String, Object>> startRecording(@RequestParam(required = false) String settings) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("data", jfrRecordingService.startRecording(settings));
+            response.put("success", true);
+            response.put("message", "录制已开始");
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IOException e) {
+            log.error("开始JFR录制失败", e);
+            response.put("success", false);
+            response.put("message", "开始录制失败: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
+    /**
+     * 停止录制并保存文件
+     */
+    @PostMapping("/recording/stop")
+    public ResponseEntity<Map<String, Object>> stopRecording() {
+        Map<String, Object> response = new HashMap<>();
+        Optional<Map<String, Object>> info = jfrRecordingService.stopRecording();
+        if (info.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "没有进行中的录制");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("message", "录制已停止");
+        response.put("data", info.get());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 下载录制文件，可用JDK Mission Control或jfr命令打开
+     *
+     * @param name 文件名，不传时下载最新的录制
+     */
+    @GetMapping("/recording/download")
+    public ResponseEntity<Resource> download(@RequestParam(required = false) String name) {
+        Optional<Path> file = jfrRecordingService.findRecording(name);
+        if (file.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(file.get().getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file.get()));
+    }
+
+    /**
+     * 开启实时汇总
+     */
+    @PostMapping("/live/start")
+    public ResponseEntity<Map<String, Object>> startLive() {
+        Map<String, Object> response = new HashMap<>();
+        boolean started = jfrRecordingService.startLive();
+        response.put("success", true);
+        response.put("message", started ? "实时汇总已开启" : "实时汇总已在运行");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 关闭实时汇总
+     */
+    @PostMapping("/live/stop")
+    public ResponseEntity<Map<String, Object>> stopLive() {
+        Map<String, Object> response = new HashMap<>();
+        boolean stopped = jfrRecordingService.stopLive();
+        response.put("success", true);
+        response.put("message", stopped ? "实时汇总已关闭" : "实时汇总未在运行");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取实时汇总：各事件类型的合计耗时，以及耗时最多的分组
+     *
+     * @param limit 返回的分组数上限
+     */
+    @GetMapping("/live/summary")
+    public ResponseEntity<Map<String, Object>> liveSummary(@RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", jfrRecordingService.liveSummary(limit));
+        return ResponseEntity.ok(response);
+    }
+}
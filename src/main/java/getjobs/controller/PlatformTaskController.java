@@ -0,0 +1,189 @@
+package getjobs.controller;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.service.pipeline.PipelineRunService;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskEngine;
+import getjobs.service.task.TaskExecution;
+import getjobs.service.task.TaskRejectedException;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 平台任务控制器 - 各平台的登录、采集、过滤、投递及流水线接口
+ * <p>
+ * 接口提交任务后立即返回202和任务ID，前端通过状态接口轮询进度和结果。
+ * 路径中的平台为boss、zhilian、job51、liepin。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/{platform}/task")
+@RequiredArgsConstructor
+public class PlatformTaskController {
+
+    /**
+     * 路径中的平台标识，51job的路径沿用job51
+     */
+    private static final Map<String, RecruitmentPlatformEnum> PATH_PLATFORMS = Map.of(
+            "boss", RecruitmentPlatformEnum.BOSS_ZHIPIN,
+            "zhilian", RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN,
+            "job51", RecruitmentPlatformEnum.JOB_51,
+            "liepin", RecruitmentPlatformEnum.LIEPIN);
+
+    private final PlatformTaskService platformTaskService;
+    private final TaskEngine taskEngine;
+    private final PipelineRunService pipelineRunService;
+
+    /**
+     * 1. 登录接口
+     * POST /api/{platform}/task/login
+     */
+    @PostMapping("/login")
+    public ResponseEntity<Map<String, Object>> login(@PathVariable String platform, @RequestBody ConfigDTO config) {
+        return submit(platform, p -> platformTaskService.login(p, config));
+    }
+
+    /**
+     * 2. 采集岗位接口
+     * POST /api/{platform}/task/collect
+     */
+    @PostMapping("/collect")
+    public ResponseEntity<Map<String, Object>> collectJobs(@PathVariable String platform,
+                                                           @RequestBody ConfigDTO config) {
+        return submit(platform, p -> platformTaskService.collectJobs(p, config));
+    }
+
+    /**
+     * 3. 过滤岗位接口
+     * POST /api/{platform}/task/filter
+     */
+    @PostMapping("/filter")
+    public ResponseEntity<Map<String, Object>> filterJobs(@PathVariable String platform,
+                                                          @RequestBody FilterRequest request) {
+        return submit(platform, p -> platformTaskService.filterJobs(p, request.getConfig()));
+    }
+
+    /**
+     * 4. 投递岗位接口
+     * POST /api/{platform}/task/deliver
+     */
+    @PostMapping("/deliver")
+    public ResponseEntity<Map<String, Object>> deliverJobs(@PathVariable String platform,
+                                                           @RequestBody DeliveryRequest request) {
+        return submit(platform, p -> platformTaskService.deliverJobs(p, request.getConfig(),
+                request.isEnableActualDelivery()));
+    }
+
+    /**
+     * 5. 流水线接口：采集、过滤、投递同时进行，采集到的岗位随即进入过滤和投递
+     * POST /api/{platform}/task/pipeline
+     */
+    @PostMapping("/pipeline")
+    public ResponseEntity<Map<String, Object>> runPipeline(@PathVariable String platform,
+                                                           @RequestBody DeliveryRequest request) {
+        return submit(platform, p -> pipelineRunService.start(p, request.getConfig(),
+                request.isEnableActualDelivery()));
+    }
+
+    /**
+     * 查询任务状态接口
+     * GET /api/{platform}/task/status/{taskId}
+     */
+    @GetMapping("/status/{taskId}")
+    public ResponseEntity<Map<String, Object>> getTaskStatus(@PathVariable String platform,
+                                                             @PathVariable String taskId) {
+        Map<String, Object> response = new HashMap<>();
+        TaskExecution task = taskEngine.get(taskId);
+        if (task == null) {
+            response.put("success", false);
+            response.put("message", "任务不存在");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("taskId", taskId);
+        response.put("status", task.getState().name());
+        response.put("data", task);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 取消任务或清理已结束的任务
+     * DELETE /api/{platform}/task/{taskId}
+     */
+    @DeleteMapping("/{taskId}")
+    public ResponseEntity<Map<String, Object>> clearTask(@PathVariable String platform, @PathVariable String taskId) {
+        Map<String, Object> response = new HashMap<>();
+        if (taskEngine.cancel(taskId)) {
+            response.put("success", true);
+            response.put("message", "已请求取消任务");
+        } else if (taskEngine.remove(taskId)) {
+            response.put("success", true);
+            response.put("message", "任务数据清理成功");
+        } else {
+            response.put("success", false);
+            response.put("message", "任务不存在");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> submit(String path,
+                                                       Function<RecruitmentPlatformEnum, TaskExecution> action) {
+        Map<String, Object> response = new HashMap<>();
+        RecruitmentPlatformEnum platform = PATH_PLATFORMS.get(path);
+        if (platform == null) {
+            response.put("success", false);
+            response.put("message", "不支持的平台: " + path);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        try {
+            TaskExecution task = action.apply(platform);
+            response.put("success", true);
+            response.put("taskId", task.getTaskId());
+            response.put("status", task.getState().name());
+            response.put("message", "任务已提交");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (TaskRejectedException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+        }
+    }
+
+    /**
+     * 过滤请求
+     */
+    @Data
+    public static class FilterRequest {
+        private String collectTaskId;
+        private ConfigDTO config;
+    }
+
+    /**
+     * 投递请求
+     */
+    @Data
+    public static class DeliveryRequest {
+        private ConfigDTO config;
+        // 默认为模拟投递
+        private boolean enableActualDelivery = false;
+    }
+}
@@ -0,0 +1,100 @@
+package getjobs.controller;
+
+import getjobs.service.replay.ArchiveReplayService;
+import getjobs.service.replay.ArchiveReplayService.ReplayRequest;
+import getjobs.service.replay.ResponseArchive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 响应归档控制器
+ * 提供归档分段的查看与滚动，以及把归档离线重放到入库流程
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/archive")
+@RequiredArgsConstructor
+public class ResponseArchiveController {
+
+    private final ResponseArchive responseArchive;
+    private final ArchiveReplayService archiveReplayService;
+
+    /**
+     * 获取归档状态与分段列表
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        Map<String, Object> data = new HashMap<>(responseArchive.status());
+        data.put("segments", responseArchive.listSegments());
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", data);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 关闭当前分段，使其可以被重放
+     */
+    @PostMapping("/roll")
+    public ResponseEntity<Map<String, Object>> roll() {
+        String closed = responseArchive.roll();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", closed == null ? "没有正在写入的分段" : "分段已关闭: " + closed);
+        response.put("data", closed);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 开始重放
+     * 请求体字段：segments（分段文件名列表，不传时重放全部已关闭的分段）、route、limit、filter（重放后是否提交过滤任务）
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<Map<String, Object>> replay(@RequestBody(required = false) ReplayRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("data", archiveReplayService.start(
+                    request == null ? new ReplayRequest(null, null, null, false) : request));
+            response.put("success", true);
+            response.put("message", "重放已开始");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 获取当前或最近一次重放的进度与吞吐
+     */
+    @GetMapping("/replay")
+    public ResponseEntity<Map<String, Object>> report() {
+        Map<String, Object> response = new HashMap<>();
+        Optional<Map<String, Object>> report = archiveReplayService.report();
+        if (report.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "尚未执行重放");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", report.get());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,78 @@
+package getjobs.controller;
+
+import getjobs.service.browser.ResponseCaptureLog;
+import getjobs.service.browser.ResponseCaptureLog.CapturedResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 响应捕获控制器
+ * 查看内存中最近捕获的接口响应，用于排查解析问题
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/capture/responses")
+@RequiredArgsConstructor
+public class ResponseCaptureController {
+
+    private final ResponseCaptureLog responseCaptureLog;
+
+    /**
+     * 获取最近捕获的响应，最新的在前
+     *
+     * @param route       路由名称，如boss-job-search，不传时返回全部路由
+     * @param limit       返回条数上限
+     * @param includeBody 是否返回响应体，默认只返回摘要
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> recent(@RequestParam(required = false) String route,
+                                                      @RequestParam(defaultValue = "20") int limit,
+                                                      @RequestParam(defaultValue = "false") boolean includeBody) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", responseCaptureLog.recent(route, Math.max(1, limit), includeBody));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 按序号获取一条捕获的响应（含响应体）
+     */
+    @GetMapping("/{seq}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable long seq) {
+        Map<String, Object> response = new HashMap<>();
+        Optional<CapturedResponse> captured = responseCaptureLog.get(seq);
+        if (captured.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "响应不存在或已被覆盖");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", captured.get());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 清空已捕获的响应
+     */
+    @DeleteMapping
+    public ResponseEntity<Map<String, Object>> clear() {
+        responseCaptureLog.clear();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "已清空");
+        return ResponseEntity.ok(response);
+    }
+}
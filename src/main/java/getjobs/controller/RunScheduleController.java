@@ -0,0 +1,146 @@
+package getjobs.controller;
+
+import getjobs.repository.entity.RunScheduleEntity;
+import getjobs.service.schedule.RunScheduleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 定时运行控制器
+ * 提供定时计划的增删改查、立即触发与触发时间预览
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/schedules")
+@RequiredArgsConstructor
+public class RunScheduleController {
+
+    private final RunScheduleService runScheduleService;
+
+    /**
+     * 获取全部计划
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", runScheduleService.list());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 新建计划
+     * 请求体字段：name、platform（boss、51job、zhilian、liepin）、taskType（pipeline、collect、filter、deliver）、
+     * cron、jitterSeconds、enabled、actualDelivery、minBudget
+     */
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> create(@RequestBody RunScheduleEntity schedule) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("data", runScheduleService.create(schedule));
+            response.put("success", true);
+            response.put("message", "计划已创建");
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 修改计划
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> update(@PathVariable Long id,
+                                                      @RequestBody RunScheduleEntity schedule) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            return found(runScheduleService.update(id, schedule), "计划已更新");
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 删除计划
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, Object>> delete(@PathVariable Long id) {
+        Map<String, Object> response = new HashMap<>();
+        boolean deleted = runScheduleService.delete(id);
+        response.put("success", deleted);
+        response.put("message", deleted ? "计划已删除" : "计划不存在");
+        return ResponseEntity.status(deleted ? HttpStatus.OK : HttpStatus.NOT_FOUND).body(response);
+    }
+
+    /**
+     * 立即触发一次计划，结果见返回计划的lastOutcome与lastMessage
+     */
+    @PostMapping("/{id}/trigger")
+    public ResponseEntity<Map<String, Object>> trigger(@PathVariable Long id) {
+        return found(runScheduleService.trigger(id), "已触发");
+    }
+
+    /**
+     * 预览计划接下来的触发时间（含随机延后，实际触发时重新抽取）
+     */
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<Map<String, Object>> preview(@PathVariable Long id,
+                                                       @RequestParam(defaultValue = "5") int count) {
+        Map<String, Object> response = new HashMap<>();
+        Optional<RunScheduleEntity> schedule = runScheduleService.get(id);
+        if (schedule.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "计划不存在");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        List<LocalDateTime> times = new ArrayList<>();
+        LocalDateTime after = LocalDateTime.now();
+        for (int i = 0; i < Math.min(Math.max(1, count), 50); i++) {
+            LocalDateTime next = runScheduleService.nextFireTime(schedule.get(), after);
+            if (next == null) {
+                break;
+            }
+            times.add(next);
+            after = next;
+        }
+        response.put("success", true);
+        response.put("data", times);
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> found(Optional<RunScheduleEntity> schedule, String message) {
+        Map<String, Object> response = new HashMap<>();
+        if (schedule.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "计划不存在");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("message", message);
+        response.put("data", schedule.get());
+        return ResponseEntity.ok(response);
+    }
+}
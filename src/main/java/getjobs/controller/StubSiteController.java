@@ -0,0 +1,118 @@
+package getjobs.controller;
+
+import getjobs.service.stub.StubBenchmarkService;
+import getjobs.service.stub.StubBenchmarkService.BenchmarkRequest;
+import getjobs.service.stub.StubRecruitmentSite;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 桩站点控制器
+ * 提供本地桩招聘站点的启停，以及在桩站点上压测采集、入库与过滤的吞吐
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/stub")
+@RequiredArgsConstructor
+public class StubSiteController {
+
+    private final StubRecruitmentSite stubSite;
+    private final StubBenchmarkService benchmarkService;
+
+    /**
+     * 获取桩站点状态与请求计数
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", stubSite.status());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 启动桩站点
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            int port = stubSite.start();
+            response.put("success", true);
+            response.put("message", "桩站点已启动，端口: " + port);
+            response.put("data", stubSite.status());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * 停止桩站点
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<Map<String, Object>> stop() {
+        stubSite.stop();
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "桩站点已停止");
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 开始压测
+     * 请求体字段：platforms（平台代码列表，不传时压测全部支持的平台）、runs、cityCodes、keywords、
+     * pages、pageSize、latencyMs、latencyJitterMs、filter（采集后是否过滤）、timeoutMinutes、
+     * maxTabs（依次以1到maxTabs个标签页采集，报告每分钟单元数与加速比）
+     */
+    @PostMapping("/benchmark")
+    public ResponseEntity<Map<String, Object>> benchmark(@RequestBody(required = false) BenchmarkRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("data", benchmarkService.start(request != null ? request
+                    : new BenchmarkRequest(null, null, null, null, null, null, null, null, true, null, null)));
+            response.put("success", true);
+            response.put("message", "压测已开始");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 获取当前或最近一次压测的进度与每分钟岗位数
+     */
+    @GetMapping("/benchmark")
+    public ResponseEntity<Map<String, Object>> report() {
+        Map<String, Object> response = new HashMap<>();
+        Optional<Map<String, Object>> report = benchmarkService.report();
+        if (report.isEmpty()) {
+            response.put("success", false);
+            response.put("message", "尚未执行压测");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", report.get());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,93 @@
+package getjobs.controller;
+
+import getjobs.service.task.TaskEngine;
+import getjobs.service.task.TaskEventStream;
+import getjobs.service.task.TaskExecution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 任务控制器 - 查询和取消任务引擎中的任务，不区分平台
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class TaskController {
+
+    private final TaskEngine taskEngine;
+    private final TaskEventStream taskEventStream;
+
+    /**
+     * 获取任务列表，最新的在前
+     *
+     * @param platform 平台代码，如boss、51job、zhilian、liepin，为空时返回所有平台
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> list(@RequestParam(required = false) String platform) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", taskEngine.list(platform));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取任务状态、进度和结果
+     */
+    @GetMapping("/{taskId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable String taskId) {
+        Map<String, Object> response = new HashMap<>();
+        TaskExecution task = taskEngine.get(taskId);
+        if (task == null) {
+            response.put("success", false);
+            response.put("message", "任务不存在: " + taskId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", task);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 订阅任务事件流
+     * 推送progress事件（任务快照，含阶段耗时、计数器和告警，按间隔合并），任务结束时推送done事件并关闭连接
+     */
+    @GetMapping(value = "/{taskId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String taskId) {
+        SseEmitter emitter = taskEventStream.subscribe(taskId);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 取消任务
+     */
+    @PostMapping("/{taskId}/cancel")
+    public ResponseEntity<Map<String, Object>> cancel(@PathVariable String taskId) {
+        Map<String, Object> response = new HashMap<>();
+        if (!taskEngine.cancel(taskId)) {
+            response.put("success", false);
+            response.put("message", "任务不存在或已结束: " + taskId);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("success", true);
+        response.put("message", "已请求取消任务");
+        return ResponseEntity.ok(response);
+    }
+}
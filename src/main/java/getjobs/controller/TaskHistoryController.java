@@ -0,0 +1,106 @@
+package getjobs.controller;
+
+import getjobs.repository.entity.TaskRunEntity;
+import getjobs.service.task.TaskHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 任务历史控制器
+ * 提供已执行任务的查询、按版本汇总的耗时与吞吐统计，以及历史压缩
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@RestController
+@RequestMapping("/api/task-history")
+@RequiredArgsConstructor
+public class TaskHistoryController {
+
+    private final TaskHistoryService taskHistoryService;
+
+    /**
+     * 分页查询任务历史，最新的在前
+     *
+     * @param platform 平台代码，如boss、51job、zhilian、liepin，为空时不限制
+     * @param type     任务类型，如collect、deliver，为空时不限制
+     * @param state    任务状态，如COMPLETED、FAILED，为空时不限制
+     * @param days     最近天数
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> search(@RequestParam(required = false) String platform,
+                                                      @RequestParam(required = false) String type,
+                                                      @RequestParam(required = false) String state,
+                                                      @RequestParam(defaultValue = "30") int days,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        Page<TaskRunEntity> runs = taskHistoryService.search(platform, type, state, days,
+                PageRequest.of(Math.max(0, page), Math.min(200, Math.max(1, size))));
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", runs.getContent());
+        response.put("total", runs.getTotalElements());
+        response.put("page", runs.getNumber());
+        response.put("size", runs.getSize());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 按应用版本汇总任务耗时与吞吐
+     *
+     * @param platform 平台代码，为空时不限制
+     * @param type     任务类型，为空时不限制
+     * @param days     最近天数
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> stats(@RequestParam(required = false) String platform,
+                                                     @RequestParam(required = false) String type,
+                                                     @RequestParam(defaultValue = "30") int days) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", taskHistoryService.stats(platform, type, days));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 获取任务记录及各阶段耗时
+     */
+    @GetMapping("/{taskId}")
+    public ResponseEntity<Map<String, Object>> get(@PathVariable String taskId) {
+        Map<String, Object> response = new HashMap<>();
+        Map<String, Object> detail = taskHistoryService.getDetail(taskId);
+        if (detail == null) {
+            response.put("success", false);
+            response.put("message", "任务记录不存在: " + taskId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.put("success", true);
+        response.put("data", detail);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 立即压缩任务历史，删除超过保留天数或条数上限的记录
+     */
+    @PostMapping("/compact")
+    public ResponseEntity<Map<String, Object>> compact() {
+        Map<String, Object> response = new HashMap<>();
+        int deleted = taskHistoryService.compact();
+        response.put("success", true);
+        response.put("message", "已删除 " + deleted + " 条任务记录");
+        response.put("deleted", deleted);
+        return ResponseEntity.ok(response);
+    }
+}
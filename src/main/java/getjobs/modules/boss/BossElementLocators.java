@@ -1,7 +1,5 @@
 package getjobs.modules.boss;
 
-import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.Page;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -52,62 +50,4 @@ public class BossElementLocators {
     public static final String PAGE_HEADER = "//h1";
     public static final String ERROR_PAGE_LOGIN = "//a[@ka='403_login']";
 
-    /**
-     * 获取所有job-card-box元素并逐个点击
-     * 
-     * @param page        Playwright页面对象
-     * @param delayMillis 每次点击之间的延迟时间（毫秒）
-     * @return 成功点击的岗位数量
-     */
-    public static int clickAllJobCards(Page page, int delayMillis) {
-        if (page == null) {
-            log.error("Page对象为空，无法执行点击操作");
-            return 0;
-        }
-
-        try {
-            // 使用JOB_LIST_CONTAINER_CARDS定位器获取所有岗位卡片
-            Locator jobCards = page.locator(JOB_LIST_CONTAINER_CARDS);
-            int cardCount = jobCards.count();
-
-            if (cardCount == 0) {
-                log.warn("未找到任何job-card-box元素");
-                return 0;
-            }
-
-            log.info("找到 {} 个岗位卡片，开始逐个点击", cardCount);
-            int successCount = 0;
-
-            // 遍历所有岗位卡片并点击
-            for (int i = 0; i < cardCount; i++) {
-                try {
-                    Locator currentCard = jobCards.nth(i);
-
-                    // 确保元素可见且可点击
-                    if (currentCard.isVisible()) {
-                        log.debug("正在点击第 {} 个岗位卡片", i + 1);
-                        currentCard.click();
-                        successCount++;
-
-                        // 添加延迟，避免点击过快
-                        if (delayMillis > 0) {
-                            Thread.sleep(delayMillis);
-                        }
-                    } else {
-                        log.warn("第 {} 个岗位卡片不可见，跳过", i + 1);
-                    }
-                } catch (Exception e) {
-                    log.error("点击第 {} 个岗位卡片时发生错误: {}", i + 1, e.getMessage());
-                }
-            }
-
-            log.info("岗位卡片点击完成，成功点击 {} 个，总共 {} 个", successCount, cardCount);
-            return successCount;
-
-        } catch (Exception e) {
-            log.error("执行岗位卡片点击操作时发生异常: {}", e.getMessage(), e);
-            return 0;
-        }
-    }
-
-}
\ No newline at end of file
+}
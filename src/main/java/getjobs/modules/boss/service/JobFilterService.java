@@ -1,7 +1,9 @@
 package getjobs.modules.boss.service;
 
 import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.modules.boss.dto.JobDTO;
+import getjobs.service.profiling.FilterEvaluatedEvent;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +24,7 @@ public class JobFilterService {
 
     public List<JobDTO> filterJobs(List<JobDTO> jobDTOS, ConfigDTO config) {
         log.info("开始Boss直聘岗位过滤，原始岗位数量: {}", jobDTOS.size());
+        FilterEvaluatedEvent event = new FilterEvaluatedEvent(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode());
 
         List<JobDTO> filteredJobDTOS = jobDTOS.stream()
                 .map(job -> {
@@ -30,6 +33,8 @@ public class JobFilterService {
                     return job;
                 })
                 .collect(Collectors.toList());
+        event.finish(filteredJobDTOS.size(),
+                (int) filteredJobDTOS.stream().filter(job -> job.getFilterReason() != null).count());
 
         log.info("Boss直聘岗位过滤完成，过滤后岗位数量: {}", filteredJobDTOS.size());
         return filteredJobDTOS;
@@ -2,9 +2,11 @@ package getjobs.modules.boss.service.impl;
 
 import com.github.openjson.JSONArray;
 import com.github.openjson.JSONObject;
+import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.ElementHandle;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
 import com.microsoft.playwright.options.Cookie;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import getjobs.common.enums.RecruitmentPlatformEnum;
@@ -14,13 +16,22 @@ import getjobs.modules.boss.dto.JobDTO;
 import getjobs.common.enums.JobStatusEnum;
 import getjobs.modules.boss.service.JobFilterService;
 import getjobs.modules.boss.service.playwright.BossApiMonitorService;
+import getjobs.modules.boss.service.playwright.BossJobDetailEnrichService;
 import getjobs.repository.JobRepository;
 import getjobs.repository.entity.ConfigEntity;
 import getjobs.repository.entity.JobEntity;
 import getjobs.service.ConfigService;
+import getjobs.service.DeliveryPacingService;
 import getjobs.service.RecruitmentService;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.StorageStateStore;
+import getjobs.service.delivery.DeliveryResult;
+import getjobs.service.collect.ParallelSearchCollector;
+import getjobs.service.collect.SearchUnit;
+import getjobs.service.profiling.DeliveryAttemptedEvent;
 import getjobs.utils.JobUtils;
 import getjobs.utils.PlaywrightUtil;
+import getjobs.utils.ResponseDrivenPager;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,6 +44,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static getjobs.modules.boss.BossElementLocators.*;
@@ -48,21 +61,34 @@ import static getjobs.modules.boss.BossElementLocators.*;
 @Service
 public class BossRecruitmentServiceImpl implements RecruitmentService {
 
-    private static final String HOME_URL = RecruitmentPlatformEnum.BOSS_ZHIPIN.getHomeUrl();
-    private static final String GEEK_JOB_URL = HOME_URL + "/web/geek/job?";
-    private static final String GEEK_CHAT_URL = HOME_URL + "/web/geek/chat";
+    private static final String JOB_SEARCH_API = "/wapi/zpgeek/search/joblist.json";
+    private static final String JOB_SEARCH_ROUTE = "**" + JOB_SEARCH_API + "**";
+    private static final Pattern PAGE_PARAM = Pattern.compile("([?&]page=)(\\d+)");
+    private static final String RECOMMEND_JOB_API = "/wapi/zpgeek/pc/recommend/job/list.json";
 
     private final ConfigService configService;
     private final BossApiMonitorService bossApiMonitorService;
     private final JobRepository jobRepository;
     private final JobFilterService jobFilterService;
+    private final BossJobDetailEnrichService jobDetailEnrichService;
+    private final DeliveryPacingService deliveryPacingService;
+    private final ParallelSearchCollector parallelSearchCollector;
+    private final StorageStateStore storageStateStore;
 
     public BossRecruitmentServiceImpl(ConfigService configService, BossApiMonitorService bossApiMonitorService,
-                                      JobRepository jobRepository, JobFilterService jobFilterService) {
+                                      JobRepository jobRepository, JobFilterService jobFilterService,
+                                      BossJobDetailEnrichService jobDetailEnrichService,
+                                      DeliveryPacingService deliveryPacingService,
+                                      ParallelSearchCollector parallelSearchCollector,
+                                      StorageStateStore storageStateStore) {
         this.configService = configService;
         this.bossApiMonitorService = bossApiMonitorService;
         this.jobRepository = jobRepository;
         this.jobFilterService = jobFilterService;
+        this.jobDetailEnrichService = jobDetailEnrichService;
+        this.deliveryPacingService = deliveryPacingService;
+        this.parallelSearchCollector = parallelSearchCollector;
+        this.storageStateStore = storageStateStore;
     }
 
     @Override
@@ -75,17 +101,10 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
         log.info("开始Boss直聘登录检查");
 
         try {
-            // 使用Playwright打开网站
+            // 先恢复登录态再打开网站，不再需要加载Cookie后刷新页面
             Page page = PlaywrightUtil.getPageObject();
-            page.navigate(HOME_URL);
-
-            // 检查并加载Cookie
-            String cookieData = getCookieFromConfig();
-            if (isCookieValid(cookieData)) {
-                loadCookiesFromString(cookieData);
-                page.reload();
-                PlaywrightUtil.sleep(2);
-            }
+            ensureSession();
+            page.navigate(getPlatform().getHomeUrl());
 
             // 检查是否需要登录
             if (isLoginRequired()) {
@@ -93,6 +112,7 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
                 return scanLogin();
             } else {
                 log.info("Boss直聘已登录");
+                storageStateStore.saveIfChanged(ContextKey.of(getPlatform()), PlaywrightUtil.getContext());
                 return true;
             }
         } catch (Exception e) {
@@ -110,20 +130,17 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
         LocalDateTime collectionStartTime = LocalDateTime.now();
 
         try {
-            // 按城市和关键词搜索岗位
-            for (String cityCode : config.getCityCodeCodes()) {
-                for (String keyword : config.getKeywordsList()) {
-                    collectJobsByCity(cityCode, keyword, config);
-                    // 不再依赖返回的空集合，岗位数据由监控服务自动入库
-                }
-            }
+            // 设置岗位搜索接口监听器并恢复登录态，所有标签页共享同一个上下文，只需执行一次
+            bossApiMonitorService.startMonitoring();
+            ensureSession();
 
-            // 等待一段时间确保所有API响应都被处理完毕
-            try {
-                Thread.sleep(3000); // 等待3秒
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // 按城市×关键词拆分为搜索单元，在多个标签页上并行采集，岗位数据由监控服务自动入库
+            List<SearchUnit> units = SearchUnit.plan(config.getCityCodeCodes(), config.getKeywordsList(),
+                    (cityCode, keyword) -> buildSearchUrl(cityCode, keyword, config));
+            parallelSearchCollector.collect(getPlatform(), units, config.getCollectTabs(), this::openSearchUnit);
+
+            // 按速率配置直接请求缺少详情的岗位，详情响应由监控服务自动入库
+            jobDetailEnrichService.enrichMissingDetails(PlaywrightUtil.getPageObject());
 
             // 统计采集期间新增的岗位数量
             LocalDateTime collectionEndTime = LocalDateTime.now();
@@ -154,11 +171,8 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
             // 设置推荐岗位接口监听器
             bossApiMonitorService.startMonitoring();
 
-            String cookieData = getCookieFromConfig();
-            if (isCookieValid(cookieData)) {
-                loadCookiesFromString(cookieData);
-            }
-            page.navigate(GEEK_JOB_URL);
+            ensureSession();
+            page.navigate(getPlatform().getSearchUrl());
 
             // 等待页面加载
             page.waitForLoadState();
@@ -171,21 +185,20 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
 
             if (activeElement != null) {
                 log.debug("找到推荐岗位入口，准备点击");
-                activeElement.click();
-                page.waitForLoadState();
+                ResponseDrivenPager pager = newJobListPager(page, "推荐岗位", RECOMMEND_JOB_API).start(() -> {
+                    activeElement.click();
+                    page.waitForLoadState();
+                });
 
                 if (isJobsPresent()) {
                     // 滚动加载推荐岗位
-                    int totalJobs = loadJobsWithScroll(page, "推荐岗位");
+                    int totalJobs = loadJobsWithScroll(pager);
                     log.info("推荐岗位加载，总计: {}", totalJobs);
                 }
-            }
+                pager.close();
 
-            // 等待一段时间确保所有API响应都被处理完毕
-            try {
-                Thread.sleep(3000); // 等待3秒
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                // 补全推荐岗位的详情信息
+                jobDetailEnrichService.enrichMissingDetails(page);
             }
 
             // 统计采集期间新增的岗位数量
@@ -224,36 +237,57 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
         int successCount = 0;
 
         for (JobDTO jobDTO : jobDTOS) {
-            try {
-                if (isDeliveryLimitReached()) {
-                    log.warn("达到投递上限，停止投递");
-                    break;
-                }
+            DeliveryResult result = deliverJob(jobDTO, config);
+            if (result.outcome() == DeliveryResult.Outcome.NOT_ATTEMPTED) {
+                log.warn("{}，停止投递", result.reason());
+                break;
+            }
+            if (result.isSuccess()) {
+                successCount++;
+                updateJobStatus(jobDTO, JobStatusEnum.DELIVERED_SUCCESS.getCode(), null);
+            } else {
+                updateJobStatus(jobDTO, JobStatusEnum.DELIVERED_FAILED.getCode(), result.reason());
+            }
+        }
 
-                boolean delivered = deliverSingleJob(jobDTO, config);
-                if (delivered) {
-                    successCount++;
-                    log.info("投递成功: {} - {}", jobDTO.getCompanyName(), jobDTO.getJobName());
-                    updateJobStatus(jobDTO, JobStatusEnum.DELIVERED_SUCCESS.getCode(), null);
-                } else {
-                    log.warn("投递失败: {} - {}", jobDTO.getCompanyName(), jobDTO.getJobName());
-                    updateJobStatus(jobDTO, JobStatusEnum.DELIVERED_FAILED.getCode(), "自动投递失败");
-                }
+        log.info("Boss直聘岗位投递完成，成功投递: {}", successCount);
+        return successCount;
+    }
 
-                // 投递间隔
-                PlaywrightUtil.sleep(15);
+    @Override
+    public DeliveryResult deliverJob(JobDTO jobDTO, ConfigDTO config) {
+        if (isDeliveryLimitReached()) {
+            deliveryPacingService.onDailyLimitReached(getPlatform());
+            return DeliveryResult.notAttempted("达到投递上限");
+        }
+        // 按平台投递节奏获取许可，额度用完时不投递
+        if (!deliveryPacingService.acquire(getPlatform(), parseWaitTime(config))) {
+            return DeliveryResult.notAttempted("今日投递额度已用完");
+        }
 
-            } catch (Exception e) {
-                log.error("投递岗位失败: {} - {}", jobDTO.getCompanyName(), jobDTO.getJobName(), e);
-                try {
-                    updateJobStatus(jobDTO, JobStatusEnum.DELIVERED_FAILED.getCode(), "异常投递失败");
-                } catch (Exception ignore) {
-                }
+        DeliveryAttemptedEvent attempt = new DeliveryAttemptedEvent(getPlatform().getPlatformCode(),
+                jobDTO.getEncryptJobId());
+        try {
+            DeliveryResult result = deliverSingleJob(jobDTO, config);
+            attempt.finish(result.isSuccess() ? DeliveryAttemptedEvent.SUCCESS : DeliveryAttemptedEvent.FAILED);
+            if (result.isSuccess()) {
+                deliveryPacingService.onSuccess(getPlatform());
+                log.info("投递成功: {} - {}", jobDTO.getCompanyName(), jobDTO.getJobName());
+            } else {
+                log.warn("投递失败: {} - {}，原因: {}", jobDTO.getCompanyName(), jobDTO.getJobName(), result.reason());
             }
+            return result;
+        } catch (Exception e) {
+            // 页面超时、网络错误等，投递队列会稍后重试
+            attempt.finish(DeliveryAttemptedEvent.ERROR);
+            log.error("投递岗位失败: {} - {}", jobDTO.getCompanyName(), jobDTO.getJobName(), e);
+            return DeliveryResult.transientFailure("投递异常: " + e.getMessage());
         }
+    }
 
-        log.info("Boss直聘岗位投递完成，成功投递: {}", successCount);
-        return successCount;
+    @Override
+    public boolean supportsQueuedDelivery() {
+        return true;
     }
 
     /**
@@ -378,47 +412,46 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
     }
 
     /**
-     * 按城市采集岗位
+     * 在指定标签页上开始一个搜索单元：先挂载翻页器再导航，首屏列表响应计为第1页
      */
-    private void collectJobsByCity(String cityCode, String keyword, ConfigDTO config) {
-        String searchUrl = getSearchUrl(cityCode, config);
-        String encodedKeyword = URLEncoder.encode(keyword, StandardCharsets.UTF_8);
-        String url = searchUrl + "&query=" + encodedKeyword;
-
-        log.info("开始采集，城市: {}，关键词: {}，URL: {}", cityCode, keyword, url);
-
-        Page page = PlaywrightUtil.getPageObject();
-
-        // 设置岗位搜索接口监听器
-        bossApiMonitorService.startMonitoring();
-
-        String cookieData = getCookieFromConfig();
-        if (isCookieValid(cookieData)) {
-            loadCookiesFromString(cookieData);
+    private ResponseDrivenPager openSearchUnit(Page tab, SearchUnit unit, ParallelSearchCollector.UnitControl control) {
+        log.info("开始采集，城市: {}，关键词: {}，URL: {}", unit.cityCode(), unit.keyword(), unit.url());
+        // 标签页在多个单元之间复用，先移除上一个单元的页码改写
+        tab.unroute(JOB_SEARCH_ROUTE);
+        int pageOffset = unit.startPage() - 1;
+        if (pageOffset > 0) {
+            // 列表靠下拉加载，无法直接打开中间页：把列表接口的page参数整体后移，首屏即返回起始页
+            tab.route(JOB_SEARCH_ROUTE, route -> route.fallback(new Route.FallbackOptions()
+                    .setUrl(shiftPageParam(route.request().url(), pageOffset))));
         }
-        page.navigate(url);
+        return newJobListPager(tab, "搜索岗位[" + unit + "]", JOB_SEARCH_API, control, pageOffset)
+                .start(() -> tab.navigate(unit.url()));
+    }
 
-        if (isJobsPresent()) {
-            try {
-                // 滚动加载更多岗位
-                int totalJobs = loadJobsWithScroll(page, "搜索岗位");
-                log.info("搜索岗位加载完成: {}，关键词: {}", totalJobs, keyword);
-            } catch (Exception e) {
-                log.error("滚动加载岗位数据出错", e);
-            }
+    /**
+     * 把列表接口URL中的page参数后移指定页数，没有page参数时视为第1页
+     */
+    private static String shiftPageParam(String url, int pageOffset) {
+        Matcher matcher = PAGE_PARAM.matcher(url);
+        if (matcher.find()) {
+            int page = Integer.parseInt(matcher.group(2)) + pageOffset;
+            return url.substring(0, matcher.start()) + matcher.group(1) + page + url.substring(matcher.end());
         }
+        return url + (url.contains("?") ? "&" : "?") + "page=" + (1 + pageOffset);
+    }
 
-        // 点击所有岗位卡片以触发详情API调用，让监控服务获取更多岗位信息
-        BossElementLocators.clickAllJobCards(page, 5000);
-
-        log.info("城市: {}，关键词: {} 的岗位采集操作完成，实际数据由监控服务自动入库", cityCode, keyword);
+    /**
+     * 构建城市与关键词的搜索URL
+     */
+    private String buildSearchUrl(String cityCode, String keyword, ConfigDTO config) {
+        return getSearchUrl(cityCode, config) + "&query=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8);
     }
 
     /**
      * 构建搜索URL
      */
     private String getSearchUrl(String cityCode, ConfigDTO config) {
-        return GEEK_JOB_URL +
+        return getPlatform().getSearchUrl() +
                 // 城市参数：指定搜索的城市代码
                 JobUtils.appendParam("city", cityCode) +
                 // 职位类型参数：指定搜索的职位类型代码（如：全职、兼职、实习等）
@@ -451,45 +484,69 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
     }
 
     /**
-     * 滚动加载岗位数据
+     * 创建岗位列表翻页器：每次下拉后等待列表接口响应，接口返回hasMore=false时停止
      */
-    private int loadJobsWithScroll(Page page, String jobType) {
-        int previousJobCount = 0;
-        int currentJobCount = 0;
-        int unchangedCount = 0;
-
-        while (unchangedCount < 2) {
-            List<ElementHandle> jobCards = page.querySelectorAll(JOB_LIST_SELECTOR);
-            currentJobCount = jobCards.size();
+    private ResponseDrivenPager newJobListPager(Page page, String jobType, String apiFragment) {
+        return newJobListPager(page, jobType, apiFragment, null, 0);
+    }
 
-            log.debug("滚动加载中，当前岗位数: {}", currentJobCount);
+    /**
+     * 创建岗位列表翻页器，每次下拉前需通过限流闸门，已采集过的岗位占比达到阈值时提前结束
+     */
+    private ResponseDrivenPager newJobListPager(Page page, String jobType, String apiFragment,
+                                                ParallelSearchCollector.UnitControl control, int pageOffset) {
+        ResponseDrivenPager.Builder builder = ResponseDrivenPager.builder(page, apiFragment,
+                BossRecruitmentServiceImpl::inspectJobList);
+        if (control != null) {
+            control.applyTo(builder);
+        }
+        return builder
+                .label(jobType)
+                .pageOffset(pageOffset)
+                .advance(() -> {
+                    safeEvaluateJavaScript(page, "window.scrollTo(0, document.body.scrollHeight)");
+                    log.debug("{}下拉页面加载更多...", jobType);
+                    return isPageValid(page);
+                })
+                .build();
+    }
 
-            if (currentJobCount > previousJobCount) {
-                previousJobCount = currentJobCount;
-                unchangedCount = 0;
+    /**
+     * 滚动加载岗位数据
+     */
+    private int loadJobsWithScroll(ResponseDrivenPager pager) {
+        ResponseDrivenPager.PagerResult result = pager.run();
+        result.pages().forEach(record -> log.debug("{}第{}页，耗时: {} ms，结束原因: {}，岗位数: {}",
+                result.label(), record.pageIndex(), record.wallTimeMs(), record.reason(), record.itemCount()));
+        return result.totalItems();
+    }
 
-                safeEvaluateJavaScript(page, "window.scrollTo(0, document.body.scrollHeight)");
-                log.debug("{}下拉页面加载更多...", jobType);
-                page.waitForTimeout(2000);
-            } else {
-                unchangedCount++;
-                if (unchangedCount < 2) {
-                    log.debug("{}下拉后岗位数量未增加，再次尝试...", jobType);
-                    safeEvaluateJavaScript(page, "window.scrollTo(0, document.body.scrollHeight)");
-                    page.waitForTimeout(2000);
-                }
+    /**
+     * 解析岗位列表接口的分页信息
+     */
+    private static ResponseDrivenPager.PageInfo inspectJobList(String body) {
+        JSONObject zpData = new JSONObject(body).optJSONObject("zpData");
+        if (zpData == null) {
+            // 业务码异常（如风控）时没有zpData，不再继续下拉
+            return new ResponseDrivenPager.PageInfo(0, false, null);
+        }
+        JSONArray jobList = zpData.optJSONArray("jobList");
+        Boolean hasMore = zpData.has("hasMore") ? zpData.optBoolean("hasMore") : null;
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; jobList != null && i < jobList.length(); i++) {
+            JSONObject job = jobList.optJSONObject(i);
+            if (job != null && !job.optString("encryptJobId").isEmpty()) {
+                jobIds.add(job.optString("encryptJobId"));
             }
         }
-
-        log.debug("{}加载完成，总计岗位数: {}", jobType, currentJobCount);
-        return currentJobCount;
+        return new ResponseDrivenPager.PageInfo(jobList == null ? 0 : jobList.length(), hasMore, null, jobIds);
     }
 
     /**
      * 投递单个岗位
      */
     @SneakyThrows
-    private boolean deliverSingleJob(JobDTO jobDTO, ConfigDTO config) {
+    private DeliveryResult deliverSingleJob(JobDTO jobDTO, ConfigDTO config) {
         // 在新标签页中打开岗位详情
         Page jobPage = PlaywrightUtil.getPageObject().context().newPage();
 
@@ -501,7 +558,8 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
             if (!chatButton.nth(0).isVisible(new Locator.IsVisibleOptions().setTimeout(5000.0))) {
                 Locator errorElement = jobPage.locator(ERROR_CONTENT);
                 if (errorElement.isVisible() && errorElement.textContent().contains("异常访问")) {
-                    return false;
+                    deliveryPacingService.onRiskWarning(getPlatform(), "异常访问");
+                    return DeliveryResult.transientFailure("风控提示: 异常访问");
                 }
             }
 
@@ -517,40 +575,40 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
     }
 
     /**
-     * 执行具体的投递操作
+     * 解析用户配置的投递等待时间（秒），作为投递节奏的最短间隔
      */
-    private boolean performDelivery(Page jobPage, JobDTO jobDTO, ConfigDTO config) {
+    private double parseWaitTime(ConfigDTO config) {
+        String waitTime = config.getWaitTime();
+        if (waitTime == null || waitTime.isBlank()) {
+            return 0;
+        }
         try {
-            Locator chatBtn = jobPage.locator(CHAT_BUTTON).nth(0);
-
-            // 等待并点击沟通按钮
-            String waitTime = config.getWaitTime();
-            int sleepTime = 10;
-            if (waitTime != null) {
-                try {
-                    sleepTime = Integer.parseInt(waitTime);
-                } catch (NumberFormatException e) {
-                    log.warn("等待时间配置错误，使用默认值10秒");
-                }
-            }
-            PlaywrightUtil.sleep(sleepTime);
+            return Double.parseDouble(waitTime.trim());
+        } catch (NumberFormatException e) {
+            log.warn("等待时间配置错误，使用平台默认投递节奏");
+            return 0;
+        }
+    }
 
-            chatBtn.click();
+    /**
+     * 执行具体的投递操作，页面异常向上抛出，由调用方按可重试失败处理
+     */
+    private DeliveryResult performDelivery(Page jobPage, JobDTO jobDTO, ConfigDTO config) {
+        Locator chatBtn = jobPage.locator(CHAT_BUTTON).nth(0);
 
-            if (isDeliveryLimitReached()) {
-                return false;
-            }
+        // 点击沟通按钮，投递间隔已由投递节奏服务控制
+        chatBtn.click();
 
-            // 处理可能出现的弹框
-            handlePossibleDialog(jobPage, chatBtn);
+        if (isDeliveryLimitReached()) {
+            deliveryPacingService.onDailyLimitReached(getPlatform());
+            return DeliveryResult.notAttempted("达到投递上限");
+        }
 
-            // 处理输入框和发送消息
-            return handleChatInput(jobPage, jobDTO, config);
+        // 处理可能出现的弹框
+        handlePossibleDialog(jobPage, chatBtn);
 
-        } catch (Exception e) {
-            log.error("执行投递操作失败", e);
-            return false;
-        }
+        // 处理输入框和发送消息
+        return handleChatInput(jobPage, jobDTO, config);
     }
 
     /**
@@ -572,47 +630,42 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
     }
 
     /**
-     * 处理聊天输入框
+     * 处理聊天输入框，输入框等待超时等页面异常向上抛出
      */
-    private boolean handleChatInput(Page jobPage, JobDTO jobDTO, ConfigDTO config) {
-        try {
-            Locator input = jobPage.locator(CHAT_INPUT).nth(0);
-
-            input.waitFor(new Locator.WaitForOptions()
-                    .setState(WaitForSelectorState.VISIBLE)
-                    .setTimeout(10000.0));
+    private DeliveryResult handleChatInput(Page jobPage, JobDTO jobDTO, ConfigDTO config) {
+        Locator input = jobPage.locator(CHAT_INPUT).nth(0);
 
-            if (input.isVisible(new Locator.IsVisibleOptions().setTimeout(10000.0))) {
-                input.click();
+        input.waitFor(new Locator.WaitForOptions()
+                .setState(WaitForSelectorState.VISIBLE)
+                .setTimeout(10000.0));
 
-                Locator dialogElement = jobPage.locator(DIALOG_CONTAINER).nth(0);
-                if (dialogElement.isVisible() && "不匹配".equals(dialogElement.textContent())) {
-                    return false;
-                }
+        if (input.isVisible(new Locator.IsVisibleOptions().setTimeout(10000.0))) {
+            input.click();
 
-                // 准备打招呼内容
-                String greetingMessage = config.getSayHi().replaceAll("\\r|\\n", "");
-                input.fill(greetingMessage);
+            Locator dialogElement = jobPage.locator(DIALOG_CONTAINER).nth(0);
+            if (dialogElement.isVisible() && "不匹配".equals(dialogElement.textContent())) {
+                return DeliveryResult.rejected("岗位不匹配");
+            }
 
-                Locator sendBtn = jobPage.locator(SEND_BUTTON).nth(0);
-                if (sendBtn.isVisible(new Locator.IsVisibleOptions().setTimeout(5000.0))) {
-                    sendBtn.click();
-                    PlaywrightUtil.sleep(3);
+            // 准备打招呼内容
+            String greetingMessage = config.getSayHi().replaceAll("\\r|\\n", "");
+            input.fill(greetingMessage);
 
-                    // 发送简历图片
-                    if (config.getSendImgResume()) {
-                        sendResumeImage(jobPage, config);
-                    }
+            Locator sendBtn = jobPage.locator(SEND_BUTTON).nth(0);
+            if (sendBtn.isVisible(new Locator.IsVisibleOptions().setTimeout(5000.0))) {
+                sendBtn.click();
+                PlaywrightUtil.sleep(3);
 
-                    PlaywrightUtil.sleep(3);
-                    return true;
+                // 发送简历图片
+                if (config.getSendImgResume()) {
+                    sendResumeImage(jobPage, config);
                 }
+
+                PlaywrightUtil.sleep(3);
+                return DeliveryResult.success();
             }
-            return false;
-        } catch (Exception e) {
-            log.error("处理聊天输入框失败", e);
-            return false;
         }
+        return DeliveryResult.rejected("未找到发送按钮，可能已沟通过");
     }
 
     /**
@@ -700,7 +753,9 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
     private boolean isPageValid(Page page) {
         try {
             String url = page.url();
-            return url != null && url.contains("zhipin.com") && !url.contains("error");
+            // 基础URL被覆盖（如指向本地桩站点）时按覆盖后的地址判断
+            String host = getPlatform().isBaseUrlOverridden() ? getPlatform().getHomeUrl() : "zhipin.com";
+            return url != null && url.contains(host) && !url.contains("error");
         } catch (Exception e) {
             log.debug("页面状态检查失败: {}", e.getMessage());
             return false;
@@ -712,7 +767,7 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
      */
     private void updateBlacklistFromChat() {
         Page page = PlaywrightUtil.getPageObject();
-        page.navigate(GEEK_CHAT_URL);
+        page.navigate(getPlatform().getHomeUrl() + "/web/geek/chat");
         PlaywrightUtil.sleep(3);
 
         boolean shouldBreak = false;
@@ -870,7 +925,7 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
     @SneakyThrows
     private boolean scanLogin() {
         Page page = PlaywrightUtil.getPageObject();
-        page.navigate(HOME_URL + "/web/user/?ka=header-login");
+        page.navigate(getPlatform().getHomeUrl() + "/web/user/?ka=header-login");
         PlaywrightUtil.sleep(5);
 
         try {
@@ -906,9 +961,26 @@ public class BossRecruitmentServiceImpl implements RecruitmentService {
         }
 
         saveCookieToConfig();
+        storageStateStore.saveIfChanged(ContextKey.of(getPlatform()), PlaywrightUtil.getContext());
         return true;
     }
 
+    /**
+     * 确保当前上下文已恢复登录态：
+     * 优先使用存储状态文件（上下文池创建时已直接加载，同一上下文只加载一次），没有时回退到配置中保存的Cookie。
+     * 回退时不把上下文记为已恢复，以免其他平台共用该上下文时跳过各自的存储状态
+     */
+    private void ensureSession() {
+        BrowserContext context = PlaywrightUtil.getContext();
+        if (storageStateStore.restoreOnce(ContextKey.of(getPlatform()), context)) {
+            return;
+        }
+        String cookieData = getCookieFromConfig();
+        if (isCookieValid(cookieData)) {
+            loadCookiesFromString(cookieData);
+        }
+    }
+
     /**
      * 等待用户输入或超时
      */
@@ -4,21 +4,26 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.openjson.JSONObject;
 import com.microsoft.playwright.*;
 import getjobs.modules.boss.dto.BossApiResponse;
+import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
+import getjobs.service.browser.ResponseCaptureLog;
+import getjobs.service.browser.ResponseRouteProvider;
+import getjobs.service.browser.ResponseRouter;
+import getjobs.service.collect.JobsIngestedEvent;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.profiling.BatchIngestedEvent;
 import getjobs.utils.BossJobDataConverter;
 import getjobs.utils.PlaywrightUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.annotation.PostConstruct;
-
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
@@ -31,47 +36,39 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class BossApiMonitorService {
+public class BossApiMonitorService implements ResponseRouteProvider {
+
+    private static final String ROUTE_JOB_SEARCH = "boss-job-search";
+    private static final String ROUTE_RECOMMEND_JOB = "boss-recommend-job";
+    private static final String ROUTE_JOB_DETAIL = "boss-job-detail";
 
     private final JobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PipelineMetrics pipelineMetrics;
+    private final ResponseCaptureLog responseCaptureLog;
     private final BossJobDataConverter dataConverter;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    // 全局接口调用频率限制：记录最后一次调用时间
-    private static volatile long lastCallTime = 0L;
-
-    // 接口调用间隔：10秒
-    private static final long CALL_INTERVAL_MS = 10000L;
-
-    // 全局锁，确保同一时间只有一个请求在执行
-    private static final ReentrantLock globalLock = new ReentrantLock();
-
     /**
-     * 初始化监控服务
      * 设置岗位搜索和推荐岗位接口监听器
-     */
-    @PostConstruct
-    public void init() {
-        setupJobApiMonitor();
-    }
-
-    /**
-     * 设置岗位搜索和推荐岗位接口监听器
-     * 监听所有相关的API响应并打印完整报文
+     * 向当前线程使用的上下文路由器注册路由，重复调用不会产生重复监听
      */
     public void setupJobApiMonitor() {
         try {
-            BrowserContext ctx = PlaywrightUtil.getContext();
-            Page page = PlaywrightUtil.getPageObject();
+            ResponseRouter router = PlaywrightUtil.getResponseRouter();
+            if (router == null) {
+                log.warn("浏览器上下文尚未初始化，跳过Boss API监控注册");
+                return;
+            }
 
             // 监听岗位搜索接口
-            // setupJobSearchMonitor(ctx);
+            // setupJobSearchMonitor(PlaywrightUtil.getContext());
 
             // 监听岗位推荐接口
-            // setupRecommendJobMonitor(ctx);
+            // setupRecommendJobMonitor(PlaywrightUtil.getContext());
 
             // 监听所有岗位相关接口的响应
-            setupResponseMonitor(page);
+            registerRoutes(router);
 
             log.info("Boss API监控服务初始化完成");
         } catch (Exception e) {
@@ -79,6 +76,17 @@ public class BossApiMonitorService {
         }
     }
 
+    /**
+     * 注册岗位搜索、推荐岗位和岗位详情接口的响应路由
+     */
+    @Override
+    public void registerRoutes(ResponseRouter router) {
+        router.register(ROUTE_JOB_SEARCH, "/wapi/zpgeek/search/joblist.json", this::handleJobSearchResponse);
+        router.register(ROUTE_RECOMMEND_JOB, "/wapi/zpgeek/pc/recommend/job/list.json",
+                this::handleRecommendJobResponse);
+        router.register(ROUTE_JOB_DETAIL, "/wapi/zpgeek/job/detail.json", this::handleJobDetailResponse);
+    }
+
     /**
      * 设置岗位搜索接口监控
      */
@@ -126,111 +134,32 @@ public class BossApiMonitorService {
         });
     }
 
-    /**
-     * 设置响应监控
-     */
-    private void setupResponseMonitor(Page page) {
-        page.onResponse(res -> {
-            String url = res.url();
-
-            // 监听岗位搜索接口响应
-            if (url.contains("/wapi/zpgeek/search/joblist.json")) {
-                handleJobSearchResponse(res);
-            }
-            // 监听推荐岗位接口响应
-            else if (url.contains("/wapi/zpgeek/pc/recommend/job/list.json")) {
-                handleRecommendJobResponse(res);
-            }
-            else if(url.contains("/wapi/zpgeek/job/detail.json")){
-                handleJobDetailResponse(res);
-            }
-        });
-    }
-
-    private void handleJobDetailResponse(Response res) {
-        log.info("=== 岗位详情响应拦截 ===");
-        log.info("响应状态: {}", res.status());
-        log.info("响应URL: {}", res.url());
-        log.info("响应头: {}", res.headers());
-
-        try {
-            String body = res.text();
-            log.info("响应体长度: {} 字符", body.length());
-            log.info("响应体内容: {}", body);
-
-            JSONObject jsonResponse = new JSONObject(body);
-            // 解析并保存职位数据
-            parseAndUpdateJobDetail(jsonResponse);
-
-        } catch (PlaywrightException e) {
-            log.error("读取响应体失败: {}", e.getMessage());
-        }
-        log.info("==========================");
+    private void handleJobDetailResponse(Response res, String body) {
+        responseCaptureLog.capture(ROUTE_JOB_DETAIL, res, body);
 
+        JSONObject jsonResponse = new JSONObject(body);
+        // 解析并保存职位数据
+        parseAndUpdateJobDetail(jsonResponse);
     }
 
     /**
      * 处理岗位搜索响应
      */
-    private void handleJobSearchResponse(Response res) {
-        log.info("=== 岗位搜索响应拦截 ===");
-        log.info("响应状态: {}", res.status());
-        log.info("响应URL: {}", res.url());
-        log.info("响应头: {}", res.headers());
-
-        try {
-            String body = res.text();
-            log.info("响应体长度: {} 字符", body.length());
-            log.info("响应体内容: {}", body);
+    private void handleJobSearchResponse(Response res, String body) {
+        responseCaptureLog.capture(ROUTE_JOB_SEARCH, res, body);
 
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
-
-            // 解析并保存职位数据
-            parseAndSaveJobData(body, "岗位搜索");
-
-        } catch (PlaywrightException e) {
-            log.error("读取响应体失败: {}", e.getMessage());
-        }
-        log.info("==========================");
+        // 解析并保存职位数据
+        parseAndSaveJobData(body, "岗位搜索");
     }
 
     /**
      * 处理推荐岗位响应
      */
-    private void handleRecommendJobResponse(com.microsoft.playwright.Response res) {
-        log.info("=== 推荐岗位响应拦截 ===");
-        log.info("响应状态: {}", res.status());
-        log.info("响应URL: {}", res.url());
-        log.info("响应头: {}", res.headers());
+    private void handleRecommendJobResponse(com.microsoft.playwright.Response res, String body) {
+        responseCaptureLog.capture(ROUTE_RECOMMEND_JOB, res, body);
 
-        try {
-            String body = res.text();
-            log.info("响应体长度: {} 字符", body.length());
-            log.info("响应体内容: {}", body);
-
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
-
-            // 解析并保存职位数据
-            parseAndSaveJobData(body, "推荐岗位");
-
-        } catch (PlaywrightException e) {
-            log.error("读取响应体失败: {}", e.getMessage());
-        }
-        log.info("==========================");
-    }
-
-    /**
-     * 格式化JSON响应
-     */
-    private void formatJsonResponse(String body) {
-        try {
-            JSONObject jsonResponse = new JSONObject(body);
-            log.debug("格式化JSON响应: {}", jsonResponse.toString(2));
-        } catch (Exception e) {
-            log.debug("响应体不是有效的JSON格式");
-        }
+        // 解析并保存职位数据
+        parseAndSaveJobData(body, "推荐岗位");
     }
 
     /**
@@ -242,8 +171,14 @@ public class BossApiMonitorService {
     @Transactional
     public void parseAndSaveJobData(String body, String source) {
         try {
+            BatchIngestedEvent ingestEvent = new BatchIngestedEvent(
+                    RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), BatchIngestedEvent.OP_INGEST);
             // 解析BOSS直聘API响应
+            long parseStart = System.nanoTime();
             BossApiResponse response = objectMapper.readValue(body, BossApiResponse.class);
+            pipelineMetrics.recordParse(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(),
+                    System.nanoTime() - parseStart);
+            ingestEvent.parsed(System.nanoTime() - parseStart);
 
             if (response.getCode() != 0) {
                 log.warn("BOSS直聘API响应错误，code: {}, message: {}", response.getCode(), response.getMessage());
@@ -265,6 +200,7 @@ public class BossApiMonitorService {
                     .collect(Collectors.toList());
 
             if (!jobEntities.isEmpty()) {
+                long ingestStart = System.nanoTime();
                 // 检查是否已存在相同的职位（基于encryptJobId）
                 List<JobEntity> newJobs = jobEntities.stream()
                         .filter(entity -> !isJobExists(entity.getEncryptJobId()))
@@ -276,6 +212,12 @@ public class BossApiMonitorService {
                 } else {
                     log.info("所有职位都已存在，跳过保存，来源: {}", source);
                 }
+                pipelineMetrics.recordIngest(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(), jobEntities.size(),
+                        newJobs.size(), System.nanoTime() - ingestStart);
+                ingestEvent.finish(jobEntities.size(), newJobs.size());
+                // 通知已采集岗位索引，增量采集据此判断后续页面是否已采集过
+                eventPublisher.publishEvent(new JobsIngestedEvent(RecruitmentPlatformEnum.BOSS_ZHIPIN.getPlatformCode(),
+                        jobEntities.stream().map(JobEntity::getEncryptJobId).toList()));
             } else {
                 log.warn("没有有效的职位数据可以保存，来源: {}", source);
             }
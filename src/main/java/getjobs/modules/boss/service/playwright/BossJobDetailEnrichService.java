@@ -0,0 +1,297 @@
+package getjobs.modules.boss.service.playwright;
+
+import com.microsoft.playwright.Page;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.BossDetailEnrichConfig;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import getjobs.service.freshness.JobValidityChecker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boss直聘岗位详情补全服务
+ * <p>
+ * 只针对缺少详情字段的岗位，在已登录页面内通过fetch直接请求详情接口，
+ * 响应由{@link BossApiMonitorService}的详情监听按正常入库流程写回数据库。
+ * 请求并发数与速率由{@link BossDetailEnrichConfig}控制，补全耗时只取决于速率配置，
+ * 不再依赖逐个点击岗位卡片和固定等待。
+ * 同一请求方式也用于复核待投递岗位是否仍有效（见{@link JobValidityChecker}）。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BossJobDetailEnrichService implements JobValidityChecker {
+
+    private static final String PLATFORM = "BOSS直聘";
+    private static final List<String> CLOSED_KEYWORDS = List.of("关闭", "停止", "下线", "失效");
+    private static final String DETAIL_API = "/wapi/zpgeek/job/detail.json";
+
+    /**
+     * 页面内执行的详情请求脚本：
+     * 以固定并发的worker池拉取详情，所有worker共享同一个发起时间槽，保证整体速率不超过配置值；
+     * 一旦接口返回非0业务码（多为风控或登录失效）即停止后续请求。
+     */
+    private static final String FETCH_SCRIPT = """
+            async ({urls, concurrency, intervalMs, timeoutMs}) => {
+                const results = new Array(urls.length).fill(null);
+                const sleep = ms => new Promise(r => setTimeout(r, ms));
+                let next = 0;
+                let nextStart = Date.now();
+                let stopped = false;
+                async function worker() {
+                    while (!stopped) {
+                        const i = next++;
+                        if (i >= urls.length) return;
+                        const now = Date.now();
+                        const startAt = Math.max(now, nextStart);
+                        nextStart = startAt + intervalMs;
+                        if (startAt > now) await sleep(startAt - now);
+                        if (stopped) return;
+                        const ctrl = new AbortController();
+                        const timer = setTimeout(() => ctrl.abort(), timeoutMs);
+                        try {
+                            const resp = await fetch(urls[i], {
+                                credentials: 'include',
+                                signal: ctrl.signal,
+                                headers: {'Accept': 'application/json, text/plain, */*'}
+                            });
+                            let code = -1;
+                            let info = null;
+                            try {
+                                const json = await resp.json();
+                                code = json.code;
+                                info = json.zpData && json.zpData.jobInfo;
+                            } catch (e) {}
+                            results[i] = {
+                                status: resp.status,
+                                code: code,
+                                invalid: info ? info.invalidStatus === true : null,
+                                statusDesc: info ? info.jobStatusDesc || null : null
+                            };
+                            if (code !== 0) stopped = true;
+                        } catch (e) {
+                            results[i] = {status: 0, code: -1, error: String(e)};
+                        } finally {
+                            clearTimeout(timer);
+                        }
+                    }
+                }
+                const workers = [];
+                for (let w = 0; w < Math.min(concurrency, urls.length); w++) workers.push(worker());
+                await Promise.all(workers);
+                return results;
+            }
+            """;
+
+    private final JobRepository jobRepository;
+    private final BossDetailEnrichConfig enrichConfig;
+
+    /**
+     * 为缺少详情字段的岗位补全详情
+     *
+     * @param page 已登录且位于平台站点下的页面
+     * @return 成功请求到详情的岗位数量
+     */
+    public int enrichMissingDetails(Page page) {
+        if (!enrichConfig.isEnabled()) {
+            log.debug("岗位详情补全未启用，跳过");
+            return 0;
+        }
+        if (!isOnSite(page)) {
+            log.warn("当前页面不在平台站点下，无法补全岗位详情");
+            return 0;
+        }
+
+        List<JobEntity> jobs = jobRepository.findMissingDetailJobs(PLATFORM,
+                LocalDateTime.now().minusHours(Math.max(0, enrichConfig.getRetryAfterHours())),
+                Math.max(1, enrichConfig.getMaxAttempts()),
+                PageRequest.of(0, Math.max(1, enrichConfig.getMaxJobsPerRun())));
+        if (jobs.isEmpty()) {
+            log.info("没有需要补全详情的岗位");
+            return 0;
+        }
+
+        long startTime = System.currentTimeMillis();
+        int batchSize = Math.max(1, enrichConfig.getBatchSize());
+        int success = 0;
+        int requested = 0;
+
+        log.info("开始补全岗位详情，待补全: {}，并发: {}，速率: {}/秒",
+                jobs.size(), enrichConfig.getConcurrency(), enrichConfig.getRatePerSecond());
+
+        for (int from = 0; from < jobs.size(); from += batchSize) {
+            List<JobEntity> batch = jobs.subList(from, Math.min(from + batchSize, jobs.size()));
+            BatchResult result = fetchBatch(page, batch);
+            success += result.success();
+            requested += result.requested();
+            if (result.stopped()) {
+                log.warn("详情接口返回异常业务码，停止本次详情补全，已请求: {}", requested);
+                break;
+            }
+        }
+
+        log.info("岗位详情补全完成，请求: {}，成功: {}，耗时: {} ms",
+                requested, success, System.currentTimeMillis() - startTime);
+        return success;
+    }
+
+    @Override
+    public RecruitmentPlatformEnum getPlatform() {
+        return RecruitmentPlatformEnum.BOSS_ZHIPIN;
+    }
+
+    @Override
+    public String getJobPlatform() {
+        return PLATFORM;
+    }
+
+    @Override
+    public String getHomeUrl() {
+        return getPlatform().getHomeUrl();
+    }
+
+    /**
+     * 页面是否位于平台站点下，基础URL被覆盖（如指向本地桩站点）时按覆盖后的地址判断
+     */
+    private boolean isOnSite(Page page) {
+        if (page == null || page.isClosed()) {
+            return false;
+        }
+        String host = getPlatform().isBaseUrlOverridden() ? getPlatform().getHomeUrl() : "zhipin.com";
+        return page.url().contains(host);
+    }
+
+    /**
+     * 通过详情接口复核岗位有效性：jobInfo.invalidStatus为true或状态描述为关闭类文案时视为已失效；
+     * 接口返回非0业务码（多为风控或登录失效）时停止后续批次
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<Long, Validity> check(Page page, List<JobEntity> jobs) {
+        Map<Long, Validity> validity = new HashMap<>();
+        if (!isOnSite(page)) {
+            log.warn("当前页面不在平台站点下，无法复核岗位有效性");
+            return validity;
+        }
+        List<JobEntity> checkable = jobs.stream().filter(job -> job.getSecurityId() != null).toList();
+        int batchSize = Math.max(1, enrichConfig.getBatchSize());
+        for (int from = 0; from < checkable.size(); from += batchSize) {
+            List<JobEntity> batch = checkable.subList(from, Math.min(from + batchSize, checkable.size()));
+            List<?> results = fetchResults(page, batch);
+            boolean stopped = results == null;
+            for (int i = 0; results != null && i < batch.size() && i < results.size(); i++) {
+                if (!(results.get(i) instanceof Map<?, ?> map)) {
+                    continue;
+                }
+                Map<String, Object> result = (Map<String, Object>) map;
+                Object code = result.get("code");
+                if (!(code instanceof Number number) || number.intValue() != 0) {
+                    stopped |= result.get("error") == null;
+                    continue;
+                }
+                validity.put(batch.get(i).getId(), isClosed(result) ? Validity.INVALID : Validity.VALID);
+            }
+            if (stopped) {
+                log.warn("详情接口返回异常业务码，停止本次岗位复核，已复核: {}", validity.size());
+                break;
+            }
+        }
+        return validity;
+    }
+
+    private static boolean isClosed(Map<String, Object> result) {
+        if (Boolean.TRUE.equals(result.get("invalid"))) {
+            return true;
+        }
+        Object desc = result.get("statusDesc");
+        return desc instanceof String text && CLOSED_KEYWORDS.stream().anyMatch(text::contains);
+    }
+
+    /**
+     * 在页面内批量请求详情，响应通过监听器入库；已发出请求的岗位记录请求时间与次数，
+     * 详情一直无法补全的岗位在重试间隔内不再被选出
+     */
+    @SuppressWarnings("unchecked")
+    private BatchResult fetchBatch(Page page, List<JobEntity> batch) {
+        List<?> results = fetchResults(page, batch);
+        if (results == null) {
+            return new BatchResult(0, 0, true);
+        }
+        int success = 0;
+        int requested = 0;
+        boolean stopped = false;
+        List<Long> attemptedIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < results.size() && i < batch.size(); i++) {
+            if (!(results.get(i) instanceof Map<?, ?> map)) {
+                continue;
+            }
+            attemptedIds.add(batch.get(i).getId());
+            requested++;
+            Object code = ((Map<String, Object>) map).get("code");
+            if (code instanceof Number number && number.intValue() == 0) {
+                success++;
+            } else if (map.get("error") == null) {
+                stopped = true;
+            }
+        }
+        if (!attemptedIds.isEmpty()) {
+            jobRepository.markDetailAttempted(attemptedIds, LocalDateTime.now());
+        }
+        return new BatchResult(requested, success, stopped);
+    }
+
+    /**
+     * 在页面内批量请求详情，失败时返回null
+     */
+    private List<?> fetchResults(Page page, List<JobEntity> batch) {
+        List<String> urls = new ArrayList<>(batch.size());
+        for (JobEntity job : batch) {
+            urls.add(buildDetailUrl(job));
+        }
+
+        long intervalMs = enrichConfig.getRatePerSecond() > 0
+                ? Math.round(1000.0 / enrichConfig.getRatePerSecond())
+                : 0L;
+        Map<String, Object> args = Map.of(
+                "urls", urls,
+                "concurrency", Math.max(1, enrichConfig.getConcurrency()),
+                "intervalMs", intervalMs,
+                "timeoutMs", enrichConfig.getRequestTimeoutMs());
+
+        try {
+            Object raw = page.evaluate(FETCH_SCRIPT, args);
+            return raw instanceof List<?> results ? results : null;
+        } catch (Exception e) {
+            log.error("页面内请求岗位详情失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String buildDetailUrl(JobEntity job) {
+        // 基础URL可能带路径前缀，拼接完整地址而不是使用相对路径
+        StringBuilder url = new StringBuilder(getHomeUrl()).append(DETAIL_API)
+                .append("?securityId=")
+                .append(URLEncoder.encode(job.getSecurityId(), StandardCharsets.UTF_8));
+        if (job.getSearchId() != null) {
+            url.append("&lid=").append(URLEncoder.encode(job.getSearchId(), StandardCharsets.UTF_8));
+        }
+        return url.toString();
+    }
+
+    private record BatchResult(int requested, int success, boolean stopped) {
+    }
+}
@@ -0,0 +1,145 @@
+package getjobs.modules.job51.dto;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+
+/**
+ * 51Job内嵌JSON字段反序列化基类
+ * <p>
+ * 51Job接口会把部分对象（如property、exrInfo02）以JSON字符串的形式嵌在外层JSON中。
+ * 本类在外层解析过程中一次性完成内嵌对象的解析：
+ * <ul>
+ *     <li>委托的Bean反序列化器在resolve阶段解析一次并缓存，不再每次新建ObjectMapper查找</li>
+ *     <li>字符串场景直接基于外层解析器的字符缓冲区创建子解析器，复用当前codec与解析特性，避免中间String拷贝</li>
+ *     <li>对象场景直接使用当前解析器流式解析</li>
+ * </ul>
+ * 解析失败时保持原有行为：记录日志并返回null，不影响整条职位数据的入库。
+ *
+ * @param <T> 内嵌对象类型
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+public abstract class Job51EmbeddedJsonDeserializer<T> extends StdDeserializer<T> implements ResolvableDeserializer {
+
+    /**
+     * 字段名称，仅用于日志输出
+     */
+    private final String fieldName;
+
+    /**
+     * 缓存的目标类型Bean反序列化器
+     */
+    private volatile JsonDeserializer<Object> delegate;
+
+    protected Job51EmbeddedJsonDeserializer(Class<T> valueClass, String fieldName) {
+        super(valueClass);
+        this.fieldName = fieldName;
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        // 注解声明在字段上，目标类型本身没有自定义反序列化器，这里拿到的是标准Bean反序列化器，不会递归
+        delegate = ctxt.findRootValueDeserializer(ctxt.constructType(handledType()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        try {
+            JsonToken token = p.currentToken();
+            if (token == null) {
+                return null;
+            }
+            switch (token) {
+                case START_OBJECT:
+                    // 如果是对象，直接在当前解析器上流式解析
+                    return (T) getDelegate(ctxt).deserialize(p, ctxt);
+
+                case VALUE_STRING:
+                    // 如果是字符串，基于当前字符缓冲区创建子解析器解析
+                    return parseEmbedded(p, ctxt);
+
+                case VALUE_NULL:
+                    return null;
+
+                default:
+                    log.warn("{}字段的token类型不支持: {}", fieldName, token);
+                    return null;
+            }
+        } catch (Exception e) {
+            log.error("反序列化{}时发生错误", fieldName, e);
+            return null;
+        }
+    }
+
+    @Override
+    public T getNullValue(DeserializationContext ctxt) {
+        return null;
+    }
+
+    /**
+     * 解析字符串形式的内嵌JSON
+     */
+    @SuppressWarnings("unchecked")
+    private T parseEmbedded(JsonParser p, DeserializationContext ctxt) throws IOException {
+        char[] buffer = p.getTextCharacters();
+        int offset = p.getTextOffset();
+        int length = p.getTextLength();
+
+        if (isBlank(buffer, offset, length)) {
+            return null;
+        }
+
+        // 子解析器在外层解析器前进之前即用完，可以安全地共享其字符缓冲区
+        try (JsonParser nested = createNestedParser(p, buffer, offset, length)) {
+            if (nested.nextToken() == null) {
+                return null;
+            }
+            return (T) getDelegate(ctxt).deserialize(nested, ctxt);
+        } catch (Exception e) {
+            log.warn("无法解析{} JSON字符串: {}", fieldName, new String(buffer, offset, length), e);
+            return null;
+        }
+    }
+
+    /**
+     * 创建子解析器，复用外层解析器的codec和标准解析特性
+     */
+    private JsonParser createNestedParser(JsonParser p, char[] buffer, int offset, int length) throws IOException {
+        ObjectCodec codec = p.getCodec();
+        JsonFactory factory = codec != null ? codec.getFactory() : new JsonFactory();
+        JsonParser nested = factory.createParser(buffer, offset, length);
+        nested.setCodec(codec);
+        nested.overrideStdFeatures(p.getFeatureMask(), -1);
+        return nested;
+    }
+
+    private JsonDeserializer<Object> getDelegate(DeserializationContext ctxt) throws JsonMappingException {
+        JsonDeserializer<Object> deser = delegate;
+        if (deser == null) {
+            deser = ctxt.findRootValueDeserializer(ctxt.constructType(handledType()));
+            delegate = deser;
+        }
+        return deser;
+    }
+
+    private static boolean isBlank(char[] buffer, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            if (!Character.isWhitespace(buffer[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
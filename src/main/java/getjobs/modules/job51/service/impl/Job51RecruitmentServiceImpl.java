@@ -1,19 +1,31 @@
 package getjobs.modules.job51.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.Page;
 import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.common.dto.ConfigDTO;
 import getjobs.modules.boss.dto.JobDTO;
 import getjobs.modules.job51.service.Job51ElementLocators;
+import getjobs.service.DeliveryPacingService;
 import getjobs.service.RecruitmentService;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.StorageStateStore;
+import getjobs.service.collect.ParallelSearchCollector;
+import getjobs.service.collect.SearchUnit;
+import getjobs.service.delivery.DeliveryResult;
+import getjobs.service.profiling.DeliveryAttemptedEvent;
 import getjobs.utils.PlaywrightUtil;
+import getjobs.utils.ResponseDrivenPager;
 import lombok.SneakyThrows;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,11 +39,16 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class Job51RecruitmentServiceImpl implements RecruitmentService {
 
-    private static final String HOME_URL = RecruitmentPlatformEnum.JOB_51.getHomeUrl();
     private static final String LOGIN_URL = "https://login.51job.com/login.php";
-    private static final String SEARCH_JOB_URL = "https://we.51job.com/pc/search?";
+    private static final String JOB_SEARCH_API = "/api/job/search-pc";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final DeliveryPacingService deliveryPacingService;
+    private final ParallelSearchCollector parallelSearchCollector;
+    private final StorageStateStore storageStateStore;
 
     @Override
     public RecruitmentPlatformEnum getPlatform() {
@@ -45,14 +62,22 @@ public class Job51RecruitmentServiceImpl implements RecruitmentService {
         try {
             // 使用Playwright打开网站
             Page page = PlaywrightUtil.getPageObject();
-            page.navigate(HOME_URL);
+            // 先恢复已保存的登录态再打开网站
+            ContextKey sessionKey = ContextKey.of(getPlatform());
+            storageStateStore.restoreOnce(sessionKey, page.context());
+            page.navigate(getPlatform().getHomeUrl());
 
             // 检查是否需要登录
             if (isLoginRequired()) {
                 log.info("需要登录，开始登录流程");
-                return login();
+                boolean success = login();
+                if (success) {
+                    storageStateStore.saveIfChanged(sessionKey, page.context());
+                }
+                return success;
             } else {
                 log.info("51job已登录");
+                storageStateStore.saveIfChanged(sessionKey, page.context());
                 return true;
             }
         } catch (Exception e) {
@@ -65,29 +90,11 @@ public class Job51RecruitmentServiceImpl implements RecruitmentService {
     public List<JobDTO> collectJobs(ConfigDTO config) {
         log.info("开始执行51job岗位采集操作");
         try {
-            Page page = PlaywrightUtil.getPageObject();
-            config.getCityCodeCodes().forEach(cityCode -> {
-                // 构造完整的搜索条件
-                String searchParams = buildSearchParams(cityCode, config);
-                String fullUrl = SEARCH_JOB_URL + searchParams;
-                log.info("访问搜索URL: {}", fullUrl);
-                page.navigate(fullUrl);
-
-                // 等待页面完全加载，确保分页元素可用
-                waitForPageLoad(page);
-
-                int pageNumber = 1;
-                while (Job51ElementLocators.clickPageNumber(page, pageNumber)) {
-                    log.info("正在处理第{}页数据", pageNumber);
-
-                    // 添加3-5秒随机延迟，避免过快点击分页
-                    PlaywrightUtil.randomSleep(3, 5);
-
-                    // 在点击分页后也需要等待页面加载
-                    waitForPageContentLoad(page);
-                    pageNumber++;
-                }
-            });
+            // 51job的关键词整体作为一个搜索参数，按城市拆分为搜索单元，在多个标签页上并行采集
+            String keywords = config.getKeywords() != null ? config.getKeywords().trim() : "";
+            List<SearchUnit> units = SearchUnit.plan(config.getCityCodeCodes(), List.of(keywords),
+                    (cityCode, keyword) -> getPlatform().getSearchUrl() + buildSearchParams(cityCode, config));
+            parallelSearchCollector.collect(getPlatform(), units, config.getCollectTabs(), this::openSearchUnit);
 
             log.info("51job岗位采集功能待实现");
             return List.of(); // 暂时返回空列表，等待具体实现
@@ -124,34 +131,54 @@ public class Job51RecruitmentServiceImpl implements RecruitmentService {
     @Override
     public int deliverJobs(List<JobDTO> jobDTOS, ConfigDTO config) {
         log.info("开始执行51job岗位投递操作，待投递岗位数量: {}", jobDTOS.size());
+        int successCount = 0;
+        for (JobDTO jobDTO : jobDTOS) {
+            DeliveryResult result = deliverJob(jobDTO, config);
+            if (result.outcome() == DeliveryResult.Outcome.NOT_ATTEMPTED) {
+                log.warn("51job{}，停止投递", result.reason());
+                break;
+            }
+            if (result.isSuccess()) {
+                successCount++;
+            }
+        }
+        log.info("51job岗位投递完成，成功投递 {} 个岗位", successCount);
+        return successCount;
+    }
 
+    @Override
+    public DeliveryResult deliverJob(JobDTO jobDTO, ConfigDTO config) {
+        // 按平台投递节奏获取许可，额度用完时不投递
+        if (!deliveryPacingService.acquire(getPlatform())) {
+            return DeliveryResult.notAttempted("今日投递额度已用完");
+        }
+
+        DeliveryAttemptedEvent attempt = new DeliveryAttemptedEvent(getPlatform().getPlatformCode(),
+                jobDTO.getEncryptJobId());
         // 在新标签页中打开岗位详情
         try (Page jobPage = PlaywrightUtil.getPageObject().context().newPage()) {
-
-            AtomicInteger count = new AtomicInteger();
-
-            try {
-                jobDTOS.forEach(jobDTO -> {
-
-                    jobPage.navigate(jobDTO.getHref());
-                    // 执行投递
-                    Job51ElementLocators.clickApplyJobButton(jobPage);
-                    count.getAndIncrement();
-
-                    // 添加3-5秒随机延迟，避免投递过快
-                    PlaywrightUtil.randomSleep(3, 5);
-
-                });
-
-                return count.get(); // 暂时返回0，等待具体实现
-
-            } catch (Exception e) {
-                log.error("51job岗位投递失败", e);
-                return count.get();
+            jobPage.navigate(jobDTO.getHref());
+            // 执行投递
+            if (Job51ElementLocators.clickApplyJobButton(jobPage)) {
+                deliveryPacingService.onSuccess(getPlatform());
+                attempt.finish(DeliveryAttemptedEvent.SUCCESS);
+                return DeliveryResult.success();
             }
+            attempt.finish(DeliveryAttemptedEvent.FAILED);
+            return DeliveryResult.rejected("未找到投递按钮，可能已投递过");
+        } catch (Exception e) {
+            // 页面超时、网络错误等，投递队列会稍后重试
+            attempt.finish(DeliveryAttemptedEvent.ERROR);
+            log.error("51job投递岗位 {} 失败: {}", jobDTO.getJobName(), e.getMessage());
+            return DeliveryResult.transientFailure("投递异常: " + e.getMessage());
         }
     }
 
+    @Override
+    public boolean supportsQueuedDelivery() {
+        return true;
+    }
+
     @Override
     public boolean isDeliveryLimitReached() {
         // TODO: 实现51job投递限制检查逻辑
@@ -310,61 +337,46 @@ public class Job51RecruitmentServiceImpl implements RecruitmentService {
     }
 
     /**
-     * 等待页面完全加载
-     * 等待分页元素和职位列表元素出现，确保页面内容完全加载
+     * 在指定标签页上开始一个搜索单元：先挂载翻页器再导航，首屏搜索接口响应计为第1页，之后每次点击分页等待接口响应
      */
-    private void waitForPageLoad(Page page) {
-        try {
-            log.info("等待页面加载完成...");
-
-            // 等待DOM加载完成
-            page.waitForLoadState();
-
-            // 等待分页元素出现（最多等待10秒）
-            try {
-                page.waitForSelector("ul.el-pager", new Page.WaitForSelectorOptions().setTimeout(10000));
-                log.info("分页元素已加载");
-            } catch (Exception e) {
-                log.warn("分页元素加载超时，可能页面没有分页或加载失败: {}", e.getMessage());
-            }
-
-
-            // 额外等待一段时间，确保JS完全执行完毕
-            PlaywrightUtil.sleep(2);
-
-        } catch (Exception e) {
-            log.error("等待页面加载时发生错误: {}", e.getMessage());
-            // 发生错误时也等待一段时间
-            PlaywrightUtil.sleep(3);
-        }
+    private ResponseDrivenPager openSearchUnit(Page tab, SearchUnit unit, ParallelSearchCollector.UnitControl control) {
+        log.info("访问搜索URL: {}", unit.url());
+        AtomicInteger nextPage = new AtomicInteger(2);
+        return control.applyTo(ResponseDrivenPager.builder(tab, JOB_SEARCH_API,
+                        Job51RecruitmentServiceImpl::inspectSearchResult))
+                .label("51job搜索岗位[" + unit.cityCode() + "]")
+                // 3-5秒随机间隔，避免过快点击分页，等待期间不阻塞其他标签页
+                .advanceDelayMs(3000, 5000)
+                .advance(() -> {
+                    int pageNumber = nextPage.getAndIncrement();
+                    log.info("正在处理第{}页数据", pageNumber);
+                    return Job51ElementLocators.clickPageNumber(tab, pageNumber);
+                })
+                .build()
+                .start(() -> tab.navigate(unit.url()));
     }
 
     /**
-     * 等待页面内容加载
-     * 在点击分页后等待新页面内容加载完成
+     * 解析搜索接口的分页信息
      */
-    private void waitForPageContentLoad(Page page) {
+    private static ResponseDrivenPager.PageInfo inspectSearchResult(String body) {
         try {
-            log.debug("等待页面内容更新...");
-
-            // 等待网络空闲，确保数据加载完成
-            page.waitForLoadState();
-
-            // 等待职位列表内容更新
-            try {
-                page.waitForSelector("div.joblist .joblist-item", new Page.WaitForSelectorOptions().setTimeout(5000));
-                log.debug("职位列表内容已更新");
-            } catch (Exception e) {
-                log.warn("职位列表内容更新超时: {}", e.getMessage());
+            JsonNode root = OBJECT_MAPPER.readTree(body);
+            if (!"1".equals(root.path("status").asText())) {
+                return new ResponseDrivenPager.PageInfo(0, false, null);
             }
-
-            // 短暂等待确保页面稳定
-            PlaywrightUtil.sleep(1);
-
+            JsonNode job = root.path("resultbody").path("job");
+            int itemCount = job.path("items").size();
+            Integer totalCount = job.hasNonNull("totalCount") ? job.get("totalCount").asInt() : null;
+            List<String> jobIds = new ArrayList<>();
+            job.path("items").forEach(item -> {
+                if (item.hasNonNull("jobId")) {
+                    jobIds.add(item.get("jobId").asText());
+                }
+            });
+            return new ResponseDrivenPager.PageInfo(itemCount, null, totalCount, jobIds);
         } catch (Exception e) {
-            log.error("等待页面内容加载时发生错误: {}", e.getMessage());
-            // 发生错误时也等待一段时间
-            PlaywrightUtil.sleep(2);
+            throw new IllegalStateException("51job搜索响应不是有效的JSON", e);
         }
     }
 
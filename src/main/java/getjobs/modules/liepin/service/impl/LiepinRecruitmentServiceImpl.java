@@ -4,8 +4,14 @@ import com.microsoft.playwright.Page;
 import getjobs.common.dto.ConfigDTO;
 import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.modules.boss.dto.JobDTO;
+import getjobs.service.DeliveryPacingService;
 import getjobs.service.RecruitmentService;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.StorageStateStore;
+import getjobs.service.collect.ParallelSearchCollector;
+import getjobs.service.collect.SearchUnit;
 import getjobs.utils.PlaywrightUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -17,10 +23,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class LiepinRecruitmentServiceImpl implements RecruitmentService {
 
-    private static final String HOME_URL = RecruitmentPlatformEnum.LIEPIN.getHomeUrl();
-    private static final String SEARCH_JOB_URL = "https://www.liepin.com/zhaopin/?";
+    private final DeliveryPacingService deliveryPacingService;
+    private final ParallelSearchCollector parallelSearchCollector;
+    private final StorageStateStore storageStateStore;
 
     @Override
     public RecruitmentPlatformEnum getPlatform() {
@@ -32,7 +40,10 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
         log.info("开始猎聘登录检查");
         try {
             Page page = PlaywrightUtil.getPageObject();
-            page.navigate(HOME_URL);
+            // 先恢复已保存的登录态再打开网站
+            ContextKey sessionKey = ContextKey.of(getPlatform());
+            storageStateStore.restoreOnce(sessionKey, page.context());
+            page.navigate(getPlatform().getHomeUrl());
             // 这里的登录检查逻辑需要根据猎聘的页面元素进行调整
             // if (LiepinElementLocators.isLoginRequired(page)) {
             //     log.info("需要登录，开始登录流程");
@@ -41,7 +52,11 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
             //     log.info("猎聘已登录");
             //     return true;
             // }
-            return performLogin(); // 暂时总是执行登录
+            boolean success = performLogin(); // 暂时总是执行登录
+            if (success) {
+                storageStateStore.saveIfChanged(sessionKey, page.context());
+            }
+            return success;
         } catch (Exception e) {
             log.error("猎聘登录失败", e);
             return false;
@@ -53,12 +68,13 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
         log.info("开始猎聘岗位采集");
         List<JobDTO> allJobDTOS = new ArrayList<>();
         try {
-            for (String cityCode : config.getCityCodeCodes()) {
-                for (String keyword : config.getKeywordsList()) {
-                    List<JobDTO> jobDTOS = collectJobsByCity(cityCode, keyword, config);
-                    allJobDTOS.addAll(jobDTOS);
-                }
-            }
+            List<SearchUnit> units = SearchUnit.plan(config.getCityCodeCodes(), config.getKeywordsList(),
+                    (cityCode, keyword) -> buildSearchUrl(cityCode, keyword, config));
+            parallelSearchCollector.collect(getPlatform(), units, config.getCollectTabs(), (tab, unit, control) -> {
+                allJobDTOS.addAll(collectJobsByCity(tab, unit));
+                // 猎聘尚未接入列表接口翻页，单元在导航完成后即结束
+                return null;
+            });
             log.info("猎聘岗位采集完成，共采集{}个岗位", allJobDTOS.size());
             return allJobDTOS;
         } catch (Exception e) {
@@ -83,6 +99,11 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
         AtomicInteger successCount = new AtomicInteger(0);
         try (Page jobPage = PlaywrightUtil.getPageObject().context().newPage()) {
             for (JobDTO jobDTO : jobDTOS) {
+                // 按平台投递节奏获取许可，额度用完时停止投递
+                if (!deliveryPacingService.acquire(getPlatform())) {
+                    log.warn("猎聘今日投递额度已用完，停止投递");
+                    break;
+                }
                 try {
                     log.info("正在投递岗位: {}", jobDTO.getJobName());
                     jobPage.navigate(jobDTO.getHref());
@@ -94,7 +115,6 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
                     // } else {
                     //     log.warn("岗位投递失败或已投递: {}", jobDTO.getJobName());
                     // }
-                    PlaywrightUtil.randomSleep(3, 5);
                 } catch (Exception e) {
                     log.error("投递岗位 {} 时发生异常: {}", jobDTO.getJobName(), e.getMessage());
                 }
@@ -116,13 +136,13 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
         log.info("猎聘数据保存功能待实现");
     }
 
-    private List<JobDTO> collectJobsByCity(String cityCode, String keyword, ConfigDTO config) {
-        String searchUrl = buildSearchUrl(cityCode, keyword, config);
-        log.info("开始采集，城市: {}，关键词: {}，URL: {}", cityCode, keyword, searchUrl);
+    private List<JobDTO> collectJobsByCity(Page page, SearchUnit unit) {
+        String cityCode = unit.cityCode();
+        String keyword = unit.keyword();
+        log.info("开始采集，城市: {}，关键词: {}，URL: {}", cityCode, keyword, unit.url());
         List<JobDTO> jobDTOS = new ArrayList<>();
-        Page page = PlaywrightUtil.getPageObject();
         try {
-            page.navigate(searchUrl);
+            page.navigate(unit.url());
             page.waitForLoadState();
             // 采集逻辑需要根据猎聘的页面元素进行调整
             // jobDTOS.addAll(LiepinElementLocators.extractJobs(page));
@@ -134,7 +154,7 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
     }
 
     private String buildSearchUrl(String cityCode, String keyword, ConfigDTO config) {
-        StringBuilder url = new StringBuilder(SEARCH_JOB_URL);
+        StringBuilder url = new StringBuilder(getPlatform().getSearchUrl());
         try {
             url.append("key=").append(URLEncoder.encode(keyword, StandardCharsets.UTF_8));
             if (cityCode != null && !cityCode.trim().isEmpty()) {
@@ -150,7 +170,7 @@ public class LiepinRecruitmentServiceImpl implements RecruitmentService {
     private boolean performLogin() {
         Page page = PlaywrightUtil.getPageObject();
         try {
-            page.navigate(HOME_URL);
+            page.navigate(getPlatform().getHomeUrl());
             log.info("等待用户手动登录...");
             // 登录逻辑需要根据猎聘的页面元素进行调整
             // while (!LiepinElementLocators.isUserLoggedIn(page)) {
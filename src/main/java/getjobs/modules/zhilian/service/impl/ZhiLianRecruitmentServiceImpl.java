@@ -1,14 +1,26 @@
 package getjobs.modules.zhilian.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
 import getjobs.common.dto.ConfigDTO;
 import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.modules.boss.dto.JobDTO;
 import getjobs.modules.zhilian.service.ZhiLianElementLocators;
+import getjobs.service.DeliveryPacingService;
 import getjobs.service.RecruitmentService;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.StorageStateStore;
+import getjobs.service.collect.ParallelSearchCollector;
+import getjobs.service.collect.SearchUnit;
+import getjobs.service.delivery.DeliveryResult;
+import getjobs.service.profiling.DeliveryAttemptedEvent;
 import getjobs.utils.PlaywrightUtil;
+import getjobs.utils.ResponseDrivenPager;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +30,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -28,10 +41,15 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
 
-    private static final String HOME_URL = RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getHomeUrl();
-    private static final String SEARCH_JOB_URL = "https://www.zhaopin.com/sou?";
+    private static final String SEARCH_POSITIONS_API = "/c/i/search/positions";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final DeliveryPacingService deliveryPacingService;
+    private final ParallelSearchCollector parallelSearchCollector;
+    private final StorageStateStore storageStateStore;
     // https://www.zhaopin.com/sou?el=4&we=0510&et=2&sl=15001,25000&jl=763&kw=java
     @Override
     public RecruitmentPlatformEnum getPlatform() {
@@ -45,14 +63,22 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
         try {
             // 使用Playwright打开网站
             Page page = PlaywrightUtil.getPageObject();
-            page.navigate(HOME_URL);
+            // 先恢复已保存的登录态再打开网站
+            ContextKey sessionKey = ContextKey.of(getPlatform());
+            storageStateStore.restoreOnce(sessionKey, page.context());
+            page.navigate(getPlatform().getHomeUrl());
             
             // 检查是否需要登录
             if (ZhiLianElementLocators.isLoginRequired(page)) {
                 log.info("需要登录，开始登录流程");
-                return performLogin();
+                boolean success = performLogin();
+                if (success) {
+                    storageStateStore.saveIfChanged(sessionKey, page.context());
+                }
+                return success;
             } else {
                 log.info("智联招聘已登录");
+                storageStateStore.saveIfChanged(sessionKey, page.context());
                 return true;
             }
         } catch (Exception e) {
@@ -67,13 +93,10 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
         List<JobDTO> allJobDTOS = new ArrayList<>();
         
         try {
-            // 按城市和关键词搜索岗位
-            for (String cityCode : config.getCityCodeCodes()) {
-                for (String keyword : config.getKeywordsList()) {
-                    List<JobDTO> jobDTOS = collectJobsByCity(cityCode, keyword, config);
-                    allJobDTOS.addAll(jobDTOS);
-                }
-            }
+            // 按城市×关键词拆分为搜索单元，在多个标签页上并行采集，岗位数据由监控服务自动入库
+            List<SearchUnit> units = SearchUnit.plan(config.getCityCodeCodes(), config.getKeywordsList(),
+                    (cityCode, keyword) -> buildSearchUrl(cityCode, keyword, config));
+            parallelSearchCollector.collect(getPlatform(), units, config.getCollectTabs(), this::openSearchUnit);
             
             log.info("智联招聘岗位采集完成，共采集{}个岗位", allJobDTOS.size());
             return allJobDTOS;
@@ -96,9 +119,29 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
     @Override
     public int deliverJobs(List<JobDTO> jobDTOS, ConfigDTO config) {
         log.info("开始执行智联招聘岗位投递操作，待投递岗位数量: {}", jobDTOS.size());
-        AtomicInteger successCount = new AtomicInteger(0);
+        int successCount = 0;
+        for (JobDTO jobDTO : jobDTOS) {
+            DeliveryResult result = deliverJob(jobDTO, config);
+            if (result.outcome() == DeliveryResult.Outcome.NOT_ATTEMPTED) {
+                log.warn("智联招聘{}，停止投递", result.reason());
+                break;
+            }
+            if (result.isSuccess()) {
+                successCount++;
+            }
+        }
+        log.info("智联招聘岗位投递完成，成功投递 {} 个岗位", successCount);
+        return successCount;
+    }
+
+    @Override
+    public DeliveryResult deliverJob(JobDTO jobDTO, ConfigDTO config) {
+        // 按平台投递节奏获取许可，额度用完时不投递
+        if (!deliveryPacingService.acquire(getPlatform())) {
+            return DeliveryResult.notAttempted("今日投递额度已用完");
+        }
 
-        // 为投递任务创建一个独立的、隔离的浏览器上下文，防止与其他操作冲突
+        // 为投递创建一个独立的、隔离的浏览器上下文，防止与其他操作冲突
         Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
                 .setUserAgent(PlaywrightUtil.getRandomUserAgent())
                 .setJavaScriptEnabled(true)
@@ -106,49 +149,53 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
                 .setLocale("zh-CN")
                 .setTimezoneId("Asia/Shanghai");
 
+        DeliveryAttemptedEvent attempt = new DeliveryAttemptedEvent(getPlatform().getPlatformCode(),
+                jobDTO.getEncryptJobId());
+        AtomicBoolean clicked = new AtomicBoolean();
         try (BrowserContext deliveryContext = PlaywrightUtil.getBrowser().newContext(contextOptions);
              Page jobPage = deliveryContext.newPage()) {
 
             jobPage.setDefaultTimeout(30000); // 为新页面设置默认超时
+            log.info("正在投递岗位: {}", jobDTO.getJobName());
+            jobPage.navigate(jobDTO.getHref());
+            jobPage.waitForLoadState(); // 等待页面加载
 
-            for (JobDTO jobDTO : jobDTOS) {
-                try {
-                    log.info("正在投递岗位: {}", jobDTO.getJobName());
-                    jobPage.navigate(jobDTO.getHref());
-                    jobPage.waitForLoadState(); // 等待页面加载
-
-
-                    // 投递完成会打开新页签，需要关闭新页签
-                    Page popup = jobPage.waitForPopup(() -> {
-                        // 执行投递
-                        if (ZhiLianElementLocators.clickSummaryApplyButton(jobPage)) {
-                            log.info("岗位投递成功: {}", jobDTO.getJobName());
-                            successCount.getAndIncrement();
-                        } else {
-                            log.warn("岗位投递失败或已投递: {}", jobDTO.getJobName());
-                        }
-                    });
-
-                    if (popup != null) {
-                        popup.waitForLoadState();       // 可选：等加载稳定
-                        // TODO: 可根据 URL/标题做一次校验，确认是“投递成功”页
-                        popup.close();                  // 关闭新页签
-                    }
-
-
-                    // 添加3-5秒随机延迟，避免投递过快
-                    PlaywrightUtil.randomSleep(3, 5);
-
-                } catch (Exception e) {
-                    log.error("投递岗位 {} 时发生异常: {}", jobDTO.getJobName(), e.getMessage());
+            // 投递完成会打开新页签，需要关闭新页签
+            try {
+                Page popup = jobPage.waitForPopup(
+                        () -> clicked.set(ZhiLianElementLocators.clickSummaryApplyButton(jobPage)));
+                if (popup != null) {
+                    popup.waitForLoadState();       // 可选：等加载稳定
+                    // TODO: 可根据 URL/标题做一次校验，确认是“投递成功”页
+                    popup.close();                  // 关闭新页签
+                }
+            } catch (PlaywrightException e) {
+                // 未点击投递按钮时不会打开新页签，等待超时属于正常情况；已点击时以点击结果为准
+                if (!clicked.get()) {
+                    log.debug("未打开投递结果页签: {}", e.getMessage());
                 }
             }
+
+            if (clicked.get()) {
+                log.info("岗位投递成功: {}", jobDTO.getJobName());
+                deliveryPacingService.onSuccess(getPlatform());
+                attempt.finish(DeliveryAttemptedEvent.SUCCESS);
+                return DeliveryResult.success();
+            }
+            log.warn("岗位投递失败或已投递: {}", jobDTO.getJobName());
+            attempt.finish(DeliveryAttemptedEvent.FAILED);
+            return DeliveryResult.rejected("未找到投递按钮，可能已投递过");
         } catch (Exception e) {
-            log.error("智联招聘岗位投递过程中发生严重错误", e);
+            // 页面超时、网络错误等，投递队列会稍后重试
+            attempt.finish(DeliveryAttemptedEvent.ERROR);
+            log.error("投递岗位 {} 时发生异常: {}", jobDTO.getJobName(), e.getMessage());
+            return DeliveryResult.transientFailure("投递异常: " + e.getMessage());
         }
+    }
 
-        log.info("智联招聘岗位投递完成，成功投递 {} 个岗位", successCount.get());
-        return successCount.get();
+    @Override
+    public boolean supportsQueuedDelivery() {
+        return true;
     }
 
     @Override
@@ -173,29 +220,50 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
     // ==================== 私有辅助方法 ====================
 
     /**
-     * 按城市采集岗位
+     * 在指定标签页上开始一个搜索单元：首屏为服务端渲染，从第2页开始每次点击分页后等待搜索接口响应
      */
-    private List<JobDTO> collectJobsByCity(String cityCode, String keyword, ConfigDTO config) {
-        String searchUrl = buildSearchUrl(cityCode, keyword, config);
-        log.info("开始采集，城市: {}，关键词: {}，URL: {}", cityCode, keyword, searchUrl);
-        
-        List<JobDTO> jobDTOS = new ArrayList<>();
-        Page page = PlaywrightUtil.getPageObject();
-        
+    private ResponseDrivenPager openSearchUnit(Page tab, SearchUnit unit, ParallelSearchCollector.UnitControl control) {
+        // 首屏由服务端渲染，不经过列表接口：断点续采时通过p参数打开起始页的前一页，再点击分页从起始页开始采集
+        int landingPage = Math.max(1, unit.startPage() - 1);
+        String url = landingPage > 1 ? unit.url() + "&p=" + landingPage : unit.url();
+        log.info("开始采集，城市: {}，关键词: {}，URL: {}", unit.cityCode(), unit.keyword(), url);
+        AtomicInteger nextPage = new AtomicInteger(landingPage + 1);
+        return control.applyTo(ResponseDrivenPager.builder(tab, SEARCH_POSITIONS_API,
+                        ZhiLianRecruitmentServiceImpl::inspectSearchResult))
+                .label("智联搜索岗位[" + unit + "]")
+                .awaitInitialResponse(false)
+                .pageOffset(landingPage)
+                .advance(() -> ZhiLianElementLocators.clickPageNumber(tab, nextPage.getAndIncrement()))
+                .build()
+                .start(() -> {
+                    tab.navigate(url);
+                    // 等待页面加载
+                    tab.waitForLoadState();
+                });
+    }
+
+    /**
+     * 解析搜索接口的分页信息
+     */
+    private static ResponseDrivenPager.PageInfo inspectSearchResult(String body) {
         try {
-            page.navigate(searchUrl);
-            // 等待页面加载
-            page.waitForLoadState();
-            int pageNumber = 1;
-            while (ZhiLianElementLocators.clickPageNumber(page, pageNumber)){
-                pageNumber++;
+            JsonNode root = OBJECT_MAPPER.readTree(body);
+            if (root.path("code").asInt() != 200) {
+                return new ResponseDrivenPager.PageInfo(0, false, null);
             }
+            JsonNode data = root.path("data");
+            Boolean hasMore = data.hasNonNull("isEndPage") ? data.get("isEndPage").asInt() != 1 : null;
+            Integer totalCount = data.hasNonNull("count") ? data.get("count").asInt() : null;
+            List<String> jobIds = new ArrayList<>();
+            data.path("list").forEach(job -> {
+                if (job.hasNonNull("jobId")) {
+                    jobIds.add(job.get("jobId").asText());
+                }
+            });
+            return new ResponseDrivenPager.PageInfo(data.path("list").size(), hasMore, totalCount, jobIds);
         } catch (Exception e) {
-            log.error("采集城市: {}, 关键词: {} 的职位失败", cityCode, keyword, e);
+            throw new IllegalStateException("智联搜索响应不是有效的JSON", e);
         }
-        
-        log.info("城市: {}, 关键词: {} 的职位采集完成，共{}个职位", cityCode, keyword, jobDTOS.size());
-        return jobDTOS;
     }
 
     /**
@@ -208,7 +276,7 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
      * @return 完整的搜索URL
      */
     private String buildSearchUrl(String cityCode, String keyword, ConfigDTO config) {
-        StringBuilder url = new StringBuilder(SEARCH_JOB_URL);
+        StringBuilder url = new StringBuilder(getPlatform().getSearchUrl());
         
         try {
             // 必需参数
@@ -263,7 +331,7 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
         } catch (Exception e) {
             log.error("构建搜索URL失败", e);
             // 返回基础URL
-            return SEARCH_JOB_URL + "kw=" + keyword;
+            return getPlatform().getSearchUrl() + "kw=" + keyword;
         }
         
         String finalUrl = url.toString();
@@ -279,7 +347,7 @@ public class ZhiLianRecruitmentServiceImpl implements RecruitmentService {
         
         try {
             // 直接首页登录即可，不需要单独使用登录页
-            page.navigate(HOME_URL);
+            page.navigate(getPlatform().getHomeUrl());
             PlaywrightUtil.sleep(3);
             
             log.info("等待用户手动登录...");
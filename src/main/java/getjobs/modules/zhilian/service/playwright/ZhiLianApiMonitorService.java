@@ -3,17 +3,23 @@ package getjobs.modules.zhilian.service.playwright;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.playwright.*;
 import getjobs.modules.zhilian.dto.ZhiLianApiResponse;
+import getjobs.common.enums.RecruitmentPlatformEnum;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
+import getjobs.service.browser.ResponseCaptureLog;
+import getjobs.service.browser.ResponseRouteProvider;
+import getjobs.service.browser.ResponseRouter;
+import getjobs.service.collect.JobsIngestedEvent;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.profiling.BatchIngestedEvent;
 import getjobs.utils.ZhiLianDataConverter;
 import getjobs.utils.PlaywrightUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import jakarta.annotation.PostConstruct;
-
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -28,34 +34,36 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class ZhiLianApiMonitorService {
+public class ZhiLianApiMonitorService implements ResponseRouteProvider {
+
+    private static final String ROUTE_SEARCH = "zhilian-search";
 
     private final JobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PipelineMetrics pipelineMetrics;
+    private final ResponseCaptureLog responseCaptureLog;
     private final ZhiLianDataConverter dataConverter;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    // 全局接口调用频率限制：记录最后一次调用时间
-    private static volatile long lastCallTime = 0L;
-
     /**
-     * 初始化监控服务
-     * 设置智联招聘搜索接口监听器
+     * 最近一次捕获到职位搜索响应的时间（毫秒），尚未捕获时为0
      */
-    @PostConstruct
-    public void init() {
-        setupZhiLianApiMonitor();
-    }
+    private volatile long lastCallTime = 0L;
 
     /**
      * 设置智联招聘接口监听器
-     * 监听所有相关的API响应并处理职位数据
+     * 向当前线程使用的上下文路由器注册路由，重复调用不会产生重复监听
      */
     public void setupZhiLianApiMonitor() {
         try {
-            Page page = PlaywrightUtil.getPageObject();
+            ResponseRouter router = PlaywrightUtil.getResponseRouter();
+            if (router == null) {
+                log.warn("浏览器上下文尚未初始化，跳过智联招聘API监控注册");
+                return;
+            }
 
             // 监听智联招聘职位搜索接口的响应
-            setupResponseMonitor(page);
+            registerRoutes(router);
 
             log.info("智联招聘API监控服务初始化完成");
         } catch (Exception e) {
@@ -64,57 +72,23 @@ public class ZhiLianApiMonitorService {
     }
 
     /**
-     * 设置响应监控
+     * 注册智联招聘职位搜索接口的响应路由
      */
-    private void setupResponseMonitor(Page page) {
-        page.onResponse(response -> {
-            String url = response.url();
-
-            // 监听智联招聘职位搜索接口响应
-            if (url.contains("/c/i/search/positions")) {
-                handleZhiLianSearchResponse(response);
-            }
-            // 可以在此添加其他智联招聘相关接口的监听
-        });
+    @Override
+    public void registerRoutes(ResponseRouter router) {
+        router.register(ROUTE_SEARCH, "/c/i/search/positions", this::handleZhiLianSearchResponse);
+        // 可以在此添加其他智联招聘相关接口的路由
     }
 
     /**
      * 处理智联招聘职位搜索响应
      */
-    private void handleZhiLianSearchResponse(Response response) {
-        log.info("=== 智联招聘职位搜索响应拦截 ===");
-        log.info("响应状态: {}", response.status());
-        log.info("响应URL: {}", response.url());
-        log.info("响应头: {}", response.headers());
-
-        try {
-            String body = response.text();
-            log.info("响应体长度: {} 字符", body.length());
-            log.debug("响应体内容: {}", body);
+    private void handleZhiLianSearchResponse(Response response, String body) {
+        lastCallTime = System.currentTimeMillis();
+        responseCaptureLog.capture(ROUTE_SEARCH, response, body);
 
-            // 尝试解析JSON并美化输出
-            formatJsonResponse(body);
-
-            // 解析并保存职位数据
-            parseAndSaveZhiLianData(body, "智联招聘职位搜索");
-
-        } catch (PlaywrightException e) {
-            log.error("读取智联招聘响应体失败: {}", e.getMessage());
-        }
-        log.info("==========================");
-    }
-
-    /**
-     * 格式化JSON响应
-     */
-    private void formatJsonResponse(String body) {
-        try {
-            Object jsonObject = objectMapper.readValue(body, Object.class);
-            String formattedJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonObject);
-            log.debug("格式化JSON响应: {}", formattedJson);
-        } catch (Exception e) {
-            log.debug("响应体不是有效的JSON格式: {}", e.getMessage());
-        }
+        // 解析并保存职位数据
+        parseAndSaveZhiLianData(body, "智联招聘职位搜索");
     }
 
     /**
@@ -126,8 +100,14 @@ public class ZhiLianApiMonitorService {
     @Transactional
     public void parseAndSaveZhiLianData(String body, String source) {
         try {
+            BatchIngestedEvent ingestEvent = new BatchIngestedEvent(
+                    RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(), BatchIngestedEvent.OP_INGEST);
             // 解析智联招聘API响应
+            long parseStart = System.nanoTime();
             ZhiLianApiResponse response = objectMapper.readValue(body, ZhiLianApiResponse.class);
+            pipelineMetrics.recordParse(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(),
+                    System.nanoTime() - parseStart);
+            ingestEvent.parsed(System.nanoTime() - parseStart);
 
             if (!Integer.valueOf(200).equals(response.getCode())) {
                 log.warn("智联招聘API响应错误，code: {}", response.getCode());
@@ -162,6 +142,7 @@ public class ZhiLianApiMonitorService {
                     .toList();
 
             if (!jobEntities.isEmpty()) {
+                long ingestStart = System.nanoTime();
                 // 检查是否已存在相同的职位（基于encryptJobId）
                 List<JobEntity> newJobs = jobEntities.stream()
                         .filter(entity -> !isJobExists(entity.getEncryptJobId()))
@@ -177,6 +158,12 @@ public class ZhiLianApiMonitorService {
                 } else {
                     log.info("所有职位都已存在，跳过保存，来源: {}", source);
                 }
+                pipelineMetrics.recordIngest(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(), jobEntities.size(),
+                        newJobs.size(), System.nanoTime() - ingestStart);
+                ingestEvent.finish(jobEntities.size(), newJobs.size());
+                // 通知已采集岗位索引，增量采集据此判断后续页面是否已采集过
+                eventPublisher.publishEvent(new JobsIngestedEvent(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode(),
+                        jobEntities.stream().map(JobEntity::getEncryptJobId).toList()));
             } else {
                 log.warn("没有有效的职位数据可以保存，来源: {}", source);
             }
@@ -0,0 +1,29 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.CrawlFrontierEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CrawlFrontierRepository extends JpaRepository<CrawlFrontierEntity, Long> {
+
+    /**
+     * 按单元标识查找
+     */
+    Optional<CrawlFrontierEntity> findByPlatformAndCityCodeAndKeywordAndFilterHash(String platform, String cityCode,
+                                                                                 String keyword, String filterHash);
+
+    /**
+     * 获取平台的所有单元
+     */
+    List<CrawlFrontierEntity> findByPlatformOrderByIdAsc(String platform);
+
+    /**
+     * 查找租约在指定时间之前的单元
+     */
+    List<CrawlFrontierEntity> findByStatusAndLeasedAtBefore(String status, LocalDateTime leasedAt);
+}
@@ -0,0 +1,39 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.DeliveryQueueEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DeliveryQueueRepository extends JpaRepository<DeliveryQueueEntity, Long> {
+
+    /**
+     * 按平台与岗位ID查找
+     */
+    Optional<DeliveryQueueEntity> findByPlatformAndEncryptJobId(String platform, String encryptJobId);
+
+    /**
+     * 获取平台的队列项
+     */
+    List<DeliveryQueueEntity> findByPlatform(String platform);
+
+    /**
+     * 获取平台指定状态的队列项，按得分从高到低
+     */
+    List<DeliveryQueueEntity> findByPlatformAndStatusOrderByScoreDesc(String platform, String status);
+
+    /**
+     * 获取已到可投递时间的队列项，按得分从高到低
+     */
+    @Query("SELECT q FROM DeliveryQueueEntity q WHERE q.platform = :platform AND q.status = :status " +
+            "AND (q.nextAttemptAt IS NULL OR q.nextAttemptAt <= :now) ORDER BY q.score DESC, q.id ASC")
+    List<DeliveryQueueEntity> findDue(@Param("platform") String platform, @Param("status") String status,
+                                      @Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -4,8 +4,10 @@ import getjobs.repository.entity.JobEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -72,6 +74,14 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
 
     List<JobEntity> findAllByEncryptJobIdIn(List<String> encryptJobIds);
 
+    /**
+     * 获取所有岗位的加密职位ID，用于预热已采集岗位索引
+     *
+     * @return 加密职位ID列表
+     */
+    @Query("SELECT j.encryptJobId FROM JobEntity j WHERE j.encryptJobId IS NOT NULL")
+    List<String> findAllEncryptJobIds();
+
     /**
      * 统计指定时间范围内新增的岗位数量
      *
@@ -91,6 +101,16 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
      */
     long countByPlatformAndCreatedAtBetween(String platform, LocalDateTime startTime, LocalDateTime endTime);
 
+    /**
+     * 统计指定平台、指定状态且在某时间之后更新过的岗位数量
+     *
+     * @param platform 平台名称
+     * @param status   状态值
+     * @param since    更新时间下限（含）
+     * @return 岗位数量
+     */
+    long countByPlatformAndStatusAndUpdatedAtGreaterThanEqual(String platform, Integer status, LocalDateTime since);
+
     /**
      * 根据状态和平台查找职位
      *
@@ -107,4 +127,78 @@ public interface JobRepository extends JpaRepository<JobEntity, Long> {
      * @return 职位实体列表
      */
     List<JobEntity> findByPlatform(String platform);
+
+    /**
+     * 查找缺少详情字段的职位：从未请求过详情的在前，其余按创建时间倒序；
+     * 最近请求过（岗位已关闭、被风控拒绝等仍未补全）或请求次数已达上限的不再选出
+     *
+     * @param platform     平台名称
+     * @param retryBefore  上次请求早于该时间的才重新请求
+     * @param maxAttempts  请求次数上限
+     * @param pageable     分页参数，用于限制单次数量
+     * @return 职位实体列表
+     */
+    @Query("SELECT j FROM JobEntity j " +
+            "WHERE j.platform = :platform " +
+            "AND j.securityId IS NOT NULL " +
+            "AND (j.encryptJobDetailId IS NULL OR j.jobPostDescription IS NULL) " +
+            "AND (j.detailAttemptedAt IS NULL OR j.detailAttemptedAt < :retryBefore) " +
+            "AND COALESCE(j.detailAttempts, 0) < :maxAttempts " +
+            "ORDER BY CASE WHEN j.detailAttemptedAt IS NULL THEN 0 ELSE 1 END, j.createdAt DESC")
+    List<JobEntity> findMissingDetailJobs(@Param("platform") String platform,
+            @Param("retryBefore") LocalDateTime retryBefore, @Param("maxAttempts") int maxAttempts,
+            Pageable pageable);
+
+    /**
+     * 记录详情请求：更新请求时间并累加请求次数，只更新这两个字段，避免覆盖同时写入的详情字段
+     *
+     * @param ids         岗位ID列表
+     * @param attemptedAt 请求时间
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobEntity j SET j.detailAttemptedAt = :attemptedAt, " +
+            "j.detailAttempts = COALESCE(j.detailAttempts, 0) + 1 " +
+            "WHERE j.id IN :ids")
+    int markDetailAttempted(@Param("ids") List<Long> ids, @Param("attemptedAt") LocalDateTime attemptedAt);
+
+    /**
+     * 查找需要复核有效性的岗位：入库时间与上次确认有效时间都早于指定时间，最久未确认的在前
+     *
+     * @param platform 平台名称
+     * @param status   岗位状态
+     * @param before   复核时间界限
+     * @param pageable 分页参数
+     * @return 岗位实体列表
+     */
+    @Query("SELECT j FROM JobEntity j " +
+            "WHERE j.platform = :platform " +
+            "AND j.status = :status " +
+            "AND j.securityId IS NOT NULL " +
+            "AND j.createdAt < :before " +
+            "AND (j.lastVerifiedAt IS NULL OR j.lastVerifiedAt < :before) " +
+            "ORDER BY COALESCE(j.lastVerifiedAt, j.createdAt) ASC")
+    List<JobEntity> findStaleJobs(@Param("platform") String platform, @Param("status") Integer status,
+            @Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * 记录岗位复核结果，只更新状态相关字段，避免覆盖同时写入的详情字段；复核期间状态已变化的岗位不更新
+     *
+     * @param ids          岗位ID列表
+     * @param fromStatus   复核时的岗位状态
+     * @param status       复核后的岗位状态
+     * @param filterReason 状态说明，为null时保留原值
+     * @param verifiedAt   复核时间
+     * @return 更新行数
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobEntity j SET j.status = :status, " +
+            "j.filterReason = COALESCE(:filterReason, j.filterReason), " +
+            "j.lastVerifiedAt = :verifiedAt, j.updatedAt = :verifiedAt " +
+            "WHERE j.id IN :ids AND j.status = :fromStatus")
+    int updateVerification(@Param("ids") List<Long> ids, @Param("fromStatus") Integer fromStatus,
+            @Param("status") Integer status,
+            @Param("filterReason") String filterReason, @Param("verifiedAt") LocalDateTime verifiedAt);
 }
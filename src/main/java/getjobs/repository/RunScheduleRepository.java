@@ -0,0 +1,22 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.RunScheduleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RunScheduleRepository extends JpaRepository<RunScheduleEntity, Long> {
+
+    /**
+     * 获取已到触发时间的启用计划，按触发时间先后
+     */
+    List<RunScheduleEntity> findByEnabledTrueAndNextFireAtLessThanEqualOrderByNextFireAtAsc(LocalDateTime now);
+
+    /**
+     * 获取全部计划
+     */
+    List<RunScheduleEntity> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,47 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.TaskRunEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskRunRepository extends JpaRepository<TaskRunEntity, Long> {
+
+    /**
+     * 按任务ID查找
+     */
+    Optional<TaskRunEntity> findByTaskId(String taskId);
+
+    /**
+     * 按平台、类型、状态筛选指定时间之后创建的任务，条件为空时不限制，最新的在前
+     */
+    @Query("SELECT r FROM TaskRunEntity r WHERE (:platform IS NULL OR r.platform = :platform) " +
+            "AND (:type IS NULL OR r.type = :type) AND (:state IS NULL OR r.state = :state) " +
+            "AND r.createdAt >= :since ORDER BY r.createdAt DESC")
+    Page<TaskRunEntity> search(@Param("platform") String platform, @Param("type") String type,
+                               @Param("state") String state, @Param("since") LocalDateTime since,
+                               Pageable pageable);
+
+    /**
+     * 获取指定状态的任务
+     */
+    List<TaskRunEntity> findByStateIn(List<String> states);
+
+    /**
+     * 获取指定时间之前创建的任务
+     */
+    List<TaskRunEntity> findByCreatedAtBefore(LocalDateTime createdAt);
+
+    /**
+     * 获取所有任务，最新的在前
+     */
+    List<TaskRunEntity> findAllByOrderByCreatedAtDesc(Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package getjobs.repository;
+
+import getjobs.repository.entity.TaskStageEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskStageRepository extends JpaRepository<TaskStageEntity, Long> {
+
+    /**
+     * 获取任务的阶段，按开始顺序
+     */
+    List<TaskStageEntity> findByTaskIdOrderBySeqAsc(String taskId);
+
+    /**
+     * 获取多个任务的阶段
+     */
+    List<TaskStageEntity> findByTaskIdIn(Collection<String> taskIds);
+}
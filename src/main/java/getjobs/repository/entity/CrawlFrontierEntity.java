@@ -0,0 +1,113 @@
+package getjobs.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 采集边界实体：一个平台的一个搜索单元（城市×关键词×筛选条件）及其采集进度
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Data
+@Entity
+@Table(name = "crawl_frontier", uniqueConstraints = @UniqueConstraint(name = "uk_crawl_frontier_unit",
+        columnNames = {"platform", "city_code", "keyword", "filter_hash"}))
+@EqualsAndHashCode(callSuper = true)
+public class CrawlFrontierEntity extends BaseEntity {
+
+    /**
+     * 平台代码
+     */
+    @Column(name = "platform", nullable = false, length = 20)
+    private String platform;
+
+    /**
+     * 城市代码
+     */
+    @Column(name = "city_code", length = 50)
+    private String cityCode;
+
+    /**
+     * 关键词
+     */
+    @Column(name = "keyword", length = 200)
+    private String keyword;
+
+    /**
+     * 筛选条件摘要
+     */
+    @Column(name = "filter_hash", nullable = false, length = 64)
+    private String filterHash;
+
+    /**
+     * 搜索URL
+     */
+    @Column(name = "url", columnDefinition = "TEXT")
+    private String url;
+
+    /**
+     * 单元状态：PENDING、LEASED、COMPLETED、FAILED
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * 已完成的最后一页
+     */
+    @Column(name = "last_page", nullable = false)
+    private Integer lastPage = 0;
+
+    /**
+     * 本轮收到的岗位数
+     */
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount = 0;
+
+    /**
+     * 尝试次数
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * 租约持有者
+     */
+    @Column(name = "lease_owner", length = 100)
+    private String leaseOwner;
+
+    /**
+     * 租约时间，每完成一页刷新一次
+     */
+    @Column(name = "leased_at")
+    private LocalDateTime leasedAt;
+
+    /**
+     * 完成时间
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * 最近一次执行耗时（毫秒）
+     */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    /**
+     * 上一轮从第1页开始时的顶部岗位ID，增量采集的水位线
+     */
+    @Convert(converter = JsonListStringConverter.class)
+    @Column(name = "watermark", columnDefinition = "TEXT")
+    private List<String> watermark;
+
+    /**
+     * 翻页停止原因或失败原因
+     */
+    @Column(name = "stop_reason", length = 500)
+    private String stopReason;
+}
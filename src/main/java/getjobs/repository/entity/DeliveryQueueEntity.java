@@ -0,0 +1,82 @@
+package getjobs.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 投递队列实体：一个待投递岗位的匹配得分与投递尝试记录
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Data
+@Entity
+@Table(name = "delivery_queue", uniqueConstraints = @UniqueConstraint(name = "uk_delivery_queue_job",
+        columnNames = {"platform", "encrypt_job_id"}),
+        indexes = @Index(name = "idx_delivery_queue_ready", columnList = "platform, status, score"))
+@EqualsAndHashCode(callSuper = true)
+public class DeliveryQueueEntity extends BaseEntity {
+
+    /**
+     * 平台代码
+     */
+    @Column(name = "platform", nullable = false, length = 20)
+    private String platform;
+
+    /**
+     * 加密岗位ID
+     */
+    @Column(name = "encrypt_job_id", nullable = false, length = 100)
+    private String encryptJobId;
+
+    /**
+     * 岗位名称
+     */
+    @Column(name = "job_title", length = 200)
+    private String jobTitle;
+
+    /**
+     * 公司名称
+     */
+    @Column(name = "company_name", length = 200)
+    private String companyName;
+
+    /**
+     * 匹配得分（0-100），得分高的岗位先投递
+     */
+    @Column(name = "score", nullable = false)
+    private Double score = 0.0;
+
+    /**
+     * 队列状态：READY、IN_FLIGHT、DONE、DEAD
+     */
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    /**
+     * 已尝试次数
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * 最早可投递时间，重试退避期间晚于当前时间
+     */
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 最近一次失败原因
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * 投递成功或移入死信的时间
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
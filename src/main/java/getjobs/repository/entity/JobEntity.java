@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * 职位信息实体类
@@ -220,6 +221,24 @@ public class JobEntity extends BaseEntity {
     @Column(name = "status", nullable = false)
     private Integer status = 0;
 
+    /**
+     * 最近一次通过详情接口确认岗位仍有效的时间
+     */
+    @Column(name = "last_verified_at")
+    private LocalDateTime lastVerifiedAt;
+
+    /**
+     * 最近一次请求详情接口补全详情的时间
+     */
+    @Column(name = "detail_attempted_at")
+    private LocalDateTime detailAttemptedAt;
+
+    /**
+     * 请求详情接口补全详情的次数
+     */
+    @Column(name = "detail_attempts")
+    private Integer detailAttempts;
+
     /**
      * 过滤原因说明
      */
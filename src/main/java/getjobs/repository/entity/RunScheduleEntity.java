@@ -0,0 +1,99 @@
+package getjobs.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 定时运行计划实体：按cron表达式定时提交某个平台的任务
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Data
+@Entity
+@Table(name = "run_schedule", indexes = @Index(name = "idx_run_schedule_next_fire",
+        columnList = "enabled, next_fire_at"))
+@EqualsAndHashCode(callSuper = true)
+public class RunScheduleEntity extends BaseEntity {
+
+    /**
+     * 计划名称
+     */
+    @Column(name = "name", length = 100)
+    private String name;
+
+    /**
+     * 平台代码
+     */
+    @Column(name = "platform", nullable = false, length = 20)
+    private String platform;
+
+    /**
+     * 任务类型：pipeline、collect、filter、deliver
+     */
+    @Column(name = "task_type", nullable = false, length = 20)
+    private String taskType;
+
+    /**
+     * cron表达式（秒 分 时 日 月 周），也可省略秒
+     */
+    @Column(name = "cron", nullable = false, length = 100)
+    private String cron;
+
+    /**
+     * 随机延后的最长秒数，每次触发在cron时间后随机延后0~该值秒
+     */
+    @Column(name = "jitter_seconds", nullable = false)
+    private Integer jitterSeconds = 0;
+
+    /**
+     * 是否启用
+     */
+    @Column(name = "enabled", nullable = false)
+    private Boolean enabled = true;
+
+    /**
+     * 是否实际投递，否则仅模拟
+     */
+    @Column(name = "actual_delivery", nullable = false)
+    private Boolean actualDelivery = false;
+
+    /**
+     * 需要的最少当日剩余投递额度，低于该值时流水线只采集不投递，投递任务跳过
+     */
+    @Column(name = "min_budget", nullable = false)
+    private Integer minBudget = 1;
+
+    /**
+     * 下次触发时间（已含随机延后）
+     */
+    @Column(name = "next_fire_at")
+    private LocalDateTime nextFireAt;
+
+    /**
+     * 上次触发时间
+     */
+    @Column(name = "last_fire_at")
+    private LocalDateTime lastFireAt;
+
+    /**
+     * 上次提交的任务ID
+     */
+    @Column(name = "last_task_id", length = 100)
+    private String lastTaskId;
+
+    /**
+     * 上次触发结果：SUBMITTED、SHORTENED、SKIPPED、MISFIRED、REJECTED
+     */
+    @Column(name = "last_outcome", length = 20)
+    private String lastOutcome;
+
+    /**
+     * 上次触发结果说明
+     */
+    @Column(name = "last_message", length = 500)
+    private String lastMessage;
+}
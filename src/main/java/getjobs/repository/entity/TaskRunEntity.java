@@ -0,0 +1,119 @@
+package getjobs.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 任务运行记录实体：一次登录、采集、过滤、投递或流水线任务的执行结果
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Data
+@Entity
+@Table(name = "task_run", uniqueConstraints = @UniqueConstraint(name = "uk_task_run_task_id", columnNames = "task_id"),
+        indexes = @Index(name = "idx_task_run_platform_type", columnList = "platform, type, created_at"))
+@EqualsAndHashCode(callSuper = true)
+public class TaskRunEntity extends BaseEntity {
+
+    /**
+     * 任务ID
+     */
+    @Column(name = "task_id", nullable = false, length = 100)
+    private String taskId;
+
+    /**
+     * 平台代码
+     */
+    @Column(name = "platform", nullable = false, length = 20)
+    private String platform;
+
+    /**
+     * 任务类型：login、collect、filter、deliver、pipeline
+     */
+    @Column(name = "type", nullable = false, length = 20)
+    private String type;
+
+    /**
+     * 任务状态
+     */
+    @Column(name = "state", nullable = false, length = 20)
+    private String state;
+
+    /**
+     * 开始执行时间
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * 执行耗时（毫秒）
+     */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    /**
+     * 已处理数量
+     */
+    @Column(name = "done_count")
+    private Integer doneCount;
+
+    /**
+     * 总数量
+     */
+    @Column(name = "total_count")
+    private Integer totalCount;
+
+    /**
+     * 计数器，如翻页数、采集岗位数、新增与重复岗位数、过滤数、投递数
+     */
+    @Convert(converter = JsonMapLongConverter.class)
+    @Column(name = "counters", columnDefinition = "TEXT")
+    private Map<String, Long> counters;
+
+    /**
+     * 任务结果（JSON）
+     */
+    @Column(name = "result", columnDefinition = "TEXT")
+    private String result;
+
+    /**
+     * 最后一条消息
+     */
+    @Column(name = "message", length = 500)
+    private String message;
+
+    /**
+     * 失败原因
+     */
+    @Column(name = "error", length = 500)
+    private String error;
+
+    /**
+     * 告警条数
+     */
+    @Column(name = "warning_count")
+    private Integer warningCount;
+
+    /**
+     * 任务配置摘要
+     */
+    @Column(name = "config_fingerprint", length = 64)
+    private String configFingerprint;
+
+    /**
+     * 执行任务的应用版本
+     */
+    @Column(name = "app_version", length = 50)
+    private String appVersion;
+}
@@ -0,0 +1,50 @@
+package getjobs.repository.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务阶段实体：任务中一个阶段的开始时间与耗时
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Data
+@Entity
+@Table(name = "task_stage", indexes = @Index(name = "idx_task_stage_task_id", columnList = "task_id, seq"))
+@EqualsAndHashCode(callSuper = true)
+public class TaskStageEntity extends BaseEntity {
+
+    /**
+     * 任务ID
+     */
+    @Column(name = "task_id", nullable = false, length = 100)
+    private String taskId;
+
+    /**
+     * 阶段序号，从0开始
+     */
+    @Column(name = "seq", nullable = false)
+    private Integer seq;
+
+    /**
+     * 阶段名称
+     */
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    /**
+     * 开始时间
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * 耗时（毫秒），任务中断时未结束的阶段为空
+     */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+}
@@ -0,0 +1,298 @@
+package getjobs.service;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.CollectionOrchestratorConfig;
+import getjobs.modules.boss.dto.JobDTO;
+import getjobs.service.browser.BrowserContextPool;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.ContextLease;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskContext;
+import getjobs.service.task.TaskEngine;
+import getjobs.service.task.TaskExecution;
+import getjobs.service.task.TaskLifecycleEvent;
+import getjobs.service.task.TaskRejectedException;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 跨平台采集编排服务
+ * <p>
+ * 同时执行多个平台的采集阶段：每个平台提交为{@link TaskEngine}中的一个采集任务，并从{@link BrowserContextPool}租用
+ * 该平台专属的采集上下文（无头模式并拦截静态资源），平台之间的导航互不干扰，整体耗时取决于最慢的平台而非各平台之和。
+ * 同一平台的并发、排队、取消、超时与任务历史都由任务引擎的平台通道统一管理，编排只把各平台任务的进度汇总为一个视图。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CollectionOrchestrator {
+
+    private final RecruitmentServiceFactory serviceFactory;
+    private final BrowserContextPool browserContextPool;
+    private final JobService jobService;
+    private final CollectionOrchestratorConfig orchestratorConfig;
+    private final TaskEngine taskEngine;
+
+    private final Map<String, SweepStatus> sweeps = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<String> sweepOrder = new ConcurrentLinkedDeque<>();
+    /**
+     * 尚未结束的任务ID -> 所属编排
+     */
+    private final Map<String, SweepStatus> sweepByTask = new ConcurrentHashMap<>();
+    private final ReentrantLock finishLock = new ReentrantLock();
+
+    /**
+     * 启动一次跨平台采集
+     *
+     * @param configs 各平台的采集配置
+     * @return 编排状态
+     */
+    public SweepStatus startSweep(Map<RecruitmentPlatformEnum, ConfigDTO> configs) {
+        if (configs == null || configs.isEmpty()) {
+            throw new IllegalArgumentException("至少需要指定一个平台的采集配置");
+        }
+        for (RecruitmentPlatformEnum platform : configs.keySet()) {
+            if (!serviceFactory.isSupported(platform)) {
+                throw new UnsupportedOperationException("暂不支持的招聘平台: " + platform.getPlatformName());
+            }
+        }
+
+        SweepStatus sweep = new SweepStatus();
+        sweep.setSweepId("sweep_" + UUID.randomUUID().toString().substring(0, 8));
+        sweep.setStartTime(new Date());
+        sweep.setStatus(TaskState.RUNNING);
+        configs.keySet().forEach(platform -> {
+            PlatformProgress progress = new PlatformProgress();
+            progress.setPlatform(platform.getPlatformCode());
+            progress.setStatus(TaskState.PENDING);
+            sweep.getPlatforms().put(platform.getPlatformCode(), progress);
+        });
+        remember(sweep);
+
+        log.info("开始跨平台采集，编排ID: {}，平台: {}", sweep.getSweepId(), sweep.getPlatforms().keySet());
+
+        configs.forEach((platform, config) -> submitPlatform(sweep, platform, config));
+        finishIfDone(sweep);
+        return sweep;
+    }
+
+    /**
+     * 获取编排状态
+     */
+    public SweepStatus getSweep(String sweepId) {
+        return sweeps.get(sweepId);
+    }
+
+    /**
+     * 获取最近的编排记录，最新的在前
+     */
+    public List<SweepStatus> getRecentSweeps() {
+        List<SweepStatus> recent = new ArrayList<>();
+        for (String sweepId : sweepOrder) {
+            SweepStatus sweep = sweeps.get(sweepId);
+            if (sweep != null) {
+                recent.add(sweep);
+            }
+        }
+        return recent;
+    }
+
+    /**
+     * 平台采集任务结束时更新所属编排的进度
+     */
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        TaskExecution task = event.task();
+        if (task.isFinished()) {
+            onTaskFinished(task);
+        }
+    }
+
+    /**
+     * 把单个平台的采集提交到任务引擎，平台通道已满时该平台直接标记为失败
+     */
+    private void submitPlatform(SweepStatus sweep, RecruitmentPlatformEnum platform, ConfigDTO config) {
+        PlatformProgress progress = sweep.getPlatforms().get(platform.getPlatformCode());
+        TaskExecution task;
+        try {
+            task = taskEngine.submit(platform, PlatformTaskService.TYPE_COLLECT, config,
+                    context -> runPlatform(platform, config, progress, context));
+        } catch (TaskRejectedException e) {
+            log.warn("[{}] 采集任务未能提交: {}", platform.getPlatformName(), e.getMessage());
+            progress.fail(e.getMessage());
+            progress.setEndTime(new Date());
+            return;
+        }
+        progress.setTaskId(task.getTaskId());
+        sweepByTask.put(task.getTaskId(), sweep);
+        // 任务可能在登记之前就已结束（如排队时被取消），此时事件已经错过
+        if (task.isFinished()) {
+            onTaskFinished(task);
+        }
+    }
+
+    /**
+     * 在任务引擎分配的线程中执行单个平台的采集
+     */
+    private Map<String, Object> runPlatform(RecruitmentPlatformEnum platform, ConfigDTO config,
+                                            PlatformProgress progress, TaskContext context) {
+        progress.setStartTime(new Date());
+        progress.setStatus(TaskState.RUNNING);
+        try (ContextLease lease = browserContextPool.lease(ContextKey.collector(platform))) {
+            log.info("[{}] 已租用浏览器上下文，开始采集", platform.getPlatformName());
+            RecruitmentService service = serviceFactory.getService(platform);
+
+            stage(progress, context, "搜索岗位");
+            List<JobDTO> jobs = new ArrayList<>(service.collectJobs(config));
+            progress.setJobCount(jobs.size());
+
+            if (Boolean.TRUE.equals(config.getRecommendJobs())) {
+                context.checkCancelled();
+                stage(progress, context, "推荐岗位");
+                jobs.addAll(service.collectRecommendJobs(config));
+                progress.setJobCount(jobs.size());
+            }
+
+            stage(progress, context, "保存岗位");
+            if (!jobs.isEmpty()) {
+                progress.setSavedCount(jobService.saveJobs(jobs, platform.name()));
+            }
+            progress.setStage(null);
+            context.message(String.format("采集到 %d 个岗位，入库 %d 个", progress.getJobCount(),
+                    progress.getSavedCount()));
+            log.info("[{}] 采集完成，岗位: {}，入库: {}", platform.getPlatformName(), progress.getJobCount(),
+                    progress.getSavedCount());
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jobCount", progress.getJobCount());
+            result.put("savedCount", progress.getSavedCount());
+            return result;
+        }
+    }
+
+    private void stage(PlatformProgress progress, TaskContext context, String stage) {
+        progress.setStage(stage);
+        context.stage(stage);
+    }
+
+    /**
+     * 按任务的最终状态更新平台进度，每个任务只处理一次
+     */
+    private void onTaskFinished(TaskExecution task) {
+        SweepStatus sweep = sweepByTask.remove(task.getTaskId());
+        if (sweep == null) {
+            return;
+        }
+        PlatformProgress progress = sweep.getPlatforms().get(task.getPlatform());
+        progress.setStage(null);
+        progress.setEndTime(task.getFinishedAt());
+        progress.setDurationMs(task.getStartedAt() == null ? 0 : task.getDurationMs());
+        switch (task.getState()) {
+            case COMPLETED -> progress.setStatus(TaskState.COMPLETED);
+            case CANCELLED, TIMED_OUT -> {
+                progress.setStatus(TaskState.CANCELLED);
+                progress.setMessage(task.getError());
+            }
+            default -> progress.fail(task.getError());
+        }
+        finishIfDone(sweep);
+    }
+
+    /**
+     * 所有平台都已结束时结束编排
+     */
+    private void finishIfDone(SweepStatus sweep) {
+        finishLock.lock();
+        try {
+            boolean done = sweep.getPlatforms().values().stream().allMatch(progress -> progress.getEndTime() != null);
+            if (done && sweep.getEndTime() == null) {
+                finishSweep(sweep);
+            }
+        } finally {
+            finishLock.unlock();
+        }
+    }
+
+    private void finishSweep(SweepStatus sweep) {
+        sweep.setEndTime(new Date());
+        sweep.setDurationMs(sweep.getEndTime().getTime() - sweep.getStartTime().getTime());
+        boolean allCompleted = sweep.getPlatforms().values().stream()
+                .allMatch(progress -> progress.getStatus() == TaskState.COMPLETED);
+        sweep.setStatus(allCompleted ? TaskState.COMPLETED : TaskState.FAILED);
+        long sumMs = sweep.getPlatforms().values().stream().mapToLong(PlatformProgress::getDurationMs).sum();
+        log.info("跨平台采集结束，编排ID: {}，状态: {}，总耗时: {} ms，各平台耗时之和: {} ms",
+                sweep.getSweepId(), sweep.getStatus(), sweep.getDurationMs(), sumMs);
+    }
+
+    private void remember(SweepStatus sweep) {
+        sweeps.put(sweep.getSweepId(), sweep);
+        sweepOrder.addFirst(sweep.getSweepId());
+        while (sweepOrder.size() > Math.max(1, orchestratorConfig.getHistorySize())) {
+            String oldest = sweepOrder.pollLast();
+            if (oldest != null) {
+                sweeps.remove(oldest);
+            }
+        }
+    }
+
+    /**
+     * 任务状态
+     */
+    public enum TaskState {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    /**
+     * 跨平台采集编排状态
+     */
+    @Data
+    public static class SweepStatus {
+        private String sweepId;
+        private volatile TaskState status;
+        private Date startTime;
+        private volatile Date endTime;
+        private volatile long durationMs;
+        private final Map<String, PlatformProgress> platforms = new LinkedHashMap<>();
+    }
+
+    /**
+     * 单个平台的采集进度
+     */
+    @Data
+    public static class PlatformProgress {
+        private String platform;
+        /**
+         * 任务引擎中的采集任务ID，可通过任务接口查询详情或取消
+         */
+        private volatile String taskId;
+        private volatile TaskState status;
+        private volatile String stage;
+        private volatile int jobCount;
+        private volatile int savedCount;
+        private volatile String message;
+        private volatile Date startTime;
+        private volatile Date endTime;
+        private volatile long durationMs;
+
+        void fail(String reason) {
+            this.status = TaskState.FAILED;
+            this.message = reason;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package getjobs.service;
+
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.DeliveryPacingConfig;
+import getjobs.config.DeliveryPacingConfig.PacingRule;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.repository.JobRepository;
+import getjobs.service.profiling.BrowserWaitEvent;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskContext;
+import getjobs.service.task.TaskCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * 投递节奏服务
+ * <p>
+ * 为每个平台维护一个带随机抖动的令牌桶，投递前调用{@link #acquire}获取许可。
+ * 投递间隔会根据平台反馈自适应调整：出现风控提示时按退避倍数放大间隔，
+ * 投递成功后按恢复倍数缓慢缩小间隔，直至回到配置的最短间隔。
+ * 同时按平台统计当日投递量，达到每日上限或平台提示已达上限后不再发放许可。
+ * 当日投递量以job_info中当日更新为投递成功的岗位数为起点（创建节奏、跨天与启动数据恢复后各读取一次），
+ * 应用重启不会重置每日上限。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliveryPacingService {
+
+    private final DeliveryPacingConfig pacingConfig;
+    private final PipelineMetrics pipelineMetrics;
+    private final JobRepository jobRepository;
+
+    private final Map<RecruitmentPlatformEnum, PlatformPacer> pacers = new ConcurrentHashMap<>();
+
+    /**
+     * 获取一次投递许可，必要时阻塞等待
+     *
+     * @param platform 平台
+     * @return 是否获得许可，达到当日上限、所在任务已取消或等待被中断时返回false
+     */
+    public boolean acquire(RecruitmentPlatformEnum platform) {
+        return acquire(platform, 0);
+    }
+
+    /**
+     * 获取一次投递许可，必要时阻塞等待
+     *
+     * @param platform            平台
+     * @param minIntervalSeconds  用户配置的最短间隔（秒），大于平台当前间隔时以此为准，0表示不限制
+     * @return 是否获得许可，达到当日上限、所在任务已取消或等待被中断时返回false
+     */
+    public boolean acquire(RecruitmentPlatformEnum platform, double minIntervalSeconds) {
+        if (TaskContext.isCurrentCancelled()) {
+            log.info("{}投递任务已取消，停止投递", platform.getPlatformName());
+            return false;
+        }
+        PlatformPacer pacer = pacerOf(platform);
+        long waitMs = pacer.reserve(minIntervalSeconds);
+        if (waitMs < 0) {
+            log.warn("{}今日投递额度已用完，已投递: {}，上限: {}", platform.getPlatformName(),
+                    pacer.deliveredToday, pacer.rule.getDailyCap());
+            return false;
+        }
+        pipelineMetrics.recordPacingWait(platform.getPlatformCode(), waitMs);
+        if (waitMs > 0) {
+            log.debug("{}投递节奏等待 {} ms，当前间隔: {} 秒", platform.getPlatformName(), waitMs,
+                    String.format("%.1f", pacer.intervalSeconds));
+            // 分段等待，所在任务取消后尽快返回
+            long deadline = System.currentTimeMillis() + waitMs;
+            BrowserWaitEvent event = new BrowserWaitEvent(BrowserWaitEvent.PACING, platform.getPlatformCode());
+            try {
+                for (long remaining = waitMs; remaining > 0; remaining = deadline - System.currentTimeMillis()) {
+                    if (TaskContext.isCurrentCancelled()) {
+                        return false;
+                    }
+                    Thread.sleep(Math.min(remaining, 1000));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                event.finish();
+            }
+        }
+        // 每发放一次许可即开始投递一个岗位，计入所在任务的进度
+        TaskContext task = TaskContext.current();
+        if (task != null) {
+            task.step();
+        }
+        return true;
+    }
+
+    /**
+     * 记录一次投递成功，计入当日投递量并缓慢恢复速率
+     */
+    public void onSuccess(RecruitmentPlatformEnum platform) {
+        pacerOf(platform).onSuccess();
+        TaskContext.incrementCurrent(TaskCounters.DELIVERED, 1);
+    }
+
+    /**
+     * 记录一次风控告警（如异常访问、操作频繁），放大投递间隔
+     *
+     * @param platform 平台
+     * @param reason   告警原因
+     */
+    public void onRiskWarning(RecruitmentPlatformEnum platform, String reason) {
+        PlatformPacer pacer = pacerOf(platform);
+        pacer.onRiskWarning(reason);
+        log.warn("{}出现风控提示: {}，投递间隔调整为 {} 秒", platform.getPlatformName(), reason,
+                String.format("%.1f", pacer.intervalSeconds));
+        TaskContext.warnCurrent(String.format("风控提示: %s，投递间隔调整为 %.1f 秒", reason, pacer.intervalSeconds));
+    }
+
+    /**
+     * 记录平台提示当日投递已达上限，当日不再发放许可
+     */
+    public void onDailyLimitReached(RecruitmentPlatformEnum platform) {
+        pacerOf(platform).onDailyLimitReached();
+        log.warn("{}平台提示今日投递已达上限", platform.getPlatformName());
+        TaskContext.warnCurrent("平台提示今日投递已达上限");
+    }
+
+    /**
+     * 获取平台当日剩余投递额度
+     */
+    public int getRemainingBudget(RecruitmentPlatformEnum platform) {
+        return pacerOf(platform).snapshot().remainingToday();
+    }
+
+    /**
+     * 获取平台当前节奏状态
+     */
+    public PacingSnapshot getSnapshot(RecruitmentPlatformEnum platform) {
+        return pacerOf(platform).snapshot();
+    }
+
+    /**
+     * 获取所有平台当前节奏状态
+     */
+    public List<PacingSnapshot> getSnapshots() {
+        List<PacingSnapshot> snapshots = new ArrayList<>();
+        for (RecruitmentPlatformEnum platform : RecruitmentPlatformEnum.values()) {
+            snapshots.add(getSnapshot(platform));
+        }
+        return snapshots;
+    }
+
+    /**
+     * 启动数据恢复完成后按job_info重新读取已创建节奏的当日投递量
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1100)
+    public void reloadDeliveredToday() {
+        pacers.values().forEach(PlatformPacer::reloadDeliveredToday);
+    }
+
+    private PlatformPacer pacerOf(RecruitmentPlatformEnum platform) {
+        PlatformPacer pacer = pacers.get(platform);
+        if (pacer != null) {
+            return pacer;
+        }
+        // 在computeIfAbsent之外创建，读取当日投递量的查询不占用Map的锁
+        PlatformPacer created = new PlatformPacer(platform, pacingConfig.resolve(platform.getPlatformCode()),
+                () -> countDeliveredToday(platform));
+        PlatformPacer existing = pacers.putIfAbsent(platform, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * 当日更新为投递成功的岗位数；其他更新也会刷新更新时间，统计值可能偏大，宁可少投不超出上限
+     */
+    private int countDeliveredToday(RecruitmentPlatformEnum platform) {
+        try {
+            return (int) jobRepository.countByPlatformAndStatusAndUpdatedAtGreaterThanEqual(
+                    PlatformTaskService.jobPlatformOf(platform), JobStatusEnum.DELIVERED_SUCCESS.getCode(),
+                    LocalDate.now().atStartOfDay());
+        } catch (Exception e) {
+            log.warn("{}读取当日投递量失败: {}", platform.getPlatformName(), e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 平台节奏状态快照
+     *
+     * @param platform             平台代码
+     * @param intervalSeconds      当前投递间隔（秒）
+     * @param ratePerMinute        当前每分钟投递速率
+     * @param availableTokens      当前可用令牌
+     * @param deliveredToday       今日已投递
+     * @param dailyCap             每日上限
+     * @param remainingToday       今日剩余额度
+     * @param limitReached         平台是否已提示达到上限
+     * @param riskWarnings         累计风控告警次数
+     * @param lastWarning          最近一次风控告警
+     * @param lastWarningAt        最近一次风控告警时间
+     * @param totalWaitMs          累计等待时长
+     */
+    public record PacingSnapshot(String platform, double intervalSeconds, double ratePerMinute,
+                                 double availableTokens, int deliveredToday, int dailyCap, int remainingToday,
+                                 boolean limitReached, int riskWarnings, String lastWarning,
+                                 LocalDateTime lastWarningAt, long totalWaitMs) {
+    }
+
+    /**
+     * 单个平台的令牌桶
+     */
+    private static class PlatformPacer {
+
+        private final RecruitmentPlatformEnum platform;
+        private final PacingRule rule;
+        private final IntSupplier deliveredTodayLoader;
+
+        private double intervalSeconds;
+        private double tokens;
+        private long lastRefillNanos;
+
+        private LocalDate day = LocalDate.now();
+        private int deliveredToday;
+        private boolean limitReached;
+
+        private int riskWarnings;
+        private String lastWarning;
+        private LocalDateTime lastWarningAt;
+        private long totalWaitMs;
+
+        PlatformPacer(RecruitmentPlatformEnum platform, PacingRule rule, IntSupplier deliveredTodayLoader) {
+            this.platform = platform;
+            this.rule = rule;
+            this.deliveredTodayLoader = deliveredTodayLoader;
+            this.intervalSeconds = clamp(rule.getInitialIntervalSeconds());
+            this.tokens = Math.max(1, rule.getBurst());
+            this.lastRefillNanos = System.nanoTime();
+            this.deliveredToday = deliveredTodayLoader.getAsInt();
+        }
+
+        /**
+         * 按job_info重新读取当日投递量，不低于本进程已记录的投递量
+         */
+        synchronized void reloadDeliveredToday() {
+            rollDay();
+            deliveredToday = Math.max(deliveredToday, deliveredTodayLoader.getAsInt());
+        }
+
+        /**
+         * 预占一个令牌
+         *
+         * @return 需要等待的毫秒数，-1表示今日额度已用完
+         */
+        synchronized long reserve(double minIntervalSeconds) {
+            rollDay();
+            if (limitReached || deliveredToday >= rule.getDailyCap()) {
+                return -1;
+            }
+
+            double effectiveInterval = Math.max(intervalSeconds, minIntervalSeconds);
+            refill(effectiveInterval);
+
+            tokens -= 1;
+            double waitSeconds = tokens < 0 ? -tokens * effectiveInterval : 0;
+            double jitterSeconds = ThreadLocalRandom.current().nextDouble() * rule.getJitterRatio() * effectiveInterval;
+            long waitMs = Math.round((waitSeconds + jitterSeconds) * 1000);
+            totalWaitMs += waitMs;
+            return waitMs;
+        }
+
+        synchronized void onSuccess() {
+            rollDay();
+            deliveredToday++;
+            intervalSeconds = clamp(intervalSeconds * rule.getRecoveryFactor());
+        }
+
+        synchronized void onRiskWarning(String reason) {
+            intervalSeconds = clamp(intervalSeconds * rule.getBackoffFactor());
+            // 清空已积累的令牌，下一次投递必须完整等待新的间隔
+            tokens = Math.min(tokens, 0);
+            riskWarnings++;
+            lastWarning = reason;
+            lastWarningAt = LocalDateTime.now();
+        }
+
+        synchronized void onDailyLimitReached() {
+            rollDay();
+            limitReached = true;
+        }
+
+        synchronized PacingSnapshot snapshot() {
+            rollDay();
+            refill(intervalSeconds);
+            int remaining = limitReached ? 0 : Math.max(0, rule.getDailyCap() - deliveredToday);
+            return new PacingSnapshot(platform.getPlatformCode(), intervalSeconds, 60.0 / intervalSeconds,
+                    tokens, deliveredToday, rule.getDailyCap(), remaining, limitReached, riskWarnings,
+                    lastWarning, lastWarningAt, totalWaitMs);
+        }
+
+        private void refill(double effectiveInterval) {
+            long now = System.nanoTime();
+            double elapsedSeconds = (now - lastRefillNanos) / 1_000_000_000.0;
+            tokens = Math.min(Math.max(1, rule.getBurst()), tokens + elapsedSeconds / effectiveInterval);
+            lastRefillNanos = now;
+        }
+
+        private void rollDay() {
+            LocalDate today = LocalDate.now();
+            if (!today.equals(day)) {
+                day = today;
+                deliveredToday = deliveredTodayLoader.getAsInt();
+                limitReached = false;
+            }
+        }
+
+        private double clamp(double interval) {
+            return Math.min(rule.getMaxIntervalSeconds(), Math.max(rule.getMinIntervalSeconds(), interval));
+        }
+    }
+}
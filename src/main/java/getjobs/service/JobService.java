@@ -3,6 +3,7 @@ package getjobs.service;
 import getjobs.modules.boss.dto.JobDTO;
 import getjobs.repository.entity.JobEntity;
 import getjobs.repository.JobRepository;
+import getjobs.service.profiling.BatchIngestedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -38,6 +39,7 @@ public class JobService {
             return 0;
         }
 
+        BatchIngestedEvent event = new BatchIngestedEvent(platform, BatchIngestedEvent.OP_SAVE);
         try {
             // 转换为实体对象
             List<JobEntity> jobEntities = jobDTOs.stream()
@@ -46,6 +48,7 @@ public class JobService {
 
             // 批量保存
             jobRepository.saveAll(jobEntities);
+            event.finish(jobDTOs.size(), jobEntities.size());
 
             log.info("成功保存 {} 个职位到数据库，平台: {}", jobEntities.size(), platform);
             return jobEntities.size();
@@ -217,6 +220,7 @@ public class JobService {
             return 0;
         }
 
+        BatchIngestedEvent event = new BatchIngestedEvent(null, BatchIngestedEvent.OP_UPDATE_STATUS);
         try {
             List<JobEntity> jobEntities = jobRepository.findAllByEncryptJobIdIn(encryptJobIds);
             for (JobEntity entity : jobEntities) {
@@ -225,6 +229,7 @@ public class JobService {
             }
 
             jobRepository.saveAll(jobEntities);
+            event.finish(encryptJobIds.size(), jobEntities.size());
             log.info("成功更新 {} 个职位的状态为 {}，过滤原因: {}", jobEntities.size(), status, filterReason);
             return jobEntities.size();
 
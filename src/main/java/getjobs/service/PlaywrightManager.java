@@ -1,45 +1,110 @@
 package getjobs.service;
 
+import getjobs.config.BrowserLaunchConfig;
+import getjobs.service.browser.ResponseRouteProvider;
 import getjobs.utils.PlaywrightUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Playwright管理器 - 单例管理浏览器实例
- * 在应用启动时初始化，应用关闭时清理
- * 
+ * 浏览器在第一个需要它的任务到来时异步启动，应用启动时不再创建浏览器，应用关闭时清理；
+ * 配置browser.launch.eager时在应用启动过程中启动，用于对比两种方式的启动耗时与首个任务延迟
+ *
  * @author loks666
  *         项目链接: <a href=
  *         "https://github.com/loks666/get_jobs">https://github.com/loks666/get_jobs</a>
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class PlaywrightManager {
 
-    private volatile boolean initialized = false;
+    /**
+     * 浏览器状态
+     */
+    public enum BrowserState {
+        NOT_STARTED, STARTING, READY, FAILED, CLOSED
+    }
+
+    private final ObjectProvider<ResponseRouteProvider> routeProviders;
+    private final BrowserLaunchConfig launchConfig;
+
+    private volatile BrowserState state = BrowserState.NOT_STARTED;
+    private volatile CompletableFuture<Void> startup;
+    private volatile long startupMillis;
+    private volatile LocalDateTime readyAt;
+    private volatile String lastError;
 
     /**
-     * Spring容器启动后初始化Playwright
+     * 配置为立即启动时在容器初始化阶段启动浏览器并等待完成，启动失败不影响应用启动，下一个浏览器任务会重试
      */
     @PostConstruct
-    public void initializePlaywright() {
-        if (!initialized) {
-            synchronized (this) {
-                if (!initialized) {
-                    log.info("正在初始化Playwright浏览器实例...");
-                    try {
-                        PlaywrightUtil.init();
-                        initialized = true;
-                        log.info("Playwright浏览器实例初始化成功");
-                    } catch (Exception e) {
-                        log.error("Playwright浏览器初始化失败", e);
-                        throw new RuntimeException("Playwright初始化失败", e);
-                    }
-                }
-            }
+    public void launchIfEager() {
+        if (!launchConfig.isEager()) {
+            return;
+        }
+        try {
+            ensureInitialized();
+        } catch (Exception e) {
+            log.warn("启动时初始化浏览器失败，将在第一个浏览器任务到来时重试: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 是否在应用启动时立即启动浏览器
+     */
+    public boolean isEagerLaunch() {
+        return launchConfig.isEager();
+    }
+
+    /**
+     * 异步启动浏览器，已启动或正在启动时直接返回当前的启动任务
+     *
+     * @return 启动任务
+     */
+    public synchronized CompletableFuture<Void> startAsync() {
+        if (startup != null && state != BrowserState.FAILED && state != BrowserState.CLOSED) {
+            return startup;
+        }
+        state = BrowserState.STARTING;
+        lastError = null;
+        startup = CompletableFuture.runAsync(this::initializePlaywright, command -> Thread.ofVirtual()
+                .name("playwright-startup")
+                .start(command));
+        return startup;
+    }
+
+    /**
+     * 初始化Playwright并向默认上下文注册各平台监控路由
+     */
+    private void initializePlaywright() {
+        log.info("正在初始化Playwright浏览器实例...");
+        long startTime = System.currentTimeMillis();
+        try {
+            PlaywrightUtil.init();
+            // 默认上下文只挂载一个响应监听，各平台监控服务向路由器注册各自的接口
+            routeProviders.orderedStream()
+                    .forEach(provider -> provider.registerRoutes(PlaywrightUtil.getResponseRouter()));
+            startupMillis = System.currentTimeMillis() - startTime;
+            readyAt = LocalDateTime.now();
+            state = BrowserState.READY;
+            log.info("Playwright浏览器实例初始化成功，耗时: {} ms", startupMillis);
+        } catch (Exception e) {
+            state = BrowserState.FAILED;
+            lastError = e.getMessage();
+            log.error("Playwright浏览器初始化失败", e);
+            throw new RuntimeException("Playwright初始化失败", e);
         }
     }
 
@@ -47,34 +112,63 @@ public class PlaywrightManager {
      * Spring容器关闭前清理Playwright资源
      */
     @PreDestroy
-    public void cleanup() {
-        if (initialized) {
+    public synchronized void cleanup() {
+        if (state == BrowserState.STARTING && startup != null) {
+            // 等待启动结束再关闭，避免遗留浏览器进程
+            startup.exceptionally(e -> null).join();
+        }
+        if (state == BrowserState.READY) {
             log.info("正在清理Playwright资源...");
             try {
                 PlaywrightUtil.close();
-                initialized = false;
                 log.info("Playwright资源清理完成");
             } catch (Exception e) {
                 log.error("Playwright资源清理失败", e);
             }
         }
+        state = BrowserState.CLOSED;
     }
 
     /**
      * 检查Playwright是否已初始化
-     * 
+     *
      * @return 是否已初始化
      */
     public boolean isInitialized() {
-        return initialized;
+        return state == BrowserState.READY;
     }
 
     /**
-     * 确保Playwright已初始化
+     * 确保Playwright已初始化，未启动时触发启动并等待完成
      */
     public void ensureInitialized() {
-        if (!initialized) {
-            initializePlaywright();
+        if (state == BrowserState.READY) {
+            return;
+        }
+        try {
+            startAsync().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : e;
+        }
+    }
+
+    public BrowserState getState() {
+        return state;
+    }
+
+    /**
+     * 获取浏览器状态信息
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("state", state);
+        if (readyAt != null) {
+            status.put("readyAt", readyAt);
+            status.put("startupMillis", startupMillis);
+        }
+        if (lastError != null) {
+            status.put("error", lastError);
         }
+        return status;
     }
 }
@@ -3,6 +3,7 @@ package getjobs.service;
 import getjobs.common.dto.ConfigDTO;
 import getjobs.modules.boss.dto.JobDTO;
 import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.service.delivery.DeliveryResult;
 
 import java.util.List;
 
@@ -70,6 +71,28 @@ public interface RecruitmentService {
      */
     int deliverJobs(List<JobDTO> jobDTOS, ConfigDTO config);
 
+    /**
+     * 投递单个岗位，供投递队列逐个投递
+     * 平台服务自行处理异常并给出结果：超时、网络错误、风控提示返回可重试的临时失败，
+     * 平台拒绝投递（如岗位不匹配、已投递过）返回永久失败；岗位状态由投递队列按结果更新
+     *
+     * @param jobDTO 待投递岗位
+     * @param config 配置信息
+     * @return 投递结果
+     */
+    default DeliveryResult deliverJob(JobDTO jobDTO, ConfigDTO config) {
+        throw new UnsupportedOperationException(getPlatform().getPlatformName() + "暂未实现逐个投递");
+    }
+
+    /**
+     * 是否实现了逐个投递，未实现的平台不进入投递队列
+     *
+     * @return 是否支持投递队列
+     */
+    default boolean supportsQueuedDelivery() {
+        return false;
+    }
+
     /**
      * 检查是否已达投递上限
      * 
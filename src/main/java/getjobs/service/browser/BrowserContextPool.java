@@ -0,0 +1,398 @@
+package getjobs.service.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import getjobs.config.BrowserPoolConfig;
+import getjobs.config.CollectorProfileConfig;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.utils.PlaywrightUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 浏览器上下文池
+ * <p>
+ * 按平台/账号/用途维护相互隔离的浏览器上下文，每个上下文有独立的存储状态、页面池与响应路由器。
+ * 通过{@link #lease(ContextKey)}租用、{@link ContextLease#close()}归还；
+ * 归还时若上下文已崩溃或导航次数达到阈值则回收重建，后台定时回收不健康和长期空闲的上下文。
+ * 采集槽位的上下文按{@link CollectorProfileConfig}以无头模式启动并拦截静态资源。
+ * <p>
+ * 启动参数相同（有头/无头）的上下文共用一个Chromium进程，每个键只新建一个{@link BrowserContext}。
+ * Playwright对象不是线程安全的，而上下文由不同线程租用，因此每个上下文通过各自的Playwright连接（CDP）接入共享进程，
+ * 连接只在租用线程中使用。创建上下文不持有监视器锁：同一个键由租用信号量串行，不同键并行创建，
+ * 只有首次启动共享进程时同一启动参数的租用者等待同一把{@link ReentrantLock}。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BrowserContextPool {
+
+    private static final int DEFAULT_TIMEOUT = 30000;
+
+    private final BrowserPoolConfig poolConfig;
+    private final CollectorProfileConfig collectorConfig;
+    private final ObjectProvider<ResponseRouteProvider> routeProviders;
+    private final StorageStateStore storageStateStore;
+    private final PipelineMetrics pipelineMetrics;
+
+    private final Map<ContextKey, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * 是否无头 -> 共享的浏览器进程
+     */
+    private final Map<Boolean, SharedBrowser> browsers = new ConcurrentHashMap<>();
+
+    /**
+     * 已创建的上下文数，创建前预占，用于限制上下文总数
+     */
+    private final AtomicInteger liveContexts = new AtomicInteger();
+
+    /**
+     * 租用上下文，使用配置的默认超时时间
+     */
+    public ContextLease lease(ContextKey key) {
+        return lease(key, Duration.ofSeconds(poolConfig.getLeaseTimeoutSeconds()));
+    }
+
+    /**
+     * 租用上下文，同一个键同一时刻只能被一个租用者持有
+     *
+     * @param key     上下文键
+     * @param timeout 等待超时时间
+     * @return 上下文租约
+     */
+    public ContextLease lease(ContextKey key, Duration timeout) {
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        try {
+            if (!slot.lease.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("租用浏览器上下文超时: " + key);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("租用浏览器上下文被中断: " + key, e);
+        }
+
+        try {
+            ManagedBrowserContext managed = slot.managed;
+            if (managed != null && !managed.isHealthy()) {
+                log.warn("[{}] 上下文不健康，回收重建", key);
+                discard(slot);
+                managed = null;
+            }
+            if (managed == null) {
+                managed = create(key);
+                slot.managed = managed;
+            }
+            managed.touch();
+            slot.holder = Thread.currentThread().getName();
+
+            Page page = managed.acquirePage();
+            Runnable unbind = PlaywrightUtil.bindThread(page, managed.getContext(), managed.getRouter());
+            log.debug("[{}] 上下文已租用，租用线程: {}", key, slot.holder);
+            return new ContextLease(this, managed, page, unbind);
+        } catch (RuntimeException e) {
+            slot.holder = null;
+            slot.lease.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还上下文
+     */
+    void giveBack(ContextLease lease) {
+        ContextKey key = lease.getKey();
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            return;
+        }
+        ManagedBrowserContext managed = lease.getManaged();
+        managed.touch();
+        if (managed.isHealthy()) {
+            // 会话有变化（如登录、Cookie续期）时才写入存储状态文件
+            storageStateStore.saveIfChanged(key, managed.getContext());
+        }
+        if (managed.shouldRecycle(poolConfig.getRecycleAfterNavigations())) {
+            log.info("[{}] 上下文导航次数: {}，健康: {}，回收重建", key, managed.getNavigationCount(),
+                    managed.isHealthy());
+            discard(slot);
+        }
+        slot.holder = null;
+        slot.lease.release();
+        log.debug("[{}] 上下文已归还", key);
+    }
+
+    /**
+     * 定时健康检查：回收未被租用且不健康或空闲超时的上下文
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void healthCheck() {
+        long idleTimeoutMs = TimeUnit.MINUTES.toMillis(poolConfig.getIdleTimeoutMinutes());
+        long now = System.currentTimeMillis();
+        slots.forEach((key, slot) -> {
+            if (slot.managed == null || !slot.lease.tryAcquire()) {
+                return;
+            }
+            try {
+                ManagedBrowserContext managed = slot.managed;
+                if (managed == null) {
+                    return;
+                }
+                if (!managed.isHealthy()) {
+                    log.warn("[{}] 健康检查失败，回收上下文", key);
+                    discard(slot);
+                } else if (idleTimeoutMs > 0 && now - managed.getLastUsedAt() > idleTimeoutMs) {
+                    log.info("[{}] 上下文空闲超时，回收上下文", key);
+                    discard(slot);
+                }
+            } finally {
+                slot.lease.release();
+            }
+        });
+        closeUnusedBrowsers();
+    }
+
+    /**
+     * 获取上下文池状态
+     */
+    public List<Map<String, Object>> getStatus() {
+        List<Map<String, Object>> status = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        slots.forEach((key, slot) -> {
+            Map<String, Object> item = new HashMap<>();
+            item.put("key", key.toString());
+            item.put("leased", slot.lease.availablePermits() == 0);
+            item.put("holder", slot.holder);
+            ManagedBrowserContext managed = slot.managed;
+            item.put("created", managed != null);
+            if (managed != null) {
+                item.put("healthy", managed.isHealthy());
+                item.put("navigations", managed.getNavigationCount());
+                item.put("openPages", managed.getOpenPageCount());
+                item.put("routes", managed.getRouter().getRouteCount());
+                item.put("createdAt", managed.getCreatedAt());
+                item.put("idleSeconds", (now - managed.getLastUsedAt()) / 1000);
+                if (managed.getResourceBlocker() != null) {
+                    item.put("resourceBlocking", managed.getResourceBlocker().getStats());
+                }
+            }
+            status.add(item);
+        });
+        return status;
+    }
+
+    /**
+     * 关闭所有上下文
+     */
+    @PreDestroy
+    public void shutdown() {
+        slots.forEach((key, slot) -> discard(slot));
+        slots.clear();
+        browsers.values().forEach(SharedBrowser::close);
+        browsers.clear();
+    }
+
+    /**
+     * 创建新的上下文，可被子类覆盖以定制上下文参数
+     */
+    protected Browser.NewContextOptions createContextOptions(ContextKey key) {
+        return PlaywrightUtil.createContextOptions();
+    }
+
+    private ManagedBrowserContext create(ContextKey key) {
+        if (!reserveContext()) {
+            throw new IllegalStateException("浏览器上下文数量已达上限: " + poolConfig.getMaxContexts());
+        }
+
+        boolean collectorProfile = key.isCollector() && collectorConfig.isEnabled();
+        boolean headless = collectorProfile ? collectorConfig.isHeadless() : poolConfig.isHeadless();
+        double slowMo = collectorProfile ? collectorConfig.getSlowMo() : poolConfig.getSlowMo();
+        log.info("[{}] 创建浏览器上下文，采集模式: {}", key, collectorProfile);
+        Playwright playwright = null;
+        try {
+            String endpoint = browsers.computeIfAbsent(headless, SharedBrowser::new).endpoint();
+            playwright = Playwright.create();
+            // slowMo在客户端生效，按上下文各自设置
+            Browser browser = playwright.chromium().connectOverCDP(endpoint,
+                    new BrowserType.ConnectOverCDPOptions().setSlowMo(slowMo));
+            // 存在该平台/账号的存储状态时直接从文件创建上下文，无需再逐个添加Cookie
+            Browser.NewContextOptions contextOptions = createContextOptions(key);
+            boolean fromStorageState = storageStateStore.applyTo(contextOptions, key);
+            BrowserContext context = browser.newContext(contextOptions);
+            context.setDefaultTimeout(DEFAULT_TIMEOUT);
+            if (fromStorageState) {
+                storageStateStore.markRestored(key, context);
+                log.info("[{}] 已从存储状态创建上下文", key);
+            }
+
+            ResourceBlocker resourceBlocker = null;
+            if (collectorProfile) {
+                resourceBlocker = new ResourceBlocker(Set.copyOf(collectorConfig.getBlockedResourceTypes()),
+                        collectorConfig.getBlockedHosts(), collectorConfig.resolveAllowList(key.platform()));
+                resourceBlocker.install(context);
+            }
+
+            ResponseRouter router = new ResponseRouter(key.toString(), pipelineMetrics);
+            router.attach(context);
+            routeProviders.orderedStream().forEach(provider -> provider.registerRoutes(router));
+
+            return new ManagedBrowserContext(key, playwright, browser, context, router,
+                    Math.max(1, poolConfig.getMaxPagesPerContext()), resourceBlocker);
+        } catch (RuntimeException e) {
+            liveContexts.decrementAndGet();
+            if (playwright != null) {
+                playwright.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 预占一个上下文名额，已达上限时返回false
+     */
+    private boolean reserveContext() {
+        while (true) {
+            int live = liveContexts.get();
+            if (live >= poolConfig.getMaxContexts()) {
+                return false;
+            }
+            if (liveContexts.compareAndSet(live, live + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void discard(Slot slot) {
+        ManagedBrowserContext managed = slot.managed;
+        slot.managed = null;
+        if (managed != null) {
+            managed.close();
+            liveContexts.decrementAndGet();
+        }
+    }
+
+    /**
+     * 没有上下文时关闭共享的浏览器进程，下次创建上下文时重新启动
+     */
+    private void closeUnusedBrowsers() {
+        if (liveContexts.get() == 0) {
+            browsers.values().forEach(SharedBrowser::closeIfIdle);
+        }
+    }
+
+    /**
+     * 共享的浏览器进程
+     * <p>
+     * 由专用的Playwright实例启动并开启远程调试端口，该实例只在持有锁时访问；各上下文通过CDP连接接入。
+     * 进程退出或崩溃后，下一次取端点时重新启动。
+     */
+    private final class SharedBrowser {
+
+        private final boolean headless;
+        private final ReentrantLock lock = new ReentrantLock();
+        private Playwright launcher;
+        private Browser process;
+        private String endpoint;
+
+        private SharedBrowser(boolean headless) {
+            this.headless = headless;
+        }
+
+        /**
+         * CDP端点，进程未启动或已断开时启动
+         */
+        String endpoint() {
+            lock.lock();
+            try {
+                if (process == null || !process.isConnected()) {
+                    close();
+                    int port = freePort();
+                    BrowserType.LaunchOptions options = PlaywrightUtil.createLaunchOptions(headless, 0);
+                    options.setArgs(List.of("--remote-debugging-port=" + port));
+                    launcher = Playwright.create();
+                    process = launcher.chromium().launch(options);
+                    endpoint = "http://127.0.0.1:" + port;
+                    log.info("已启动共享浏览器进程，无头: {}，调试端口: {}", headless, port);
+                }
+                return endpoint;
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void closeIfIdle() {
+            // 有租用者正在启动或取端点时跳过，下一轮健康检查再处理
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (process != null && liveContexts.get() == 0) {
+                    log.info("没有浏览器上下文，关闭共享浏览器进程，无头: {}", headless);
+                    close();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                if (launcher != null) {
+                    try {
+                        launcher.close();
+                    } catch (Exception e) {
+                        log.debug("关闭共享浏览器进程失败: {}", e.getMessage());
+                    }
+                }
+                launcher = null;
+                process = null;
+                endpoint = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("获取浏览器调试端口失败", e);
+        }
+    }
+
+    private static class Slot {
+        private final Semaphore lease = new Semaphore(1, true);
+        private volatile ManagedBrowserContext managed;
+        private volatile String holder;
+    }
+}
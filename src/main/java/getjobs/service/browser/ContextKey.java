@@ -0,0 +1,53 @@
+package getjobs.service.browser;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+
+/**
+ * 浏览器上下文池的键
+ * <p>
+ * 同一平台同一账号共享登录态（存储状态），slot用于区分同一账号下并行使用的多个上下文，
+ * 例如采集与投递分别使用不同的slot，互不抢占页面和监听器。
+ *
+ * @param platform 平台代码
+ * @param account  账号标识，未区分账号时为default
+ * @param slot     用途槽位，默认为main
+ * @author getjobs
+ * @since v2.1.4
+ */
+public record ContextKey(String platform, String account, String slot) {
+
+    public static final String DEFAULT_ACCOUNT = "default";
+    public static final String DEFAULT_SLOT = "main";
+    /**
+     * 采集专用槽位，使用无头模式与资源拦截
+     */
+    public static final String COLLECTOR_SLOT = "collector";
+
+    public static ContextKey of(RecruitmentPlatformEnum platform) {
+        return new ContextKey(platform.getPlatformCode(), DEFAULT_ACCOUNT, DEFAULT_SLOT);
+    }
+
+    public static ContextKey of(RecruitmentPlatformEnum platform, String slot) {
+        return new ContextKey(platform.getPlatformCode(), DEFAULT_ACCOUNT, slot);
+    }
+
+    public static ContextKey collector(RecruitmentPlatformEnum platform) {
+        return of(platform, COLLECTOR_SLOT);
+    }
+
+    public boolean isCollector() {
+        return COLLECTOR_SLOT.equals(slot);
+    }
+
+    /**
+     * 登录态标识，同一平台同一账号的不同slot共享
+     */
+    public String sessionId() {
+        return platform + "-" + account;
+    }
+
+    @Override
+    public String toString() {
+        return platform + "/" + account + "/" + slot;
+    }
+}
@@ -0,0 +1,94 @@
+package getjobs.service.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import getjobs.utils.PlaywrightUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 浏览器上下文租约
+ * <p>
+ * 租用期间上下文由持有者独占，租用线程通过{@link PlaywrightUtil#getPageObject()}拿到的就是租用的主页面。
+ * 使用完毕必须调用{@link #close()}归还，建议配合try-with-resources使用。
+ * 同一线程嵌套租用时，内层租约归还后线程恢复绑定外层租约的上下文。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public class ContextLease implements AutoCloseable {
+
+    private final BrowserContextPool pool;
+    private final ManagedBrowserContext managed;
+    private final Page page;
+    private final List<Page> extraPages = new ArrayList<>();
+    private final Runnable unbind;
+    private final Thread owner = Thread.currentThread();
+    private boolean closed;
+
+    ContextLease(BrowserContextPool pool, ManagedBrowserContext managed, Page page, Runnable unbind) {
+        this.pool = pool;
+        this.managed = managed;
+        this.page = page;
+        this.unbind = unbind;
+    }
+
+    /**
+     * 租约的主页面
+     */
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * 从上下文页面池额外取出一个页面，归还租约时一并归还
+     */
+    public Page newPage() {
+        Page extra = managed.acquirePage();
+        extraPages.add(extra);
+        return extra;
+    }
+
+    /**
+     * 提前归还额外取出的页面
+     */
+    public void releasePage(Page extra) {
+        if (extraPages.remove(extra)) {
+            managed.releasePage(extra);
+        }
+    }
+
+    public BrowserContext getContext() {
+        return managed.getContext();
+    }
+
+    public ResponseRouter getRouter() {
+        return managed.getRouter();
+    }
+
+    public ContextKey getKey() {
+        return managed.getKey();
+    }
+
+    ManagedBrowserContext getManaged() {
+        return managed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (Thread.currentThread() == owner) {
+            unbind.run();
+        }
+        for (Page extra : extraPages) {
+            managed.releasePage(extra);
+        }
+        extraPages.clear();
+        managed.releasePage(page);
+        pool.giveBack(this);
+    }
+}
@@ -0,0 +1,190 @@
+package getjobs.service.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 池化管理的浏览器上下文
+ * <p>
+ * 每个实例独占一个Playwright实例（Playwright对象不是线程安全的，独立实例才能让不同平台在不同线程中并行），
+ * 并持有自己的上下文、响应路由器和页面池。同一时刻只会被一个租用者使用。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+public class ManagedBrowserContext {
+
+    private final ContextKey key;
+    private final Playwright playwright;
+    private final Browser browser;
+    private final BrowserContext context;
+    private final ResponseRouter router;
+    private final int maxPages;
+    private final ResourceBlocker resourceBlocker;
+
+    private final Deque<Page> idlePages = new ArrayDeque<>();
+    private final Set<Page> busyPages = new HashSet<>();
+    private final AtomicInteger navigations = new AtomicInteger();
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile boolean crashed;
+    private volatile boolean closed;
+    private volatile long lastUsedAt = System.currentTimeMillis();
+
+    ManagedBrowserContext(ContextKey key, Playwright playwright, Browser browser, BrowserContext context,
+                          ResponseRouter router, int maxPages, ResourceBlocker resourceBlocker) {
+        this.key = key;
+        this.playwright = playwright;
+        this.browser = browser;
+        this.context = context;
+        this.router = router;
+        this.maxPages = maxPages;
+        this.resourceBlocker = resourceBlocker;
+
+        browser.onDisconnected(b -> {
+            crashed = true;
+            log.warn("[{}] 浏览器连接已断开", key);
+        });
+        context.onPage(this::watchPage);
+    }
+
+    /**
+     * 从页面池取出一个页面，没有空闲页面时新建
+     *
+     * @return 页面
+     */
+    public synchronized Page acquirePage() {
+        while (!idlePages.isEmpty()) {
+            Page page = idlePages.poll();
+            if (!page.isClosed()) {
+                busyPages.add(page);
+                return page;
+            }
+        }
+        if (busyPages.size() >= maxPages) {
+            throw new IllegalStateException("上下文 " + key + " 的页面数已达上限: " + maxPages);
+        }
+        Page page = context.newPage();
+        busyPages.add(page);
+        return page;
+    }
+
+    /**
+     * 归还页面到页面池
+     */
+    public synchronized void releasePage(Page page) {
+        busyPages.remove(page);
+        if (!page.isClosed()) {
+            idlePages.push(page);
+        }
+    }
+
+    /**
+     * 健康检查：浏览器仍连接、上下文未关闭且页面未崩溃
+     */
+    public boolean isHealthy() {
+        return !closed && !crashed && browser.isConnected();
+    }
+
+    /**
+     * 是否需要回收重建
+     *
+     * @param recycleAfterNavigations 导航次数阈值
+     */
+    public boolean shouldRecycle(int recycleAfterNavigations) {
+        return !isHealthy() || (recycleAfterNavigations > 0 && navigations.get() >= recycleAfterNavigations);
+    }
+
+    void touch() {
+        lastUsedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 关闭上下文及其Playwright连接；浏览器通过CDP接入共享进程，browser.close()只断开连接，不结束共享进程
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        idlePages.clear();
+        busyPages.clear();
+        try {
+            context.close();
+        } catch (Exception e) {
+            log.debug("[{}] 关闭上下文失败: {}", key, e.getMessage());
+        }
+        try {
+            browser.close();
+        } catch (Exception e) {
+            log.debug("[{}] 关闭浏览器失败: {}", key, e.getMessage());
+        }
+        try {
+            playwright.close();
+        } catch (Exception e) {
+            log.debug("[{}] 关闭Playwright失败: {}", key, e.getMessage());
+        }
+    }
+
+    private void watchPage(Page page) {
+        page.onFrameNavigated(frame -> {
+            if (frame == page.mainFrame()) {
+                navigations.incrementAndGet();
+            }
+        });
+        page.onCrash(p -> {
+            crashed = true;
+            log.warn("[{}] 页面崩溃: {}", key, p.url());
+        });
+    }
+
+    public ContextKey getKey() {
+        return key;
+    }
+
+    public BrowserContext getContext() {
+        return context;
+    }
+
+    public ResponseRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * 资源拦截器，非采集上下文为null
+     */
+    public ResourceBlocker getResourceBlocker() {
+        return resourceBlocker;
+    }
+
+    public int getNavigationCount() {
+        return navigations.get();
+    }
+
+    public synchronized int getOpenPageCount() {
+        return idlePages.size() + busyPages.size();
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    public boolean isCrashed() {
+        return crashed;
+    }
+}
@@ -0,0 +1,130 @@
+package getjobs.service.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 采集上下文的资源拦截器
+ * <p>
+ * 通过context.route拦截图片、字体、媒体等不影响数据采集的资源，以及统计埋点域名的所有请求，
+ * 接口XHR与页面脚本照常放行。平台放行列表中的URL片段优先于拦截规则。
+ * 被拦截的请求没有响应，拦截字节数按资源类型的典型大小估算。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public class ResourceBlocker {
+
+    /**
+     * 各资源类型的典型大小估算（字节）
+     */
+    private static final Map<String, Long> ESTIMATED_BYTES = Map.of(
+            "image", 30_000L,
+            "font", 60_000L,
+            "media", 500_000L,
+            "stylesheet", 20_000L,
+            "script", 40_000L);
+    private static final long DEFAULT_ESTIMATED_BYTES = 5_000L;
+
+    private final Set<String> blockedResourceTypes;
+    private final List<String> blockedHosts;
+    private final List<String> allowList;
+
+    private final LongAdder allowedRequests = new LongAdder();
+    private final LongAdder blockedRequests = new LongAdder();
+    private final AtomicLong estimatedBlockedBytes = new AtomicLong();
+    private final Map<String, LongAdder> blockedByType = new ConcurrentHashMap<>();
+
+    public ResourceBlocker(Set<String> blockedResourceTypes, List<String> blockedHosts, List<String> allowList) {
+        this.blockedResourceTypes = blockedResourceTypes;
+        this.blockedHosts = blockedHosts.stream().map(host -> host.toLowerCase(Locale.ROOT)).toList();
+        this.allowList = allowList;
+    }
+
+    /**
+     * 在上下文上安装拦截规则
+     */
+    public void install(BrowserContext context) {
+        context.route("**/*", this::handle);
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        String url = request.url();
+        String resourceType = request.resourceType();
+        String reason = blockReason(url, resourceType);
+        if (reason == null) {
+            allowedRequests.increment();
+            route.fallback();
+            return;
+        }
+        blockedRequests.increment();
+        estimatedBlockedBytes.addAndGet(ESTIMATED_BYTES.getOrDefault(resourceType, DEFAULT_ESTIMATED_BYTES));
+        blockedByType.computeIfAbsent(reason, key -> new LongAdder()).increment();
+        route.abort("blockedbyclient");
+    }
+
+    /**
+     * 判断请求是否需要拦截
+     *
+     * @return 拦截原因（资源类型或tracker），放行时返回null
+     */
+    private String blockReason(String url, String resourceType) {
+        for (String allowed : allowList) {
+            if (url.contains(allowed)) {
+                return null;
+            }
+        }
+        if (isBlockedHost(url)) {
+            return "tracker";
+        }
+        return blockedResourceTypes.contains(resourceType) ? resourceType : null;
+    }
+
+    private boolean isBlockedHost(String url) {
+        if (blockedHosts.isEmpty()) {
+            return false;
+        }
+        String host;
+        try {
+            host = URI.create(url).getHost();
+        } catch (Exception e) {
+            return false;
+        }
+        if (host == null) {
+            return false;
+        }
+        host = host.toLowerCase(Locale.ROOT);
+        for (String blocked : blockedHosts) {
+            if (host.equals(blocked) || host.endsWith("." + blocked)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取拦截统计
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("allowedRequests", allowedRequests.sum());
+        stats.put("blockedRequests", blockedRequests.sum());
+        stats.put("estimatedBlockedBytes", estimatedBlockedBytes.get());
+        Map<String, Long> byType = new HashMap<>();
+        blockedByType.forEach((type, count) -> byType.put(type, count.sum()));
+        stats.put("blockedByType", byType);
+        return stats;
+    }
+}
@@ -0,0 +1,196 @@
+package getjobs.service.browser;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Response;
+import getjobs.config.CaptureLogConfig;
+import getjobs.service.replay.ReplayedResponse;
+import getjobs.service.replay.ResponseArchive;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 响应捕获日志
+ * <p>
+ * 监控服务读取响应体后交给这里记录，取代逐条输出完整响应头和响应体的做法：
+ * <ul>
+ *     <li>按路由采样，被采样的响应以一行摘要输出，响应体按长度截断；</li>
+ *     <li>日志写入getjobs.capture，由logback的异步appender落盘，不阻塞响应处理；</li>
+ *     <li>格式化JSON只在该日志开启DEBUG时执行；</li>
+ *     <li>最近若干条原始响应保存在内存环形缓冲区中，排查问题时通过接口查看；</li>
+ *     <li>开启归档时交给{@link ResponseArchive}写入磁盘，供离线重放。</li>
+ * </ul>
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCaptureLog {
+
+    /**
+     * 捕获日志单独使用一个logger，便于在logback中配置异步输出和级别
+     */
+    private static final Logger CAPTURE_LOG = LoggerFactory.getLogger("getjobs.capture");
+
+    private final CaptureLogConfig captureLogConfig;
+    private final ObjectMapper objectMapper;
+    private final ResponseArchive responseArchive;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Deque<CapturedResponse> ring = new ArrayDeque<>();
+
+    /**
+     * 环形缓冲区的读写都在锁内进行
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 记录一次捕获的响应
+     *
+     * @param route    路由名称
+     * @param response 响应
+     * @param body     已读取的响应体
+     */
+    public void capture(String route, Response response, String body) {
+        int length = body == null ? 0 : body.length();
+        remember(route, response, body, length);
+        // 重放的响应本身来自归档，不再重复归档
+        if (!(response instanceof ReplayedResponse)) {
+            responseArchive.append(route, response.url(), response.status(), body);
+        }
+
+        if (sampled(route) && CAPTURE_LOG.isInfoEnabled()) {
+            if (captureLogConfig.isLogHeaders()) {
+                CAPTURE_LOG.info("route={} status={} url={} chars={} headers={} body={}", route, response.status(),
+                        response.url(), length, response.headers(), truncate(body, captureLogConfig.getMaxBodyChars()));
+            } else {
+                CAPTURE_LOG.info("route={} status={} url={} chars={} body={}", route, response.status(),
+                        response.url(), length, truncate(body, captureLogConfig.getMaxBodyChars()));
+            }
+        } else {
+            CAPTURE_LOG.debug("route={} status={} url={} chars={}", route, response.status(), response.url(), length);
+        }
+
+        if (CAPTURE_LOG.isDebugEnabled() && body != null) {
+            try {
+                Object json = objectMapper.readValue(body, Object.class);
+                CAPTURE_LOG.debug("route={} 格式化JSON响应: {}", route,
+                        objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(json));
+            } catch (Exception e) {
+                CAPTURE_LOG.debug("route={} 响应体不是有效的JSON格式: {}", route, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 获取最近捕获的响应，最新的在前
+     *
+     * @param route       路由名称，为空时不过滤
+     * @param limit       返回条数上限
+     * @param includeBody 是否包含响应体
+     */
+    public List<CapturedResponse> recent(String route, int limit, boolean includeBody) {
+        List<CapturedResponse> result = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<CapturedResponse> iterator = ring.descendingIterator();
+            while (iterator.hasNext() && result.size() < limit) {
+                CapturedResponse captured = iterator.next();
+                if (route == null || route.isBlank() || route.equals(captured.route())) {
+                    result.add(includeBody ? captured : captured.withoutBody());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    /**
+     * 按序号获取一条捕获的响应
+     */
+    public Optional<CapturedResponse> get(long seq) {
+        lock.lock();
+        try {
+            return ring.stream().filter(captured -> captured.seq() == seq).findFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空环形缓冲区
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            ring.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remember(String route, Response response, String body, int length) {
+        int ringSize = captureLogConfig.getRingSize();
+        if (ringSize <= 0) {
+            return;
+        }
+        CapturedResponse captured = new CapturedResponse(sequence.incrementAndGet(), LocalDateTime.now(), route,
+                response.status(), response.url(), length, length > captureLogConfig.getRingBodyMaxChars(),
+                body == null ? null : body.substring(0, Math.min(length, captureLogConfig.getRingBodyMaxChars())));
+        lock.lock();
+        try {
+            ring.addLast(captured);
+            while (ring.size() > ringSize) {
+                ring.removeFirst();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean sampled(String route) {
+        double rate = captureLogConfig.getRouteSampleRates().getOrDefault(route, captureLogConfig.getSampleRate());
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static String truncate(String body, int maxChars) {
+        if (body == null || body.length() <= maxChars) {
+            return body;
+        }
+        return body.substring(0, Math.max(0, maxChars)) + "...(已截断，共" + body.length() + "字符)";
+    }
+
+    /**
+     * 一条捕获的响应
+     *
+     * @param seq       序号
+     * @param time      捕获时间
+     * @param route     路由名称
+     * @param status    响应状态码
+     * @param url       响应URL
+     * @param chars     响应体字符数
+     * @param truncated 保存的响应体是否被截断
+     * @param body      响应体
+     */
+    public record CapturedResponse(long seq, LocalDateTime time, String route, int status, String url, int chars,
+                                   boolean truncated, String body) {
+
+        CapturedResponse withoutBody() {
+            return new CapturedResponse(seq, time, route, status, url, chars, truncated, null);
+        }
+    }
+}
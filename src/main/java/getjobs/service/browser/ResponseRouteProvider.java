@@ -0,0 +1,19 @@
+package getjobs.service.browser;
+
+/**
+ * 响应路由提供者
+ * <p>
+ * 平台监控服务实现该接口，在每个浏览器上下文创建时向其路由器注册需要监听的接口。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public interface ResponseRouteProvider {
+
+    /**
+     * 向路由器注册路由
+     *
+     * @param router 上下文的响应路由器
+     */
+    void registerRoutes(ResponseRouter router);
+}
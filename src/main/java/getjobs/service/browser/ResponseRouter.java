@@ -0,0 +1,205 @@
+package getjobs.service.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.profiling.ResponseCapturedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * 浏览器上下文级别的响应路由器
+ * <p>
+ * 每个上下文只挂载一个响应监听，由路由器按URL片段分发给已注册的处理器。
+ * 路由按名称注册，重复注册会覆盖旧处理器，因此监控服务可以反复调用注册而不会产生重复监听。
+ * 传入指标时按路由记录每次处理的耗时与结果。
+ * <p>
+ * 响应体由路由器在第一个匹配的路由或监听需要时读取一次，再交给所有匹配的处理器，
+ * 监控服务入库与翻页器判断分页共用同一份响应体，不会对同一个响应重复读取。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+public class ResponseRouter {
+
+    private final String name;
+    private final PipelineMetrics metrics;
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 已挂载的上下文 -> 路由器，上下文关闭时移除
+     */
+    private static final Map<BrowserContext, ResponseRouter> ATTACHED = new ConcurrentHashMap<>();
+
+    public ResponseRouter(String name) {
+        this(name, null);
+    }
+
+    public ResponseRouter(String name, PipelineMetrics metrics) {
+        this.name = name;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 注册路由
+     *
+     * @param routeName   路由名称，同名路由会被覆盖
+     * @param urlFragment 响应URL包含的片段
+     * @param handler     响应处理器，第二个参数为路由器读取的响应体
+     */
+    public void register(String routeName, String urlFragment, BiConsumer<Response, String> handler) {
+        routes.put(routeName, new Route(urlFragment, handler));
+    }
+
+    /**
+     * 移除路由
+     */
+    public void unregister(String routeName) {
+        routes.remove(routeName);
+    }
+
+    /**
+     * 添加临时监听，只接收指定页面的匹配响应，在已注册的路由处理之后调用
+     *
+     * @param page        只接收该页面发出的请求的响应
+     * @param urlFragment 响应URL包含的片段
+     * @param listener    监听器，第二个参数为响应体，读取失败时为null
+     * @return 移除该监听的动作
+     */
+    public Runnable addListener(Page page, String urlFragment, BiConsumer<Response, String> listener) {
+        Listener entry = new Listener(page, urlFragment, listener);
+        listeners.add(entry);
+        return () -> listeners.remove(entry);
+    }
+
+    /**
+     * 挂载到浏览器上下文，上下文中所有页面（包括新开标签页）的响应都会经过路由器
+     */
+    public void attach(BrowserContext context) {
+        context.onResponse(this::dispatch);
+        ATTACHED.put(context, this);
+        context.onClose(ATTACHED::remove);
+    }
+
+    /**
+     * 获取挂载在浏览器上下文上的路由器
+     *
+     * @return 路由器，上下文未挂载路由器时为null
+     */
+    public static ResponseRouter of(BrowserContext context) {
+        return context == null ? null : ATTACHED.get(context);
+    }
+
+    /**
+     * 分发响应，单个处理器异常不影响其他处理器
+     */
+    public void dispatch(Response response) {
+        if (routes.isEmpty() && listeners.isEmpty()) {
+            return;
+        }
+        String url = response.url();
+        Body body = new Body(response);
+        routes.forEach((routeName, route) -> {
+            if (url.contains(route.urlFragment())) {
+                long startNanos = System.nanoTime();
+                ResponseCapturedEvent event = new ResponseCapturedEvent(name, routeName);
+                boolean error = false;
+                try {
+                    route.handler().accept(response, body.read());
+                } catch (Exception e) {
+                    error = true;
+                    log.error("[{}] 路由 {} 处理响应失败: {}", name, routeName, e.getMessage(), e);
+                }
+                event.finish(response.status(), error);
+                if (metrics != null) {
+                    metrics.recordCapture(name, routeName, System.nanoTime() - startNanos, error);
+                }
+            }
+        });
+        for (Listener listener : listeners) {
+            if (!url.contains(listener.urlFragment()) || !isFrom(response, listener.page())) {
+                continue;
+            }
+            String text;
+            try {
+                text = body.read();
+            } catch (Exception e) {
+                log.debug("[{}] 读取响应体失败: {}", name, e.getMessage());
+                text = null;
+            }
+            try {
+                listener.handler().accept(response, text);
+            } catch (Exception e) {
+                log.error("[{}] 响应监听处理失败: {}", name, e.getMessage(), e);
+            }
+        }
+    }
+
+    public int getRouteCount() {
+        return routes.size();
+    }
+
+    /**
+     * 已注册的路由名称
+     */
+    public Set<String> getRouteNames() {
+        return Set.copyOf(routes.keySet());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private static boolean isFrom(Response response, Page page) {
+        try {
+            return page.equals(response.frame().page());
+        } catch (Exception e) {
+            // Service Worker发出的请求没有关联页面
+            return false;
+        }
+    }
+
+    private record Route(String urlFragment, BiConsumer<Response, String> handler) {
+    }
+
+    private record Listener(Page page, String urlFragment, BiConsumer<Response, String> handler) {
+    }
+
+    /**
+     * 单个响应的响应体，首次读取后缓存，读取失败时每次读取都抛出同一个异常
+     */
+    private static final class Body {
+        private final Response response;
+        private String text;
+        private RuntimeException failure;
+        private boolean read;
+
+        private Body(Response response) {
+            this.response = response;
+        }
+
+        private String read() {
+            if (!read) {
+                read = true;
+                try {
+                    text = response.text();
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return text;
+        }
+    }
+}
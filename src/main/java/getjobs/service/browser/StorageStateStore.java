@@ -0,0 +1,285 @@
+package getjobs.service.browser;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.Cookie;
+import com.microsoft.playwright.options.SameSiteAttribute;
+import getjobs.config.BrowserPoolConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 浏览器存储状态持久化
+ * <p>
+ * 按平台/账号把Playwright的完整存储状态（Cookie与localStorage）保存为JSON文件，
+ * 池化上下文创建时直接从文件加载；已存在的上下文（如各平台共用的默认上下文）按会话分别恢复，
+ * 同一会话在同一上下文中只恢复一次，且只有实际加载了状态文件才记为已恢复。
+ * 保存前比较Cookie指纹，会话没有变化时不重复写文件；同一会话的保存串行执行，多个槽位不会互相覆盖临时文件。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StorageStateStore {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * 恢复localStorage的初始化脚本，仅在匹配的源下写入
+     */
+    private static final String LOCAL_STORAGE_SCRIPT = """
+            (() => {
+                const origins = %s;
+                const entries = origins[window.location.origin];
+                if (!entries) return;
+                try {
+                    for (const [name, value] of Object.entries(entries)) {
+                        if (window.localStorage.getItem(name) === null) window.localStorage.setItem(name, value);
+                    }
+                } catch (e) {}
+            })();
+            """;
+
+    private final BrowserPoolConfig poolConfig;
+
+    /**
+     * 上下文 -> 已恢复到该上下文的会话，多个平台共用默认上下文时各自记录
+     */
+    private final Map<BrowserContext, Set<String>> restoredSessions = Collections.synchronizedMap(
+            new WeakHashMap<>());
+
+    /**
+     * 各会话的保存锁，同一状态文件的比较与写入串行执行
+     */
+    private final Map<String, ReentrantLock> saveLocks = new ConcurrentHashMap<>();
+
+    /**
+     * 各会话最近一次保存时的Cookie指纹
+     */
+    private final Map<String, String> savedFingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * 存储状态文件路径：{目录}/{平台}-{账号}.json
+     */
+    public Path getStatePath(ContextKey key) {
+        return Paths.get(poolConfig.getStorageStateDir(), key.sessionId() + ".json");
+    }
+
+    public boolean hasState(ContextKey key) {
+        return Files.isRegularFile(getStatePath(key));
+    }
+
+    /**
+     * 为新建上下文设置存储状态文件，文件不存在时保持原样
+     *
+     * @return 是否设置了存储状态
+     */
+    public boolean applyTo(Browser.NewContextOptions options, ContextKey key) {
+        if (!hasState(key)) {
+            return false;
+        }
+        options.setStorageStatePath(getStatePath(key));
+        return true;
+    }
+
+    /**
+     * 标记会话的存储状态已加载到上下文
+     */
+    public void markRestored(ContextKey key, BrowserContext context) {
+        restoredSessions.computeIfAbsent(context, c -> Collections.synchronizedSet(new HashSet<>()))
+                .add(key.sessionId());
+    }
+
+    public boolean isRestored(ContextKey key, BrowserContext context) {
+        Set<String> sessions = restoredSessions.get(context);
+        return sessions != null && sessions.contains(key.sessionId());
+    }
+
+    /**
+     * 向已存在的上下文恢复存储状态，同一会话在同一上下文中只恢复一次
+     *
+     * @param key     会话键
+     * @param context 浏览器上下文
+     * @return 该会话的存储状态是否已加载到上下文（本次恢复或之前已恢复），没有状态文件时为false
+     */
+    public boolean restoreOnce(ContextKey key, BrowserContext context) {
+        if (isRestored(key, context)) {
+            return true;
+        }
+        if (!hasState(key)) {
+            return false;
+        }
+        try {
+            JsonNode root = OBJECT_MAPPER.readTree(getStatePath(key).toFile());
+            List<Cookie> cookies = readCookies(root.path("cookies"));
+            if (!cookies.isEmpty()) {
+                context.addCookies(cookies);
+            }
+            JsonNode origins = readLocalStorage(root.path("origins"));
+            if (!origins.isEmpty()) {
+                context.addInitScript(LOCAL_STORAGE_SCRIPT.formatted(OBJECT_MAPPER.writeValueAsString(origins)));
+            }
+            markRestored(key, context);
+            savedFingerprints.putIfAbsent(key.sessionId(), fingerprint(cookies));
+            log.info("[{}] 已恢复浏览器存储状态，Cookie: {}", key.sessionId(), cookies.size());
+            return true;
+        } catch (Exception e) {
+            log.warn("[{}] 恢复浏览器存储状态失败: {}", key.sessionId(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 会话发生变化时保存存储状态
+     *
+     * @return 是否写入了文件
+     */
+    public boolean saveIfChanged(ContextKey key, BrowserContext context) {
+        ReentrantLock lock = saveLock(key);
+        lock.lock();
+        try {
+            String fingerprint = fingerprint(context.cookies());
+            String previous = savedFingerprints.computeIfAbsent(key.sessionId(), id -> readFingerprint(key));
+            if (fingerprint.equals(previous)) {
+                return false;
+            }
+            save(key, context);
+            savedFingerprints.put(key.sessionId(), fingerprint);
+            return true;
+        } catch (Exception e) {
+            log.warn("[{}] 保存浏览器存储状态失败: {}", key.sessionId(), e.getMessage());
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除存储状态，用于会话失效需要重新登录的场景
+     */
+    public void clear(ContextKey key) {
+        ReentrantLock lock = saveLock(key);
+        lock.lock();
+        try {
+            Files.deleteIfExists(getStatePath(key));
+            savedFingerprints.remove(key.sessionId());
+        } catch (IOException e) {
+            log.warn("[{}] 删除浏览器存储状态失败: {}", key.sessionId(), e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock saveLock(ContextKey key) {
+        return saveLocks.computeIfAbsent(key.sessionId(), id -> new ReentrantLock());
+    }
+
+    private void save(ContextKey key, BrowserContext context) throws IOException {
+        Path target = getStatePath(key);
+        Files.createDirectories(target.getParent());
+        // 先写临时文件再原子替换，避免中途失败留下损坏的状态文件；临时文件名唯一，调用方已按会话串行
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            context.storageState(new BrowserContext.StorageStateOptions().setPath(temp));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.info("[{}] 会话已变化，浏览器存储状态已保存: {}", key.sessionId(), target);
+    }
+
+    private String readFingerprint(ContextKey key) {
+        if (!hasState(key)) {
+            return "";
+        }
+        try {
+            return fingerprint(readCookies(OBJECT_MAPPER.readTree(getStatePath(key).toFile()).path("cookies")));
+        } catch (Exception e) {
+            return "";
+        }
+    }
+
+    /**
+     * Cookie指纹：只取名称、值与域名，忽略过期时间的自然变化
+     */
+    private static String fingerprint(List<Cookie> cookies) {
+        List<String> parts = new ArrayList<>(cookies.size());
+        for (Cookie cookie : cookies) {
+            parts.add(cookie.domain + "|" + cookie.name + "=" + cookie.value);
+        }
+        Collections.sort(parts);
+        return Integer.toHexString(String.join(";", parts).hashCode()) + ":" + parts.size();
+    }
+
+    private static List<Cookie> readCookies(JsonNode array) {
+        List<Cookie> cookies = new ArrayList<>();
+        for (JsonNode node : array) {
+            Cookie cookie = new Cookie(node.path("name").asText(), node.path("value").asText());
+            if (node.hasNonNull("domain")) {
+                cookie.domain = node.get("domain").asText();
+            }
+            if (node.hasNonNull("path")) {
+                cookie.path = node.get("path").asText();
+            }
+            if (node.hasNonNull("expires")) {
+                cookie.expires = node.get("expires").asDouble();
+            }
+            if (node.hasNonNull("httpOnly")) {
+                cookie.httpOnly = node.get("httpOnly").asBoolean();
+            }
+            if (node.hasNonNull("secure")) {
+                cookie.secure = node.get("secure").asBoolean();
+            }
+            if (node.hasNonNull("sameSite")) {
+                cookie.sameSite = parseSameSite(node.get("sameSite").asText());
+            }
+            cookies.add(cookie);
+        }
+        return cookies;
+    }
+
+    private static SameSiteAttribute parseSameSite(String value) {
+        return switch (value.toLowerCase()) {
+            case "strict" -> SameSiteAttribute.STRICT;
+            case "none" -> SameSiteAttribute.NONE;
+            default -> SameSiteAttribute.LAX;
+        };
+    }
+
+    /**
+     * 把存储状态中的origins数组转换为 {origin: {name: value}} 结构
+     */
+    private static JsonNode readLocalStorage(JsonNode origins) {
+        var result = OBJECT_MAPPER.createObjectNode();
+        for (JsonNode origin : origins) {
+            var entries = OBJECT_MAPPER.createObjectNode();
+            for (JsonNode item : origin.path("localStorage")) {
+                entries.put(item.path("name").asText(), item.path("value").asText());
+            }
+            if (!entries.isEmpty()) {
+                result.set(origin.path("origin").asText(), entries);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package getjobs.service.collect;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.CollectionParallelConfig;
+import getjobs.service.metrics.PipelineMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 采集限流器
+ * <p>
+ * 每个平台一个令牌桶，限制导航与翻页的总速率。采集由单线程轮询多个标签页驱动，
+ * 因此只提供非阻塞的{@link #tryAcquire}，拿不到令牌的标签页在下一轮再尝试。
+ * 速率取自配置，桶容量（突发量）取本次采集实际使用的标签页数，单次采集覆盖标签页数时随之调整。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Service
+@RequiredArgsConstructor
+public class CollectionRateLimiter {
+
+    private final CollectionParallelConfig parallelConfig;
+    private final PipelineMetrics pipelineMetrics;
+
+    private final Map<RecruitmentPlatformEnum, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * 尝试获取一次导航或翻页许可
+     *
+     * @param platform 平台
+     * @param tabs     本次采集使用的标签页数，作为桶容量，每个标签页启动时都能立即拿到一个许可
+     * @return 是否获得许可
+     */
+    public boolean tryAcquire(RecruitmentPlatformEnum platform, int tabs) {
+        boolean granted = bucketOf(platform).tryAcquire(tabs);
+        pipelineMetrics.recordCollectPermit(platform.getPlatformCode(), granted);
+        return granted;
+    }
+
+    private Bucket bucketOf(RecruitmentPlatformEnum platform) {
+        return buckets.computeIfAbsent(platform, key -> {
+            String code = key.getPlatformCode();
+            return new Bucket(parallelConfig.resolveRequestsPerMinute(code), parallelConfig.resolveTabs(code));
+        });
+    }
+
+    private static class Bucket {
+
+        private final double permitsPerNano;
+        private double capacity;
+        private double tokens;
+        private long lastRefillNanos = System.nanoTime();
+
+        Bucket(double requestsPerMinute, int capacity) {
+            this.permitsPerNano = requestsPerMinute <= 0 ? Double.POSITIVE_INFINITY : requestsPerMinute / 60e9;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+        }
+
+        synchronized boolean tryAcquire(int tabs) {
+            if (Double.isInfinite(permitsPerNano)) {
+                return true;
+            }
+            resize(Math.max(1, tabs));
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 调整容量：扩容时补上新增的令牌，缩容时丢弃超出的令牌
+         */
+        private void resize(double newCapacity) {
+            if (newCapacity == capacity) {
+                return;
+            }
+            tokens = Math.min(newCapacity, tokens + Math.max(0, newCapacity - capacity));
+            capacity = newCapacity;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package getjobs.service.collect;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.CrawlFrontierConfig;
+import getjobs.repository.CrawlFrontierRepository;
+import getjobs.repository.entity.CrawlFrontierEntity;
+import getjobs.service.snapshot.SnapshotWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 采集边界：持久化的搜索单元进度
+ * <p>
+ * 每个单元（平台×城市×关键词×筛选条件）记录状态、已完成的最后一页与租约时间。单元开始时加租约，每完成一页刷新一次，
+ * 结束时标记完成、失败或释放。再次采集时跳过续采窗口内已完成的单元，未完成的单元从最后一页的下一页继续；
+ * 持有者崩溃后租约不再刷新，超时后由定时任务回收。从第1页完整开始的单元完成时记录本轮顶部岗位，作为下一轮增量采集的水位线。
+ * <p>
+ * 进度保存在crawl_frontier表中。数据库为内存库，变更后由{@link SnapshotWriter}合并写入快照文件，
+ * 翻页进度只更新表，单元结束时立即写入快照；启动时从快照恢复，上一进程遗留的租约在恢复时直接回收。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CrawlFrontierStore {
+
+    /**
+     * 单元状态
+     */
+    public enum UnitStatus {
+        PENDING, LEASED, COMPLETED, FAILED
+    }
+
+    /**
+     * 续采计划
+     *
+     * @param units   需要执行的单元，未完成的单元已设置起始页
+     * @param skipped 窗口内已完成而跳过的单元数
+     * @param resumed 从中间页继续的单元数
+     * @param busy    正由其他采集任务持有而跳过的单元数
+     */
+    public record ResumePlan(List<SearchUnit> units, int skipped, int resumed, int busy) {
+    }
+
+    /**
+     * 快照中的单元
+     */
+    record UnitSnapshot(String platform, String cityCode, String keyword, String filterHash, String url,
+                        String status, int lastPage, int itemCount, int attempts, String leaseOwner,
+                        LocalDateTime leasedAt, LocalDateTime completedAt, Long durationMs, String stopReason,
+                        List<String> watermark) {
+    }
+
+    private final CrawlFrontierRepository frontierRepository;
+    private final CrawlFrontierConfig frontierConfig;
+    private final SnapshotWriter snapshotWriter;
+
+    private SnapshotWriter.Registration snapshot;
+
+    /**
+     * 当前进程的租约持有者标识
+     */
+    private final String owner = ProcessHandle.current().pid() + "@" + System.currentTimeMillis();
+
+    /**
+     * 租约与状态变更互斥，采集在虚拟线程中执行，用ReentrantLock避免持锁访问数据库时占住载体线程
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        restoreSnapshot();
+        snapshot = snapshotWriter.register("采集边界", frontierConfig::getSnapshotFile, this::exportSnapshot);
+    }
+
+    /**
+     * 生成续采计划
+     *
+     * @param platform 平台
+     * @param units    计划的搜索单元
+     * @param since    续采窗口起点，窗口内完成的单元跳过，窗口内有进度的单元从中间页继续
+     * @return 续采计划
+     */
+    public ResumePlan plan(RecruitmentPlatformEnum platform, List<SearchUnit> units, LocalDateTime since) {
+        lock.lock();
+        try {
+            List<SearchUnit> pending = new ArrayList<>();
+            int skipped = 0;
+            int resumed = 0;
+            int busy = 0;
+            for (SearchUnit unit : units) {
+                Optional<CrawlFrontierEntity> found = find(platform, unit);
+                if (found.isEmpty()) {
+                    pending.add(unit);
+                    continue;
+                }
+                CrawlFrontierEntity entity = found.get();
+                UnitStatus status = UnitStatus.valueOf(entity.getStatus());
+                if (status == UnitStatus.COMPLETED && since != null && entity.getCompletedAt() != null
+                        && entity.getCompletedAt().isAfter(since)) {
+                    skipped++;
+                } else if (status == UnitStatus.LEASED && !isStale(entity)) {
+                    busy++;
+                } else if (status != UnitStatus.COMPLETED && since != null && entity.getLastPage() > 0
+                        && entity.getLeasedAt() != null && entity.getLeasedAt().isAfter(since)) {
+                    pending.add(unit.resumeFrom(entity.getLastPage() + 1));
+                    resumed++;
+                } else {
+                    pending.add(unit);
+                }
+            }
+            return new ResumePlan(pending, skipped, resumed, busy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 为单元加租约
+     *
+     * @return 是否取得租约，单元正由其他采集任务持有时返回false
+     */
+    public boolean lease(RecruitmentPlatformEnum platform, SearchUnit unit) {
+        lock.lock();
+        try {
+            CrawlFrontierEntity entity = find(platform, unit).orElseGet(() -> newEntity(platform, unit));
+            if (UnitStatus.LEASED.name().equals(entity.getStatus()) && !owner.equals(entity.getLeaseOwner())
+                    && !isStale(entity)) {
+                return false;
+            }
+            if (unit.startPage() <= 1) {
+                entity.setLastPage(0);
+            }
+            entity.setStatus(UnitStatus.LEASED.name());
+            entity.setLeaseOwner(owner);
+            entity.setLeasedAt(LocalDateTime.now());
+            entity.setItemCount(0);
+            entity.setAttempts(entity.getAttempts() + 1);
+            entity.setStopReason(null);
+            frontierRepository.save(entity);
+            snapshot.markDirty();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 记录单元进度并刷新租约，每翻一页调用一次，只更新表，快照由定时任务合并写入
+     */
+    public void progress(RecruitmentPlatformEnum platform, SearchUnit unit, int lastPage, int items) {
+        lock.lock();
+        try {
+            find(platform, unit).ifPresent(entity -> {
+                entity.setLastPage(Math.max(entity.getLastPage(), lastPage));
+                entity.setItemCount(items);
+                entity.setLeasedAt(LocalDateTime.now());
+                frontierRepository.save(entity);
+                snapshot.markDirty();
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取单元的水位线
+     */
+    public List<String> getWatermark(RecruitmentPlatformEnum platform, SearchUnit unit) {
+        lock.lock();
+        try {
+            return find(platform, unit).map(CrawlFrontierEntity::getWatermark).orElse(List.of());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 标记单元完成
+     *
+     * @param watermark 本轮顶部岗位，为空时保留原水位线
+     */
+    public void complete(RecruitmentPlatformEnum platform, SearchUnit unit, int lastPage, int items,
+                         long durationMs, String stopReason, List<String> watermark) {
+        lock.lock();
+        try {
+            finish(platform, unit, UnitStatus.COMPLETED, lastPage, items, durationMs, stopReason, watermark);
+        } finally {
+            lock.unlock();
+        }
+        snapshot.flush();
+    }
+
+    public void fail(RecruitmentPlatformEnum platform, SearchUnit unit, int lastPage, int items,
+                     long durationMs, String reason) {
+        lock.lock();
+        try {
+            finish(platform, unit, UnitStatus.FAILED, lastPage, items, durationMs, reason, null);
+        } finally {
+            lock.unlock();
+        }
+        snapshot.flush();
+    }
+
+    /**
+     * 释放租约，单元回到待采集状态并保留进度，用于采集被中断的场景
+     */
+    public void release(RecruitmentPlatformEnum platform, SearchUnit unit, int lastPage, int items,
+                        long durationMs, String reason) {
+        lock.lock();
+        try {
+            finish(platform, unit, UnitStatus.PENDING, lastPage, items, durationMs, reason, null);
+        } finally {
+            lock.unlock();
+        }
+        snapshot.flush();
+    }
+
+    /**
+     * 回收超时的租约
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void reclaimStale() {
+        lock.lock();
+        try {
+            LocalDateTime deadline = LocalDateTime.now()
+                    .minusMinutes(Math.max(1, frontierConfig.getLeaseTimeoutMinutes()));
+            List<CrawlFrontierEntity> stale = frontierRepository.findByStatusAndLeasedAtBefore(UnitStatus.LEASED.name(),
+                    deadline);
+            if (stale.isEmpty()) {
+                return;
+            }
+            stale.forEach(entity -> reclaim(entity, "租约超时"));
+            frontierRepository.saveAll(stale);
+            snapshot.markDirty();
+            log.warn("回收超时的采集单元租约: {}", stale.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取平台所有单元
+     */
+    public List<CrawlFrontierEntity> getUnits(RecruitmentPlatformEnum platform) {
+        return frontierRepository.findByPlatformOrderByIdAsc(platform.getPlatformCode());
+    }
+
+    private void finish(RecruitmentPlatformEnum platform, SearchUnit unit, UnitStatus status, int lastPage, int items,
+                        long durationMs, String reason, List<String> watermark) {
+        CrawlFrontierEntity entity = find(platform, unit).orElseGet(() -> newEntity(platform, unit));
+        entity.setStatus(status.name());
+        entity.setLastPage(Math.max(entity.getLastPage(), lastPage));
+        entity.setItemCount(items);
+        entity.setDurationMs(durationMs);
+        entity.setStopReason(truncate(reason));
+        entity.setLeaseOwner(null);
+        if (status == UnitStatus.COMPLETED) {
+            entity.setCompletedAt(LocalDateTime.now());
+        }
+        if (watermark != null && !watermark.isEmpty()) {
+            entity.setWatermark(new ArrayList<>(watermark));
+        }
+        frontierRepository.save(entity);
+        snapshot.markDirty();
+    }
+
+    private boolean isStale(CrawlFrontierEntity entity) {
+        return entity.getLeasedAt() == null || entity.getLeasedAt()
+                .isBefore(LocalDateTime.now().minusMinutes(Math.max(1, frontierConfig.getLeaseTimeoutMinutes())));
+    }
+
+    private void reclaim(CrawlFrontierEntity entity, String reason) {
+        entity.setStatus(UnitStatus.PENDING.name());
+        entity.setLeaseOwner(null);
+        entity.setStopReason(reason);
+    }
+
+    private Optional<CrawlFrontierEntity> find(RecruitmentPlatformEnum platform, SearchUnit unit) {
+        return frontierRepository.findByPlatformAndCityCodeAndKeywordAndFilterHash(platform.getPlatformCode(),
+                unit.cityCode(), unit.keyword(), unit.filterHash());
+    }
+
+    private CrawlFrontierEntity newEntity(RecruitmentPlatformEnum platform, SearchUnit unit) {
+        CrawlFrontierEntity entity = new CrawlFrontierEntity();
+        entity.setPlatform(platform.getPlatformCode());
+        entity.setCityCode(unit.cityCode());
+        entity.setKeyword(unit.keyword());
+        entity.setFilterHash(unit.filterHash());
+        entity.setUrl(unit.url());
+        entity.setStatus(UnitStatus.PENDING.name());
+        return entity;
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > 500 ? value.substring(0, 500) : value;
+    }
+
+    /**
+     * 导出快照，由{@link SnapshotWriter}在写入线程中调用
+     */
+    private List<UnitSnapshot> exportSnapshot() {
+        return frontierRepository.findAll().stream()
+                .map(entity -> new UnitSnapshot(entity.getPlatform(), entity.getCityCode(), entity.getKeyword(),
+                        entity.getFilterHash(), entity.getUrl(), entity.getStatus(), entity.getLastPage(),
+                        entity.getItemCount(), entity.getAttempts(), entity.getLeaseOwner(),
+                        entity.getLeasedAt(), entity.getCompletedAt(), entity.getDurationMs(),
+                        entity.getStopReason(), entity.getWatermark()))
+                .toList();
+    }
+
+    /**
+     * 从快照恢复，上一进程遗留的租约直接回收
+     */
+    private void restoreSnapshot() {
+        try {
+            List<UnitSnapshot> saved = snapshotWriter.read(frontierConfig.getSnapshotFile(),
+                    new TypeReference<List<UnitSnapshot>>() {
+                    }).orElse(null);
+            if (saved == null) {
+                return;
+            }
+            int reclaimed = 0;
+            List<CrawlFrontierEntity> entities = new ArrayList<>(saved.size());
+            for (UnitSnapshot unit : saved) {
+                CrawlFrontierEntity entity = new CrawlFrontierEntity();
+                entity.setPlatform(unit.platform());
+                entity.setCityCode(unit.cityCode());
+                entity.setKeyword(unit.keyword());
+                entity.setFilterHash(unit.filterHash());
+                entity.setUrl(unit.url());
+                entity.setStatus(unit.status());
+                entity.setLastPage(unit.lastPage());
+                entity.setItemCount(unit.itemCount());
+                entity.setAttempts(unit.attempts());
+                entity.setLeaseOwner(unit.leaseOwner());
+                entity.setLeasedAt(unit.leasedAt());
+                entity.setCompletedAt(unit.completedAt());
+                entity.setDurationMs(unit.durationMs());
+                entity.setStopReason(unit.stopReason());
+                entity.setWatermark(unit.watermark());
+                if (UnitStatus.LEASED.name().equals(entity.getStatus())) {
+                    reclaim(entity, "进程重启");
+                    reclaimed++;
+                }
+                entities.add(entity);
+            }
+            frontierRepository.saveAll(entities);
+            log.info("已从快照恢复采集边界，单元: {}，回收租约: {}", entities.size(), reclaimed);
+        } catch (Exception e) {
+            log.warn("恢复采集边界快照失败: {}", e.getMessage());
+        }
+    }
+}
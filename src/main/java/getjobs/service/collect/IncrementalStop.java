@@ -0,0 +1,76 @@
+package getjobs.service.collect;
+
+import getjobs.config.IncrementalCollectConfig;
+import getjobs.utils.ResponseDrivenPager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 单个搜索单元的增量采集判断
+ * <p>
+ * 每收到一页，统计本页岗位中单元开始前已采集过的占比，达到阈值时停止翻页。
+ * 上一轮顶部岗位（水位线）同样视为已采集，内存库重启后job_info为空时仍能提前结束。
+ * 单元从第1页开始时记录本轮顶部岗位，作为下一轮的水位线。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public class IncrementalStop implements Predicate<ResponseDrivenPager.PageInfo> {
+
+    private final SeenJobIndex seenJobIndex;
+    private final IncrementalCollectConfig config;
+    private final Set<String> watermark;
+    private final long startedAt;
+    private final boolean fromTop;
+    private final List<String> topIds = new ArrayList<>();
+
+    private int pages;
+    private double lastKnownRatio;
+
+    public IncrementalStop(SeenJobIndex seenJobIndex, IncrementalCollectConfig config, Collection<String> watermark,
+                           long startedAt, boolean fromTop) {
+        this.seenJobIndex = seenJobIndex;
+        this.config = config;
+        this.watermark = watermark == null ? Set.of() : new HashSet<>(watermark);
+        this.startedAt = startedAt;
+        this.fromTop = fromTop;
+    }
+
+    @Override
+    public boolean test(ResponseDrivenPager.PageInfo info) {
+        pages++;
+        List<String> ids = info.itemIds();
+        if (ids == null || ids.isEmpty()) {
+            return false;
+        }
+        if (fromTop) {
+            for (String id : ids) {
+                if (topIds.size() >= config.getWatermarkSize()) {
+                    break;
+                }
+                topIds.add(id);
+            }
+        }
+        long known = ids.stream()
+                .filter(id -> watermark.contains(id) || seenJobIndex.seenBefore(id, startedAt))
+                .count();
+        lastKnownRatio = (double) known / ids.size();
+        return config.isEnabled() && pages >= config.getMinPages() && lastKnownRatio >= config.getKnownRatio();
+    }
+
+    /**
+     * 本轮顶部岗位，单元不是从第1页开始时为空
+     */
+    public List<String> getTopIds() {
+        return topIds;
+    }
+
+    public double getLastKnownRatio() {
+        return lastKnownRatio;
+    }
+}
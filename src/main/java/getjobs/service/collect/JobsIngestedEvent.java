@@ -0,0 +1,14 @@
+package getjobs.service.collect;
+
+import java.util.List;
+
+/**
+ * 岗位入库事件：平台监控服务解析列表响应并保存新岗位后发布
+ *
+ * @param platform      平台代码
+ * @param encryptJobIds 本次响应中的岗位ID，包含已存在的岗位
+ * @author getjobs
+ * @since v2.1.4
+ */
+public record JobsIngestedEvent(String platform, List<String> encryptJobIds) {
+}
@@ -0,0 +1,326 @@
+package getjobs.service.collect;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.CollectionParallelConfig;
+import getjobs.config.IncrementalCollectConfig;
+import getjobs.service.profiling.BrowserWaitEvent;
+import getjobs.service.task.TaskContext;
+import getjobs.service.task.TaskCounters;
+import getjobs.utils.PlaywrightUtil;
+import getjobs.utils.ResponseDrivenPager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 城市×关键词并行采集器
+ * <p>
+ * 把搜索空间拆分为{@link SearchUnit}，在当前上下文的N个标签页上同时执行。
+ * 所有标签页由调用线程轮询驱动：空闲标签页在限流器放行时领取下一个单元，
+ * 忙碌标签页通过{@link ResponseDrivenPager#step()}非阻塞推进，两轮之间统一等待一次以便Playwright分发响应事件。
+ * Playwright对象不是线程安全的，单线程轮询既能让多个标签页的网络请求重叠，又不需要跨线程访问页面。
+ * 单元进度记录在{@link CrawlFrontierStore}中，进程或浏览器崩溃后再次采集时跳过已完成的单元，未完成的单元从最后一页继续。
+ * 增量采集时，一页中已采集过的岗位占比达到阈值即停止该单元的翻页（见{@link IncrementalStop}）。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParallelSearchCollector {
+
+    private final CollectionParallelConfig parallelConfig;
+    private final CollectionRateLimiter rateLimiter;
+    private final CrawlFrontierStore frontierStore;
+    private final SeenJobIndex seenJobIndex;
+    private final IncrementalCollectConfig incrementalConfig;
+
+    /**
+     * 单元执行器：在指定标签页上开始一个搜索单元
+     */
+    @FunctionalInterface
+    public interface UnitOpener {
+
+        /**
+         * 开始搜索单元
+         *
+         * @param tab      标签页
+         * @param unit     搜索单元，{@link SearchUnit#startPage()}大于1时能跳页的平台应从该页开始，
+         *                 并通过{@link ResponseDrivenPager.Builder#pageOffset}记录偏移
+         * @param control  单元控制，翻页器应通过{@link UnitControl#applyTo}接入
+         * @return 已开始的翻页器；单元在本方法内已同步完成时返回null
+         */
+        ResponseDrivenPager open(Page tab, SearchUnit unit, UnitControl control);
+    }
+
+    /**
+     * 单元控制：平台限流闸门与增量采集的提前结束条件
+     *
+     * @param rateGate 平台限流闸门
+     * @param stopWhen 提前结束条件，翻页器解析出的{@link ResponseDrivenPager.PageInfo#itemIds()}为空时不生效
+     */
+    public record UnitControl(BooleanSupplier rateGate, Predicate<ResponseDrivenPager.PageInfo> stopWhen) {
+
+        public ResponseDrivenPager.Builder applyTo(ResponseDrivenPager.Builder builder) {
+            return builder.gate(rateGate).stopWhen(stopWhen);
+        }
+    }
+
+    /**
+     * 并行采集汇总
+     *
+     * @param platform   平台代码
+     * @param tabs       使用的标签页数
+     * @param units      计划单元数
+     * @param skipped    因断点续采跳过的单元数
+     * @param resumed    从中间页继续的单元数
+     * @param busy       正由其他采集任务持有而跳过的单元数
+     * @param completed  完成的单元数
+     * @param failed     失败的单元数
+     * @param totalItems 收到的岗位总数
+     * @param wallTimeMs 总耗时
+     * @param busyTimeMs 各单元耗时之和，与总耗时之比即并行度
+     */
+    public record CollectSummary(String platform, int tabs, int units, int skipped, int resumed, int busy,
+                                 int completed, int failed, int totalItems, long wallTimeMs, long busyTimeMs) {
+    }
+
+    /**
+     * 在当前线程绑定的上下文中并行采集
+     *
+     * @param platform 平台
+     * @param units    搜索单元
+     * @param opener   单元执行器
+     * @return 采集汇总
+     */
+    public CollectSummary collect(RecruitmentPlatformEnum platform, List<SearchUnit> units, UnitOpener opener) {
+        return collect(platform, units, null, opener);
+    }
+
+    /**
+     * 在当前线程绑定的上下文中并行采集
+     *
+     * @param platform 平台
+     * @param units    搜索单元
+     * @param tabs     本次使用的标签页数，为null时使用collection.parallel配置
+     * @param opener   单元执行器
+     * @return 采集汇总
+     */
+    public CollectSummary collect(RecruitmentPlatformEnum platform, List<SearchUnit> units, Integer tabs,
+                                  UnitOpener opener) {
+        long startTime = System.currentTimeMillis();
+        int resumeWindow = parallelConfig.getResumeWindowMinutes();
+        LocalDateTime since = resumeWindow > 0 ? LocalDateTime.now().minusMinutes(resumeWindow) : null;
+        CrawlFrontierStore.ResumePlan plan = frontierStore.plan(platform, units, since);
+        Deque<SearchUnit> queue = new ArrayDeque<>(plan.units());
+        if (plan.skipped() > 0 || plan.resumed() > 0 || plan.busy() > 0) {
+            log.info("[{}] 断点续采，跳过{}分钟内已完成的单元: {}，从中间页继续: {}，其他任务采集中: {}",
+                    platform.getPlatformName(), resumeWindow, plan.skipped(), plan.resumed(), plan.busy());
+        }
+        Tally tally = new Tally();
+        tally.busy = plan.busy();
+        if (queue.isEmpty()) {
+            return new CollectSummary(platform.getPlatformCode(), 0, units.size(), plan.skipped(), plan.resumed(),
+                    tally.busy, 0, 0, 0, System.currentTimeMillis() - startTime, 0);
+        }
+
+        Page primary = PlaywrightUtil.getPageObject();
+        int configuredTabs = tabs != null ? Math.max(1, tabs) : parallelConfig.resolveTabs(platform.getPlatformCode());
+        int tabCount = Math.min(configuredTabs, queue.size());
+        List<TabSlot> slots = openTabs(primary, tabCount);
+        int burst = slots.size();
+        BooleanSupplier rateGate = () -> rateLimiter.tryAcquire(platform, burst);
+        log.info("[{}] 开始并行采集，单元: {}，标签页: {}", platform.getPlatformName(), queue.size(), slots.size());
+
+        TaskContext task = TaskContext.current();
+        try {
+            while (!queue.isEmpty() || slots.stream().anyMatch(TabSlot::isBusy)) {
+                if (task != null) {
+                    if (task.isCancelled()) {
+                        // 进行中的单元在finally中释放，下次采集从最后一页继续
+                        log.info("[{}] 采集任务已取消，停止采集，未开始的单元: {}", platform.getPlatformName(), queue.size());
+                        break;
+                    }
+                    task.progress(plan.skipped() + tally.busy + tally.completed + tally.failed, units.size());
+                }
+                for (TabSlot slot : slots) {
+                    if (slot.isBusy()) {
+                        advance(platform, slot, tally);
+                    } else if (!queue.isEmpty() && rateGate.getAsBoolean()) {
+                        begin(platform, slot, queue.poll(), opener, rateGate, tally);
+                    }
+                }
+                // 统一等待一次，期间Playwright分发所有标签页的响应事件
+                BrowserWaitEvent event = new BrowserWaitEvent(BrowserWaitEvent.COLLECTOR_POLL,
+                        platform.getPlatformCode());
+                primary.waitForTimeout(parallelConfig.getPollIntervalMs());
+                event.finish();
+            }
+        } finally {
+            for (TabSlot slot : slots) {
+                if (slot.isBusy()) {
+                    slot.pager.close();
+                    frontierStore.release(platform, slot.unit, slot.pager.getLastPage(),
+                            slot.pager.getResult().totalItems(), slot.elapsed(), "采集中断");
+                }
+                if (slot.tab != primary) {
+                    closeQuietly(slot.tab);
+                }
+            }
+        }
+
+        CollectSummary summary = new CollectSummary(platform.getPlatformCode(), slots.size(), units.size(),
+                plan.skipped(), plan.resumed(), tally.busy, tally.completed, tally.failed, tally.items,
+                System.currentTimeMillis() - startTime, tally.busyMs);
+        log.info("[{}] 并行采集结束，标签页: {}，完成: {}，失败: {}，跳过: {}，续采: {}，岗位: {}，总耗时: {} ms，单元耗时之和: {} ms",
+                platform.getPlatformName(), summary.tabs(), summary.completed(), summary.failed(), summary.skipped(),
+                summary.resumed(), summary.totalItems(), summary.wallTimeMs(), summary.busyTimeMs());
+        return summary;
+    }
+
+    private void begin(RecruitmentPlatformEnum platform, TabSlot slot, SearchUnit unit, UnitOpener opener,
+                       BooleanSupplier rateGate, Tally tally) {
+        if (!frontierStore.lease(platform, unit)) {
+            log.info("[{}] 单元正由其他采集任务执行，跳过: {}", platform.getPlatformName(), unit);
+            tally.busy++;
+            return;
+        }
+        slot.unit = unit;
+        slot.startedAt = System.currentTimeMillis();
+        slot.lastPage = unit.startPage() - 1;
+        slot.incremental = new IncrementalStop(seenJobIndex, incrementalConfig,
+                frontierStore.getWatermark(platform, unit), slot.startedAt, unit.startPage() <= 1);
+        log.debug("[{}] 标签页{}开始采集: {}", platform.getPlatformName(), slot.index, unit);
+        try {
+            slot.pager = opener.open(slot.tab, unit, new UnitControl(rateGate, slot.incremental));
+            if (slot.pager == null) {
+                complete(platform, slot, slot.lastPage, 0, null, tally);
+            }
+        } catch (Exception e) {
+            fail(platform, slot, e, tally);
+        }
+    }
+
+    private void advance(RecruitmentPlatformEnum platform, TabSlot slot, Tally tally) {
+        try {
+            boolean running = slot.pager.step();
+            if (slot.pager.getLastPage() > slot.lastPage) {
+                // 每完成一页记录一次进度并刷新租约
+                TaskContext.incrementCurrent(TaskCounters.PAGES, slot.pager.getLastPage() - slot.lastPage);
+                slot.lastPage = slot.pager.getLastPage();
+                if (running) {
+                    frontierStore.progress(platform, slot.unit, slot.lastPage, slot.pager.getResult().totalItems());
+                }
+            }
+            if (running) {
+                return;
+            }
+            ResponseDrivenPager.PagerResult result = slot.pager.getResult();
+            slot.pager.close();
+            complete(platform, slot, slot.lastPage, result.totalItems(), String.valueOf(result.stopReason()), tally);
+        } catch (Exception e) {
+            slot.pager.close();
+            fail(platform, slot, e, tally);
+        }
+    }
+
+    private void complete(RecruitmentPlatformEnum platform, TabSlot slot, int lastPage, int items,
+                          String stopReason, Tally tally) {
+        long elapsed = slot.elapsed();
+        frontierStore.complete(platform, slot.unit, lastPage, items, elapsed, stopReason,
+                slot.incremental.getTopIds());
+        if (ResponseDrivenPager.WaitReason.KNOWN.name().equals(stopReason)) {
+            log.info("[{}] 单元增量采集提前结束: {}，最后一页已采集占比: {}", platform.getPlatformName(), slot.unit,
+                    String.format("%.0f%%", slot.incremental.getLastKnownRatio() * 100));
+        }
+        log.info("[{}] 单元采集完成: {}，最后一页: {}，岗位: {}，耗时: {} ms", platform.getPlatformName(), slot.unit,
+                lastPage, items, elapsed);
+        tally.completed++;
+        TaskContext.incrementCurrent(TaskCounters.UNITS, 1);
+        tally.items += items;
+        tally.busyMs += elapsed;
+        slot.reset();
+    }
+
+    private void fail(RecruitmentPlatformEnum platform, TabSlot slot, Exception e, Tally tally) {
+        long elapsed = slot.elapsed();
+        int items = slot.pager != null ? slot.pager.getResult().totalItems() : 0;
+        frontierStore.fail(platform, slot.unit, slot.lastPage, items, elapsed, e.getMessage());
+        log.error("[{}] 单元采集失败: {}", platform.getPlatformName(), slot.unit, e);
+        TaskContext.warnCurrent("单元采集失败: " + slot.unit + "，" + e.getMessage());
+        tally.failed++;
+        tally.busyMs += elapsed;
+        slot.reset();
+    }
+
+    private List<TabSlot> openTabs(Page primary, int tabCount) {
+        List<TabSlot> slots = new ArrayList<>(tabCount);
+        slots.add(new TabSlot(1, primary));
+        BrowserContext context = primary.context();
+        for (int i = 2; i <= tabCount; i++) {
+            try {
+                slots.add(new TabSlot(i, context.newPage()));
+            } catch (Exception e) {
+                log.warn("打开采集标签页失败，使用{}个标签页继续: {}", slots.size(), e.getMessage());
+                break;
+            }
+        }
+        return slots;
+    }
+
+    private void closeQuietly(Page tab) {
+        try {
+            tab.close();
+        } catch (Exception e) {
+            log.debug("关闭采集标签页失败: {}", e.getMessage());
+        }
+    }
+
+    private static class TabSlot {
+        private final int index;
+        private final Page tab;
+        private SearchUnit unit;
+        private ResponseDrivenPager pager;
+        private long startedAt;
+        private int lastPage;
+        private IncrementalStop incremental;
+
+        TabSlot(int index, Page tab) {
+            this.index = index;
+            this.tab = tab;
+        }
+
+        boolean isBusy() {
+            return pager != null;
+        }
+
+        long elapsed() {
+            return System.currentTimeMillis() - startedAt;
+        }
+
+        void reset() {
+            unit = null;
+            pager = null;
+            incremental = null;
+        }
+    }
+
+    private static class Tally {
+        private int completed;
+        private int failed;
+        private int busy;
+        private int items;
+        private long busyMs;
+    }
+}
@@ -0,0 +1,71 @@
+package getjobs.service.collect;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * 搜索单元：一个城市与一个关键词的组合，对应一次独立的搜索与翻页
+ *
+ * @param cityCode  城市代码
+ * @param keyword   关键词
+ * @param url       搜索URL，包含全部筛选条件
+ * @param startPage 起始页码，断点续采时从上次完成页的下一页开始
+ * @author getjobs
+ * @since v2.1.4
+ */
+public record SearchUnit(String cityCode, String keyword, String url, int startPage) {
+
+    /**
+     * 按城市×关键词拆分搜索空间，URL相同的单元只保留一个
+     *
+     * @param cityCodes  城市代码
+     * @param keywords   关键词
+     * @param urlBuilder 根据城市与关键词构建搜索URL
+     * @return 搜索单元
+     */
+    public static List<SearchUnit> plan(List<String> cityCodes, List<String> keywords,
+                                        BiFunction<String, String, String> urlBuilder) {
+        List<SearchUnit> units = new ArrayList<>();
+        Set<String> urls = new LinkedHashSet<>();
+        for (String cityCode : cityCodes) {
+            for (String keyword : keywords) {
+                String url = urlBuilder.apply(cityCode, keyword);
+                if (urls.add(url)) {
+                    units.add(new SearchUnit(cityCode, keyword, url, 1));
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * 从指定页码继续的同一单元
+     */
+    public SearchUnit resumeFrom(int page) {
+        return new SearchUnit(cityCode, keyword, url, Math.max(1, page));
+    }
+
+    /**
+     * 筛选条件摘要：对搜索URL取SHA-1，筛选条件变化后视为新的单元，不沿用旧的进度
+     */
+    public String filterHash() {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            return Integer.toHexString(url.hashCode());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return cityCode + "/" + keyword + (startPage > 1 ? "@p" + startPage : "");
+    }
+}
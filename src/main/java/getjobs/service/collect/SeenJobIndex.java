@@ -0,0 +1,99 @@
+package getjobs.service.collect;
+
+import getjobs.repository.JobRepository;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.task.TaskContext;
+import getjobs.service.task.TaskCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 已采集岗位索引
+ * <p>
+ * 内存中记录每个岗位ID首次出现的时间，启动时从job_info预热，之后由{@link JobsIngestedEvent}增量更新，
+ * 增量采集判断一页岗位是否已采集过时不需要访问数据库。
+ * 监控服务与翻页器处理的是同一个列表响应，先后顺序不确定，因此判断时只把指定时间之前出现的岗位视为已采集。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeenJobIndex {
+
+    private final JobRepository jobRepository;
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * 岗位ID -> 首次出现时间（毫秒），预热的岗位为0
+     */
+    private final Map<String, Long> firstSeen = new ConcurrentHashMap<>();
+
+    /**
+     * 启动数据恢复完成后从job_info预热
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1100)
+    public void warmUp() {
+        try {
+            List<String> ids = jobRepository.findAllEncryptJobIds();
+            ids.forEach(id -> firstSeen.putIfAbsent(id, 0L));
+            log.info("已采集岗位索引预热完成，岗位: {}", firstSeen.size());
+        } catch (Exception e) {
+            log.warn("已采集岗位索引预热失败: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onJobsIngested(JobsIngestedEvent event) {
+        markSeen(event.platform(), event.encryptJobIds());
+    }
+
+    /**
+     * 记录岗位出现时间与平台的新增、重复岗位数；在任务线程中调用时（监控服务在翻页的线程中处理列表响应），
+     * 同时累加任务的新增与重复岗位数
+     */
+    public void markSeen(String platform, Collection<String> ids) {
+        long now = System.currentTimeMillis();
+        int fresh = 0;
+        int duplicate = 0;
+        for (String id : ids) {
+            if (id != null && !id.isEmpty()) {
+                if (firstSeen.putIfAbsent(id, now) == null) {
+                    fresh++;
+                } else {
+                    duplicate++;
+                }
+            }
+        }
+        pipelineMetrics.recordSeen(platform, fresh, duplicate);
+        TaskContext task = TaskContext.current();
+        if (task != null) {
+            task.increment(TaskCounters.JOBS_CAPTURED, fresh + duplicate);
+            task.increment(TaskCounters.JOBS_NEW, fresh);
+            task.increment(TaskCounters.JOBS_DUPLICATE, duplicate);
+        }
+    }
+
+    /**
+     * 岗位是否在指定时间之前已出现过
+     */
+    public boolean seenBefore(String id, long before) {
+        Long seenAt = firstSeen.get(id);
+        return seenAt != null && seenAt < before;
+    }
+
+    public int size() {
+        return firstSeen.size();
+    }
+}
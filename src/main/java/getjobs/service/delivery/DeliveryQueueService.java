@@ -0,0 +1,512 @@
+package getjobs.service.delivery;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.DeliveryQueueConfig;
+import getjobs.repository.DeliveryQueueRepository;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.ConfigEntity;
+import getjobs.repository.entity.DeliveryQueueEntity;
+import getjobs.repository.entity.JobEntity;
+import getjobs.service.ConfigService;
+import getjobs.service.DeliveryPacingService;
+import getjobs.service.JobService;
+import getjobs.service.RecruitmentService;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.snapshot.SnapshotWriter;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskContext;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 投递队列：按匹配得分排序、可重试的持久化投递队列
+ * <p>
+ * 待处理岗位入队时由{@link DeliveryScorer}计算得分，投递时每次取出一个到期且得分最高的岗位交给平台服务投递，
+ * 每投递一个岗位检查一次当日剩余额度，额度用完即停止，不会多发出投递。
+ * 投递结果由平台服务的{@link RecruitmentService#deliverJob}给出：超时、网络错误、风控提示为临时失败，按指数退避
+ * 重新排队，超过最多尝试次数后移入死信；平台拒绝投递（如岗位不匹配、已投递过）为永久失败，直接移入死信。
+ * 只有实现了逐个投递的平台（{@link RecruitmentService#supportsQueuedDelivery()}）进入队列。
+ * <p>
+ * 队列保存在delivery_queue表中。数据库为内存库，变更后由{@link SnapshotWriter}合并写入快照文件，
+ * 投递成功时立即写入，避免进程崩溃后重复投递；启动时从快照恢复，上一进程中投递到一半的岗位在恢复时重新排队。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliveryQueueService {
+
+    /**
+     * 队列项状态
+     */
+    public enum ItemStatus {
+        READY, IN_FLIGHT, DONE, DEAD
+    }
+
+    /**
+     * 一轮投递的统计
+     *
+     * @param delivered  投递成功数
+     * @param retried    临时失败重新排队数
+     * @param dead       移入死信数
+     * @param skipped    岗位已不是待处理状态而移出队列的数量
+     * @param stopReason 停止原因
+     */
+    public record DrainResult(int delivered, int retried, int dead, int skipped, String stopReason) {
+    }
+
+    /**
+     * 快照中的队列项
+     */
+    record ItemSnapshot(String platform, String encryptJobId, String jobTitle, String companyName, double score,
+                        String status, int attempts, LocalDateTime nextAttemptAt, String lastError,
+                        LocalDateTime createdAt, LocalDateTime completedAt) {
+    }
+
+    private final DeliveryQueueRepository queueRepository;
+    private final DeliveryQueueConfig queueConfig;
+    private final DeliveryScorer scorer;
+    private final JobRepository jobRepository;
+    private final JobService jobService;
+    private final ConfigService configService;
+    private final DeliveryPacingService deliveryPacingService;
+    private final PipelineMetrics pipelineMetrics;
+    private final SnapshotWriter snapshotWriter;
+
+    private SnapshotWriter.Registration snapshot;
+
+    /**
+     * 队列状态变更互斥，投递在虚拟线程中执行，用ReentrantLock避免持锁访问数据库时占住载体线程
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        restoreSnapshot();
+        snapshot = snapshotWriter.register("投递队列", queueConfig::getSnapshotFile, this::exportSnapshot);
+    }
+
+    /**
+     * 把平台所有待处理岗位加入队列，已在队列中等待的岗位重新计算得分，已不是待处理状态的等待项移出队列
+     *
+     * @return 新加入队列的岗位数
+     */
+    public int sync(RecruitmentPlatformEnum platform, ConfigDTO config) {
+        lock.lock();
+        try {
+            List<JobEntity> pending = jobRepository.findByStatusAndPlatform(JobStatusEnum.PENDING.getCode(),
+                    PlatformTaskService.jobPlatformOf(platform));
+            return upsert(platform, pending, config, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 把指定岗位中仍为待处理状态的岗位加入队列
+     *
+     * @return 新加入队列的岗位数
+     */
+    public int enqueue(RecruitmentPlatformEnum platform, List<String> encryptJobIds, ConfigDTO config) {
+        lock.lock();
+        try {
+            if (encryptJobIds.isEmpty()) {
+                return 0;
+            }
+            List<JobEntity> pending = jobRepository.findAllByEncryptJobIdIn(encryptJobIds).stream()
+                    .filter(job -> job.getStatus() != null && job.getStatus() == JobStatusEnum.PENDING.getCode())
+                    .toList();
+            return upsert(platform, pending, config, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按得分从高到低逐个投递到期的岗位，直到没有到期岗位、当日额度用完或所在任务取消
+     *
+     * @throws IllegalArgumentException 平台未实现逐个投递
+     */
+    public DrainResult drain(RecruitmentPlatformEnum platform, RecruitmentService service, ConfigDTO config) {
+        if (!service.supportsQueuedDelivery()) {
+            throw new IllegalArgumentException(platform.getPlatformName() + "暂未实现自动投递，不使用投递队列");
+        }
+        int delivered = 0;
+        int retried = 0;
+        int dead = 0;
+        int skipped = 0;
+        String stopReason;
+        while (true) {
+            if (TaskContext.isCurrentCancelled()) {
+                stopReason = "任务已取消";
+                break;
+            }
+            if (deliveryPacingService.getRemainingBudget(platform) <= 0) {
+                stopReason = "今日投递额度已用完";
+                break;
+            }
+            DeliveryQueueEntity item = claimNext(platform);
+            if (item == null) {
+                stopReason = "没有到期的待投递岗位";
+                break;
+            }
+            JobEntity job = findPendingJob(platform, item.getEncryptJobId());
+            if (job == null) {
+                remove(item);
+                skipped++;
+                continue;
+            }
+
+            long startNanos = System.nanoTime();
+            DeliveryResult result;
+            try {
+                result = service.deliverJob(jobService.convertToDTO(job), config);
+            } catch (Exception e) {
+                // 平台服务应自行处理异常，漏出的异常同样按临时失败重试
+                log.warn("[{}] 投递岗位异常: {} - {}: {}", platform.getPlatformName(), job.getCompanyName(),
+                        job.getJobTitle(), e.getMessage());
+                result = DeliveryResult.transientFailure("投递异常: " + e.getMessage());
+            }
+            if (result.outcome() != DeliveryResult.Outcome.SUCCESS && TaskContext.isCurrentCancelled()) {
+                // 取消时投递节奏不再发放许可，平台服务返回的失败不代表岗位本身
+                result = DeliveryResult.notAttempted("任务已取消");
+            }
+            pipelineMetrics.recordDelivery(platform.getPlatformCode(), result.outcome().name().toLowerCase(),
+                    System.nanoTime() - startNanos);
+
+            switch (result.outcome()) {
+                case SUCCESS -> {
+                    complete(item);
+                    delivered++;
+                }
+                case NOT_ATTEMPTED -> release(item);
+                case TRANSIENT -> {
+                    if (retry(item, result.reason())) {
+                        retried++;
+                    } else {
+                        dead++;
+                    }
+                }
+                case PERMANENT -> {
+                    deadLetter(item, Objects.requireNonNullElse(result.reason(), "平台拒绝投递"));
+                    dead++;
+                }
+            }
+        }
+        log.info("[{}] 投递队列本轮结束，成功: {}，重新排队: {}，死信: {}，移出: {}，停止原因: {}",
+                platform.getPlatformName(), delivered, retried, dead, skipped, stopReason);
+        return new DrainResult(delivered, retried, dead, skipped, stopReason);
+    }
+
+    /**
+     * 获取平台等待投递的队列项（含退避中的），按得分从高到低
+     */
+    public List<DeliveryQueueEntity> getReady(RecruitmentPlatformEnum platform) {
+        return queueRepository.findByPlatformAndStatusOrderByScoreDesc(platform.getPlatformCode(),
+                ItemStatus.READY.name());
+    }
+
+    /**
+     * 获取平台的队列项，状态为空时返回全部，按得分从高到低
+     */
+    public List<DeliveryQueueEntity> getItems(RecruitmentPlatformEnum platform, ItemStatus status) {
+        if (status != null) {
+            return queueRepository.findByPlatformAndStatusOrderByScoreDesc(platform.getPlatformCode(), status.name());
+        }
+        List<DeliveryQueueEntity> items = new ArrayList<>(queueRepository.findByPlatform(platform.getPlatformCode()));
+        items.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+        return items;
+    }
+
+    /**
+     * 把死信中的岗位重新排队
+     *
+     * @return 是否重新排队成功，队列项不存在、不属于该平台或不在死信中时返回false
+     */
+    public boolean requeue(RecruitmentPlatformEnum platform, Long id) {
+        lock.lock();
+        try {
+            DeliveryQueueEntity item = queueRepository.findById(id).orElse(null);
+            if (item == null || !platform.getPlatformCode().equals(item.getPlatform())
+                    || !ItemStatus.DEAD.name().equals(item.getStatus())) {
+                return false;
+            }
+            item.setStatus(ItemStatus.READY.name());
+            item.setAttempts(0);
+            item.setNextAttemptAt(null);
+            item.setCompletedAt(null);
+            jobService.updateJobStatus(List.of(item.getEncryptJobId()), JobStatusEnum.PENDING.getCode(), null);
+            save(item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int upsert(RecruitmentPlatformEnum platform, Collection<JobEntity> jobs, ConfigDTO config,
+                       boolean prune) {
+        Integer expectedMinK = expectedMinSalary(platform, config);
+        Map<String, DeliveryQueueEntity> existing = queueRepository.findByPlatform(platform.getPlatformCode())
+                .stream().collect(Collectors.toMap(DeliveryQueueEntity::getEncryptJobId, Function.identity(),
+                        (a, b) -> a));
+        Set<String> jobIds = new HashSet<>();
+        List<DeliveryQueueEntity> changed = new ArrayList<>();
+        int added = 0;
+        for (JobEntity job : jobs) {
+            String id = job.getEncryptJobId();
+            if (id == null || !jobIds.add(id)) {
+                continue;
+            }
+            DeliveryQueueEntity item = existing.get(id);
+            if (item == null) {
+                item = new DeliveryQueueEntity();
+                item.setPlatform(platform.getPlatformCode());
+                item.setEncryptJobId(id);
+                item.setStatus(ItemStatus.READY.name());
+                added++;
+            } else if (!ItemStatus.READY.name().equals(item.getStatus())) {
+                continue;
+            }
+            item.setJobTitle(truncate(job.getJobTitle(), 200));
+            item.setCompanyName(truncate(job.getCompanyName(), 200));
+            item.setScore(scorer.score(job, expectedMinK));
+            changed.add(item);
+        }
+
+        List<DeliveryQueueEntity> removed = new ArrayList<>();
+        if (prune) {
+            for (DeliveryQueueEntity item : existing.values()) {
+                if (ItemStatus.READY.name().equals(item.getStatus()) && !jobIds.contains(item.getEncryptJobId())) {
+                    removed.add(item);
+                }
+            }
+        }
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return 0;
+        }
+        queueRepository.saveAll(changed);
+        queueRepository.deleteAll(removed);
+        snapshot.markDirty();
+        log.info("[{}] 投递队列已更新，新增: {}，重新评分: {}，移出: {}", platform.getPlatformName(), added,
+                changed.size() - added, removed.size());
+        return added;
+    }
+
+    /**
+     * 取出到期且得分最高的岗位，标记为投递中
+     */
+    private DeliveryQueueEntity claimNext(RecruitmentPlatformEnum platform) {
+        lock.lock();
+        try {
+            List<DeliveryQueueEntity> due = queueRepository.findDue(platform.getPlatformCode(), ItemStatus.READY.name(),
+                    LocalDateTime.now(), PageRequest.of(0, 1));
+            if (due.isEmpty()) {
+                return null;
+            }
+            DeliveryQueueEntity item = due.get(0);
+            item.setStatus(ItemStatus.IN_FLIGHT.name());
+            save(item);
+            return item;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 查找仍为待处理状态的岗位；岗位已被过滤、失效或已投递时返回null
+     */
+    private JobEntity findPendingJob(RecruitmentPlatformEnum platform, String encryptJobId) {
+        String jobPlatform = PlatformTaskService.jobPlatformOf(platform);
+        return jobRepository.findAllByEncryptJobIdIn(List.of(encryptJobId)).stream()
+                .filter(job -> jobPlatform.equals(job.getPlatform()))
+                .filter(job -> job.getStatus() != null && job.getStatus() == JobStatusEnum.PENDING.getCode())
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void complete(DeliveryQueueEntity item) {
+        lock.lock();
+        try {
+            item.setStatus(ItemStatus.DONE.name());
+            item.setAttempts(item.getAttempts() + 1);
+            item.setLastError(null);
+            item.setCompletedAt(LocalDateTime.now());
+            jobService.updateJobStatus(List.of(item.getEncryptJobId()),
+                    JobStatusEnum.DELIVERED_SUCCESS.getCode(), null);
+            save(item);
+        } finally {
+            lock.unlock();
+        }
+        snapshot.flush();
+    }
+
+    /**
+     * 未实际投递，放回队列且不计入尝试次数
+     */
+    private void release(DeliveryQueueEntity item) {
+        lock.lock();
+        try {
+            item.setStatus(ItemStatus.READY.name());
+            jobService.updateJobStatus(List.of(item.getEncryptJobId()), JobStatusEnum.PENDING.getCode(), null);
+            save(item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 临时失败按指数退避重新排队，超过最多尝试次数后移入死信
+     *
+     * @return 是否重新排队
+     */
+    private boolean retry(DeliveryQueueEntity item, String error) {
+        lock.lock();
+        try {
+            int attempts = item.getAttempts() + 1;
+            if (attempts >= Math.max(1, queueConfig.getMaxAttempts())) {
+                deadLetter(item, truncate(error, 450) + "，已尝试" + attempts + "次");
+                return false;
+            }
+            item.setAttempts(attempts);
+            long backoffMinutes = Math.min((long) queueConfig.getBackoffMaxMinutes(),
+                    (long) queueConfig.getBackoffBaseMinutes() << Math.min(attempts - 1, 20));
+            item.setStatus(ItemStatus.READY.name());
+            item.setNextAttemptAt(LocalDateTime.now().plusMinutes(backoffMinutes));
+            item.setLastError(truncate(error, 500));
+            // 重试期间岗位保持待处理状态
+            jobService.updateJobStatus(List.of(item.getEncryptJobId()), JobStatusEnum.PENDING.getCode(), null);
+            save(item);
+            log.info("投递临时失败，{} 分钟后重试: {} - {}，原因: {}", backoffMinutes, item.getCompanyName(),
+                    item.getJobTitle(), error);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void deadLetter(DeliveryQueueEntity item, String reason) {
+        lock.lock();
+        try {
+            item.setStatus(ItemStatus.DEAD.name());
+            item.setAttempts(item.getAttempts() + 1);
+            item.setLastError(truncate(reason, 500));
+            item.setCompletedAt(LocalDateTime.now());
+            jobService.updateJobStatus(List.of(item.getEncryptJobId()), JobStatusEnum.DELIVERED_FAILED.getCode(),
+                    item.getLastError());
+            save(item);
+            log.warn("投递失败移入死信: {} - {}，原因: {}", item.getCompanyName(), item.getJobTitle(), reason);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remove(DeliveryQueueEntity item) {
+        lock.lock();
+        try {
+            queueRepository.delete(item);
+            snapshot.markDirty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 期望最低月薪（K）：优先使用本次请求的配置，否则使用数据库中的平台配置
+     */
+    private Integer expectedMinSalary(RecruitmentPlatformEnum platform, ConfigDTO config) {
+        if (config != null && config.getMinSalary() != null) {
+            return config.getMinSalary();
+        }
+        try {
+            ConfigEntity entity = configService.loadByPlatformType(platform.getPlatformCode());
+            if (entity != null && entity.getExpectedSalary() != null && !entity.getExpectedSalary().isEmpty()) {
+                return entity.getExpectedSalary().get(0);
+            }
+        } catch (Exception e) {
+            log.debug("读取期望薪资失败: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void save(DeliveryQueueEntity item) {
+        queueRepository.save(item);
+        snapshot.markDirty();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 导出快照，由{@link SnapshotWriter}在写入线程中调用
+     */
+    private List<ItemSnapshot> exportSnapshot() {
+        return queueRepository.findAll().stream()
+                .map(item -> new ItemSnapshot(item.getPlatform(), item.getEncryptJobId(), item.getJobTitle(),
+                        item.getCompanyName(), item.getScore(), item.getStatus(), item.getAttempts(),
+                        item.getNextAttemptAt(), item.getLastError(), item.getCreatedAt(),
+                        item.getCompletedAt()))
+                .toList();
+    }
+
+    /**
+     * 从快照恢复，上一进程中投递到一半的岗位重新排队
+     */
+    private void restoreSnapshot() {
+        try {
+            List<ItemSnapshot> saved = snapshotWriter.read(queueConfig.getSnapshotFile(),
+                    new TypeReference<List<ItemSnapshot>>() {
+                    }).orElse(null);
+            if (saved == null) {
+                return;
+            }
+            int requeued = 0;
+            List<DeliveryQueueEntity> entities = new ArrayList<>(saved.size());
+            for (ItemSnapshot item : saved) {
+                DeliveryQueueEntity entity = new DeliveryQueueEntity();
+                entity.setPlatform(item.platform());
+                entity.setEncryptJobId(item.encryptJobId());
+                entity.setJobTitle(item.jobTitle());
+                entity.setCompanyName(item.companyName());
+                entity.setScore(item.score());
+                entity.setStatus(item.status());
+                entity.setAttempts(item.attempts());
+                entity.setNextAttemptAt(item.nextAttemptAt());
+                entity.setLastError(item.lastError());
+                if (item.createdAt() != null) {
+                    entity.setCreatedAt(item.createdAt());
+                }
+                entity.setCompletedAt(item.completedAt());
+                if (ItemStatus.IN_FLIGHT.name().equals(entity.getStatus())) {
+                    entity.setStatus(ItemStatus.READY.name());
+                    requeued++;
+                }
+                entities.add(entity);
+            }
+            queueRepository.saveAll(entities);
+            log.info("已从快照恢复投递队列，岗位: {}，重新排队: {}", entities.size(), requeued);
+        } catch (Exception e) {
+            log.warn("恢复投递队列快照失败: {}", e.getMessage());
+        }
+    }
+}
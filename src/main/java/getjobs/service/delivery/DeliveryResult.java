@@ -0,0 +1,54 @@
+package getjobs.service.delivery;
+
+/**
+ * 投递单个岗位的结果，由平台服务给出，投递队列据此决定完成、重新排队或移入死信
+ *
+ * @param outcome 结果类型
+ * @param reason  未成功时的原因，写入队列项与岗位的失败原因
+ * @author getjobs
+ * @since v2.1.4
+ */
+public record DeliveryResult(Outcome outcome, String reason) {
+
+    /**
+     * 结果类型
+     */
+    public enum Outcome {
+        /**
+         * 投递成功
+         */
+        SUCCESS,
+        /**
+         * 未实际投递，如当日额度用完或任务取消，放回队列且不计入尝试次数
+         */
+        NOT_ATTEMPTED,
+        /**
+         * 可重试的失败，如超时、网络错误、风控提示
+         */
+        TRANSIENT,
+        /**
+         * 平台拒绝投递，如岗位不匹配、已投递过
+         */
+        PERMANENT
+    }
+
+    public static DeliveryResult success() {
+        return new DeliveryResult(Outcome.SUCCESS, null);
+    }
+
+    public static DeliveryResult notAttempted(String reason) {
+        return new DeliveryResult(Outcome.NOT_ATTEMPTED, reason);
+    }
+
+    public static DeliveryResult transientFailure(String reason) {
+        return new DeliveryResult(Outcome.TRANSIENT, reason);
+    }
+
+    public static DeliveryResult rejected(String reason) {
+        return new DeliveryResult(Outcome.PERMANENT, reason);
+    }
+
+    public boolean isSuccess() {
+        return outcome == Outcome.SUCCESS;
+    }
+}
@@ -0,0 +1,161 @@
+package getjobs.service.delivery;
+
+import getjobs.config.DeliveryQueueConfig;
+import getjobs.repository.entity.JobEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 岗位匹配得分
+ * <p>
+ * 得分由三部分加权组成：薪资匹配度（岗位薪资中位数相对期望最低薪资）、HR活跃度（是否在线及最近活跃时间）
+ * 与岗位新鲜度（按入库时长指数衰减）。每日投递额度有限，投递队列按得分从高到低投递。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Component
+@RequiredArgsConstructor
+public class DeliveryScorer {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+(\\.\\d+)?");
+
+    /**
+     * 日薪折算月薪的工作天数
+     */
+    private static final double WORK_DAYS_PER_MONTH = 21.75;
+
+    /**
+     * 无法判断时的中性得分
+     */
+    private static final double NEUTRAL = 0.5;
+
+    private final DeliveryQueueConfig queueConfig;
+
+    /**
+     * 计算岗位得分
+     *
+     * @param job            岗位
+     * @param expectedMinK   期望最低月薪（K），为空时薪资匹配度取中性得分
+     * @return 0-100的得分
+     */
+    public double score(JobEntity job, Integer expectedMinK) {
+        double totalWeight = queueConfig.getSalaryWeight() + queueConfig.getActivityWeight()
+                + queueConfig.getFreshnessWeight();
+        if (totalWeight <= 0) {
+            return 0;
+        }
+        double weighted = queueConfig.getSalaryWeight() * salaryFit(job.getSalaryDesc(), expectedMinK)
+                + queueConfig.getActivityWeight() * activity(job)
+                + queueConfig.getFreshnessWeight() * freshness(job.getCreatedAt());
+        return Math.round(weighted / totalWeight * 1000) / 10.0;
+    }
+
+    /**
+     * 薪资匹配度：岗位薪资中位数达到期望最低薪资时为1，低于时按比例递减
+     */
+    double salaryFit(String salaryDesc, Integer expectedMinK) {
+        double[] range = parseMonthlySalaryK(salaryDesc);
+        if (range == null || expectedMinK == null || expectedMinK <= 0) {
+            return NEUTRAL;
+        }
+        double mid = (range[0] + range[1]) / 2;
+        return Math.min(1, mid / expectedMinK);
+    }
+
+    /**
+     * HR活跃度：在线为1，其余按最近活跃时间递减，没有活跃信息时取偏低的得分
+     */
+    double activity(JobEntity job) {
+        if (Boolean.TRUE.equals(job.getHrOnline()) || Boolean.TRUE.equals(job.getBossOnline())) {
+            return 1;
+        }
+        String desc = job.getBossActiveTimeDesc() != null ? job.getBossActiveTimeDesc() : job.getHrActiveTime();
+        if (desc == null || desc.isBlank()) {
+            return 0.3;
+        }
+        if (desc.contains("在线") || desc.contains("刚刚")) {
+            return 1;
+        }
+        if (desc.contains("今日")) {
+            return 0.9;
+        }
+        if (desc.contains("昨日") || desc.contains("3日")) {
+            return 0.7;
+        }
+        if (desc.contains("本周") || desc.contains("7日")) {
+            return 0.5;
+        }
+        if (desc.contains("2周")) {
+            return 0.35;
+        }
+        if (desc.contains("本月")) {
+            return 0.25;
+        }
+        if (desc.contains("2月") || desc.contains("3月")) {
+            return 0.15;
+        }
+        if (desc.contains("半年") || desc.contains("年")) {
+            return 0.05;
+        }
+        return 0.3;
+    }
+
+    /**
+     * 新鲜度：按入库时长以配置的半衰期指数衰减
+     */
+    double freshness(LocalDateTime createdAt) {
+        if (createdAt == null) {
+            return NEUTRAL;
+        }
+        double ageHours = Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMinutes() / 60.0);
+        return Math.pow(0.5, ageHours / Math.max(1, queueConfig.getFreshnessHalfLifeHours()));
+    }
+
+    /**
+     * 把薪资描述解析为月薪范围（K），支持"15-25K·13薪"、"1.5-2万"、"8000-12000元"、"200-300元/天"等格式
+     *
+     * @return [下限, 上限]，无法解析时返回null
+     */
+    static double[] parseMonthlySalaryK(String salaryDesc) {
+        if (salaryDesc == null || salaryDesc.isBlank()) {
+            return null;
+        }
+        String text = salaryDesc;
+        int bonusIndex = text.indexOf('·');
+        if (bonusIndex != -1) {
+            text = text.substring(0, bonusIndex);
+        }
+        List<Double> numbers = new ArrayList<>(2);
+        Matcher matcher = NUMBER.matcher(text);
+        while (matcher.find() && numbers.size() < 2) {
+            numbers.add(Double.parseDouble(matcher.group()));
+        }
+        if (numbers.isEmpty()) {
+            return null;
+        }
+        double low = numbers.get(0);
+        double high = numbers.size() > 1 ? numbers.get(1) : low;
+
+        double factor;
+        if (text.contains("元/天") || text.contains("/天")) {
+            factor = WORK_DAYS_PER_MONTH / 1000;
+        } else if (text.contains("万")) {
+            factor = 10;
+        } else if (text.contains("K") || text.contains("k") || text.contains("千")) {
+            factor = 1;
+        } else if (text.contains("元") || high >= 1000) {
+            factor = 0.001;
+        } else {
+            factor = 1;
+        }
+        return new double[]{low * factor, high * factor};
+    }
+}
@@ -0,0 +1,152 @@
+package getjobs.service.freshness;
+
+import com.microsoft.playwright.Page;
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.config.JobFreshnessConfig;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import getjobs.service.browser.BrowserContextPool;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.ContextLease;
+import getjobs.service.browser.StorageStateStore;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 岗位有效性复核调度
+ * <p>
+ * 定时挑出入库或上次确认有效超过TTL的待处理岗位，租用平台的采集上下文，通过详情接口批量复核：
+ * 已关闭的岗位标记为{@link JobStatusEnum#INVALID}，投递时不再逐个打开；仍有效的岗位记录确认时间。
+ * 平台没有保存过登录态或上下文正被采集任务占用时跳过本轮。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobFreshnessScheduler {
+
+    private static final Duration LEASE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final JobFreshnessConfig freshnessConfig;
+    private final JobRepository jobRepository;
+    private final BrowserContextPool browserContextPool;
+    private final StorageStateStore storageStateStore;
+    private final ObjectProvider<JobValidityChecker> checkers;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 触发一轮复核，上一轮未结束时跳过；复核在虚拟线程中执行，不占用定时任务线程
+     */
+    @Scheduled(initialDelay = 60000, fixedDelayString = "${delivery.freshness.interval-ms:1800000}")
+    public void schedule() {
+        if (!freshnessConfig.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.submit(() -> {
+            try {
+                checkers.orderedStream().forEach(this::revalidate);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 复核单个平台的待处理岗位
+     *
+     * @return 标记为已失效的岗位数
+     */
+    public int revalidate(JobValidityChecker checker) {
+        ContextKey key = ContextKey.collector(checker.getPlatform());
+        if (!storageStateStore.hasState(key)) {
+            log.debug("[{}] 没有保存的登录态，跳过岗位复核", checker.getPlatform().getPlatformName());
+            return 0;
+        }
+        LocalDateTime before = LocalDateTime.now().minusHours(Math.max(1, freshnessConfig.getTtlHours()));
+        List<JobEntity> jobs = jobRepository.findStaleJobs(checker.getJobPlatform(), JobStatusEnum.PENDING.getCode(),
+                before, PageRequest.of(0, Math.max(1, freshnessConfig.getMaxJobsPerRun())));
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+
+        ContextLease lease;
+        try {
+            lease = browserContextPool.lease(key, LEASE_TIMEOUT);
+        } catch (IllegalStateException e) {
+            log.info("[{}] 浏览器上下文正被占用，跳过本轮岗位复核: {}", checker.getPlatform().getPlatformName(),
+                    e.getMessage());
+            return 0;
+        }
+
+        long startTime = System.currentTimeMillis();
+        log.info("[{}] 开始复核待投递岗位有效性，岗位: {}", checker.getPlatform().getPlatformName(), jobs.size());
+        try (lease) {
+            Page page = lease.getPage();
+            if (!page.url().startsWith(checker.getHomeUrl())) {
+                page.navigate(checker.getHomeUrl());
+            }
+            int valid = 0;
+            int invalid = 0;
+            int batchSize = Math.max(1, freshnessConfig.getBatchSize());
+            for (int from = 0; from < jobs.size(); from += batchSize) {
+                List<JobEntity> batch = jobs.subList(from, Math.min(from + batchSize, jobs.size()));
+                Map<Long, JobValidityChecker.Validity> results = checker.check(page, batch);
+                List<Long> validIds = new ArrayList<>();
+                List<Long> invalidIds = new ArrayList<>();
+                results.forEach((id, validity) -> {
+                    if (validity == JobValidityChecker.Validity.VALID) {
+                        validIds.add(id);
+                    } else if (validity == JobValidityChecker.Validity.INVALID) {
+                        invalidIds.add(id);
+                    }
+                });
+                // 详情响应同时由监控服务写回详情字段，这里只更新状态相关字段
+                LocalDateTime now = LocalDateTime.now();
+                if (!validIds.isEmpty()) {
+                    jobRepository.updateVerification(validIds, JobStatusEnum.PENDING.getCode(),
+                            JobStatusEnum.PENDING.getCode(), null, now);
+                }
+                if (!invalidIds.isEmpty()) {
+                    jobRepository.updateVerification(invalidIds, JobStatusEnum.PENDING.getCode(),
+                            JobStatusEnum.INVALID.getCode(), "岗位已关闭", now);
+                }
+                valid += validIds.size();
+                invalid += invalidIds.size();
+                if (results.size() < batch.size()) {
+                    // 有岗位未得到结果，多为风控或登录失效，剩余批次留到下一轮
+                    break;
+                }
+            }
+            log.info("[{}] 岗位复核完成，有效: {}，已失效: {}，未确认: {}，耗时: {} ms",
+                    checker.getPlatform().getPlatformName(), valid, invalid, jobs.size() - valid - invalid,
+                    System.currentTimeMillis() - startTime);
+            return invalid;
+        } catch (Exception e) {
+            log.error("[{}] 岗位复核失败", checker.getPlatform().getPlatformName(), e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package getjobs.service.freshness;
+
+import com.microsoft.playwright.Page;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.repository.entity.JobEntity;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 岗位有效性检查，由提供详情接口的平台实现
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public interface JobValidityChecker {
+
+    /**
+     * 检查结果
+     */
+    enum Validity {
+        /** 岗位仍在招聘 */
+        VALID,
+        /** 岗位已关闭或下线 */
+        INVALID,
+        /** 请求失败或被风控，本次无法判断 */
+        UNKNOWN
+    }
+
+    RecruitmentPlatformEnum getPlatform();
+
+    /**
+     * job_info中该平台岗位的platform取值
+     */
+    String getJobPlatform();
+
+    /**
+     * 检查前页面需要停留的站点首页，详情接口依赖该域名下的登录态
+     */
+    String getHomeUrl();
+
+    /**
+     * 批量检查岗位有效性，请求速率由各平台的限流配置控制
+     *
+     * @param page 已登录的页面
+     * @param jobs 待检查的岗位
+     * @return 岗位ID到检查结果，未检查的岗位不在结果中
+     */
+    Map<Long, Validity> check(Page page, List<JobEntity> jobs);
+}
@@ -0,0 +1,230 @@
+package getjobs.service.metrics;
+
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.service.DeliveryPacingService;
+import getjobs.service.task.TaskExecution;
+import getjobs.service.task.TaskLifecycleEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 采集、过滤、投递各阶段的指标
+ * <p>
+ * 指标通过/actuator/prometheus暴露，名称统一以getjobs.开头，标签只使用取值有限的平台、路由、规则、结果等，
+ * 不使用岗位ID等高基数字段。数据库访问耗时由Spring Data自带的spring.data.repository.invocations指标
+ * 按仓库和方法记录，这里不重复统计。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    private final MeterRegistry registry;
+
+    /**
+     * 投递节奏服务依赖本类记录等待时间，读取额度时再获取，避免循环依赖
+     */
+    private final ObjectProvider<DeliveryPacingService> deliveryPacingService;
+
+    /**
+     * 注册各平台当日剩余投递额度
+     */
+    @PostConstruct
+    public void init() {
+        for (RecruitmentPlatformEnum platform : RecruitmentPlatformEnum.values()) {
+            Gauge.builder("getjobs.delivery.budget.remaining",
+                            () -> deliveryPacingService.getObject().getRemainingBudget(platform))
+                    .description("当日剩余投递额度")
+                    .tag("platform", platform.getPlatformCode())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * 记录一次响应捕获：路由处理器处理该响应的耗时
+     *
+     * @param router 路由器名称（平台/账号/槽位）
+     * @param route  路由名称
+     * @param nanos  处理耗时（纳秒）
+     * @param error  处理器是否抛出异常
+     */
+    public void recordCapture(String router, String route, long nanos, boolean error) {
+        Timer.builder("getjobs.response.capture")
+                .description("响应路由处理耗时")
+                .tag("router", router)
+                .tag("route", route)
+                .tag("outcome", error ? "error" : "ok")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次列表响应的解析耗时
+     *
+     * @param platform 平台代码
+     * @param nanos    响应体反序列化耗时（纳秒）
+     */
+    public void recordParse(String platform, long nanos) {
+        Timer.builder("getjobs.response.parse")
+                .description("列表响应反序列化耗时")
+                .tag("platform", platform)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录一次入库：一页岗位的查重与保存
+     *
+     * @param platform  平台代码
+     * @param batchSize 本页有效岗位数
+     * @param saved     新保存的岗位数
+     * @param nanos     查重与保存耗时（纳秒）
+     */
+    public void recordIngest(String platform, int batchSize, int saved, long nanos) {
+        DistributionSummary.builder("getjobs.ingest.batch.size")
+                .description("每页入库的有效岗位数")
+                .baseUnit("jobs")
+                .tag("platform", platform)
+                .register(registry)
+                .record(batchSize);
+        Counter.builder("getjobs.ingest.saved")
+                .description("新保存的岗位数")
+                .tag("platform", platform)
+                .register(registry)
+                .increment(saved);
+        Timer.builder("getjobs.ingest.latency")
+                .description("每页岗位查重与保存耗时")
+                .tag("platform", platform)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录列表响应中的新岗位与重复岗位，重复率为duplicate/(new+duplicate)
+     */
+    public void recordSeen(String platform, int fresh, int duplicate) {
+        seenCounter(platform, "new").increment(fresh);
+        seenCounter(platform, "duplicate").increment(duplicate);
+    }
+
+    /**
+     * 记录过滤规则命中数
+     *
+     * @param platform     平台代码
+     * @param reasonGroups 过滤原因 -> 被过滤的岗位ID
+     */
+    public void recordFilterHits(String platform, Map<String, ? extends Collection<String>> reasonGroups) {
+        reasonGroups.forEach((reason, ids) -> Counter.builder("getjobs.filter.hits")
+                .description("过滤规则命中的岗位数")
+                .tag("platform", platform)
+                .tag("rule", ruleOf(reason))
+                .register(registry)
+                .increment(ids.size()));
+    }
+
+    /**
+     * 记录一次投递
+     *
+     * @param platform 平台代码
+     * @param outcome  投递结果：success、not_attempted、transient、permanent
+     * @param nanos    平台服务投递耗时（纳秒）
+     */
+    public void recordDelivery(String platform, String outcome, long nanos) {
+        Timer.builder("getjobs.delivery")
+                .description("单个岗位投递耗时")
+                .tag("platform", platform)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 记录投递节奏等待
+     */
+    public void recordPacingWait(String platform, long waitMs) {
+        Timer.builder("getjobs.ratelimit.wait")
+                .description("限流等待时长")
+                .tag("limiter", "delivery")
+                .tag("platform", platform)
+                .register(registry)
+                .record(Math.max(0, waitMs), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 记录采集限流的一次许可请求，拿不到许可的标签页稍后重试
+     */
+    public void recordCollectPermit(String platform, boolean granted) {
+        Counter.builder("getjobs.ratelimit.permits")
+                .description("限流许可请求数")
+                .tag("limiter", "collection")
+                .tag("platform", platform)
+                .tag("result", granted ? "granted" : "throttled")
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 任务结束时记录耗时和计数器，计数器累加后可按分钟计算吞吐
+     */
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        TaskExecution task = event.task();
+        if (!task.isFinished()) {
+            return;
+        }
+        Timer.builder("getjobs.task.duration")
+                .description("任务执行耗时")
+                .tag("platform", task.getPlatform())
+                .tag("type", task.getType())
+                .tag("state", task.getState().name())
+                .register(registry)
+                .record(task.getDurationMs(), TimeUnit.MILLISECONDS);
+        task.getCounters().forEach((name, value) -> Counter.builder("getjobs.task.items")
+                .description("任务计数器累计值")
+                .tag("platform", task.getPlatform())
+                .tag("type", task.getType())
+                .tag("counter", name)
+                .register(registry)
+                .increment(value));
+    }
+
+    private Counter seenCounter(String platform, String result) {
+        return Counter.builder("getjobs.jobs.seen")
+                .description("列表响应中的岗位数，按是否首次出现区分")
+                .tag("platform", platform)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * 过滤原因去掉附带的具体取值（如"HR活跃状态已被过滤-本月活跃"），作为规则标签
+     */
+    static String ruleOf(String reason) {
+        if (reason == null || reason.isBlank()) {
+            return "unknown";
+        }
+        int end = reason.length();
+        for (char separator : new char[]{'-', ':', '：', '(', '（'}) {
+            int index = reason.indexOf(separator);
+            if (index > 0 && index < end) {
+                end = index;
+            }
+        }
+        String rule = reason.substring(0, end).trim();
+        return rule.length() > 40 ? rule.substring(0, 40) : rule;
+    }
+}
@@ -0,0 +1,416 @@
+package getjobs.service.pipeline;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.PipelineConfig;
+import getjobs.modules.boss.dto.JobDTO;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.JobEntity;
+import getjobs.service.DeliveryPacingService;
+import getjobs.service.JobService;
+import getjobs.service.RecruitmentService;
+import getjobs.service.RecruitmentServiceFactory;
+import getjobs.service.browser.BrowserContextPool;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.ContextLease;
+import getjobs.service.collect.JobsIngestedEvent;
+import getjobs.service.delivery.DeliveryQueueService;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskContext;
+import getjobs.service.task.TaskCounters;
+import getjobs.service.task.TaskEngine;
+import getjobs.service.task.TaskExecution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流水线执行服务：采集、过滤、投递三个阶段同时进行
+ * <p>
+ * 采集在任务线程中租用该平台的采集槽位上下文进行，监控服务每保存一页列表响应就发布{@link JobsIngestedEvent}，岗位ID随即进入待过滤队列；
+ * 过滤线程分批过滤后把通过的岗位放入待投递队列，投递线程租用该平台的投递槽位上下文，
+ * 把岗位逐批加入{@link DeliveryQueueService}后按得分投递（未实现逐个投递的平台直接逐批投递），与采集互不抢占页面。
+ * 两个队列都有容量上限：投递跟不上时过滤线程等待，过滤跟不上时采集线程等待，内存中积压的岗位数有上限。
+ * 采集结束后再补充处理该平台其余的待投递岗位，整体耗时接近采集与投递中较慢的一方，而不是各阶段之和。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PipelineRunService {
+
+    public static final String TYPE_PIPELINE = "pipeline";
+
+    /**
+     * 流水线投递使用的上下文槽位，与采集共享登录态但使用独立的页面
+     */
+    public static final String DELIVERY_SLOT = "delivery";
+
+    private final TaskEngine taskEngine;
+    private final PipelineConfig pipelineConfig;
+    private final RecruitmentServiceFactory serviceFactory;
+    private final PlatformTaskService platformTaskService;
+    private final JobService jobService;
+    private final JobRepository jobRepository;
+    private final BrowserContextPool browserContextPool;
+    private final DeliveryPacingService deliveryPacingService;
+    private final DeliveryQueueService deliveryQueueService;
+    private final PipelineMetrics pipelineMetrics;
+
+    /**
+     * 平台代码 -> 正在运行的流水线
+     */
+    private final Map<String, PipelineRun> activeRuns = new ConcurrentHashMap<>();
+
+    /**
+     * 提交流水线任务
+     *
+     * @param enableActualDelivery 是否启用实际投递，否则仅模拟
+     */
+    public TaskExecution start(RecruitmentPlatformEnum platform, ConfigDTO config, boolean enableActualDelivery) {
+        return taskEngine.submit(platform, TYPE_PIPELINE, config,
+                context -> execute(new PipelineRun(platform, config, enableActualDelivery, context)));
+    }
+
+    /**
+     * 监控服务保存列表响应后，岗位进入该平台正在运行的流水线
+     */
+    @EventListener
+    public void onJobsIngested(JobsIngestedEvent event) {
+        PipelineRun run = activeRuns.get(event.platform());
+        if (run != null && !run.ingestClosed) {
+            run.route(event.encryptJobIds());
+        }
+    }
+
+    private Map<String, Object> execute(PipelineRun run) throws Exception {
+        RecruitmentPlatformEnum platform = run.platform;
+        if (activeRuns.putIfAbsent(platform.getPlatformCode(), run) != null) {
+            throw new IllegalStateException(platform.getPlatformName() + "已有流水线在运行");
+        }
+        log.info("[{}] 流水线开始，实际投递: {}", platform.getPlatformName(), run.actualDelivery);
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> filtering = workers.submit(run.context.wrap(() -> filterLoop(run)));
+            Future<?> delivering = workers.submit(run.context.wrap(() -> deliverLoop(run)));
+            try {
+                collect(run);
+                if (run.collectError == null && !run.context.isCancelled()) {
+                    sweepPending(run);
+                }
+            } finally {
+                run.ingestClosed = true;
+            }
+            run.context.stage("等待过滤与投递");
+            filtering.get();
+            delivering.get();
+        } finally {
+            activeRuns.remove(platform.getPlatformCode(), run);
+        }
+        if (run.collectError != null && run.routed.isEmpty()) {
+            throw new IllegalStateException("采集失败: " + run.collectError);
+        }
+
+        Map<String, Object> summary = run.summary();
+        run.context.message(String.format("流水线完成，入队 %d 个，过滤 %d 个，%s %d 个",
+                run.routed.size(), run.filtered.get(), run.actualDelivery ? "投递成功" : "模拟投递",
+                run.delivered.get()));
+        log.info("[{}] 流水线结束: {}", platform.getPlatformName(), summary);
+        return summary;
+    }
+
+    /**
+     * 在任务线程中租用该平台的采集槽位上下文采集，列表响应由监控服务入库并发布事件；
+     * 没有监控服务的平台在采集结束后统一入库并进入流水线
+     */
+    private void collect(PipelineRun run) {
+        TaskContext context = run.context;
+        context.stage("采集");
+        long startTime = System.currentTimeMillis();
+        try {
+            RecruitmentService service = serviceFactory.getService(run.platform);
+            List<JobDTO> jobs;
+            try (ContextLease ignored = browserContextPool.lease(ContextKey.collector(run.platform))) {
+                jobs = new ArrayList<>(service.collectJobs(run.config));
+                if (Boolean.TRUE.equals(run.config.getRecommendJobs()) && !context.isCancelled()) {
+                    jobs.addAll(service.collectRecommendJobs(run.config));
+                }
+            }
+            if (!jobs.isEmpty()) {
+                try {
+                    jobService.saveJobs(jobs, run.platform.name());
+                } catch (Exception e) {
+                    log.warn("[{}] 保存岗位到数据库失败: {}", run.platform.getPlatformName(), e.getMessage());
+                }
+                run.route(jobs.stream().map(JobDTO::getEncryptJobId).toList());
+            }
+        } catch (Exception e) {
+            // 已入队的岗位继续过滤和投递，不再补充处理其他待投递岗位
+            log.error("[{}] 流水线采集失败", run.platform.getPlatformName(), e);
+            run.collectError = e.getMessage();
+            context.warn("采集失败: " + e.getMessage());
+        } finally {
+            run.collectMs = System.currentTimeMillis() - startTime;
+        }
+    }
+
+    /**
+     * 补充处理本次未入队的待投递岗位：此前采集的岗位，以及采集期间队列满未能入队的岗位
+     */
+    private void sweepPending(PipelineRun run) throws InterruptedException {
+        run.context.stage("补充待投递岗位");
+        List<JobEntity> pending = jobRepository.findByStatusAndPlatform(JobStatusEnum.PENDING.getCode(),
+                PlatformTaskService.jobPlatformOf(run.platform));
+        for (JobEntity entity : pending) {
+            String id = entity.getEncryptJobId();
+            if (id == null || !run.routed.add(id)) {
+                continue;
+            }
+            while (!run.ingest.offer(id, 1, TimeUnit.SECONDS)) {
+                if (run.context.isCancelled() || run.filterDone) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void filterLoop(PipelineRun run) {
+        try {
+            RecruitmentService service = serviceFactory.getService(run.platform);
+            int batchSize = Math.max(1, pipelineConfig.getFilterBatchSize());
+            List<String> batch = new ArrayList<>(batchSize);
+            while (!run.context.isCancelled()) {
+                String first = run.ingest.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (run.ingestClosed && run.ingest.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.clear();
+                batch.add(first);
+                run.ingest.drainTo(batch, batchSize - 1);
+                filterBatch(run, service, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[{}] 流水线过滤中止", run.platform.getPlatformName(), e);
+            run.context.warn("过滤中止: " + e.getMessage());
+        } finally {
+            run.filterDone = true;
+        }
+    }
+
+    private void filterBatch(PipelineRun run, RecruitmentService service, List<String> ids)
+            throws InterruptedException {
+        long startTime = System.currentTimeMillis();
+        // 只处理仍为待处理状态的岗位，已投递或已过滤的重复岗位跳过
+        Map<String, JobDTO> jobs = new LinkedHashMap<>();
+        for (JobEntity entity : jobRepository.findAllByEncryptJobIdIn(ids)) {
+            if (entity.getStatus() != null && entity.getStatus() == JobStatusEnum.PENDING.getCode()) {
+                jobs.putIfAbsent(entity.getEncryptJobId(), jobService.convertToDTO(entity));
+            }
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        // 过滤原因 -> 被过滤的岗位ID
+        Map<String, List<String>> reasonGroups = new HashMap<>();
+        Set<String> rejected = ConcurrentHashMap.newKeySet();
+        for (JobDTO job : service.filterJobs(new ArrayList<>(jobs.values()), run.config)) {
+            if (job.getFilterReason() != null) {
+                reasonGroups.computeIfAbsent(job.getFilterReason(), k -> new ArrayList<>()).add(job.getEncryptJobId());
+                rejected.add(job.getEncryptJobId());
+            }
+        }
+        for (Map.Entry<String, List<String>> entry : reasonGroups.entrySet()) {
+            jobService.updateJobStatus(entry.getValue(), JobStatusEnum.FILTERED.getCode(), entry.getKey());
+        }
+        run.filtered.addAndGet(rejected.size());
+        run.context.increment(TaskCounters.FILTERED, rejected.size());
+        pipelineMetrics.recordFilterHits(run.platform.getPlatformCode(), reasonGroups);
+        run.filterMs.addAndGet(System.currentTimeMillis() - startTime);
+
+        for (JobDTO job : jobs.values()) {
+            if (rejected.contains(job.getEncryptJobId())) {
+                continue;
+            }
+            // 投递跟不上时在这里等待；投递已停止时岗位保留为待投递，由下次投递处理
+            while (!run.deliveries.offer(job, 1, TimeUnit.SECONDS)) {
+                if (run.deliveryStopped || run.context.isCancelled()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliverLoop(PipelineRun run) {
+        RecruitmentService service = serviceFactory.getService(run.platform);
+        ContextLease lease = null;
+        try {
+            int batchSize = Math.max(1, pipelineConfig.getDeliveryBatchSize());
+            List<JobDTO> batch = new ArrayList<>(batchSize);
+            while (!run.context.isCancelled()) {
+                JobDTO first = run.deliveries.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    if (run.filterDone && run.deliveries.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                batch.clear();
+                batch.add(first);
+                run.deliveries.drainTo(batch, batchSize - 1);
+                if (run.firstDeliveryAt == 0) {
+                    run.firstDeliveryAt = System.currentTimeMillis();
+                }
+
+                if (!run.actualDelivery) {
+                    run.delivered.addAndGet(batch.size());
+                    batch.forEach(job -> run.context.step());
+                    continue;
+                }
+                if (deliveryPacingService.getRemainingBudget(run.platform) <= 0) {
+                    run.context.warn("今日投递额度已用完，其余岗位保留为待投递");
+                    break;
+                }
+                if (lease == null) {
+                    lease = browserContextPool.lease(ContextKey.of(run.platform, DELIVERY_SLOT));
+                }
+                long startTime = System.currentTimeMillis();
+                if (service.supportsQueuedDelivery()) {
+                    // 本批岗位进入投递队列，与队列中其他到期岗位一起按得分从高到低投递
+                    deliveryQueueService.enqueue(run.platform,
+                            batch.stream().map(JobDTO::getEncryptJobId).toList(), run.config);
+                    DeliveryQueueService.DrainResult drain = deliveryQueueService.drain(run.platform, service,
+                            run.config);
+                    run.delivered.addAndGet(drain.delivered());
+                } else {
+                    // 未实现逐个投递的平台不进入投递队列，由平台服务直接处理本批岗位，不改动岗位状态
+                    run.delivered.addAndGet(service.deliverJobs(new ArrayList<>(batch), run.config));
+                }
+                run.deliverMs.addAndGet(System.currentTimeMillis() - startTime);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("[{}] 流水线投递中止", run.platform.getPlatformName(), e);
+            run.context.warn("投递中止: " + e.getMessage());
+        } finally {
+            // 过滤线程不再等待投递队列
+            run.deliveryStopped = true;
+            if (lease != null) {
+                try (ContextLease ignored = lease) {
+                    service.saveData(platformTaskService.getDataPath());
+                } catch (Exception e) {
+                    log.warn("[{}] 保存投递数据失败: {}", run.platform.getPlatformName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 一次流水线运行的队列与统计
+     */
+    private final class PipelineRun {
+        private final RecruitmentPlatformEnum platform;
+        private final ConfigDTO config;
+        private final boolean actualDelivery;
+        private final TaskContext context;
+        private final long startedAt = System.currentTimeMillis();
+
+        private final BlockingQueue<String> ingest = new ArrayBlockingQueue<>(
+                Math.max(1, pipelineConfig.getIngestQueueCapacity()));
+        private final BlockingQueue<JobDTO> deliveries = new ArrayBlockingQueue<>(
+                Math.max(1, pipelineConfig.getDeliveryQueueCapacity()));
+        private final Set<String> routed = ConcurrentHashMap.newKeySet();
+
+        private final AtomicInteger overflow = new AtomicInteger();
+        private final AtomicInteger filtered = new AtomicInteger();
+        private final AtomicInteger delivered = new AtomicInteger();
+        private final AtomicLong filterMs = new AtomicLong();
+        private final AtomicLong deliverMs = new AtomicLong();
+
+        private volatile boolean ingestClosed;
+        private volatile boolean filterDone;
+        private volatile boolean deliveryStopped;
+        private volatile long firstDeliveryAt;
+        private volatile long collectMs;
+        private volatile String collectError;
+
+        private PipelineRun(RecruitmentPlatformEnum platform, ConfigDTO config, boolean actualDelivery,
+                            TaskContext context) {
+            this.platform = platform;
+            this.config = config;
+            this.actualDelivery = actualDelivery;
+            this.context = context;
+        }
+
+        /**
+         * 岗位进入待过滤队列。队列满时采集线程最多等待配置的时间，仍未入队的岗位留给采集结束后的补充处理，
+         * 同一批中其余岗位不再等待
+         */
+        private void route(Collection<String> ids) {
+            boolean wait = true;
+            for (String id : ids) {
+                if (id == null || id.isEmpty() || !routed.add(id)) {
+                    continue;
+                }
+                boolean queued;
+                try {
+                    queued = wait ? ingest.offer(id, pipelineConfig.getIngestOfferTimeoutSeconds(), TimeUnit.SECONDS)
+                            : ingest.offer(id);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                if (!queued) {
+                    routed.remove(id);
+                    overflow.incrementAndGet();
+                    wait = false;
+                }
+            }
+        }
+
+        private Map<String, Object> summary() {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("routedCount", routed.size());
+            summary.put("filteredCount", filtered.get());
+            summary.put("deliveredCount", delivered.get());
+            summary.put("actualDelivery", actualDelivery);
+            summary.put("overflowCount", overflow.get());
+            summary.put("collectMs", collectMs);
+            summary.put("filterMs", filterMs.get());
+            summary.put("deliverMs", deliverMs.get());
+            summary.put("firstDeliveryAfterMs", firstDeliveryAt > 0 ? firstDeliveryAt - startedAt : null);
+            summary.put("wallTimeMs", System.currentTimeMillis() - startedAt);
+            if (collectError != null) {
+                summary.put("collectError", collectError);
+            }
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package getjobs.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR事件：一批岗位写入数据库，持续时间包含查重、Hibernate刷写与等待数据库连接
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Name("getjobs.BatchIngested")
+@Label("岗位批量写入")
+@Description("列表响应入库或岗位状态批量更新")
+@Category({"GetJobs", "入库"})
+@StackTrace(false)
+public class BatchIngestedEvent extends Event {
+
+    /**
+     * 列表响应入库
+     */
+    public static final String OP_INGEST = "ingest";
+
+    /**
+     * 批量保存岗位
+     */
+    public static final String OP_SAVE = "save";
+
+    /**
+     * 批量更新岗位状态
+     */
+    public static final String OP_UPDATE_STATUS = "updateStatus";
+
+    @Label("平台")
+    String platform;
+
+    @Label("操作")
+    String operation;
+
+    @Label("批次岗位数")
+    int batchSize;
+
+    @Label("写入岗位数")
+    int written;
+
+    @Label("响应解析耗时")
+    @Timespan(Timespan.NANOSECONDS)
+    long parseDuration;
+
+    public BatchIngestedEvent(String platform, String operation) {
+        this.platform = platform;
+        this.operation = operation;
+        begin();
+    }
+
+    /**
+     * 记录响应解析耗时，列表响应入库时使用
+     */
+    public void parsed(long parseNanos) {
+        this.parseDuration = parseNanos;
+    }
+
+    /**
+     * 结束并提交事件，未在录制或低于阈值时不做任何事
+     */
+    public void finish(int batchSize, int written) {
+        end();
+        if (shouldCommit()) {
+            this.batchSize = batchSize;
+            this.written = written;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package getjobs.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR事件：主动等待，包括固定与随机延迟、等待元素、翻页轮询和投递节奏等待
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Name("getjobs.BrowserWait")
+@Label("浏览器等待")
+@Description("采集与投递过程中的主动等待")
+@Category({"GetJobs", "浏览器"})
+@StackTrace(false)
+public class BrowserWaitEvent extends Event {
+
+    public static final String SLEEP = "sleep";
+    public static final String RANDOM_SLEEP = "randomSleep";
+    public static final String ELEMENT = "element";
+    public static final String PAGER_POLL = "pagerPoll";
+    public static final String COLLECTOR_POLL = "collectorPoll";
+    public static final String PACING = "pacing";
+
+    @Label("等待类型")
+    String kind;
+
+    @Label("目标")
+    String target;
+
+    public BrowserWaitEvent(String kind, String target) {
+        this.kind = kind;
+        this.target = target;
+        begin();
+    }
+
+    /**
+     * 结束并提交事件，未在录制或低于阈值时不做任何事
+     */
+    public void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
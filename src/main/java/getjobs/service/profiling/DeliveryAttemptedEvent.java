@@ -0,0 +1,52 @@
+package getjobs.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR事件：投递一个岗位，持续时间为打开岗位页到投递结束，不含投递节奏等待
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Name("getjobs.DeliveryAttempted")
+@Label("岗位投递")
+@Description("平台服务投递一个岗位")
+@Category({"GetJobs", "投递"})
+@StackTrace(false)
+public class DeliveryAttemptedEvent extends Event {
+
+    public static final String SUCCESS = "success";
+    public static final String FAILED = "failed";
+    public static final String ERROR = "error";
+
+    @Label("平台")
+    String platform;
+
+    @Label("岗位ID")
+    String encryptJobId;
+
+    @Label("结果")
+    String outcome;
+
+    public DeliveryAttemptedEvent(String platform, String encryptJobId) {
+        this.platform = platform;
+        this.encryptJobId = encryptJobId;
+        begin();
+    }
+
+    /**
+     * 结束并提交事件，未在录制或低于阈值时不做任何事
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
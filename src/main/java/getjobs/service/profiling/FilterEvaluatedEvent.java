@@ -0,0 +1,48 @@
+package getjobs.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR事件：一批岗位执行过滤规则
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Name("getjobs.FilterEvaluated")
+@Label("岗位过滤")
+@Description("一批岗位执行黑名单、薪资、HR活跃度等过滤规则")
+@Category({"GetJobs", "过滤"})
+@StackTrace(false)
+public class FilterEvaluatedEvent extends Event {
+
+    @Label("平台")
+    String platform;
+
+    @Label("岗位数")
+    int jobs;
+
+    @Label("被过滤数")
+    int rejected;
+
+    public FilterEvaluatedEvent(String platform) {
+        this.platform = platform;
+        begin();
+    }
+
+    /**
+     * 结束并提交事件，未在录制或低于阈值时不做任何事
+     */
+    public void finish(int jobs, int rejected) {
+        end();
+        if (shouldCommit()) {
+            this.jobs = jobs;
+            this.rejected = rejected;
+            commit();
+        }
+    }
+}
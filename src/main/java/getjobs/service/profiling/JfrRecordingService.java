@@ -0,0 +1,405 @@
+package getjobs.service.profiling;
+
+import getjobs.config.JfrConfig;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * JFR录制与实时汇总
+ * <p>
+ * 自定义事件只在有录制或实时汇总开启时才会提交，未开启时begin/end只是读取时钟，
+ * shouldCommit直接返回false，因此平时几乎没有开销。录制写入文件供JDK Mission Control分析；
+ * 实时汇总通过RecordingStream按事件类型和关键字段累计次数与耗时，回答"时间花在了哪里"。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JfrRecordingService {
+
+    private static final String RECORDING_NAME = "getjobs";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+
+    /**
+     * 本应用的自定义事件 -> 实时汇总时的分组字段
+     */
+    private static final Map<String, Function<RecordedEvent, String>> APP_EVENTS = Map.of(
+            "getjobs.ResponseCaptured", event -> event.getString("route"),
+            "getjobs.BatchIngested", event -> event.getString("operation") + "/" + event.getString("platform"),
+            "getjobs.FilterEvaluated", event -> event.getString("platform"),
+            "getjobs.DeliveryAttempted", event -> event.getString("platform") + "/" + event.getString("outcome"),
+            "getjobs.BrowserWait", event -> event.getString("kind"));
+
+    private final JfrConfig jfrConfig;
+
+    /**
+     * 录制与实时汇总的启停都在锁内进行，避免重复开启
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Recording recording;
+    private volatile Path recordingFile;
+    private RecordingStream liveStream;
+    private LocalDateTime liveStartedAt;
+    private final Map<String, Stat> liveStats = new ConcurrentHashMap<>();
+
+    /**
+     * 开始录制
+     *
+     * @param settings JDK录制配置名（default、profile），为空时使用配置文件中的值
+     * @return 录制信息
+     * @throws IllegalStateException 已有录制在进行
+     * @throws IllegalArgumentException 录制配置不存在
+     */
+    public Map<String, Object> startRecording(String settings) throws IOException {
+        lock.lock();
+        try {
+            if (recording != null) {
+                throw new IllegalStateException("已有录制在进行，请先停止");
+            }
+            String name = settings == null || settings.isBlank() ? jfrConfig.getSettings() : settings;
+            Configuration configuration;
+            try {
+                configuration = Configuration.getConfiguration(name);
+            } catch (ParseException | IOException e) {
+                throw new IllegalArgumentException("录制配置不存在: " + name);
+            }
+            Path dir = recordingDir();
+            Files.createDirectories(dir);
+            Path file = dir.resolve(RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+
+            Recording newRecording = new Recording(configuration);
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(Duration.ofMinutes(jfrConfig.getMaxAgeMinutes()));
+            newRecording.setMaxSize((long) jfrConfig.getMaxSizeMb() * 1024 * 1024);
+            newRecording.setDestination(file);
+            APP_EVENTS.keySet().forEach(event -> newRecording.enable(event).withoutStackTrace());
+            newRecording.start();
+            recording = newRecording;
+            recordingFile = file;
+            log.info("JFR录制已开始，配置: {}，文件: {}", name, file);
+            return recordingInfo();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 停止录制并写入文件
+     *
+     * @return 录制信息，没有进行中的录制时返回空
+     */
+    public Optional<Map<String, Object>> stopRecording() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                return Optional.empty();
+            }
+            Map<String, Object> info = recordingInfo();
+            // 设置了destination的录制在stop时写入文件
+            recording.stop();
+            recording.close();
+            recording = null;
+            info.put("state", RecordingState.STOPPED.name());
+            info.put("sizeBytes", sizeOf(recordingFile));
+            log.info("JFR录制已停止，文件: {}", recordingFile);
+            recordingFile = null;
+            pruneRecordings();
+            return Optional.of(info);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 当前录制状态
+     */
+    public Map<String, Object> status() {
+        lock.lock();
+        try {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("recording", recording == null ? null : recordingInfo());
+            status.put("live", liveStream != null);
+            status.put("liveStartedAt", liveStartedAt);
+            status.put("files", listRecordings());
+            return status;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取已保存的录制文件，最新的在前
+     */
+    public List<Map<String, Object>> listRecordings() {
+        Path dir = recordingDir();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                    .filter(file -> !file.equals(recordingFile))
+                    .sorted(Comparator.comparing((Path file) -> file.getFileName().toString()).reversed())
+                    .map(file -> {
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("name", file.getFileName().toString());
+                        item.put("sizeBytes", sizeOf(file));
+                        return item;
+                    })
+                    .toList();
+        } catch (IOException e) {
+            log.warn("读取JFR录制目录失败: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 按文件名查找录制文件，只允许访问录制目录下已结束的录制
+     *
+     * @param name 文件名，为空时返回最新的录制
+     */
+    public Optional<Path> findRecording(String name) {
+        if (name == null || name.isBlank()) {
+            return listRecordings().stream().findFirst()
+                    .map(item -> recordingDir().resolve((String) item.get("name")));
+        }
+        Path dir = recordingDir();
+        Path file = dir.resolve(name).normalize();
+        if (!file.getParent().equals(dir) || !name.endsWith(".jfr") || file.equals(recordingFile)
+                || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * 开启实时汇总，重新开始累计
+     *
+     * @return 是否新开启，已在运行时返回false
+     */
+    public boolean startLive() {
+        lock.lock();
+        try {
+            if (liveStream != null) {
+                return false;
+            }
+            liveStats.clear();
+            RecordingStream stream = new RecordingStream();
+            stream.setMaxAge(Duration.ofMinutes(1));
+            APP_EVENTS.forEach((event, keyOf) -> {
+                stream.enable(event).withoutStackTrace();
+                stream.onEvent(event, recorded -> onAppEvent(event, keyOf, recorded));
+            });
+            Duration threshold = Duration.ofMillis(jfrConfig.getContentionThresholdMs());
+            stream.enable(PINNED).withThreshold(threshold).withStackTrace();
+            stream.onEvent(PINNED, recorded -> record(PINNED, topFrame(recorded), recorded.getDuration()));
+            stream.enable(MONITOR_ENTER).withThreshold(threshold);
+            stream.onEvent(MONITOR_ENTER, recorded -> record(MONITOR_ENTER,
+                    recorded.getClass("monitorClass") == null ? "-" : recorded.getClass("monitorClass").getName(),
+                    recorded.getDuration()));
+            stream.startAsync();
+            liveStream = stream;
+            liveStartedAt = LocalDateTime.now();
+            log.info("JFR实时汇总已开启");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 关闭实时汇总，已累计的数据保留到下次开启
+     *
+     * @return 是否关闭，未在运行时返回false
+     */
+    public boolean stopLive() {
+        lock.lock();
+        try {
+            if (liveStream == null) {
+                return false;
+            }
+            liveStream.close();
+            liveStream = null;
+            log.info("JFR实时汇总已关闭");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 实时汇总：按事件类型合计耗时，以及耗时最多的分组
+     *
+     * @param limit 返回的分组数上限
+     */
+    public Map<String, Object> liveSummary(int limit) {
+        List<Map<String, Object>> entries = liveStats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> entry) -> entry.getValue().totalNanos.sum())
+                        .reversed())
+                .map(entry -> {
+                    int split = entry.getKey().indexOf('|');
+                    return entry.getValue().toMap(entry.getKey().substring(0, split),
+                            entry.getKey().substring(split + 1));
+                })
+                .toList();
+
+        Map<String, Stat> byEvent = new LinkedHashMap<>();
+        liveStats.forEach((key, stat) -> byEvent.computeIfAbsent(key.substring(0, key.indexOf('|')),
+                event -> new Stat()).merge(stat));
+        List<Map<String, Object>> events = new ArrayList<>();
+        byEvent.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stat> entry) -> entry.getValue().totalNanos.sum())
+                        .reversed())
+                .forEach(entry -> events.add(entry.getValue().toMap(entry.getKey(), null)));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("live", liveStream != null);
+        summary.put("startedAt", liveStartedAt);
+        summary.put("events", events);
+        summary.put("top", entries.subList(0, Math.min(Math.max(1, limit), entries.size())));
+        return summary;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopLive();
+        stopRecording();
+    }
+
+    private void onAppEvent(String event, Function<RecordedEvent, String> keyOf, RecordedEvent recorded) {
+        record(event, keyOf.apply(recorded), recorded.getDuration());
+        // 入库事件单独统计其中的响应体反序列化耗时
+        if (recorded.hasField("parseDuration") && recorded.getLong("parseDuration") > 0) {
+            record(event + ".parse", recorded.getString("platform"),
+                    Duration.ofNanos(recorded.getLong("parseDuration")));
+        }
+    }
+
+    private void record(String event, String key, Duration duration) {
+        liveStats.computeIfAbsent(event + "|" + key, k -> new Stat()).add(duration.toNanos());
+    }
+
+    private static String topFrame(RecordedEvent recorded) {
+        RecordedStackTrace stackTrace = recorded.getStackTrace();
+        if (stackTrace == null) {
+            return "-";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith("getjobs.")) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            }
+        }
+        return stackTrace.getFrames().isEmpty() ? "-"
+                : stackTrace.getFrames().get(0).getMethod().getType().getName() + "."
+                + stackTrace.getFrames().get(0).getMethod().getName();
+    }
+
+    private Map<String, Object> recordingInfo() {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("name", recordingFile.getFileName().toString());
+        info.put("state", recording.getState().name());
+        info.put("startedAt", recording.getStartTime());
+        info.put("maxAgeMinutes", jfrConfig.getMaxAgeMinutes());
+        info.put("maxSizeMb", jfrConfig.getMaxSizeMb());
+        return info;
+    }
+
+    /**
+     * 只保留最近的若干个录制文件
+     */
+    private void pruneRecordings() {
+        List<Map<String, Object>> files = listRecordings();
+        for (int i = Math.max(1, jfrConfig.getMaxFiles()); i < files.size(); i++) {
+            Path file = recordingDir().resolve((String) files.get(i).get("name"));
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除旧的JFR录制失败: {}", file);
+            }
+        }
+    }
+
+    private Path recordingDir() {
+        return Paths.get(jfrConfig.getRecordingDir()).toAbsolutePath().normalize();
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 一个分组的累计次数与耗时，事件回调线程写入、接口线程读取
+     */
+    private static final class Stat {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        void merge(Stat other) {
+            count.add(other.count.sum());
+            totalNanos.add(other.totalNanos.sum());
+            maxNanos.accumulate(other.maxNanos.get());
+        }
+
+        Map<String, Object> toMap(String event, String key) {
+            long n = count.sum();
+            long total = totalNanos.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("event", event);
+            if (key != null) {
+                map.put("key", key);
+            }
+            map.put("count", n);
+            map.put("totalMs", total / 1_000_000);
+            map.put("avgMs", n == 0 ? 0 : Math.round(total / 1_000.0 / n) / 1000.0);
+            map.put("maxMs", Math.round(maxNanos.get() / 1_000.0) / 1000.0);
+            return map;
+        }
+    }
+}
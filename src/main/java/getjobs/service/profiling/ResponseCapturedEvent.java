@@ -0,0 +1,52 @@
+package getjobs.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR事件：响应路由处理一次响应，持续时间为处理器耗时（读取响应体、解析、入库）
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Name("getjobs.ResponseCaptured")
+@Label("响应捕获")
+@Description("响应路由处理器处理一次接口响应")
+@Category({"GetJobs", "采集"})
+@StackTrace(false)
+public class ResponseCapturedEvent extends Event {
+
+    @Label("路由器")
+    String router;
+
+    @Label("路由")
+    String route;
+
+    @Label("HTTP状态码")
+    int status;
+
+    @Label("处理失败")
+    boolean error;
+
+    public ResponseCapturedEvent(String router, String route) {
+        this.router = router;
+        this.route = route;
+        begin();
+    }
+
+    /**
+     * 结束并提交事件，未在录制或低于阈值时不做任何事
+     */
+    public void finish(int status, boolean error) {
+        end();
+        if (shouldCommit()) {
+            this.status = status;
+            this.error = error;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package getjobs.service.profiling;
+
+import getjobs.service.PlaywrightManager;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskExecution;
+import getjobs.service.task.TaskLifecycleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 启动耗时统计
+ * <p>
+ * 记录JVM启动到ApplicationReady的耗时，以及启动后第一个需要浏览器的任务（登录、采集、投递）从提交到结束的耗时。
+ * 浏览器按需启动时首个任务包含浏览器启动时间，立即启动时这部分计入应用启动，两者相加用于对比两种启动方式。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimings {
+
+    private static final Set<String> BROWSER_TASK_TYPES = Set.of(PlatformTaskService.TYPE_LOGIN,
+            PlatformTaskService.TYPE_COLLECT, PlatformTaskService.TYPE_DELIVER);
+
+    private final PlaywrightManager playwrightManager;
+
+    private volatile long jvmToReadyMs = -1;
+    private volatile long contextStartupMs = -1;
+    private volatile long readyAt;
+    private final AtomicReference<Map<String, Object>> firstTask = new AtomicReference<>();
+
+    /**
+     * 在其他启动监听（如数据恢复）之前记录，不把它们的耗时计入应用启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onReady(ApplicationReadyEvent event) {
+        readyAt = System.currentTimeMillis();
+        jvmToReadyMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        contextStartupMs = event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis();
+        log.info("应用启动完成，JVM启动至就绪: {} ms，Spring容器启动: {} ms，浏览器: {}", jvmToReadyMs, contextStartupMs,
+                playwrightManager.isEagerLaunch() ? "立即启动" : "按需启动");
+    }
+
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        TaskExecution task = event.task();
+        if (!task.isFinished() || !BROWSER_TASK_TYPES.contains(task.getType()) || firstTask.get() != null) {
+            return;
+        }
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("taskId", task.getTaskId());
+        item.put("type", task.getType());
+        item.put("state", task.getState());
+        item.put("latencyMs", task.getFinishedAt().getTime() - task.getCreatedAt().getTime());
+        item.put("submittedAfterReadyMs", readyAt > 0 ? task.getCreatedAt().getTime() - readyAt : null);
+        if (firstTask.compareAndSet(null, item)) {
+            log.info("启动后首个浏览器任务结束，任务ID: {}，状态: {}，提交到结束: {} ms", task.getTaskId(),
+                    task.getState(), item.get("latencyMs"));
+        }
+    }
+
+    /**
+     * 启动耗时，未就绪或尚无浏览器任务结束时对应字段为null
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("launchMode", playwrightManager.isEagerLaunch() ? "eager" : "lazy");
+        map.put("jvmToReadyMs", jvmToReadyMs < 0 ? null : jvmToReadyMs);
+        map.put("contextStartupMs", contextStartupMs < 0 ? null : contextStartupMs);
+        map.put("firstBrowserTask", firstTask.get());
+        return map;
+    }
+}
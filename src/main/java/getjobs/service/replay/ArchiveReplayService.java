@@ -0,0 +1,263 @@
+package getjobs.service.replay;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.ConfigEntity;
+import getjobs.service.ConfigService;
+import getjobs.service.browser.ResponseRouteProvider;
+import getjobs.service.browser.ResponseRouter;
+import getjobs.service.metrics.PipelineMetrics;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskExecution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 归档重放
+ * <p>
+ * 读取响应归档，把每条响应还原为{@link ReplayedResponse}，交给与浏览器上下文相同的响应路由，
+ * 经过各平台监控服务的解析、转换、查重与保存；可选在重放结束后对涉及的平台提交过滤任务。
+ * 重放不启动浏览器、不等待，按最快速度执行，结束后报告吞吐。
+ * 用于离线复现入库问题、修复转换逻辑后重新生成数据，以及用真实流量对比入库流程的改动。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArchiveReplayService {
+
+    /**
+     * 路由名称前缀 -> 平台
+     */
+    private static final Map<String, RecruitmentPlatformEnum> ROUTE_PLATFORMS = Map.of(
+            "boss-", RecruitmentPlatformEnum.BOSS_ZHIPIN,
+            "job51-", RecruitmentPlatformEnum.JOB_51,
+            "zhilian-", RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN,
+            "liepin-", RecruitmentPlatformEnum.LIEPIN);
+
+    private final ResponseArchive responseArchive;
+    private final List<ResponseRouteProvider> routeProviders;
+    private final PlatformTaskService platformTaskService;
+    private final ConfigService configService;
+    private final JobRepository jobRepository;
+    private final PipelineMetrics pipelineMetrics;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReplayProgress last;
+
+    /**
+     * 重放请求
+     *
+     * @param segments 分段文件名，为空时重放全部已关闭的分段
+     * @param route    只重放该路由的响应，为空时不过滤
+     * @param limit    最多重放的响应数，为空或不大于0时不限制
+     * @param filter   重放结束后是否对涉及的平台提交过滤任务
+     */
+    public record ReplayRequest(List<String> segments, String route, Integer limit, boolean filter) {
+    }
+
+    /**
+     * 开始重放，在后台执行，通过{@link #report()}查看进度与结果
+     *
+     * @throws IllegalStateException    已有重放在进行
+     * @throws IllegalArgumentException 分段不存在或没有可重放的分段
+     */
+    public Map<String, Object> start(ReplayRequest request) {
+        List<Path> segments = responseArchive.resolveSegments(request.segments());
+        if (segments.isEmpty()) {
+            throw new IllegalArgumentException("没有可重放的归档分段");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("已有重放在进行");
+        }
+        ReplayProgress progress = new ReplayProgress(segments.size());
+        last = progress;
+        Thread.ofVirtual().name("archive-replay").start(() -> {
+            try {
+                replay(segments, request, progress);
+            } catch (Exception e) {
+                log.error("归档重放失败", e);
+                progress.fail(e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+        return progress.toMap();
+    }
+
+    /**
+     * 当前或最近一次重放的进度与结果
+     */
+    public Optional<Map<String, Object>> report() {
+        ReplayProgress progress = last;
+        return progress == null ? Optional.empty() : Optional.of(progress.toMap());
+    }
+
+    private void replay(List<Path> segments, ReplayRequest request, ReplayProgress progress) throws IOException {
+        ResponseRouter router = new ResponseRouter("replay", pipelineMetrics);
+        routeProviders.forEach(provider -> provider.registerRoutes(router));
+        Set<String> routes = router.getRouteNames();
+        long limit = request.limit() == null || request.limit() <= 0 ? Long.MAX_VALUE : request.limit();
+        Set<RecruitmentPlatformEnum> platforms = new LinkedHashSet<>();
+        progress.jobsBefore = jobRepository.count();
+        log.info("开始重放归档，分段数: {}，路由: {}", segments.size(),
+                request.route() == null ? "全部" : request.route());
+
+        for (Path segment : segments) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(segment), 65536), StandardCharsets.UTF_8))) {
+                String line;
+                while (progress.records.get() < limit && (line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    ArchivedResponse archived = ResponseArchive.objectMapper().readValue(line, ArchivedResponse.class);
+                    if (request.route() != null && !request.route().isBlank()
+                            && !request.route().equals(archived.route())) {
+                        continue;
+                    }
+                    progress.records.incrementAndGet();
+                    progress.chars.addAndGet(archived.body() == null ? 0 : archived.body().length());
+                    if (!routes.contains(archived.route())) {
+                        progress.unrouted.incrementAndGet();
+                        continue;
+                    }
+                    router.dispatch(new ReplayedResponse(archived));
+                    progress.perRoute.merge(archived.route(), 1L, Long::sum);
+                    platformOf(archived.route()).ifPresent(platforms::add);
+                }
+            } catch (EOFException e) {
+                // 进程意外退出时分段末尾不完整，已刷新的部分照常重放
+                log.warn("归档分段末尾不完整: {}", segment.getFileName());
+                progress.truncatedSegments.incrementAndGet();
+            }
+            progress.segmentsDone.incrementAndGet();
+            if (progress.records.get() >= limit) {
+                break;
+            }
+        }
+        progress.jobsAfter = jobRepository.count();
+        progress.endNanos = System.nanoTime();
+
+        if (request.filter()) {
+            for (RecruitmentPlatformEnum platform : platforms) {
+                ConfigEntity configEntity = configService.loadByPlatformType(platform.getPlatformCode());
+                if (configEntity == null) {
+                    progress.filterTasks.put(platform.getPlatformCode(), "未提交: 数据库中未找到平台配置");
+                    continue;
+                }
+                try {
+                    TaskExecution task = platformTaskService.filterJobs(platform,
+                            ConfigDTO.convertFromEntity(configEntity));
+                    progress.filterTasks.put(platform.getPlatformCode(), task.getTaskId());
+                } catch (RuntimeException e) {
+                    log.warn("重放后提交{}过滤任务失败: {}", platform.getPlatformName(), e.getMessage());
+                    progress.filterTasks.put(platform.getPlatformCode(), "提交失败: " + e.getMessage());
+                }
+            }
+        }
+        progress.complete();
+        log.info("归档重放完成，响应数: {}，新增岗位: {}，耗时: {} ms", progress.records.get(),
+                progress.jobsAfter - progress.jobsBefore, progress.elapsedMs());
+    }
+
+    private static Optional<RecruitmentPlatformEnum> platformOf(String route) {
+        return ROUTE_PLATFORMS.entrySet().stream()
+                .filter(entry -> route.startsWith(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    /**
+     * 一次重放的进度，重放线程写入、接口线程读取
+     */
+    private static final class ReplayProgress {
+        private final int segments;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong segmentsDone = new AtomicLong();
+        private final AtomicLong truncatedSegments = new AtomicLong();
+        private final AtomicLong records = new AtomicLong();
+        private final AtomicLong unrouted = new AtomicLong();
+        private final AtomicLong chars = new AtomicLong();
+        private final Map<String, Long> perRoute = new ConcurrentHashMap<>();
+        private final Map<String, String> filterTasks = new ConcurrentHashMap<>();
+        private volatile long jobsBefore;
+        private volatile long jobsAfter = -1;
+        private volatile LocalDateTime finishedAt;
+        private volatile long endNanos;
+        private volatile String state = "RUNNING";
+        private volatile String error;
+
+        ReplayProgress(int segments) {
+            this.segments = segments;
+        }
+
+        void complete() {
+            finishedAt = LocalDateTime.now();
+            state = "COMPLETED";
+        }
+
+        void fail(String message) {
+            error = message;
+            endNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            state = "FAILED";
+        }
+
+        /**
+         * 重放耗时，不含结束后提交过滤任务的时间
+         */
+        long elapsedMs() {
+            return ((endNanos == 0 ? System.nanoTime() : endNanos) - startNanos) / 1_000_000;
+        }
+
+        Map<String, Object> toMap() {
+            long elapsedMs = Math.max(1, elapsedMs());
+            long replayed = records.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("state", state);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            map.put("segments", segments);
+            map.put("segmentsDone", segmentsDone.get());
+            map.put("truncatedSegments", truncatedSegments.get());
+            map.put("records", replayed);
+            map.put("unrouted", unrouted.get());
+            map.put("perRoute", perRoute);
+            map.put("elapsedMs", elapsedMs);
+            map.put("recordsPerSecond", Math.round(replayed * 1000.0 / elapsedMs));
+            map.put("bodyMbPerSecond", Math.round(chars.get() * 1000.0 / elapsedMs / 1024 / 1024 * 100) / 100.0);
+            if (jobsAfter >= 0) {
+                map.put("newJobs", jobsAfter - jobsBefore);
+                map.put("newJobsPerSecond", Math.round((jobsAfter - jobsBefore) * 1000.0 / elapsedMs));
+            }
+            map.put("filterTasks", filterTasks);
+            map.put("error", error);
+            return map;
+        }
+    }
+}
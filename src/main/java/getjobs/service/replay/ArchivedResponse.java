@@ -0,0 +1,17 @@
+package getjobs.service.replay;
+
+import java.time.LocalDateTime;
+
+/**
+ * 归档中的一条接口响应，对应NDJSON分段中的一行
+ *
+ * @param time   捕获时间
+ * @param route  路由名称
+ * @param url    响应URL
+ * @param status 响应状态码
+ * @param body   响应体
+ * @author getjobs
+ * @since v2.1.4
+ */
+public record ArchivedResponse(LocalDateTime time, String route, String url, int status, String body) {
+}
@@ -0,0 +1,114 @@
+package getjobs.service.replay;
+
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.HttpHeader;
+import com.microsoft.playwright.options.SecurityDetails;
+import com.microsoft.playwright.options.ServerAddr;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 由归档还原的响应，交给监控服务的路由处理器时与浏览器捕获的响应没有区别
+ * <p>
+ * 只提供处理器会用到的URL、状态码和响应体，与页面、请求相关的方法不可用。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public class ReplayedResponse implements Response {
+
+    private final ArchivedResponse archived;
+
+    public ReplayedResponse(ArchivedResponse archived) {
+        this.archived = archived;
+    }
+
+    @Override
+    public String url() {
+        return archived.url();
+    }
+
+    @Override
+    public int status() {
+        return archived.status();
+    }
+
+    @Override
+    public String statusText() {
+        return "";
+    }
+
+    @Override
+    public boolean ok() {
+        return archived.status() == 0 || (archived.status() >= 200 && archived.status() <= 299);
+    }
+
+    @Override
+    public String text() {
+        return archived.body();
+    }
+
+    @Override
+    public byte[] body() {
+        return archived.body() == null ? new byte[0] : archived.body().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Map<String, String> headers() {
+        return Map.of();
+    }
+
+    @Override
+    public Map<String, String> allHeaders() {
+        return Map.of();
+    }
+
+    @Override
+    public List<HttpHeader> headersArray() {
+        return List.of();
+    }
+
+    @Override
+    public String headerValue(String name) {
+        return null;
+    }
+
+    @Override
+    public List<String> headerValues(String name) {
+        return List.of();
+    }
+
+    @Override
+    public String finished() {
+        return null;
+    }
+
+    @Override
+    public boolean fromServiceWorker() {
+        return false;
+    }
+
+    @Override
+    public Frame frame() {
+        throw new UnsupportedOperationException("重放的响应没有关联页面");
+    }
+
+    @Override
+    public Request request() {
+        throw new UnsupportedOperationException("重放的响应没有关联请求");
+    }
+
+    @Override
+    public SecurityDetails securityDetails() {
+        return null;
+    }
+
+    @Override
+    public ServerAddr serverAddr() {
+        return null;
+    }
+}
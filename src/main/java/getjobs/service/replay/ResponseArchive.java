@@ -0,0 +1,313 @@
+package getjobs.service.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import getjobs.config.ResponseArchiveConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 接口响应归档
+ * <p>
+ * 开启后，捕获的接口响应（URL、状态码、时间、响应体）由单独的写入线程追加到gzip压缩的NDJSON分段中，
+ * 分段按大小和时长滚动。响应处理线程只做入队，队列满时丢弃并计数，不会因磁盘写入变慢。
+ * 归档可通过{@link ArchiveReplayService}离线重放到入库流程。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseArchive {
+
+    static final String SEGMENT_PREFIX = "responses-";
+    static final String SEGMENT_SUFFIX = ".ndjson.gz";
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final ResponseArchiveConfig archiveConfig;
+
+    private BlockingQueue<ArchivedResponse> queue;
+    private Thread writer;
+    private volatile boolean running;
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * 当前分段的打开、写入与关闭都在锁内进行，写入线程与滚动接口互斥
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private OutputStream segmentOut;
+    private volatile Path segmentFile;
+    private long segmentBytes;
+    private LocalDateTime segmentOpenedAt;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(Math.max(1, archiveConfig.getQueueCapacity()));
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("response-archive").start(this::writeLoop);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 不中断写入线程，中断会关闭正在写入的文件通道；写入线程在队列清空后自行退出
+        running = false;
+        try {
+            writer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        roll();
+    }
+
+    /**
+     * 归档一条响应，未开启归档时不做任何事
+     *
+     * @return 是否已入队
+     */
+    public boolean append(String route, String url, int status, String body) {
+        if (!archiveConfig.isEnabled() || !running) {
+            return false;
+        }
+        if (!queue.offer(new ArchivedResponse(LocalDateTime.now(), route, url, status, body))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 关闭当前分段，之后的响应写入新分段。重放只读取已关闭的分段，需要包含最新响应时先滚动
+     *
+     * @return 被关闭的分段文件名，没有打开的分段时返回null
+     */
+    public String roll() {
+        lock.lock();
+        try {
+            if (segmentOut == null) {
+                return null;
+            }
+            String name = segmentFile.getFileName().toString();
+            try {
+                segmentOut.close();
+            } catch (IOException e) {
+                log.warn("关闭归档分段失败: {}", e.getMessage());
+            }
+            log.info("归档分段已关闭: {}，未压缩 {} 字节", name, segmentBytes);
+            segmentOut = null;
+            segmentFile = null;
+            prune();
+            return name;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取归档分段，按时间先后排列
+     */
+    public List<Map<String, Object>> listSegments() {
+        Path dir = archiveDir();
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        Path active = segmentFile;
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(ResponseArchive::isSegment)
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .map(file -> {
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put("name", file.getFileName().toString());
+                        item.put("sizeBytes", sizeOf(file));
+                        item.put("active", file.equals(active));
+                        return item;
+                    })
+                    .toList();
+        } catch (IOException e) {
+            log.warn("读取归档目录失败: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 按文件名解析已关闭的分段，名称为空时返回全部已关闭的分段
+     */
+    public List<Path> resolveSegments(List<String> names) {
+        Path dir = archiveDir();
+        Path active = segmentFile;
+        List<Path> result = new ArrayList<>();
+        if (names == null || names.isEmpty()) {
+            listSegments().stream()
+                    .filter(item -> !(Boolean) item.get("active"))
+                    .forEach(item -> result.add(dir.resolve((String) item.get("name"))));
+            return result;
+        }
+        for (String name : names) {
+            Path file = dir.resolve(name).normalize();
+            if (!file.getParent().equals(dir) || !isSegment(file) || !Files.isRegularFile(file)) {
+                throw new IllegalArgumentException("归档分段不存在: " + name);
+            }
+            if (file.equals(active)) {
+                throw new IllegalArgumentException("分段仍在写入，请先滚动: " + name);
+            }
+            result.add(file);
+        }
+        return result;
+    }
+
+    /**
+     * 归档状态
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", archiveConfig.isEnabled());
+        status.put("dir", archiveDir().toString());
+        status.put("archived", archived.get());
+        status.put("dropped", dropped.get());
+        status.put("queued", queue.size());
+        Path active = segmentFile;
+        status.put("activeSegment", active == null ? null : active.getFileName().toString());
+        return status;
+    }
+
+    static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    Path archiveDir() {
+        return Paths.get(archiveConfig.getDir()).toAbsolutePath().normalize();
+    }
+
+    private void writeLoop() {
+        List<ArchivedResponse> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                ArchivedResponse first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    rollIfExpired();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 255);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ArchivedResponse> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            for (ArchivedResponse response : batch) {
+                if (segmentOut == null) {
+                    openSegment();
+                }
+                byte[] line = OBJECT_MAPPER.writeValueAsBytes(response);
+                segmentOut.write(line);
+                segmentOut.write('\n');
+                segmentBytes += line.length + 1;
+                archived.incrementAndGet();
+                if (segmentBytes >= (long) archiveConfig.getSegmentMaxMb() * 1024 * 1024) {
+                    roll();
+                }
+            }
+            if (segmentOut != null) {
+                segmentOut.flush();
+            }
+        } catch (IOException e) {
+            dropped.addAndGet(batch.size());
+            log.warn("写入归档分段失败: {}", e.getMessage());
+            roll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rollIfExpired() {
+        lock.lock();
+        try {
+            if (segmentOut != null && segmentOpenedAt.plusMinutes(archiveConfig.getSegmentMaxMinutes())
+                    .isBefore(LocalDateTime.now())) {
+                roll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Path dir = archiveDir();
+        Files.createDirectories(dir);
+        segmentOpenedAt = LocalDateTime.now();
+        segmentFile = dir.resolve(SEGMENT_PREFIX + segmentOpenedAt.format(FILE_TIME) + SEGMENT_SUFFIX);
+        // syncFlush：每批写入后刷新压缩块，进程意外退出时已写入的行仍可读取
+        segmentOut = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(segmentFile), 65536, true),
+                65536);
+        segmentBytes = 0;
+        log.info("开始写入归档分段: {}", segmentFile.getFileName());
+    }
+
+    /**
+     * 只保留最近的若干个分段
+     */
+    private void prune() {
+        List<Map<String, Object>> segments = listSegments();
+        for (int i = 0; i < segments.size() - Math.max(1, archiveConfig.getMaxSegments()); i++) {
+            Path file = archiveDir().resolve((String) segments.get(i).get("name"));
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("删除旧的归档分段失败: {}", file);
+            }
+        }
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+package getjobs.service.schedule;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.RunScheduleConfig;
+import getjobs.repository.RunScheduleRepository;
+import getjobs.repository.entity.ConfigEntity;
+import getjobs.repository.entity.RunScheduleEntity;
+import getjobs.service.ConfigService;
+import getjobs.service.DeliveryPacingService;
+import getjobs.service.pipeline.PipelineRunService;
+import getjobs.service.snapshot.SnapshotWriter;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskEngine;
+import getjobs.service.task.TaskExecution;
+import getjobs.service.task.TaskRejectedException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 定时运行服务：按计划在无人值守时提交采集、过滤、投递或流水线任务
+ * <p>
+ * 计划按cron表达式触发，每次触发在cron时间后随机延后0~jitterSeconds秒，避免每天在同一秒开始访问平台。
+ * 触发前依次检查：
+ * <ul>
+ *     <li>同一平台已有任务在排队或执行（包括手动提交的任务）时跳过本次触发，不叠加运行；</li>
+ *     <li>流水线和投递任务实际投递时检查当日剩余投递额度，低于计划要求的额度时流水线缩减为只采集，
+ *     投递任务跳过；</li>
+ *     <li>进程停止期间错过的触发超过宽限时长时不补跑，直接排到下一个触发时间。</li>
+ * </ul>
+ * 任务使用数据库中保存的平台配置。计划保存在run_schedule表中，数据库为内存库，由{@link SnapshotWriter}写入快照文件，
+ * 启动时从快照恢复：计划的增删改立即写入，触发记录随定时任务合并写入。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RunScheduleService {
+
+    /**
+     * 可定时运行的任务类型
+     */
+    public static final Set<String> TASK_TYPES = Set.of(PipelineRunService.TYPE_PIPELINE,
+            PlatformTaskService.TYPE_COLLECT, PlatformTaskService.TYPE_FILTER, PlatformTaskService.TYPE_DELIVER);
+
+    /**
+     * 一次触发的结果
+     */
+    public enum Outcome {
+        /**
+         * 已提交任务
+         */
+        SUBMITTED,
+        /**
+         * 剩余投递额度不足，流水线缩减为只采集
+         */
+        SHORTENED,
+        /**
+         * 平台已有任务在执行、额度已用完或缺少平台配置，本次跳过
+         */
+        SKIPPED,
+        /**
+         * 错过触发时间超过宽限时长，本次跳过
+         */
+        MISFIRED,
+        /**
+         * 任务队列已满或提交失败
+         */
+        REJECTED
+    }
+
+    /**
+     * 快照中的计划
+     */
+    record ScheduleSnapshot(String name, String platform, String taskType, String cron, int jitterSeconds,
+                            boolean enabled, boolean actualDelivery, int minBudget, LocalDateTime lastFireAt,
+                            String lastTaskId, String lastOutcome, String lastMessage, LocalDateTime createdAt) {
+    }
+
+    private final RunScheduleRepository scheduleRepository;
+    private final RunScheduleConfig scheduleConfig;
+    private final TaskEngine taskEngine;
+    private final PlatformTaskService platformTaskService;
+    private final PipelineRunService pipelineRunService;
+    private final DeliveryPacingService deliveryPacingService;
+    private final ConfigService configService;
+    private final SnapshotWriter snapshotWriter;
+
+    private SnapshotWriter.Registration snapshot;
+
+    /**
+     * 触发与计划变更互斥
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        restoreSnapshot();
+        snapshot = snapshotWriter.register("定时计划", scheduleConfig::getSnapshotFile, this::exportSnapshot);
+    }
+
+    /**
+     * 获取全部计划
+     */
+    public List<RunScheduleEntity> list() {
+        return scheduleRepository.findAllByOrderByIdAsc();
+    }
+
+    public Optional<RunScheduleEntity> get(Long id) {
+        return scheduleRepository.findById(id);
+    }
+
+    /**
+     * 新建计划
+     *
+     * @throws IllegalArgumentException 平台、任务类型或cron表达式无效
+     */
+    public RunScheduleEntity create(RunScheduleEntity schedule) {
+        lock.lock();
+        try {
+            schedule.setId(null);
+            validate(schedule);
+            schedule.setNextFireAt(nextFireTime(schedule, LocalDateTime.now()));
+            RunScheduleEntity saved = scheduleRepository.save(schedule);
+            snapshot.markDirty();
+            log.info("已新建定时计划[{}]，平台: {}，任务: {}，cron: {}，下次触发: {}", saved.getName(),
+                    saved.getPlatform(), saved.getTaskType(), saved.getCron(), saved.getNextFireAt());
+            return saved;
+        } finally {
+            lock.unlock();
+            snapshot.flush();
+        }
+    }
+
+    /**
+     * 修改计划，下次触发时间按新的cron表达式重新计算
+     *
+     * @throws IllegalArgumentException 平台、任务类型或cron表达式无效
+     */
+    public Optional<RunScheduleEntity> update(Long id, RunScheduleEntity changes) {
+        lock.lock();
+        try {
+            Optional<RunScheduleEntity> existing = scheduleRepository.findById(id);
+            if (existing.isEmpty()) {
+                return Optional.empty();
+            }
+            validate(changes);
+            RunScheduleEntity schedule = existing.get();
+            schedule.setName(changes.getName());
+            schedule.setPlatform(changes.getPlatform());
+            schedule.setTaskType(changes.getTaskType());
+            schedule.setCron(changes.getCron());
+            schedule.setJitterSeconds(changes.getJitterSeconds());
+            schedule.setEnabled(changes.getEnabled());
+            schedule.setActualDelivery(changes.getActualDelivery());
+            schedule.setMinBudget(changes.getMinBudget());
+            schedule.setNextFireAt(nextFireTime(schedule, LocalDateTime.now()));
+            RunScheduleEntity saved = scheduleRepository.save(schedule);
+            snapshot.markDirty();
+            return Optional.of(saved);
+        } finally {
+            lock.unlock();
+            snapshot.flush();
+        }
+    }
+
+    /**
+     * 删除计划，已提交的任务不受影响
+     */
+    public boolean delete(Long id) {
+        lock.lock();
+        try {
+            if (!scheduleRepository.existsById(id)) {
+                return false;
+            }
+            scheduleRepository.deleteById(id);
+            snapshot.markDirty();
+            return true;
+        } finally {
+            lock.unlock();
+            snapshot.flush();
+        }
+    }
+
+    /**
+     * 立即触发一次计划，同样经过重叠与额度检查，不改变下次触发时间
+     */
+    public Optional<RunScheduleEntity> trigger(Long id) {
+        lock.lock();
+        try {
+            Optional<RunScheduleEntity> schedule = scheduleRepository.findById(id);
+            schedule.ifPresent(this::fire);
+            if (schedule.isPresent()) {
+                snapshot.markDirty();
+            }
+            return schedule;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 检查并触发到期的计划
+     */
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${task.schedule.tick-interval-ms:30000}")
+    public void tick() {
+        if (!scheduleConfig.isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<RunScheduleEntity> due = scheduleRepository
+                    .findByEnabledTrueAndNextFireAtLessThanEqualOrderByNextFireAtAsc(now);
+            if (due.isEmpty()) {
+                return;
+            }
+            LocalDateTime misfireBefore = now.minusMinutes(Math.max(1, scheduleConfig.getMisfireGraceMinutes()));
+            for (RunScheduleEntity schedule : due) {
+                try {
+                    if (schedule.getNextFireAt().isBefore(misfireBefore)) {
+                        record(schedule, Outcome.MISFIRED, null, "错过触发时间: " + schedule.getNextFireAt());
+                    } else {
+                        fire(schedule);
+                    }
+                } catch (Exception e) {
+                    log.error("定时计划[{}]触发失败", schedule.getName(), e);
+                    record(schedule, Outcome.REJECTED, null, "触发失败: " + e.getMessage());
+                }
+                schedule.setNextFireAt(nextFireTime(schedule, now));
+                scheduleRepository.save(schedule);
+            }
+            snapshot.markDirty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 计算指定时间之后的下一次触发时间（含随机延后）
+     *
+     * @return 下一次触发时间，cron表达式不会再触发时为null
+     */
+    public LocalDateTime nextFireTime(RunScheduleEntity schedule, LocalDateTime after) {
+        LocalDateTime next = CronExpression.parse(schedule.getCron()).next(after);
+        int jitter = schedule.getJitterSeconds() == null ? 0 : Math.max(0, schedule.getJitterSeconds());
+        if (next == null || jitter == 0) {
+            return next;
+        }
+        return next.plusSeconds(ThreadLocalRandom.current().nextLong(jitter + 1L));
+    }
+
+    /**
+     * 触发一次计划：检查重叠和剩余额度后提交任务，结果记录在计划上
+     */
+    private void fire(RunScheduleEntity schedule) {
+        RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(schedule.getPlatform());
+        Optional<TaskExecution> active = taskEngine.list(platform.getPlatformCode()).stream()
+                .filter(task -> !task.isFinished())
+                .findFirst();
+        if (active.isPresent()) {
+            record(schedule, Outcome.SKIPPED, null, "平台已有任务在执行: " + active.get().getTaskId());
+            return;
+        }
+        ConfigEntity configEntity = configService.loadByPlatformType(platform.getPlatformCode());
+        if (configEntity == null) {
+            record(schedule, Outcome.SKIPPED, null, "数据库中未找到平台配置");
+            return;
+        }
+        ConfigDTO config = ConfigDTO.convertFromEntity(configEntity);
+
+        String taskType = schedule.getTaskType();
+        Outcome outcome = Outcome.SUBMITTED;
+        String message = null;
+        boolean delivers = PipelineRunService.TYPE_PIPELINE.equals(taskType)
+                || PlatformTaskService.TYPE_DELIVER.equals(taskType);
+        if (delivers && Boolean.TRUE.equals(schedule.getActualDelivery())) {
+            int remaining = deliveryPacingService.getRemainingBudget(platform);
+            int required = Math.max(1, schedule.getMinBudget() == null ? 1 : schedule.getMinBudget());
+            if (remaining < required) {
+                if (PlatformTaskService.TYPE_DELIVER.equals(taskType)) {
+                    record(schedule, Outcome.SKIPPED, null,
+                            String.format("今日剩余投递额度 %d，低于计划要求的 %d", remaining, required));
+                    return;
+                }
+                // 额度不足时仍采集新岗位，留到下一个有额度的时段投递
+                taskType = PlatformTaskService.TYPE_COLLECT;
+                outcome = Outcome.SHORTENED;
+                message = String.format("今日剩余投递额度 %d，低于计划要求的 %d，本次只采集", remaining, required);
+            }
+        }
+
+        try {
+            TaskExecution task = submit(platform, taskType, config, Boolean.TRUE.equals(schedule.getActualDelivery()));
+            record(schedule, outcome, task.getTaskId(), message);
+        } catch (TaskRejectedException e) {
+            record(schedule, Outcome.REJECTED, null, e.getMessage());
+        }
+    }
+
+    private TaskExecution submit(RecruitmentPlatformEnum platform, String taskType, ConfigDTO config,
+                                 boolean actualDelivery) {
+        return switch (taskType) {
+            case PipelineRunService.TYPE_PIPELINE -> pipelineRunService.start(platform, config, actualDelivery);
+            case PlatformTaskService.TYPE_COLLECT -> platformTaskService.collectJobs(platform, config);
+            case PlatformTaskService.TYPE_FILTER -> platformTaskService.filterJobs(platform, config);
+            case PlatformTaskService.TYPE_DELIVER -> platformTaskService.deliverJobs(platform, config, actualDelivery);
+            default -> throw new IllegalArgumentException("不支持的任务类型: " + taskType);
+        };
+    }
+
+    private void record(RunScheduleEntity schedule, Outcome outcome, String taskId, String message) {
+        schedule.setLastFireAt(LocalDateTime.now());
+        schedule.setLastOutcome(outcome.name());
+        schedule.setLastTaskId(taskId);
+        schedule.setLastMessage(message != null && message.length() > 500 ? message.substring(0, 500) : message);
+        scheduleRepository.save(schedule);
+        if (outcome == Outcome.SUBMITTED || outcome == Outcome.SHORTENED) {
+            log.info("定时计划[{}]已提交任务: {}{}", schedule.getName(), taskId, message != null ? "，" + message : "");
+        } else {
+            log.info("定时计划[{}]本次{}: {}", schedule.getName(), outcome == Outcome.REJECTED ? "提交失败" : "跳过",
+                    message);
+        }
+    }
+
+    /**
+     * 校验计划，省略秒的5段cron表达式补全为6段
+     */
+    private void validate(RunScheduleEntity schedule) {
+        if (RecruitmentPlatformEnum.getByCode(schedule.getPlatform()) == null) {
+            throw new IllegalArgumentException("不支持的平台: " + schedule.getPlatform());
+        }
+        if (schedule.getTaskType() == null || !TASK_TYPES.contains(schedule.getTaskType())) {
+            throw new IllegalArgumentException("不支持的任务类型: " + schedule.getTaskType());
+        }
+        String cron = schedule.getCron() == null ? "" : schedule.getCron().trim();
+        if (cron.split("\\s+").length == 5) {
+            cron = "0 " + cron;
+        }
+        try {
+            CronExpression.parse(cron);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("cron表达式无效: " + e.getMessage());
+        }
+        schedule.setCron(cron);
+        if (schedule.getName() == null || schedule.getName().isBlank()) {
+            schedule.setName(schedule.getPlatform() + "-" + schedule.getTaskType());
+        }
+        schedule.setJitterSeconds(schedule.getJitterSeconds() == null ? 0 : Math.max(0, schedule.getJitterSeconds()));
+        schedule.setEnabled(schedule.getEnabled() == null || schedule.getEnabled());
+        schedule.setActualDelivery(Boolean.TRUE.equals(schedule.getActualDelivery()));
+        schedule.setMinBudget(schedule.getMinBudget() == null ? 1 : Math.max(0, schedule.getMinBudget()));
+    }
+
+    /**
+     * 导出快照，由{@link SnapshotWriter}在写入线程中调用
+     */
+    private List<ScheduleSnapshot> exportSnapshot() {
+        return scheduleRepository.findAllByOrderByIdAsc().stream()
+                .map(s -> new ScheduleSnapshot(s.getName(), s.getPlatform(), s.getTaskType(),
+                        s.getCron(), s.getJitterSeconds(), s.getEnabled(), s.getActualDelivery(),
+                        s.getMinBudget(), s.getLastFireAt(), s.getLastTaskId(), s.getLastOutcome(),
+                        s.getLastMessage(), s.getCreatedAt()))
+                .toList();
+    }
+
+    /**
+     * 从快照恢复，下次触发时间从当前时间重新计算，进程停止期间错过的触发不补跑
+     */
+    private void restoreSnapshot() {
+        try {
+            List<ScheduleSnapshot> saved = snapshotWriter.read(scheduleConfig.getSnapshotFile(),
+                    new TypeReference<List<ScheduleSnapshot>>() {
+                    }).orElse(null);
+            if (saved == null) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<RunScheduleEntity> entities = new ArrayList<>(saved.size());
+            for (ScheduleSnapshot item : saved) {
+                RunScheduleEntity entity = new RunScheduleEntity();
+                entity.setName(item.name());
+                entity.setPlatform(item.platform());
+                entity.setTaskType(item.taskType());
+                entity.setCron(item.cron());
+                entity.setJitterSeconds(item.jitterSeconds());
+                entity.setEnabled(item.enabled());
+                entity.setActualDelivery(item.actualDelivery());
+                entity.setMinBudget(item.minBudget());
+                entity.setLastFireAt(item.lastFireAt());
+                entity.setLastTaskId(item.lastTaskId());
+                entity.setLastOutcome(item.lastOutcome());
+                entity.setLastMessage(item.lastMessage());
+                if (item.createdAt() != null) {
+                    entity.setCreatedAt(item.createdAt());
+                }
+                try {
+                    entity.setNextFireAt(nextFireTime(entity, now));
+                } catch (IllegalArgumentException e) {
+                    log.warn("定时计划[{}]的cron表达式无效，已停用: {}", item.name(), e.getMessage());
+                    entity.setEnabled(false);
+                }
+                entities.add(entity);
+            }
+            scheduleRepository.saveAll(entities);
+            log.info("已从快照恢复定时计划: {}", entities.size());
+        } catch (Exception e) {
+            log.warn("恢复定时计划快照失败: {}", e.getMessage());
+        }
+    }
+}
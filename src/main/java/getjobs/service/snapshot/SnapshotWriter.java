@@ -0,0 +1,146 @@
+package getjobs.service.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 内存库快照
+ * <p>
+ * 数据库为内存库，需要跨进程保留的表（采集边界、投递队列、任务历史、定时计划）各自注册一个快照文件。
+ * 表变更后只标记待写入，由定时任务按snapshot.flush-interval-ms合并写入，间隔内的多次变更只导出一次整表；
+ * 应用关闭时在销毁Bean之前写入尚未落盘的快照。写入时先写临时文件再原子替换，不持有各服务的锁。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+public class SnapshotWriter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+    /**
+     * 注册快照
+     *
+     * @param name    快照名称，用于日志
+     * @param file    快照文件路径
+     * @param content 导出快照内容，在写入线程中调用
+     * @return 快照登记，表变更后调用{@link Registration#markDirty()}
+     */
+    public Registration register(String name, Supplier<String> file, Supplier<?> content) {
+        Registration registration = new Registration(name, file, content);
+        registrations.add(registration);
+        return registration;
+    }
+
+    /**
+     * 读取快照文件
+     *
+     * @return 快照内容，文件不存在时为空
+     */
+    public <T> Optional<T> read(String file, TypeReference<T> type) throws IOException {
+        Path source = Paths.get(file);
+        if (!Files.isRegularFile(source)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(OBJECT_MAPPER.readValue(source.toFile(), type));
+    }
+
+    /**
+     * 写入有变更的快照
+     */
+    @Scheduled(fixedDelayString = "${snapshot.flush-interval-ms:2000}")
+    public void flushDirty() {
+        registrations.forEach(Registration::flush);
+    }
+
+    /**
+     * 应用关闭时写入尚未落盘的快照，此时数据源尚未关闭
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onClose() {
+        flushDirty();
+    }
+
+    /**
+     * 快照登记
+     */
+    public static final class Registration {
+
+        private final String name;
+        private final Supplier<String> file;
+        private final Supplier<?> content;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        /**
+         * 定时写入与关闭时写入互斥
+         */
+        private final ReentrantLock writeLock = new ReentrantLock();
+
+        private Registration(String name, Supplier<String> file, Supplier<?> content) {
+            this.name = name;
+            this.file = file;
+            this.content = content;
+        }
+
+        /**
+         * 标记表已变更，下一次定时写入时导出
+         */
+        public void markDirty() {
+            dirty.set(true);
+        }
+
+        /**
+         * 有变更时立即写入
+         */
+        public void flush() {
+            writeLock.lock();
+            try {
+                if (!dirty.getAndSet(false)) {
+                    return;
+                }
+                try {
+                    write();
+                } catch (Exception e) {
+                    // 下一次定时写入时重试
+                    dirty.set(true);
+                    log.warn("写入{}快照失败: {}", name, e.getMessage());
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void write() throws IOException {
+            Path target = Paths.get(file.get());
+            Object snapshot = content.get();
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+            OBJECT_MAPPER.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
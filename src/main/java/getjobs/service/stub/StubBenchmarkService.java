@@ -0,0 +1,373 @@
+package getjobs.service.stub;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.ConfigEntity;
+import getjobs.service.ConfigService;
+import getjobs.service.task.PlatformTaskService;
+import getjobs.service.task.TaskCounters;
+import getjobs.service.task.TaskEngine;
+import getjobs.service.task.TaskExecution;
+import getjobs.service.task.TaskState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 桩站点压测
+ * <p>
+ * 把平台基础URL临时指向{@link StubRecruitmentSite}，按平台依次提交与正式采集相同的采集任务和过滤任务，
+ * 完整经过浏览器（采集上下文为无头模式）、响应监听、解析入库与过滤，记录每轮耗时和新增岗位数，报告每分钟岗位数。
+ * 每轮使用新的轮次标记，岗位ID与搜索单元都与上一轮不同，不会被查重或断点续采跳过；结束后恢复原来的基础URL。
+ * 基础URL对整个进程生效，因此平台还有未结束的任务时不开始压测，每轮期间独占该平台的任务通道，
+ * 其他来源（接口、定时计划、编排采集）提交的任务被拒绝，不会误访问桩站点。
+ * <p>
+ * 指定maxTabs时对每个平台依次以1到maxTabs个标签页采集，报告每分钟完成的搜索单元数与相对单标签页的耗时加速比。
+ * 标签页之间共用平台的采集限流，测量并行收益时应把collection.parallel.requests-per-minute设为0（不限流）。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StubBenchmarkService {
+
+    private static final long POLL_INTERVAL_MS = 500;
+
+    private final StubRecruitmentSite stubSite;
+    private final PlatformTaskService platformTaskService;
+    private final TaskEngine taskEngine;
+    private final ConfigService configService;
+    private final JobRepository jobRepository;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile BenchmarkProgress last;
+
+    /**
+     * 压测请求，页数、每页岗位数与延迟未指定时沿用桩站点当前的设置
+     *
+     * @param platforms       平台代码，为空时压测桩站点支持的全部平台
+     * @param runs            每个平台的轮数，默认1
+     * @param cityCodes       城市代码，逗号分隔，为空时使用数据库中的平台配置
+     * @param keywords        关键词，逗号分隔，为空时使用数据库中的平台配置
+     * @param pages           每个搜索单元的页数
+     * @param pageSize        每页岗位数
+     * @param latencyMs       列表接口的固定延迟（毫秒）
+     * @param latencyJitterMs 列表接口的随机抖动（毫秒）
+     * @param filter          采集后是否执行过滤
+     * @param timeoutMinutes  单个任务的等待上限（分钟），默认30
+     * @param maxTabs         标签页数扫描的上限，每轮依次以1到maxTabs个标签页采集；为空时按配置的标签页数只采集一次
+     */
+    public record BenchmarkRequest(List<String> platforms, Integer runs, String cityCodes, String keywords,
+                                   Integer pages, Integer pageSize, Integer latencyMs, Integer latencyJitterMs,
+                                   boolean filter, Integer timeoutMinutes, Integer maxTabs) {
+    }
+
+    /**
+     * 开始压测，在后台执行，通过{@link #report()}查看进度与结果
+     *
+     * @throws IllegalStateException    已有压测在进行，或平台还有未结束的任务
+     * @throws IllegalArgumentException 平台不受桩站点支持或缺少搜索条件
+     */
+    public Map<String, Object> start(BenchmarkRequest request) {
+        List<RecruitmentPlatformEnum> platforms = new ArrayList<>();
+        if (request.platforms() == null || request.platforms().isEmpty()) {
+            platforms.addAll(StubRecruitmentSite.PLATFORMS);
+        } else {
+            for (String code : request.platforms()) {
+                RecruitmentPlatformEnum platform = RecruitmentPlatformEnum.getByCode(code);
+                if (platform == null || !StubRecruitmentSite.PLATFORMS.contains(platform)) {
+                    throw new IllegalArgumentException("桩站点不支持的平台: " + code);
+                }
+                platforms.add(platform);
+            }
+        }
+        Map<RecruitmentPlatformEnum, ConfigDTO> configs = new LinkedHashMap<>();
+        for (RecruitmentPlatformEnum platform : platforms) {
+            configs.put(platform, benchmarkConfig(platform, request));
+        }
+        for (RecruitmentPlatformEnum platform : platforms) {
+            long unfinished = taskEngine.list(platform.getPlatformCode()).stream()
+                    .filter(task -> !task.isFinished())
+                    .count();
+            if (unfinished > 0) {
+                throw new IllegalStateException(String.format("%s还有 %d 个未结束的任务，压测会临时改动平台基础URL，请等待任务结束",
+                        platform.getPlatformName(), unfinished));
+            }
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("已有压测在进行");
+        }
+        int runs = request.runs() == null ? 1 : Math.max(1, request.runs());
+        List<Integer> tabSweep = new ArrayList<>();
+        if (request.maxTabs() == null) {
+            tabSweep.add(null);
+        } else {
+            for (int tabs = 1; tabs <= Math.max(1, request.maxTabs()); tabs++) {
+                tabSweep.add(tabs);
+            }
+        }
+        BenchmarkProgress progress = new BenchmarkProgress(platforms.size() * runs * tabSweep.size());
+        last = progress;
+        Thread.ofVirtual().name("stub-benchmark").start(() -> {
+            StubRecruitmentSite.Scenario previous = stubSite.getScenario();
+            try {
+                stubSite.start();
+                stubSite.setScenario(previous.merge(request.pages(), request.pageSize(), request.latencyMs(),
+                        request.latencyJitterMs()));
+                progress.scenario = stubSite.getScenario();
+                for (int run = 1; run <= runs; run++) {
+                    for (Map.Entry<RecruitmentPlatformEnum, ConfigDTO> entry : configs.entrySet()) {
+                        for (Integer tabs : tabSweep) {
+                            entry.getValue().setCollectTabs(tabs);
+                            progress.results.add(runOnce(entry.getKey(), entry.getValue(), run, request));
+                        }
+                    }
+                }
+                progress.complete();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                progress.fail("压测被中断");
+            } catch (Exception e) {
+                log.error("桩站点压测失败", e);
+                progress.fail(e.getMessage());
+            } finally {
+                stubSite.setScenario(previous);
+                running.set(false);
+            }
+        });
+        return progress.toMap();
+    }
+
+    /**
+     * 当前或最近一次压测的进度与结果
+     */
+    public Optional<Map<String, Object>> report() {
+        BenchmarkProgress progress = last;
+        return progress == null ? Optional.empty() : Optional.of(progress.toMap());
+    }
+
+    private RunResult runOnce(RecruitmentPlatformEnum platform, ConfigDTO config, int run, BenchmarkRequest request)
+            throws InterruptedException {
+        String runTag = "b" + Long.toString(System.currentTimeMillis(), 36) + "-" + run;
+        String jobPlatform = PlatformTaskService.jobPlatformOf(platform);
+        long timeoutMs = TimeUnit.MINUTES.toMillis(request.timeoutMinutes() == null ? 30
+                : Math.max(1, request.timeoutMinutes()));
+        // 先独占通道再改基础URL：通道中没有其他任务，改动期间也不会有其他任务进入
+        Runnable releaseLane = taskEngine.reserve(platform, "桩站点压测");
+        String previous = platform.overrideBaseUrl(stubSite.baseUrl(platform, runTag));
+        log.info("[{}] 桩站点压测第{}轮开始，基础URL: {}", platform.getPlatformName(), run, platform.getHomeUrl());
+        try {
+            long jobsBefore = jobRepository.countByPlatform(jobPlatform);
+            long start = System.nanoTime();
+            TaskExecution collect = await(platformTaskService.collectJobs(platform, config), timeoutMs);
+            long collectNanos = System.nanoTime() - start;
+            long newJobs = jobRepository.countByPlatform(jobPlatform) - jobsBefore;
+            long units = collect.getCounters().getOrDefault(TaskCounters.UNITS, 0L);
+
+            TaskExecution filter = null;
+            if (request.filter() && collect.getState() == TaskState.COMPLETED && newJobs > 0) {
+                filter = await(platformTaskService.filterJobs(platform, config), timeoutMs);
+            }
+            long totalNanos = System.nanoTime() - start;
+            RunResult result = new RunResult(platform.getPlatformCode(), run, runTag, config.getCollectTabs(),
+                    collect.getState().name(), filter == null ? null : filter.getState().name(),
+                    TimeUnit.NANOSECONDS.toMillis(collectNanos), TimeUnit.NANOSECONDS.toMillis(totalNanos), newJobs,
+                    units, collect.getCounters(), perMinute(newJobs, collectNanos), perMinute(newJobs, totalNanos),
+                    perMinute(units, collectNanos),
+                    collect.getError() != null ? collect.getError() : filter == null ? null : filter.getError());
+            log.info("[{}] 桩站点压测第{}轮完成，标签页: {}，新增岗位: {}，单元: {}，耗时: {} ms，每分钟岗位数: {}，每分钟单元数: {}",
+                    platform.getPlatformName(), run, result.tabs() == null ? "默认" : result.tabs(), newJobs, units,
+                    result.totalMs(), result.jobsPerMinute(), result.unitsPerMinute());
+            return result;
+        } finally {
+            platform.overrideBaseUrl(previous);
+            releaseLane.run();
+        }
+    }
+
+    /**
+     * 等待任务结束，超时则取消
+     */
+    private TaskExecution await(TaskExecution task, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!task.isFinished()) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("压测任务等待超时，取消任务: {}", task.getTaskId());
+                taskEngine.cancel(task.getTaskId());
+                deadline = Long.MAX_VALUE;
+            }
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+        return task;
+    }
+
+    /**
+     * 压测使用数据库中的平台配置，请求中指定的城市与关键词优先；不采集推荐岗位，桩站点不提供推荐接口
+     */
+    private ConfigDTO benchmarkConfig(RecruitmentPlatformEnum platform, BenchmarkRequest request) {
+        ConfigEntity entity = configService.loadByPlatformType(platform.getPlatformCode());
+        ConfigDTO config = ConfigDTO.convertFromEntity(entity != null ? entity : new ConfigEntity());
+        if (!isBlank(request.cityCodes())) {
+            config.setCityCode(request.cityCodes());
+        }
+        if (!isBlank(request.keywords())) {
+            config.setKeywords(request.keywords());
+        }
+        if (config.getCityCodeCodes().isEmpty() || config.getKeywordsList() == null
+                || config.getKeywordsList().isEmpty()) {
+            throw new IllegalArgumentException(platform.getPlatformName() + "缺少城市或关键词，无法生成搜索单元");
+        }
+        config.setRecommendJobs(false);
+        return config;
+    }
+
+    private static long perMinute(long jobs, long nanos) {
+        return nanos <= 0 ? 0 : Math.round(jobs * 60_000_000_000.0 / nanos);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * 一轮压测的结果
+     *
+     * @param platform             平台代码
+     * @param run                  轮次
+     * @param runTag               桩站点轮次标记
+     * @param tabs                 本轮采集的标签页数，为null时使用配置的标签页数
+     * @param collectState         采集任务的结束状态
+     * @param filterState          过滤任务的结束状态，未执行过滤时为null
+     * @param collectMs            采集耗时（毫秒）
+     * @param totalMs              采集加过滤的总耗时（毫秒）
+     * @param newJobs              新增岗位数
+     * @param units                完成的搜索单元数
+     * @param counters             采集任务的计数器
+     * @param collectJobsPerMinute 按采集耗时计算的每分钟岗位数
+     * @param jobsPerMinute        按总耗时计算的每分钟岗位数
+     * @param unitsPerMinute       按采集耗时计算的每分钟单元数
+     * @param error                采集或过滤任务的错误信息
+     */
+    public record RunResult(String platform, int run, String runTag, Integer tabs, String collectState,
+                            String filterState, long collectMs, long totalMs, long newJobs, long units,
+                            Map<String, Long> counters, long collectJobsPerMinute, long jobsPerMinute,
+                            long unitsPerMinute, String error) {
+    }
+
+    /**
+     * 一次压测的进度，压测线程写入、接口线程读取
+     */
+    private static final class BenchmarkProgress {
+        private final int plannedRuns;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<RunResult> results = new CopyOnWriteArrayList<>();
+        private volatile StubRecruitmentSite.Scenario scenario;
+        private volatile LocalDateTime finishedAt;
+        private volatile String state = "RUNNING";
+        private volatile String error;
+
+        BenchmarkProgress(int plannedRuns) {
+            this.plannedRuns = plannedRuns;
+        }
+
+        void complete() {
+            finishedAt = LocalDateTime.now();
+            state = "COMPLETED";
+        }
+
+        void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            state = "FAILED";
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("state", state);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            map.put("scenario", scenario);
+            map.put("plannedRuns", plannedRuns);
+            map.put("completedRuns", results.size());
+            map.put("runs", results);
+
+            // 按平台汇总：总新增岗位数除以总耗时
+            Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+            for (RunResult result : results) {
+                Map<String, Object> platform = summary.computeIfAbsent(result.platform(), code -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("runs", 0);
+                    item.put("newJobs", 0L);
+                    item.put("totalMs", 0L);
+                    item.put("collectMs", 0L);
+                    return item;
+                });
+                platform.merge("runs", 1, (a, b) -> (Integer) a + (Integer) b);
+                platform.merge("newJobs", result.newJobs(), (a, b) -> (Long) a + (Long) b);
+                platform.merge("totalMs", result.totalMs(), (a, b) -> (Long) a + (Long) b);
+                platform.merge("collectMs", result.collectMs(), (a, b) -> (Long) a + (Long) b);
+            }
+            summary.values().forEach(item -> {
+                long newJobs = (Long) item.get("newJobs");
+                item.put("jobsPerMinute",
+                        perMinute(newJobs, TimeUnit.MILLISECONDS.toNanos((Long) item.get("totalMs"))));
+                item.put("collectJobsPerMinute",
+                        perMinute(newJobs, TimeUnit.MILLISECONDS.toNanos((Long) item.get("collectMs"))));
+            });
+            map.put("summary", summary);
+            map.put("tabSweep", tabSweep());
+            map.put("error", error);
+            return map;
+        }
+
+        /**
+         * 按平台、标签页数汇总采集成功的轮次的耗时与单元数，加速比为单标签页的平均采集耗时除以该标签页数的平均采集耗时
+         */
+        private Map<String, List<Map<String, Object>>> tabSweep() {
+            Map<String, Map<Integer, long[]>> totals = new LinkedHashMap<>();
+            for (RunResult result : results) {
+                if (result.tabs() == null || !TaskState.COMPLETED.name().equals(result.collectState())) {
+                    continue;
+                }
+                long[] total = totals.computeIfAbsent(result.platform(), code -> new TreeMap<>())
+                        .computeIfAbsent(result.tabs(), tabs -> new long[3]);
+                total[0]++;
+                total[1] += result.collectMs();
+                total[2] += result.units();
+            }
+            Map<String, List<Map<String, Object>>> sweep = new LinkedHashMap<>();
+            totals.forEach((platform, byTabs) -> {
+                long[] single = byTabs.get(1);
+                double singleMs = single == null ? 0 : (double) single[1] / single[0];
+                List<Map<String, Object>> rows = new ArrayList<>();
+                byTabs.forEach((tabs, total) -> {
+                    double avgMs = (double) total[1] / total[0];
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("tabs", tabs);
+                    row.put("runs", total[0]);
+                    row.put("avgCollectMs", Math.round(avgMs));
+                    row.put("units", total[2]);
+                    row.put("unitsPerMinute", perMinute(total[2], TimeUnit.MILLISECONDS.toNanos(total[1])));
+                    row.put("speedup", singleMs <= 0 || avgMs <= 0 ? null : Math.round(singleMs / avgMs * 100) / 100.0);
+                    rows.add(row);
+                });
+                sweep.put(platform, rows);
+            });
+            return sweep;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package getjobs.service.stub;
+
+import java.util.List;
+
+/**
+ * 桩站点的搜索页HTML
+ * <p>
+ * 页面只保留采集流程依赖的结构：Boss直聘滚动到底部加载下一页，51job点击ul.el-pager中的li.number翻页，
+ * 智联招聘首屏由服务端渲染、点击div.soupager中的a.soupager__index翻页。列表数据都通过与正式站点路径相同的接口获取，
+ * 由浏览器上下文的响应监听捕获入库。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+final class StubPages {
+
+    private StubPages() {
+    }
+
+    /**
+     * Boss直聘搜索页：加载后请求第1页，滚动到底部时请求下一页，直到hasMore为false
+     */
+    static String boss(String apiUrl) {
+        return page("Boss直聘", """
+                <ul class="job-list-box" id="list"></ul>
+                <div id="footer" style="height:400px">加载中</div>
+                <script>
+                  const query = new URLSearchParams(location.search);
+                  let page = 0, loading = false, hasMore = true;
+                  function load() {
+                    if (loading || !hasMore) return;
+                    loading = true;
+                    page++;
+                    const params = new URLSearchParams({page: page, city: query.get('city') || '',
+                      query: query.get('query') || ''});
+                    fetch('%s?' + params).then(r => r.json()).then(data => {
+                      data.zpData.jobList.forEach(job => append(job.jobName, job.brandName, job.salaryDesc));
+                      hasMore = data.zpData.hasMore;
+                      document.getElementById('footer').textContent = hasMore ? '加载中' : '没有更多了';
+                    }).finally(() => loading = false);
+                  }
+                  window.addEventListener('scroll', () => {
+                    if (window.innerHeight + window.scrollY >= document.body.scrollHeight - 50) load();
+                  });
+                  load();
+                </script>
+                """.formatted(apiUrl));
+    }
+
+    /**
+     * 51job搜索页：加载后请求第1页，点击页码请求对应页
+     */
+    static String job51(String apiUrl, int pages) {
+        return page("51job", """
+                <ul id="list"></ul>
+                <ul class="el-pager">%s</ul>
+                <script>
+                  const query = new URLSearchParams(location.search);
+                  function load(pageNum) {
+                    const params = new URLSearchParams({pageNum: pageNum, jobArea: query.get('jobArea') || '',
+                      keyword: query.get('keyword') || ''});
+                    fetch('%s?' + params).then(r => r.json()).then(data => {
+                      document.getElementById('list').innerHTML = '';
+                      data.resultbody.job.items.forEach(job =>
+                        append(job.jobName, job.fullCompanyName, job.provideSalaryString));
+                    });
+                  }
+                  document.querySelectorAll('ul.el-pager li.number').forEach(li => li.addEventListener('click', () => {
+                    document.querySelectorAll('ul.el-pager li.number').forEach(item => item.classList.remove('active'));
+                    li.classList.add('active');
+                    load(li.textContent.trim());
+                  }));
+                  load(1);
+                </script>
+                """.formatted(pager(pages, 1, "li", "number", "active"), apiUrl));
+    }
+
+    /**
+     * 智联招聘搜索页：首屏岗位由服务端渲染，点击页码请求对应页
+     *
+     * @param firstPage 服务端渲染的岗位名称、公司、薪资
+     * @param current   首屏页码
+     */
+    static String zhilian(String apiUrl, int pages, int current, List<String[]> firstPage) {
+        StringBuilder items = new StringBuilder();
+        for (String[] job : firstPage) {
+            items.append("<li class=\"joblist-box__item\">").append(escape(String.join(" | ", job))).append("</li>");
+        }
+        return page("智联招聘", """
+                <ul id="list">%s</ul>
+                <div class="soupager">%s</div>
+                <script>
+                  const query = new URLSearchParams(location.search);
+                  function load(pageIndex) {
+                    const params = new URLSearchParams({pageIndex: pageIndex, jl: query.get('jl') || '',
+                      kw: query.get('kw') || ''});
+                    fetch('%s?' + params).then(r => r.json()).then(data => {
+                      document.getElementById('list').innerHTML = '';
+                      data.data.list.forEach(job => append(job.name, job.companyName, job.salary60));
+                    });
+                  }
+                  document.querySelectorAll('div.soupager a.soupager__index').forEach(a => a.addEventListener('click',
+                    event => {
+                      event.preventDefault();
+                      document.querySelectorAll('div.soupager a.soupager__index')
+                        .forEach(item => item.classList.remove('soupager__index--active'));
+                      a.classList.add('soupager__index--active');
+                      load(a.textContent.trim());
+                    }));
+                </script>
+                """.formatted(items, pager(pages, current, "a", "soupager__index", "soupager__index--active"),
+                apiUrl));
+    }
+
+    /**
+     * 平台主页，登录检查等导航到主页的流程可以正常打开
+     */
+    static String home(String platformName) {
+        return page(platformName, "<p>" + escape(platformName) + "桩站点</p>");
+    }
+
+    private static String page(String title, String body) {
+        return """
+                <!DOCTYPE html>
+                <html lang="zh-CN">
+                <head>
+                  <meta charset="utf-8">
+                  <title>%s - 桩站点</title>
+                  <style>#list li, .job-list-box li { height: 80px; border-bottom: 1px solid #eee; }</style>
+                </head>
+                <body>
+                %s
+                <script>
+                  function append(name, company, salary) {
+                    const li = document.createElement('li');
+                    li.textContent = [name, company, salary].join(' | ');
+                    document.getElementById('list').appendChild(li);
+                  }
+                </script>
+                </body>
+                </html>
+                """.formatted(escape(title), body);
+    }
+
+    private static String pager(int pages, int current, String tag, String itemClass, String activeClass) {
+        StringBuilder pager = new StringBuilder();
+        for (int i = 1; i <= pages; i++) {
+            pager.append('<').append(tag).append(" class=\"").append(itemClass)
+                    .append(i == current ? " " + activeClass : "").append("\">").append(i)
+                    .append("</").append(tag).append('>');
+        }
+        return pager.toString();
+    }
+
+    private static String escape(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+}
@@ -0,0 +1,476 @@
+package getjobs.service.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.StubSiteConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 本地桩招聘站点
+ * <p>
+ * 基于JDK自带的HTTP服务器，按正式站点的路径提供Boss直聘、51job、智联招聘的搜索页与列表接口：
+ * <ul>
+ *     <li>/wapi/zpgeek/search/joblist.json、/api/job/search-pc、/c/i/search/positions返回由岗位样本生成的列表，
+ *     结构与正式接口一致，可以直接被各平台监控服务解析入库；</li>
+ *     <li>接口延迟、每个搜索单元的页数和每页岗位数可以配置；</li>
+ *     <li>地址形如 /{轮次标记}/{平台代码}/...，岗位ID由轮次标记、搜索条件、页码与序号生成，
+ *     换一个轮次标记即得到一批全新的岗位，同一轮次内重复请求返回相同的岗位。</li>
+ * </ul>
+ * 通过{@link RecruitmentPlatformEnum#overrideBaseUrl(String)}把平台基础URL指向{@link #baseUrl}后，
+ * 采集流程无需改动即可在本地完整运行，用于在不访问正式站点的情况下测量采集、入库与过滤的吞吐。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StubRecruitmentSite {
+
+    /**
+     * 桩站点支持的平台
+     */
+    public static final List<RecruitmentPlatformEnum> PLATFORMS = List.of(RecruitmentPlatformEnum.BOSS_ZHIPIN,
+            RecruitmentPlatformEnum.JOB_51, RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN);
+
+    private static final Pattern PATH = Pattern.compile("^/([A-Za-z0-9_-]+)/([A-Za-z0-9]+)(/.*)?$");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final StubSiteConfig siteConfig;
+
+    /**
+     * 启动与停止互斥
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile HttpServer server;
+    private ExecutorService executor;
+    private volatile Scenario scenario;
+
+    /**
+     * 平台代码 -> 岗位样本
+     */
+    private final Map<String, List<ObjectNode>> fixtures = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> pageRequests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> apiRequests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> jobsServed = new ConcurrentHashMap<>();
+
+    /**
+     * 桩站点的页数、每页岗位数与延迟，压测时可以按轮次调整
+     *
+     * @param pages           每个搜索单元的页数
+     * @param pageSize        每页岗位数
+     * @param latencyMs       列表接口的固定延迟（毫秒）
+     * @param latencyJitterMs 列表接口的随机抖动（毫秒）
+     */
+    public record Scenario(int pages, int pageSize, int latencyMs, int latencyJitterMs) {
+
+        /**
+         * 未指定的项沿用当前值
+         */
+        public Scenario merge(Integer pages, Integer pageSize, Integer latencyMs, Integer latencyJitterMs) {
+            return new Scenario(pages != null ? Math.max(1, pages) : this.pages,
+                    pageSize != null ? Math.max(1, pageSize) : this.pageSize,
+                    latencyMs != null ? Math.max(0, latencyMs) : this.latencyMs,
+                    latencyJitterMs != null ? Math.max(0, latencyJitterMs) : this.latencyJitterMs);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        scenario = new Scenario(Math.max(1, siteConfig.getPages()), Math.max(1, siteConfig.getPageSize()),
+                Math.max(0, siteConfig.getLatencyMs()), Math.max(0, siteConfig.getLatencyJitterMs()));
+        if (siteConfig.isEnabled()) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * 启动桩站点，已启动时直接返回
+     *
+     * @return 监听端口
+     */
+    public int start() {
+        lock.lock();
+        try {
+            if (server != null) {
+                return server.getAddress().getPort();
+            }
+            PLATFORMS.forEach(platform -> fixtures.computeIfAbsent(platform.getPlatformCode(), this::loadFixtures));
+            HttpServer created = HttpServer.create(new InetSocketAddress(siteConfig.getHost(), siteConfig.getPort()),
+                    0);
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            created.setExecutor(executor);
+            created.createContext("/", this::handle);
+            created.start();
+            server = created;
+            log.info("桩站点已启动: http://{}:{}", siteConfig.getHost(), server.getAddress().getPort());
+            return server.getAddress().getPort();
+        } catch (IOException e) {
+            throw new IllegalStateException("桩站点启动失败: " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 停止桩站点
+     */
+    public void stop() {
+        lock.lock();
+        try {
+            if (server == null) {
+                return;
+            }
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+            log.info("桩站点已停止");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * 平台在桩站点上的基础URL
+     *
+     * @param runTag 轮次标记，只能包含字母、数字、下划线和短横线
+     * @throws IllegalStateException 桩站点未启动
+     */
+    public String baseUrl(RecruitmentPlatformEnum platform, String runTag) {
+        HttpServer current = server;
+        if (current == null) {
+            throw new IllegalStateException("桩站点未启动");
+        }
+        return "http://" + siteConfig.getHost() + ":" + current.getAddress().getPort() + "/" + runTag + "/"
+                + platform.getPlatformCode();
+    }
+
+    /**
+     * 桩站点状态与各平台的请求计数
+     */
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        HttpServer current = server;
+        status.put("running", current != null);
+        status.put("port", current == null ? null : current.getAddress().getPort());
+        status.put("scenario", scenario);
+        Map<String, Integer> fixtureCounts = new LinkedHashMap<>();
+        fixtures.forEach((code, templates) -> fixtureCounts.put(code, templates.size()));
+        status.put("fixtures", fixtureCounts);
+        status.put("pageRequests", snapshot(pageRequests));
+        status.put("apiRequests", snapshot(apiRequests));
+        status.put("jobsServed", snapshot(jobsServed));
+        Map<String, String> baseUrls = new LinkedHashMap<>();
+        for (RecruitmentPlatformEnum platform : RecruitmentPlatformEnum.values()) {
+            if (platform.isBaseUrlOverridden()) {
+                baseUrls.put(platform.getPlatformCode(), platform.getHomeUrl());
+            }
+        }
+        status.put("overriddenBaseUrls", baseUrls);
+        return status;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            Matcher matcher = PATH.matcher(path);
+            RecruitmentPlatformEnum platform = matcher.matches()
+                    ? RecruitmentPlatformEnum.getByCode(matcher.group(2)) : null;
+            if (platform == null || !PLATFORMS.contains(platform)) {
+                send(exchange, 404, "text/plain", "Not Found");
+                return;
+            }
+            String runTag = matcher.group(1);
+            String rest = matcher.group(3) == null ? "/" : matcher.group(3);
+            String prefix = "/" + runTag + "/" + platform.getPlatformCode();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            Scenario current = scenario;
+
+            String body = switch (platform) {
+                case BOSS_ZHIPIN -> switch (rest) {
+                    case "/web/geek/job" ->
+                            page(platform, StubPages.boss(prefix + "/wapi/zpgeek/search/joblist.json"));
+                    case "/wapi/zpgeek/search/joblist.json" -> bossJobList(runTag, query, current);
+                    case "/" -> page(platform, StubPages.home(platform.getPlatformName()));
+                    default -> null;
+                };
+                case JOB_51 -> switch (rest) {
+                    case "/pc/search" ->
+                            page(platform, StubPages.job51(prefix + "/api/job/search-pc", current.pages()));
+                    case "/api/job/search-pc" -> job51Search(runTag, query, current);
+                    case "/" -> page(platform, StubPages.home(platform.getPlatformName()));
+                    default -> null;
+                };
+                case ZHILIAN_ZHAOPIN -> switch (rest) {
+                    case "/sou" -> zhilianSearchPage(runTag, prefix, query, current);
+                    case "/c/i/search/positions" -> zhilianPositions(runTag, query, current);
+                    case "/" -> page(platform, StubPages.home(platform.getPlatformName()));
+                    default -> null;
+                };
+                default -> null;
+            };
+            if (body == null) {
+                send(exchange, 404, "text/plain", "Not Found");
+            } else {
+                // 列表接口返回JSON对象，其余都是HTML页面
+                send(exchange, 200, body.startsWith("{") ? "application/json" : "text/html", body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("桩站点处理请求失败: {} - {}", exchange.getRequestURI(), e.getMessage());
+        }
+    }
+
+    private String page(RecruitmentPlatformEnum platform, String html) throws InterruptedException {
+        counter(pageRequests, platform).incrementAndGet();
+        sleep(siteConfig.getPageLatencyMs(), 0);
+        return html;
+    }
+
+    private String bossJobList(String runTag, Map<String, String> query, Scenario current)
+            throws InterruptedException, IOException {
+        int page = intParam(query, "page");
+        List<ObjectNode> jobs = jobs(RecruitmentPlatformEnum.BOSS_ZHIPIN, runTag, query.get("city"),
+                query.get("query"), page, current, (job, id) -> {
+                    String hex = Long.toHexString(id);
+                    job.put("encryptJobId", hex + "1HR~");
+                    job.put("encryptBossId", hex + "3nw~");
+                    job.put("encryptBrandId", hex + "0XY~");
+                    job.put("securityId", "stub-" + hex);
+                    job.put("lid", runTag + "." + page);
+                });
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("code", 0);
+        root.put("message", "Success");
+        ObjectNode zpData = root.putObject("zpData");
+        zpData.put("hasMore", page < current.pages());
+        zpData.put("type", 1);
+        zpData.set("jobList", OBJECT_MAPPER.valueToTree(jobs));
+        return apiResponse(RecruitmentPlatformEnum.BOSS_ZHIPIN, root, jobs.size(), current);
+    }
+
+    private String job51Search(String runTag, Map<String, String> query, Scenario current)
+            throws InterruptedException, IOException {
+        int page = intParam(query, "pageNum");
+        String prefix = "/" + runTag + "/" + RecruitmentPlatformEnum.JOB_51.getPlatformCode();
+        List<ObjectNode> jobs = jobs(RecruitmentPlatformEnum.JOB_51, runTag, query.get("jobArea"),
+                query.get("keyword"), page, current, (job, id) -> {
+                    job.put("jobId", String.valueOf(id % 1_000_000_000_000L));
+                    job.put("jobHref", prefix + "/jobs/" + id + ".html");
+                    job.put("encCoId", "stub" + Long.toHexString(id >>> 32));
+                    job.put("hrUid", "stub" + Long.toHexString(id));
+                });
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("status", "1");
+        root.put("message", "");
+        ObjectNode job = root.putObject("resultbody").putObject("job");
+        job.put("totalCount", current.pages() * current.pageSize());
+        job.set("items", OBJECT_MAPPER.valueToTree(jobs));
+        return apiResponse(RecruitmentPlatformEnum.JOB_51, root, jobs.size(), current);
+    }
+
+    private String zhilianSearchPage(String runTag, String prefix, Map<String, String> query, Scenario current)
+            throws InterruptedException {
+        int landingPage = Math.min(current.pages(), Math.max(1, query.containsKey("p") ? intParam(query, "p") : 1));
+        List<String[]> firstPage = new ArrayList<>();
+        for (ObjectNode job : jobs(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN, runTag, query.get("jl"), query.get("kw"),
+                landingPage, current, (node, id) -> {
+                })) {
+            firstPage.add(new String[]{job.path("name").asText(), job.path("companyName").asText(),
+                    job.path("salary60").asText()});
+        }
+        return page(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN, StubPages.zhilian(prefix + "/c/i/search/positions",
+                current.pages(), landingPage, firstPage));
+    }
+
+    private String zhilianPositions(String runTag, Map<String, String> query, Scenario current)
+            throws InterruptedException, IOException {
+        int page = intParam(query, "pageIndex");
+        String prefix = "/" + runTag + "/" + RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN.getPlatformCode();
+        List<ObjectNode> jobs = jobs(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN, runTag, query.get("jl"),
+                query.get("kw"), page, current, (job, id) -> {
+                    job.put("jobId", id % 1_000_000_000_000L);
+                    job.put("number", "CC" + id);
+                    job.put("positionUrl", prefix + "/jobdetail/CC" + id + ".htm");
+                });
+        ObjectNode root = OBJECT_MAPPER.createObjectNode();
+        root.put("code", 200);
+        ObjectNode data = root.putObject("data");
+        data.put("count", current.pages() * current.pageSize());
+        data.put("isEndPage", page >= current.pages() ? 1 : 0);
+        data.set("list", OBJECT_MAPPER.valueToTree(jobs));
+        return apiResponse(RecruitmentPlatformEnum.ZHILIAN_ZHAOPIN, root, jobs.size(), current);
+    }
+
+    private String apiResponse(RecruitmentPlatformEnum platform, ObjectNode root, int jobCount, Scenario current)
+            throws InterruptedException, IOException {
+        counter(apiRequests, platform).incrementAndGet();
+        counter(jobsServed, platform).addAndGet(jobCount);
+        sleep(current.latencyMs(), current.latencyJitterMs());
+        return OBJECT_MAPPER.writeValueAsString(root);
+    }
+
+    /**
+     * 生成一页岗位：按序轮流复制岗位样本，再由平台写入各自的ID字段
+     */
+    private List<ObjectNode> jobs(RecruitmentPlatformEnum platform, String runTag, String city, String keyword,
+                                  int page, Scenario current, IdWriter idWriter) {
+        List<ObjectNode> templates = fixtures.getOrDefault(platform.getPlatformCode(), List.of());
+        if (page < 1 || page > current.pages() || templates.isEmpty()) {
+            return List.of();
+        }
+        String unit = runTag + "|" + city + "|" + keyword + "|";
+        List<ObjectNode> jobs = new ArrayList<>(current.pageSize());
+        for (int i = 0; i < current.pageSize(); i++) {
+            int index = (page - 1) * current.pageSize() + i;
+            ObjectNode job = templates.get(index % templates.size()).deepCopy();
+            long id = UUID.nameUUIDFromBytes((unit + index).getBytes(StandardCharsets.UTF_8))
+                    .getMostSignificantBits() & Long.MAX_VALUE;
+            idWriter.write(job, id);
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    @FunctionalInterface
+    private interface IdWriter {
+        void write(ObjectNode job, long id);
+    }
+
+    /**
+     * 读取岗位样本：优先使用配置目录中的{平台代码}-job.json，否则使用内置样本；文件可以是单个岗位或岗位数组
+     */
+    private List<ObjectNode> loadFixtures(String platformCode) {
+        String fileName = platformCode + "-job.json";
+        try {
+            JsonNode root;
+            Path external = siteConfig.getFixtureDir() == null || siteConfig.getFixtureDir().isBlank()
+                    ? null : Paths.get(siteConfig.getFixtureDir(), fileName);
+            if (external != null && Files.isRegularFile(external)) {
+                root = OBJECT_MAPPER.readTree(external.toFile());
+                log.info("桩站点使用岗位样本: {}", external);
+            } else {
+                try (InputStream in = new ClassPathResource("stub/" + fileName).getInputStream()) {
+                    root = OBJECT_MAPPER.readTree(in);
+                }
+            }
+            List<ObjectNode> templates = new ArrayList<>();
+            if (root.isArray()) {
+                root.forEach(node -> {
+                    if (node.isObject()) {
+                        templates.add((ObjectNode) node);
+                    }
+                });
+            } else if (root.isObject()) {
+                templates.add((ObjectNode) root);
+            }
+            return templates;
+        } catch (IOException e) {
+            log.warn("读取{}岗位样本失败: {}", platformCode, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + ";charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.putIfAbsent(name, value);
+        }
+        return query;
+    }
+
+    private static int intParam(Map<String, String> query, String name) {
+        try {
+            return Integer.parseInt(query.getOrDefault(name, "1").trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    private static void sleep(int baseMs, int jitterMs) throws InterruptedException {
+        long delay = baseMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextInt(jitterMs + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    private static AtomicLong counter(Map<String, AtomicLong> counters, RecruitmentPlatformEnum platform) {
+        return counters.computeIfAbsent(platform.getPlatformCode(), code -> new AtomicLong());
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> snapshot = new LinkedHashMap<>();
+        counters.forEach((code, value) -> snapshot.put(code, value.get()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,289 @@
+package getjobs.service.task;
+
+import getjobs.common.dto.ConfigDTO;
+import getjobs.common.enums.JobStatusEnum;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.modules.boss.dto.JobDTO;
+import getjobs.repository.JobRepository;
+import getjobs.repository.entity.DeliveryQueueEntity;
+import getjobs.repository.entity.JobEntity;
+import getjobs.service.DeliveryPacingService;
+import getjobs.service.JobService;
+import getjobs.service.PlaywrightManager;
+import getjobs.service.RecruitmentService;
+import getjobs.service.RecruitmentServiceFactory;
+import getjobs.service.browser.BrowserContextPool;
+import getjobs.service.browser.ContextKey;
+import getjobs.service.browser.ContextLease;
+import getjobs.service.delivery.DeliveryQueueService;
+import getjobs.service.metrics.PipelineMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 平台任务服务 - 登录、采集、过滤、投递四个操作，所有平台共用一套实现
+ * <p>
+ * 每个操作提交到{@link TaskEngine}异步执行，立即返回任务执行记录，进度和结果通过任务ID查询。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformTaskService {
+
+    public static final String TYPE_LOGIN = "login";
+    public static final String TYPE_COLLECT = "collect";
+    public static final String TYPE_FILTER = "filter";
+    public static final String TYPE_DELIVER = "deliver";
+
+    /**
+     * Boss岗位由BossJobDataConverter入库，平台字段与其他平台的平台代码不同
+     */
+    private static final String BOSS_JOB_PLATFORM = "BOSS直聘";
+
+    private final TaskEngine taskEngine;
+    private final PlaywrightManager playwrightManager;
+    private final RecruitmentServiceFactory serviceFactory;
+    private final JobService jobService;
+    private final JobRepository jobRepository;
+    private final BrowserContextPool browserContextPool;
+    private final DeliveryQueueService deliveryQueueService;
+    private final DeliveryPacingService deliveryPacingService;
+    private final PipelineMetrics pipelineMetrics;
+
+    // 数据目录路径
+    @Getter
+    private String dataPath;
+
+    @PostConstruct
+    public void init() {
+        Path dataDir = Path.of(System.getProperty("user.home"), "getjobs", "data");
+        try {
+            Files.createDirectories(dataDir);
+        } catch (IOException e) {
+            log.error("创建数据目录失败: {}", dataDir, e);
+        }
+        dataPath = dataDir.toAbsolutePath().toString();
+        log.info("数据文件目录设置为: {}", dataPath);
+    }
+
+    /**
+     * 1. 登录操作
+     */
+    public TaskExecution login(RecruitmentPlatformEnum platform, ConfigDTO config) {
+        return taskEngine.submit(platform, TYPE_LOGIN, config, context -> {
+            context.stage("登录");
+            playwrightManager.ensureInitialized();
+            boolean success = serviceFactory.getService(platform).login(config);
+            if (!success) {
+                throw new IllegalStateException("登录失败");
+            }
+            context.message("登录成功");
+            log.info("[{}] 登录操作完成，任务ID: {}", platform.getPlatformName(), context.getTaskId());
+            return Map.of("success", true);
+        });
+    }
+
+    /**
+     * 2. 采集操作：采集搜索岗位，配置开启时再采集推荐岗位，结果保存到数据库。
+     * 采集期间租用该平台的采集槽位上下文（按采集模式配置无头启动并拦截静态资源），与登录、投递互不抢占页面
+     */
+    public TaskExecution collectJobs(RecruitmentPlatformEnum platform, ConfigDTO config) {
+        return taskEngine.submit(platform, TYPE_COLLECT, config, context -> {
+            RecruitmentService service = serviceFactory.getService(platform);
+
+            List<JobDTO> allJobDTOS;
+            try (ContextLease ignored = browserContextPool.lease(ContextKey.collector(platform))) {
+                context.stage("搜索岗位");
+                allJobDTOS = new ArrayList<>(service.collectJobs(config));
+                if (Boolean.TRUE.equals(config.getRecommendJobs())) {
+                    context.checkCancelled();
+                    context.stage("推荐岗位");
+                    allJobDTOS.addAll(service.collectRecommendJobs(config));
+                }
+            }
+
+            context.stage("保存岗位");
+            int savedCount = 0;
+            if (!allJobDTOS.isEmpty()) {
+                try {
+                    savedCount = jobService.saveJobs(allJobDTOS, platform.name());
+                } catch (Exception e) {
+                    // 即使数据库保存失败，也不影响采集结果的返回
+                    log.error("[{}] 保存岗位到数据库失败", platform.getPlatformName(), e);
+                }
+            }
+
+            context.message(String.format("成功采集到 %d 个岗位，保存到数据库 %d 个", allJobDTOS.size(), savedCount));
+            log.info("[{}] 岗位采集操作完成，任务ID: {}, 采集到 {} 个岗位，保存到数据库 {} 个",
+                    platform.getPlatformName(), context.getTaskId(), allJobDTOS.size(), savedCount);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("jobCount", allJobDTOS.size());
+            result.put("savedCount", savedCount);
+            return result;
+        });
+    }
+
+    /**
+     * 3. 过滤操作：对数据库中该平台的岗位执行过滤，被过滤的岗位按原因批量更新状态
+     */
+    public TaskExecution filterJobs(RecruitmentPlatformEnum platform, ConfigDTO config) {
+        return taskEngine.submit(platform, TYPE_FILTER, config, context -> {
+            context.stage("过滤岗位");
+            List<JobEntity> allJobEntities = jobService.findAllJobEntitiesByPlatform(jobPlatformOf(platform));
+            if (allJobEntities == null || allJobEntities.isEmpty()) {
+                throw new IllegalArgumentException("数据库中未找到职位数据或职位数据为空");
+            }
+            context.progress(0, allJobEntities.size());
+
+            List<JobDTO> jobDTOS = allJobEntities.stream().map(jobService::convertToDTO).collect(Collectors.toList());
+            List<JobDTO> filterJobs = serviceFactory.getService(platform).filterJobs(jobDTOS, config);
+
+            // 过滤原因 -> 被过滤的岗位ID
+            Map<String, List<String>> reasonGroups = new HashMap<>();
+            int filteredCount = 0;
+            for (JobDTO job : filterJobs) {
+                if (job.getFilterReason() != null) {
+                    reasonGroups.computeIfAbsent(job.getFilterReason(), k -> new ArrayList<>())
+                            .add(job.getEncryptJobId());
+                    filteredCount++;
+                }
+            }
+            context.increment(TaskCounters.FILTERED, filteredCount);
+            pipelineMetrics.recordFilterHits(platform.getPlatformCode(), reasonGroups);
+            context.checkCancelled();
+            for (Map.Entry<String, List<String>> entry : reasonGroups.entrySet()) {
+                jobService.updateJobStatus(entry.getValue(), JobStatusEnum.FILTERED.getCode(), entry.getKey());
+            }
+            context.progress(allJobEntities.size(), allJobEntities.size());
+
+            int remaining = allJobEntities.size() - filteredCount;
+            context.message(String.format("原始岗位 %d 个，过滤后剩余 %d 个，已过滤 %d 个",
+                    allJobEntities.size(), remaining, filteredCount));
+            log.info("[{}] 岗位过滤操作完成，原始 {} 个，过滤后 {} 个，已过滤 {} 个",
+                    platform.getPlatformName(), allJobEntities.size(), remaining, filteredCount);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("originalCount", allJobEntities.size());
+            result.put("filteredCount", remaining);
+            return result;
+        });
+    }
+
+    /**
+     * 4. 投递操作：该平台待处理状态的岗位进入投递队列，按匹配得分从高到低投递，额度用完即停止；
+     * 未实现逐个投递的平台不进入投递队列，直接交给平台服务投递，不改动岗位状态
+     *
+     * @param enableActualDelivery 是否启用实际投递，否则仅模拟
+     */
+    public TaskExecution deliverJobs(RecruitmentPlatformEnum platform, ConfigDTO config,
+                                     boolean enableActualDelivery) {
+        if (!serviceFactory.getService(platform).supportsQueuedDelivery()) {
+            return deliverWithoutQueue(platform, config, enableActualDelivery);
+        }
+        return taskEngine.submit(platform, TYPE_DELIVER, config, context -> {
+            context.stage(enableActualDelivery ? "实际投递" : "模拟投递");
+            deliveryQueueService.sync(platform, config);
+            List<DeliveryQueueEntity> queued = deliveryQueueService.getReady(platform);
+            if (queued.isEmpty()) {
+                throw new IllegalArgumentException(String.format("未找到可投递的%s岗位记录，数据库中没有待处理状态的岗位",
+                        platform.getPlatformName()));
+            }
+            int budget = deliveryPacingService.getRemainingBudget(platform);
+            context.progress(0, Math.min(queued.size(), budget));
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("totalCount", queued.size());
+            int deliveredCount;
+            if (enableActualDelivery) {
+                playwrightManager.ensureInitialized();
+                RecruitmentService service = serviceFactory.getService(platform);
+                // 每获得一次投递许可计入一次进度，取消后不再发放许可
+                DeliveryQueueService.DrainResult drain = deliveryQueueService.drain(platform, service, config);
+                service.saveData(dataPath);
+                deliveredCount = drain.delivered();
+                result.put("retryCount", drain.retried());
+                result.put("deadCount", drain.dead());
+                result.put("stopReason", drain.stopReason());
+            } else {
+                // 模拟投递按队列顺序计入当日剩余额度内的岗位
+                deliveredCount = Math.min(queued.size(), budget);
+                context.progress(deliveredCount, deliveredCount);
+            }
+
+            String deliveryType = enableActualDelivery ? "实际投递" : "模拟投递";
+            context.message(String.format("%s完成，处理 %d 个岗位", deliveryType, deliveredCount));
+            log.info("[{}] 岗位投递操作完成，任务ID: {}, {} {} 个岗位", platform.getPlatformName(),
+                    context.getTaskId(), deliveryType, deliveredCount);
+            result.put("deliveredCount", deliveredCount);
+            result.put("actualDelivery", enableActualDelivery);
+            if (queued.size() <= 10) {
+                result.put("jobDetails", buildJobDetails(queued));
+            }
+            return result;
+        });
+    }
+
+    private TaskExecution deliverWithoutQueue(RecruitmentPlatformEnum platform, ConfigDTO config,
+                                              boolean enableActualDelivery) {
+        return taskEngine.submit(platform, TYPE_DELIVER, config, context -> {
+            context.stage(enableActualDelivery ? "实际投递" : "模拟投递");
+            List<JobDTO> jobDTOS = jobRepository.findByStatusAndPlatform(JobStatusEnum.PENDING.getCode(),
+                    jobPlatformOf(platform)).stream().map(jobService::convertToDTO).collect(Collectors.toList());
+            if (jobDTOS.isEmpty()) {
+                throw new IllegalArgumentException(String.format("未找到可投递的%s岗位记录，数据库中没有待处理状态的岗位",
+                        platform.getPlatformName()));
+            }
+            context.progress(0, jobDTOS.size());
+
+            int deliveredCount;
+            if (enableActualDelivery) {
+                playwrightManager.ensureInitialized();
+                RecruitmentService service = serviceFactory.getService(platform);
+                deliveredCount = service.deliverJobs(jobDTOS, config);
+                service.saveData(dataPath);
+            } else {
+                deliveredCount = jobDTOS.size();
+                context.progress(jobDTOS.size(), jobDTOS.size());
+            }
+
+            String deliveryType = enableActualDelivery ? "实际投递" : "模拟投递";
+            context.message(String.format("%s完成，处理 %d 个岗位", deliveryType, deliveredCount));
+            log.info("[{}] 岗位投递操作完成（未使用投递队列），任务ID: {}, {} {} 个岗位", platform.getPlatformName(),
+                    context.getTaskId(), deliveryType, deliveredCount);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("totalCount", jobDTOS.size());
+            result.put("deliveredCount", deliveredCount);
+            result.put("actualDelivery", enableActualDelivery);
+            return result;
+        });
+    }
+
+    /**
+     * 岗位表中该平台岗位的平台字段
+     */
+    public static String jobPlatformOf(RecruitmentPlatformEnum platform) {
+        return platform == RecruitmentPlatformEnum.BOSS_ZHIPIN ? BOSS_JOB_PLATFORM : platform.getPlatformCode();
+    }
+
+    private List<String> buildJobDetails(List<DeliveryQueueEntity> items) {
+        return items.stream()
+                .map(item -> String.format("%s - %s | 得分 %.1f", item.getCompanyName(), item.getJobTitle(),
+                        item.getScore()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,135 @@
+package getjobs.service.task;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * 任务上下文
+ * <p>
+ * 执行体通过它上报当前阶段和进度，并在阶段之间检查取消。执行期间绑定到任务线程，
+ * 采集、投递等下层服务可以通过{@link #current()}上报进度，而无需在方法签名中传递。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public class TaskContext {
+
+    private static final ThreadLocal<TaskContext> CURRENT = new ThreadLocal<>();
+
+    private final TaskExecution execution;
+
+    TaskContext(TaskExecution execution) {
+        this.execution = execution;
+    }
+
+    /**
+     * 当前线程正在执行的任务，不在任务线程中时返回null
+     */
+    public static TaskContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当前线程的任务是否已被取消或超时
+     */
+    public static boolean isCurrentCancelled() {
+        TaskContext context = CURRENT.get();
+        return context != null && context.isCancelled();
+    }
+
+    /**
+     * 包装在其他线程中执行的动作，执行期间把本任务绑定到该线程，用于任务内部启动的工作线程
+     */
+    public Runnable wrap(Runnable action) {
+        return () -> {
+            CURRENT.set(this);
+            try {
+                action.run();
+            } finally {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    static void bind(TaskContext context) {
+        CURRENT.set(context);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public String getTaskId() {
+        return execution.getTaskId();
+    }
+
+    public void stage(String stage) {
+        execution.setStage(stage);
+    }
+
+    public void message(String message) {
+        execution.setMessage(message);
+    }
+
+    public void progress(int done, int total) {
+        execution.setProgress(done, total);
+    }
+
+    /**
+     * 已处理数量加一
+     */
+    public void step() {
+        execution.step();
+    }
+
+    /**
+     * 计数器累加
+     *
+     * @param counter 计数器名称
+     * @param delta   增量
+     */
+    public void increment(String counter, long delta) {
+        if (delta != 0) {
+            execution.increment(counter, delta);
+        }
+    }
+
+    /**
+     * 记录一条告警，如风控提示、单元采集失败
+     */
+    public void warn(String warning) {
+        execution.warn(warning);
+    }
+
+    /**
+     * 当前线程在任务中执行时累加计数器
+     */
+    public static void incrementCurrent(String counter, long delta) {
+        TaskContext context = CURRENT.get();
+        if (context != null) {
+            context.increment(counter, delta);
+        }
+    }
+
+    /**
+     * 当前线程在任务中执行时记录告警
+     */
+    public static void warnCurrent(String warning) {
+        TaskContext context = CURRENT.get();
+        if (context != null) {
+            context.warn(warning);
+        }
+    }
+
+    public boolean isCancelled() {
+        return execution.isCancelRequested();
+    }
+
+    /**
+     * 任务已被取消时抛出{@link CancellationException}，结束执行体
+     */
+    public void checkCancelled() {
+        if (isCancelled()) {
+            throw new CancellationException(execution.isTimedOut() ? "任务超时" : "任务已取消");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package getjobs.service.task;
+
+/**
+ * 任务计数器名称
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public final class TaskCounters {
+
+    /**
+     * 完成的列表页数
+     */
+    public static final String PAGES = "pages";
+
+    /**
+     * 完成的搜索单元数
+     */
+    public static final String UNITS = "units";
+
+    /**
+     * 列表响应中捕获的岗位数
+     */
+    public static final String JOBS_CAPTURED = "jobsCaptured";
+
+    /**
+     * 首次采集到的岗位数
+     */
+    public static final String JOBS_NEW = "jobsNew";
+
+    /**
+     * 此前已采集过的岗位数
+     */
+    public static final String JOBS_DUPLICATE = "jobsDuplicate";
+
+    /**
+     * 被过滤的岗位数
+     */
+    public static final String FILTERED = "filtered";
+
+    /**
+     * 投递成功的岗位数
+     */
+    public static final String DELIVERED = "delivered";
+
+    private TaskCounters() {
+    }
+}
@@ -0,0 +1,347 @@
+package getjobs.service.task;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import getjobs.common.enums.RecruitmentPlatformEnum;
+import getjobs.config.TaskEngineConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 异步任务引擎
+ * <p>
+ * 接口提交的登录、采集、过滤、投递等任务在独立的虚拟线程中执行，请求线程立即返回任务ID。
+ * 每个平台一条任务通道：同时执行的任务数和排队任务数都有上限，队列已满时拒绝提交；
+ * 任务支持取消和按类型配置的超时，执行期间可上报阶段和进度，结束后保留一段时间供查询，之后自动清理。
+ * 通道空闲时可被独占（如桩站点压测临时改动平台基础URL期间），独占期间只接受持有线程提交的任务。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskEngine {
+
+    /**
+     * 按字段名排序序列化，字段顺序不影响配置摘要
+     */
+    private static final ObjectMapper FINGERPRINT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+
+    private final TaskEngineConfig engineConfig;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-timeout").daemon().factory());
+    private final Map<String, TaskExecution> tasks = new ConcurrentHashMap<>();
+    private final Map<RecruitmentPlatformEnum, Lane> lanes = new ConcurrentHashMap<>();
+
+    /**
+     * 提交任务
+     *
+     * @param platform 平台
+     * @param type     任务类型，用于匹配超时配置
+     * @param handler  执行体
+     * @return 任务执行记录
+     * @throws TaskRejectedException 平台任务队列已满
+     */
+    public TaskExecution submit(RecruitmentPlatformEnum platform, String type, TaskHandler handler) {
+        return submit(platform, type, null, handler);
+    }
+
+    /**
+     * 提交任务，同时记录任务配置摘要，便于在任务历史中比较相同配置的执行耗时
+     *
+     * @param platform 平台
+     * @param type     任务类型，用于匹配超时配置
+     * @param config   任务配置，为null时不记录摘要
+     * @param handler  执行体
+     * @return 任务执行记录
+     * @throws TaskRejectedException 平台任务队列已满，或通道正被其他线程独占
+     */
+    public TaskExecution submit(RecruitmentPlatformEnum platform, String type, Object config, TaskHandler handler) {
+        Lane lane = laneOf(platform);
+        lane.admission.lock();
+        try {
+            if (lane.reservedBy != null && lane.reservedBy != Thread.currentThread()) {
+                throw new TaskRejectedException(String.format("%s任务通道正被%s占用", platform.getPlatformName(),
+                        lane.reservedFor));
+            }
+            int limit = lane.concurrency + Math.max(0, engineConfig.getQueueCapacity());
+            if (lane.pending.get() >= limit) {
+                throw new TaskRejectedException(String.format("%s任务队列已满，执行中和排队的任务已达 %d 个",
+                        platform.getPlatformName(), limit));
+            }
+            lane.pending.incrementAndGet();
+        } finally {
+            lane.admission.unlock();
+        }
+
+        String taskId = platform.getPlatformCode() + "_" + type + "_" + UUID.randomUUID().toString().substring(0, 8);
+        TaskExecution task = new TaskExecution(taskId, platform.getPlatformCode(), type, fingerprint(config));
+        tasks.put(taskId, task);
+        try {
+            task.setFuture(executor.submit(() -> run(task, lane, handler)));
+        } catch (RuntimeException e) {
+            tasks.remove(taskId);
+            lane.pending.decrementAndGet();
+            throw e;
+        }
+        log.info("[{}] 任务已提交，任务ID: {}，排队及执行中: {}", platform.getPlatformName(), taskId, lane.pending.get());
+        return task;
+    }
+
+    /**
+     * 独占平台任务通道，持有期间其他线程提交该平台的任务会被拒绝，当前线程仍可提交
+     *
+     * @param platform 平台
+     * @param owner    占用方说明，拒绝提交时提示
+     * @return 释放通道的操作，调用方须在finally中执行
+     * @throws TaskRejectedException 平台还有未结束的任务，或通道已被占用
+     */
+    public Runnable reserve(RecruitmentPlatformEnum platform, String owner) {
+        Lane lane = laneOf(platform);
+        lane.admission.lock();
+        try {
+            if (lane.reservedBy != null) {
+                throw new TaskRejectedException(String.format("%s任务通道正被%s占用", platform.getPlatformName(),
+                        lane.reservedFor));
+            }
+            if (lane.pending.get() > 0) {
+                throw new TaskRejectedException(String.format("%s还有 %d 个未结束的任务", platform.getPlatformName(),
+                        lane.pending.get()));
+            }
+            lane.reservedBy = Thread.currentThread();
+            lane.reservedFor = owner;
+        } finally {
+            lane.admission.unlock();
+        }
+        log.info("[{}] 任务通道已被{}独占", platform.getPlatformName(), owner);
+        return () -> {
+            lane.admission.lock();
+            try {
+                lane.reservedBy = null;
+                lane.reservedFor = null;
+            } finally {
+                lane.admission.unlock();
+            }
+            log.info("[{}] 任务通道已释放", platform.getPlatformName());
+        };
+    }
+
+    /**
+     * 获取任务
+     */
+    public TaskExecution get(String taskId) {
+        return tasks.get(taskId);
+    }
+
+    /**
+     * 获取任务列表，最新的在前
+     *
+     * @param platform 平台代码，为null时返回所有平台
+     */
+    public List<TaskExecution> list(String platform) {
+        List<TaskExecution> result = new ArrayList<>();
+        for (TaskExecution task : tasks.values()) {
+            if (platform == null || platform.equals(task.getPlatform())) {
+                result.add(task);
+            }
+        }
+        result.sort(Comparator.comparing(TaskExecution::getCreatedAt).reversed());
+        return result;
+    }
+
+    /**
+     * 取消任务
+     *
+     * @return 任务存在且尚未结束时返回true
+     */
+    public boolean cancel(String taskId) {
+        TaskExecution task = tasks.get(taskId);
+        if (task == null || !task.cancel(false)) {
+            return false;
+        }
+        log.info("任务取消请求已发出，任务ID: {}", taskId);
+        return true;
+    }
+
+    /**
+     * 删除已结束的任务记录
+     *
+     * @return 任务存在且已结束时返回true
+     */
+    public boolean remove(String taskId) {
+        TaskExecution task = tasks.get(taskId);
+        return task != null && task.isFinished() && tasks.remove(taskId, task);
+    }
+
+    /**
+     * 清理超过保留时长的已结束任务
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long expireBefore = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(engineConfig.getTtlMinutes());
+        int before = tasks.size();
+        tasks.values().removeIf(task -> task.isFinished() && task.getFinishedAt().getTime() < expireBefore);
+        int evicted = before - tasks.size();
+        if (evicted > 0) {
+            log.debug("已清理过期任务: {}，剩余: {}", evicted, tasks.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tasks.values().forEach(task -> task.cancel(false));
+        executor.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private void run(TaskExecution task, Lane lane, TaskHandler handler) {
+        try {
+            lane.permits.acquire();
+        } catch (InterruptedException e) {
+            task.finish(cancelledState(task), null, "排队时被取消");
+            lane.pending.decrementAndGet();
+            publish(task);
+            return;
+        }
+
+        TaskState state = TaskState.COMPLETED;
+        Map<String, Object> result = null;
+        String error = null;
+        ScheduledFuture<?> timeout = null;
+        try {
+            if (task.isCancelRequested()) {
+                throw new CancellationException("排队时被取消");
+            }
+            task.start();
+            publish(task);
+            int timeoutMinutes = engineConfig.resolveTimeoutMinutes(task.getType());
+            timeout = timer.schedule(() -> {
+                if (task.cancel(true)) {
+                    log.warn("任务执行超过 {} 分钟，已中断，任务ID: {}", timeoutMinutes, task.getTaskId());
+                }
+            }, timeoutMinutes, TimeUnit.MINUTES);
+            TaskContext.bind(new TaskContext(task));
+            log.info("任务开始执行，任务ID: {}", task.getTaskId());
+
+            result = handler.run(TaskContext.current());
+            if (task.isCancelRequested()) {
+                // 执行体响应取消后提前返回，保留已完成部分的结果
+                state = cancelledState(task);
+            }
+        } catch (Exception e) {
+            if (task.isCancelRequested()) {
+                state = cancelledState(task);
+                error = state == TaskState.TIMED_OUT ? "任务超时" : "任务已取消";
+            } else {
+                state = TaskState.FAILED;
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                if (e instanceof IllegalArgumentException) {
+                    // 没有可处理的数据等前置条件不满足
+                    log.warn("任务执行失败，任务ID: {}，原因: {}", task.getTaskId(), error);
+                } else {
+                    log.error("任务执行失败，任务ID: {}", task.getTaskId(), e);
+                }
+            }
+        } finally {
+            TaskContext.unbind();
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            // 清除超时中断留下的中断标记
+            Thread.interrupted();
+            task.finish(state, result, error);
+            lane.permits.release();
+            lane.pending.decrementAndGet();
+            publish(task);
+        }
+        log.info("任务结束，任务ID: {}，状态: {}，耗时: {} ms", task.getTaskId(), state, task.getDurationMs());
+    }
+
+    /**
+     * 发布任务生命周期事件，监听方异常不影响任务本身
+     */
+    private void publish(TaskExecution task) {
+        try {
+            eventPublisher.publishEvent(new TaskLifecycleEvent(task));
+        } catch (Exception e) {
+            log.warn("发布任务事件失败，任务ID: {}，原因: {}", task.getTaskId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 配置摘要：配置序列化为JSON后的SHA-256前16位
+     */
+    private static String fingerprint(Object config) {
+        if (config == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(FINGERPRINT_MAPPER.writeValueAsBytes(config));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (Exception e) {
+            log.debug("计算任务配置摘要失败: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Lane laneOf(RecruitmentPlatformEnum platform) {
+        return lanes.computeIfAbsent(platform, key -> new Lane(Math.max(1, engineConfig.getConcurrencyPerPlatform())));
+    }
+
+    private TaskState cancelledState(TaskExecution task) {
+        return task.isTimedOut() ? TaskState.TIMED_OUT : TaskState.CANCELLED;
+    }
+
+    /**
+     * 平台任务通道
+     */
+    private static final class Lane {
+        private final int concurrency;
+        private final Semaphore permits;
+        private final AtomicInteger pending = new AtomicInteger();
+        /**
+         * 提交与独占互斥，保证独占时通道中没有任务
+         */
+        private final ReentrantLock admission = new ReentrantLock();
+        private Thread reservedBy;
+        private String reservedFor;
+
+        private Lane(int concurrency) {
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency, true);
+        }
+    }
+}
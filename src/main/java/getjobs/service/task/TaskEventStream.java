@@ -0,0 +1,136 @@
+package getjobs.service.task;
+
+import getjobs.config.TaskEngineConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务事件流
+ * <p>
+ * 为订阅的任务推送服务端事件：订阅时立即推送一次快照，之后按固定间隔检查任务是否有变化，
+ * 有变化才推送最新快照（progress事件），采集入库再快也只按间隔合并推送；任务结束时推送done事件并关闭连接。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskEventStream {
+
+    private final TaskEngine taskEngine;
+    private final TaskEngineConfig engineConfig;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("task-events").daemon().factory());
+    private final Map<String, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        long interval = Math.max(100, engineConfig.getEventIntervalMs());
+        flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        subscriptions.values().forEach(list -> list.forEach(sub -> sub.emitter.complete()));
+    }
+
+    /**
+     * 订阅任务事件
+     *
+     * @param taskId 任务ID
+     * @return 事件发送器，任务不存在时返回null
+     */
+    public SseEmitter subscribe(String taskId) {
+        TaskExecution task = taskEngine.get(taskId);
+        if (task == null) {
+            return null;
+        }
+        // 连接由任务结束或客户端断开关闭，不设超时
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscription subscription = new Subscription(emitter);
+        List<Subscription> list = subscriptions.computeIfAbsent(taskId, key -> new CopyOnWriteArrayList<>());
+        list.add(subscription);
+        Runnable remove = () -> list.remove(subscription);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        // 在推送线程中发送首个快照，与定时推送串行，避免同一连接并发写入
+        flusher.execute(() -> push(task, subscription));
+        return emitter;
+    }
+
+    /**
+     * 推送有变化的任务快照，清理已结束任务的订阅
+     */
+    private void flush() {
+        try {
+            subscriptions.forEach((taskId, list) -> {
+                TaskExecution task = taskEngine.get(taskId);
+                if (task == null) {
+                    list.forEach(sub -> sub.emitter.complete());
+                    subscriptions.remove(taskId);
+                    return;
+                }
+                list.forEach(sub -> push(task, sub));
+                if (list.isEmpty()) {
+                    subscriptions.remove(taskId, list);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("推送任务事件失败: {}", e.getMessage());
+        }
+    }
+
+    private void push(TaskExecution task, Subscription subscription) {
+        if (subscription.closed) {
+            return;
+        }
+        // 先读取版本和状态再序列化，期间的变化留到下一次推送
+        long version = task.getVersion();
+        boolean finished = task.isFinished();
+        if (version == subscription.lastVersion && !finished) {
+            return;
+        }
+        try {
+            subscription.emitter.send(SseEmitter.event()
+                    .name(finished ? "done" : "progress")
+                    .id(String.valueOf(version))
+                    .data(task));
+            subscription.lastVersion = version;
+            if (finished) {
+                subscription.closed = true;
+                subscription.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端已断开
+            subscription.closed = true;
+            subscription.emitter.completeWithError(e);
+        }
+    }
+
+    private static final class Subscription {
+        private final SseEmitter emitter;
+        private long lastVersion = -1;
+        private boolean closed;
+
+        private Subscription(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
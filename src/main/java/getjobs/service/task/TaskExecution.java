@@ -0,0 +1,252 @@
+package getjobs.service.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 任务执行记录，由任务引擎维护状态，接口和事件流直接序列化返回
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Getter
+public class TaskExecution {
+
+    /**
+     * 保留的告警条数
+     */
+    private static final int MAX_WARNINGS = 50;
+
+    private final String taskId;
+    private final String platform;
+    private final String type;
+    private final Date createdAt = new Date();
+
+    /**
+     * 任务配置摘要，相同配置的任务摘要相同，未提供配置时为空
+     */
+    private final String configFingerprint;
+
+    private volatile TaskState state = TaskState.QUEUED;
+    private volatile String stage;
+    private volatile String message;
+    private volatile String error;
+    private volatile Date startedAt;
+    private volatile Date finishedAt;
+    private volatile Map<String, Object> result;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger done = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private volatile int total;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 各阶段耗时，按开始顺序
+     */
+    private final List<StageTiming> stages = new CopyOnWriteArrayList<>();
+
+    /**
+     * 最近的告警
+     */
+    private final List<Warning> warnings = new CopyOnWriteArrayList<>();
+
+    /**
+     * 每次变化加一，事件流据此判断是否需要推送
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong version = new AtomicLong();
+
+    @JsonIgnore
+    private volatile boolean cancelRequested;
+    @JsonIgnore
+    private volatile boolean timedOut;
+    @JsonIgnore
+    private volatile Future<?> future;
+
+    TaskExecution(String taskId, String platform, String type, String configFingerprint) {
+        this.taskId = taskId;
+        this.platform = platform;
+        this.type = type;
+        this.configFingerprint = configFingerprint;
+    }
+
+    /**
+     * 已处理数量
+     */
+    public int getDone() {
+        return done.get();
+    }
+
+    /**
+     * 总数量，未知时为0
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * 计数器快照，如翻页数、采集岗位数、新增与重复岗位数、过滤数、投递数
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counters.forEach((name, value) -> snapshot.put(name, value.get()));
+        return snapshot;
+    }
+
+    /**
+     * 执行耗时（毫秒），未开始时为0
+     */
+    public long getDurationMs() {
+        Date start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Date end = finishedAt;
+        return (end != null ? end.getTime() : System.currentTimeMillis()) - start.getTime();
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state.isFinished();
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version.get();
+    }
+
+    void setStage(String stage) {
+        closeStage();
+        this.stage = stage;
+        if (stage != null) {
+            stages.add(new StageTiming(stage, System.currentTimeMillis()));
+        }
+        touch();
+    }
+
+    void setMessage(String message) {
+        this.message = message;
+        touch();
+    }
+
+    void setProgress(int done, int total) {
+        if (this.done.getAndSet(done) != done || this.total != total) {
+            this.total = total;
+            touch();
+        }
+    }
+
+    void step() {
+        done.incrementAndGet();
+        touch();
+    }
+
+    void increment(String counter, long delta) {
+        counters.computeIfAbsent(counter, key -> new AtomicLong()).addAndGet(delta);
+        touch();
+    }
+
+    void warn(String warning) {
+        warnings.add(new Warning(new Date(), warning));
+        while (warnings.size() > MAX_WARNINGS) {
+            warnings.remove(0);
+        }
+        touch();
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    void start() {
+        this.startedAt = new Date();
+        this.state = TaskState.RUNNING;
+        touch();
+    }
+
+    void finish(TaskState state, Map<String, Object> result, String error) {
+        closeStage();
+        this.result = result;
+        this.error = error;
+        this.stage = null;
+        this.finishedAt = new Date();
+        this.state = state;
+        touch();
+    }
+
+    /**
+     * 请求取消：设置取消标记，执行体在阶段之间或等待投递许可时响应。
+     * 排队中或超时的任务同时中断执行线程；执行中的任务不中断，避免打断进行中的Playwright调用
+     */
+    boolean cancel(boolean timeout) {
+        if (isFinished()) {
+            return false;
+        }
+        this.timedOut = timeout;
+        this.cancelRequested = true;
+        Future<?> running = future;
+        if (running != null && (timeout || state == TaskState.QUEUED)) {
+            running.cancel(true);
+        }
+        return true;
+    }
+
+    private void closeStage() {
+        if (!stages.isEmpty()) {
+            stages.get(stages.size() - 1).close();
+        }
+    }
+
+    private void touch() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * 阶段耗时
+     */
+    @Getter
+    public static class StageTiming {
+        private final String name;
+        private final long startedAt;
+        private volatile long durationMs = -1;
+
+        StageTiming(String name, long startedAt) {
+            this.name = name;
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * 是否仍在进行
+         */
+        public boolean isRunning() {
+            return durationMs < 0;
+        }
+
+        void close() {
+            if (durationMs < 0) {
+                durationMs = System.currentTimeMillis() - startedAt;
+            }
+        }
+    }
+
+    /**
+     * 告警
+     */
+    public record Warning(Date time, String message) {
+    }
+}
@@ -0,0 +1,21 @@
+package getjobs.service.task;
+
+import java.util.Map;
+
+/**
+ * 任务执行体，在任务引擎分配的虚拟线程中运行
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@FunctionalInterface
+public interface TaskHandler {
+
+    /**
+     * 执行任务
+     *
+     * @param context 任务上下文，用于上报阶段、进度和检查取消
+     * @return 任务结果，抛出异常时任务标记为失败
+     */
+    Map<String, Object> run(TaskContext context) throws Exception;
+}
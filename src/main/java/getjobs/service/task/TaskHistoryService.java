@@ -0,0 +1,402 @@
+package getjobs.service.task;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import getjobs.config.TaskHistoryConfig;
+import getjobs.repository.TaskRunRepository;
+import getjobs.repository.TaskStageRepository;
+import getjobs.repository.entity.TaskRunEntity;
+import getjobs.repository.entity.TaskStageEntity;
+import getjobs.service.snapshot.SnapshotWriter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * 任务历史服务
+ * <p>
+ * 监听{@link TaskLifecycleEvent}，任务开始和结束时把执行记录写入task_run表，结束时同时写入各阶段耗时到task_stage表。
+ * 记录包含状态、起止时间、计数器、失败原因、配置摘要与应用版本，可按版本汇总耗时与吞吐，
+ * 用于发现版本之间的性能退化，以及估算一个时间窗口内能采集多少城市和关键词。
+ * <p>
+ * 数据库为内存库，变更后由{@link SnapshotWriter}合并写入快照文件，启动时从快照恢复；上一进程中未结束的任务在恢复时标记为失败。
+ * 超过保留天数或条数上限的记录由定时任务压缩删除。
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskHistoryService {
+
+    /**
+     * 结果JSON的最大保存长度
+     */
+    private static final int MAX_RESULT_LENGTH = 20000;
+
+    /**
+     * 快照中的任务
+     */
+    record RunSnapshot(String taskId, String platform, String type, String state, LocalDateTime createdAt,
+                       LocalDateTime startedAt, LocalDateTime finishedAt, Long durationMs, Integer doneCount,
+                       Integer totalCount, Map<String, Long> counters, String result, String message, String error,
+                       Integer warningCount, String configFingerprint, String appVersion,
+                       List<StageSnapshot> stages) {
+    }
+
+    /**
+     * 快照中的阶段
+     */
+    record StageSnapshot(int seq, String name, LocalDateTime startedAt, Long durationMs) {
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final TaskHistoryConfig historyConfig;
+    private final TaskRunRepository runRepository;
+    private final TaskStageRepository stageRepository;
+    private final SnapshotWriter snapshotWriter;
+
+    private SnapshotWriter.Registration snapshot;
+
+    /**
+     * 记录与压缩互斥。任务在虚拟线程中执行，使用ReentrantLock而不是synchronized，
+     * 等待数据库连接时不占住载体线程
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        restoreSnapshot();
+        snapshot = snapshotWriter.register("任务历史", historyConfig::getSnapshotFile, this::exportSnapshot);
+    }
+
+    /**
+     * 任务开始时记录运行中状态，结束时记录结果与阶段耗时
+     */
+    @EventListener
+    public void onTaskLifecycle(TaskLifecycleEvent event) {
+        lock.lock();
+        try {
+            if (!historyConfig.isEnabled()) {
+                return;
+            }
+            TaskExecution task = event.task();
+            try {
+                TaskRunEntity run = runRepository.findByTaskId(task.getTaskId()).orElseGet(TaskRunEntity::new);
+                apply(run, task);
+                runRepository.save(run);
+                if (task.isFinished()) {
+                    stageRepository.deleteAll(stageRepository.findByTaskIdOrderBySeqAsc(task.getTaskId()));
+                    stageRepository.saveAll(toStages(task));
+                }
+                snapshot.markDirty();
+            } catch (Exception e) {
+                log.warn("记录任务历史失败，任务ID: {}，原因: {}", task.getTaskId(), e.getMessage());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 查询任务历史，条件为空时不限制，最新的在前
+     *
+     * @param days 最近天数
+     */
+    public Page<TaskRunEntity> search(String platform, String type, String state, int days, Pageable pageable) {
+        LocalDateTime since = LocalDateTime.now().minusDays(Math.max(1, days));
+        return runRepository.search(blankToNull(platform), blankToNull(type), blankToNull(state), since, pageable);
+    }
+
+    /**
+     * 获取任务记录及其阶段耗时，不存在时返回null
+     */
+    public Map<String, Object> getDetail(String taskId) {
+        TaskRunEntity run = runRepository.findByTaskId(taskId).orElse(null);
+        if (run == null) {
+            return null;
+        }
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("run", run);
+        detail.put("stages", stageRepository.findByTaskIdOrderBySeqAsc(taskId));
+        return detail;
+    }
+
+    /**
+     * 按应用版本汇总任务耗时与吞吐，最新的版本在前
+     * <p>
+     * 耗时分位数只统计成功的任务；每项耗时为成功任务总耗时除以已处理数量（如搜索单元数、投递岗位数），
+     * 可用于估算一个时间窗口内能处理的城市和关键词数量
+     *
+     * @param platform 平台代码，为空时不限制
+     * @param type     任务类型，为空时不限制
+     * @param days     最近天数
+     */
+    public List<Map<String, Object>> stats(String platform, String type, int days) {
+        List<TaskRunEntity> runs = search(platform, type, null, days, Pageable.unpaged()).getContent();
+        Map<String, List<TaskRunEntity>> byVersion = runs.stream()
+                .filter(run -> TaskState.valueOf(run.getState()).isFinished())
+                .collect(Collectors.groupingBy(run -> run.getAppVersion() != null ? run.getAppVersion() : "unknown",
+                        LinkedHashMap::new, Collectors.toList()));
+        List<Map<String, Object>> result = new ArrayList<>();
+        byVersion.forEach((version, versionRuns) -> result.add(summarize(version, versionRuns)));
+        return result;
+    }
+
+    /**
+     * 压缩任务历史：删除超过保留天数的记录，以及超过条数上限的最早记录
+     *
+     * @return 删除的任务记录数
+     */
+    @Scheduled(initialDelay = 300000, fixedDelay = 3600000)
+    public int compact() {
+        lock.lock();
+        try {
+            Set<TaskRunEntity> expired = new HashSet<>(runRepository.findByCreatedAtBefore(
+                    LocalDateTime.now().minusDays(Math.max(1, historyConfig.getRetentionDays()))));
+            long overflow = runRepository.count() - Math.max(1, historyConfig.getMaxRuns());
+            if (overflow > 0) {
+                List<TaskRunEntity> all = runRepository.findAllByOrderByCreatedAtDesc(Pageable.unpaged());
+                expired.addAll(all.subList(Math.max(0, all.size() - (int) overflow), all.size()));
+            }
+            expired.removeIf(run -> !TaskState.valueOf(run.getState()).isFinished());
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            Set<String> taskIds = expired.stream().map(TaskRunEntity::getTaskId).collect(Collectors.toSet());
+            stageRepository.deleteAll(stageRepository.findByTaskIdIn(taskIds));
+            runRepository.deleteAll(expired);
+            snapshot.markDirty();
+            log.info("任务历史压缩完成，删除任务记录: {}，剩余: {}", expired.size(), runRepository.count());
+            return expired.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Object> summarize(String version, List<TaskRunEntity> runs) {
+        List<TaskRunEntity> completed = runs.stream()
+                .filter(run -> TaskState.COMPLETED.name().equals(run.getState()) && run.getDurationMs() != null)
+                .toList();
+        List<Long> durations = completed.stream().map(TaskRunEntity::getDurationMs).sorted().toList();
+        long totalMs = durations.stream().mapToLong(Long::longValue).sum();
+        long totalDone = completed.stream().mapToLong(run -> run.getDoneCount() != null ? run.getDoneCount() : 0).sum();
+
+        Map<String, Long> counterTotals = new TreeMap<>();
+        completed.forEach(run -> {
+            if (run.getCounters() != null) {
+                run.getCounters().forEach((name, value) -> counterTotals.merge(name, value, Long::sum));
+            }
+        });
+        Map<String, Double> countersPerMinute = new TreeMap<>();
+        if (totalMs > 0) {
+            counterTotals.forEach((name, value) -> countersPerMinute.put(name, round(value * 60000.0 / totalMs)));
+        }
+
+        // 阶段名称 -> 平均耗时
+        Map<String, Double> stageAvgMs = new LinkedHashMap<>();
+        if (!completed.isEmpty()) {
+            Set<String> taskIds = completed.stream().map(TaskRunEntity::getTaskId).collect(Collectors.toSet());
+            stageRepository.findByTaskIdIn(taskIds).stream()
+                    .filter(stage -> stage.getDurationMs() != null)
+                    .collect(Collectors.groupingBy(TaskStageEntity::getName, LinkedHashMap::new,
+                            Collectors.averagingLong(TaskStageEntity::getDurationMs)))
+                    .forEach((name, avg) -> stageAvgMs.put(name, round(avg)));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("appVersion", version);
+        summary.put("runs", runs.size());
+        summary.put("completed", completed.size());
+        summary.put("failed", runs.stream().filter(run -> TaskState.FAILED.name().equals(run.getState())).count());
+        summary.put("configFingerprints", runs.stream().map(TaskRunEntity::getConfigFingerprint)
+                .filter(fingerprint -> fingerprint != null).distinct().count());
+        summary.put("avgDurationMs", durations.isEmpty() ? null : totalMs / durations.size());
+        summary.put("p50DurationMs", percentile(durations, 0.5));
+        summary.put("p95DurationMs", percentile(durations, 0.95));
+        summary.put("avgMsPerItem", totalDone > 0 ? round((double) totalMs / totalDone) : null);
+        summary.put("counterTotals", counterTotals);
+        summary.put("countersPerMinute", countersPerMinute);
+        summary.put("stageAvgMs", stageAvgMs);
+        return summary;
+    }
+
+    private void apply(TaskRunEntity run, TaskExecution task) {
+        run.setTaskId(task.getTaskId());
+        run.setPlatform(task.getPlatform());
+        run.setType(task.getType());
+        run.setState(task.getState().name());
+        run.setCreatedAt(toLocal(task.getCreatedAt()));
+        run.setStartedAt(toLocal(task.getStartedAt()));
+        run.setFinishedAt(toLocal(task.getFinishedAt()));
+        run.setDurationMs(task.getStartedAt() != null ? task.getDurationMs() : null);
+        run.setDoneCount(task.getDone());
+        run.setTotalCount(task.getTotal());
+        run.setCounters(task.getCounters());
+        run.setResult(toJson(task.getResult()));
+        run.setMessage(truncate(task.getMessage(), 500));
+        run.setError(truncate(task.getError(), 500));
+        run.setWarningCount(task.getWarnings().size());
+        run.setConfigFingerprint(task.getConfigFingerprint());
+        run.setAppVersion(historyConfig.getAppVersion());
+    }
+
+    private List<TaskStageEntity> toStages(TaskExecution task) {
+        List<TaskStageEntity> stages = new ArrayList<>();
+        List<TaskExecution.StageTiming> timings = task.getStages();
+        for (int i = 0; i < timings.size(); i++) {
+            TaskExecution.StageTiming timing = timings.get(i);
+            TaskStageEntity stage = new TaskStageEntity();
+            stage.setTaskId(task.getTaskId());
+            stage.setSeq(i);
+            stage.setName(truncate(timing.getName(), 100));
+            stage.setStartedAt(toLocal(new Date(timing.getStartedAt())));
+            stage.setDurationMs(timing.isRunning() ? null : timing.getDurationMs());
+            stages.add(stage);
+        }
+        return stages;
+    }
+
+    private static Long percentile(List<Long> sorted, double quantile) {
+        if (sorted.isEmpty()) {
+            return null;
+        }
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.min(sorted.size() - 1, Math.max(0, index)));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static LocalDateTime toLocal(Date date) {
+        return date != null ? LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), ZoneId.systemDefault())
+                : null;
+    }
+
+    private static String toJson(Map<String, Object> result) {
+        if (result == null) {
+            return null;
+        }
+        try {
+            return truncate(OBJECT_MAPPER.writeValueAsString(result), MAX_RESULT_LENGTH);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * 导出快照，由{@link SnapshotWriter}在写入线程中调用；持锁读取任务与阶段，避免导出时任务正好结束而两者不一致
+     */
+    private List<RunSnapshot> exportSnapshot() {
+        lock.lock();
+        try {
+            Map<String, List<StageSnapshot>> stages = stageRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(TaskStageEntity::getTaskId, Collectors.mapping(
+                            stage -> new StageSnapshot(stage.getSeq(), stage.getName(), stage.getStartedAt(),
+                                    stage.getDurationMs()), Collectors.toList())));
+            return runRepository.findAll().stream()
+                    .map(run -> new RunSnapshot(run.getTaskId(), run.getPlatform(), run.getType(), run.getState(),
+                            run.getCreatedAt(), run.getStartedAt(), run.getFinishedAt(), run.getDurationMs(),
+                            run.getDoneCount(), run.getTotalCount(), run.getCounters(), run.getResult(),
+                            run.getMessage(), run.getError(), run.getWarningCount(), run.getConfigFingerprint(),
+                            run.getAppVersion(), stages.getOrDefault(run.getTaskId(), List.of())))
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 从快照恢复，上一进程中未结束的任务标记为失败
+     */
+    private void restoreSnapshot() {
+        try {
+            List<RunSnapshot> saved = snapshotWriter.read(historyConfig.getSnapshotFile(),
+                    new TypeReference<List<RunSnapshot>>() {
+                    }).orElse(null);
+            if (saved == null) {
+                return;
+            }
+            int interrupted = 0;
+            List<TaskRunEntity> runs = new ArrayList<>(saved.size());
+            List<TaskStageEntity> stages = new ArrayList<>();
+            for (RunSnapshot item : saved) {
+                TaskRunEntity run = new TaskRunEntity();
+                run.setTaskId(item.taskId());
+                run.setPlatform(item.platform());
+                run.setType(item.type());
+                run.setState(item.state());
+                if (item.createdAt() != null) {
+                    run.setCreatedAt(item.createdAt());
+                }
+                run.setStartedAt(item.startedAt());
+                run.setFinishedAt(item.finishedAt());
+                run.setDurationMs(item.durationMs());
+                run.setDoneCount(item.doneCount());
+                run.setTotalCount(item.totalCount());
+                run.setCounters(item.counters());
+                run.setResult(item.result());
+                run.setMessage(item.message());
+                run.setError(item.error());
+                run.setWarningCount(item.warningCount());
+                run.setConfigFingerprint(item.configFingerprint());
+                run.setAppVersion(item.appVersion());
+                if (!TaskState.valueOf(run.getState()).isFinished()) {
+                    run.setState(TaskState.FAILED.name());
+                    run.setError("进程退出时任务未结束");
+                    interrupted++;
+                }
+                runs.add(run);
+                if (item.stages() != null) {
+                    for (StageSnapshot stageItem : item.stages()) {
+                        TaskStageEntity stage = new TaskStageEntity();
+                        stage.setTaskId(item.taskId());
+                        stage.setSeq(stageItem.seq());
+                        stage.setName(stageItem.name());
+                        stage.setStartedAt(stageItem.startedAt());
+                        stage.setDurationMs(stageItem.durationMs());
+                        stages.add(stage);
+                    }
+                }
+            }
+            runRepository.saveAll(runs);
+            stageRepository.saveAll(stages);
+            log.info("已从快照恢复任务历史，任务: {}，阶段: {}，未结束的任务: {}", runs.size(), stages.size(), interrupted);
+        } catch (Exception e) {
+            log.warn("恢复任务历史快照失败: {}", e.getMessage());
+        }
+    }
+}
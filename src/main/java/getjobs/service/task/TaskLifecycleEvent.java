@@ -0,0 +1,11 @@
+package getjobs.service.task;
+
+/**
+ * 任务生命周期事件：任务开始执行和结束时由任务引擎发布
+ *
+ * @param task 任务执行记录
+ * @author getjobs
+ * @since v2.1.4
+ */
+public record TaskLifecycleEvent(TaskExecution task) {
+}
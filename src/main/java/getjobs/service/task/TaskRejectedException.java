@@ -0,0 +1,14 @@
+package getjobs.service.task;
+
+/**
+ * 平台任务队列已满时拒绝提交
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public class TaskRejectedException extends RuntimeException {
+
+    public TaskRejectedException(String message) {
+        super(message);
+    }
+}
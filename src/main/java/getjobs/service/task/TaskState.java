@@ -0,0 +1,18 @@
+package getjobs.service.task;
+
+/**
+ * 任务状态
+ *
+ * @author getjobs
+ * @since v2.1.4
+ */
+public enum TaskState {
+    QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED, TIMED_OUT;
+
+    /**
+     * 是否已结束
+     */
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
@@ -1,12 +1,16 @@
 package getjobs.utils;
 
 import com.microsoft.playwright.*;
+import getjobs.service.browser.ResponseRouter;
+import getjobs.service.profiling.BrowserWaitEvent;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -30,6 +34,12 @@ public class PlaywrightUtil {
     // 浏览器页面
     private static Page PAGE;
 
+    // 默认上下文的响应路由器
+    private static ResponseRouter RESPONSE_ROUTER;
+
+    // 当前线程租用的上下文（来自浏览器上下文池），存在时优先于默认实例；嵌套租用时栈顶为最内层
+    private static final ThreadLocal<Deque<ThreadBinding>> THREAD_BINDING = ThreadLocal.withInitial(ArrayDeque::new);
+
     // 默认超时时间（毫秒）
     private static final int DEFAULT_TIMEOUT = 30000;
 
@@ -78,12 +88,13 @@ public class PlaywrightUtil {
     }
 
     /**
-     * 初始化Playwright及浏览器实例
+     * 浏览器启动参数
+     *
+     * @param headless 是否无头模式
+     * @param slowMo   操作放慢的毫秒数，0表示不放慢
+     * @return 启动参数
      */
-    public static void init() {
-        // 启动Playwright
-        PLAYWRIGHT = Playwright.create();
-
+    public static BrowserType.LaunchOptions createLaunchOptions(boolean headless, double slowMo) {
         List<String> args = List.of(
                 "--disable-blink-features=AutomationControlled", // 禁用自动化控制特征
                 "--disable-web-security", // 禁用web安全
@@ -99,24 +110,47 @@ public class PlaywrightUtil {
                 "--disable-ipc-flooding-protection" // 禁用IPC洪水保护
         );
 
-        // 创建浏览器实例
-        BROWSER = PLAYWRIGHT.chromium().launch(new BrowserType.LaunchOptions()
-                .setHeadless(false) // 非无头模式，可视化调试
-                .setSlowMo(50) // 放慢操作速度，便于调试
-                .setArgs(List.of()));
-
-    // 随机选择User-Agent
-    String randomUserAgent = getRandomUserAgent();
-        
-        // 创建浏览器上下文，增强伪装设置
-        CONTEXT = BROWSER.newContext(new Browser.NewContextOptions()
+        return new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setSlowMo(slowMo)
+                .setArgs(List.of());
+    }
+
+    /**
+     * 浏览器上下文参数，增强伪装设置
+     *
+     * @return 上下文参数
+     */
+    public static Browser.NewContextOptions createContextOptions() {
+        // 随机选择User-Agent
+        String randomUserAgent = getRandomUserAgent();
+
+        return new Browser.NewContextOptions()
                 .setUserAgent(randomUserAgent)
                 .setJavaScriptEnabled(true)
                 .setBypassCSP(true)
                 .setPermissions(List.of("geolocation", "notifications")) // 添加一些常见权限
 //                .setExtraHTTPHeaders(createHeaders())
                 .setLocale("zh-CN")
-                .setTimezoneId("Asia/Shanghai"));
+                .setTimezoneId("Asia/Shanghai");
+    }
+
+    /**
+     * 初始化Playwright及浏览器实例
+     */
+    public static void init() {
+        // 启动Playwright
+        PLAYWRIGHT = Playwright.create();
+
+        // 创建浏览器实例：非无头模式，可视化调试；放慢操作速度，便于调试
+        BROWSER = PLAYWRIGHT.chromium().launch(createLaunchOptions(false, 50));
+
+        // 创建浏览器上下文
+        CONTEXT = BROWSER.newContext(createContextOptions());
+
+        // 上下文级别的响应路由器，各平台监控服务在此注册接口监听
+        RESPONSE_ROUTER = new ResponseRouter("default");
+        RESPONSE_ROUTER.attach(CONTEXT);
 
         // 创建页面
         PAGE = CONTEXT.newPage();
@@ -184,6 +218,11 @@ public class PlaywrightUtil {
             BROWSER.close();
         if (PLAYWRIGHT != null)
             PLAYWRIGHT.close();
+        PAGE = null;
+        CONTEXT = null;
+        BROWSER = null;
+        PLAYWRIGHT = null;
+        RESPONSE_ROUTER = null;
 
         log.info("Playwright及浏览器实例已关闭");
     }
@@ -195,11 +234,14 @@ public class PlaywrightUtil {
      * @param seconds 等待的秒数
      */
     public static void sleep(int seconds) {
+        BrowserWaitEvent event = new BrowserWaitEvent(BrowserWaitEvent.SLEEP, null);
         try {
             TimeUnit.SECONDS.sleep(seconds);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Sleep被中断", e);
+        } finally {
+            event.finish();
         }
     }
 
@@ -210,6 +252,7 @@ public class PlaywrightUtil {
      * @param maxSeconds 最大等待秒数
      */
     public static void randomSleep(int minSeconds, int maxSeconds) {
+        BrowserWaitEvent event = new BrowserWaitEvent(BrowserWaitEvent.RANDOM_SLEEP, null);
         try {
             Random random = new Random();
             int randomSeconds = random.nextInt(maxSeconds - minSeconds + 1) + minSeconds;
@@ -218,6 +261,8 @@ public class PlaywrightUtil {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("随机Sleep被中断", e);
+        } finally {
+            event.finish();
         }
     }
 
@@ -231,8 +276,13 @@ public class PlaywrightUtil {
      * @return 元素对象，如果未找到则返回null
      */
     public static Locator waitForElement(String selector, int timeout) {
-        Locator locator = PAGE.locator(selector);
-        locator.waitFor(new Locator.WaitForOptions().setTimeout(timeout));
+        Locator locator = getPageObject().locator(selector);
+        BrowserWaitEvent event = new BrowserWaitEvent(BrowserWaitEvent.ELEMENT, selector);
+        try {
+            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeout));
+        } finally {
+            event.finish();
+        }
         return locator;
     }
 
@@ -253,7 +303,7 @@ public class PlaywrightUtil {
      */
     public static void click(String selector) {
         try {
-            PAGE.locator(selector).click();
+            getPageObject().locator(selector).click();
             log.info("已点击元素: {}", selector);
         } catch (PlaywrightException e) {
             log.error("点击元素失败: {}", selector, e);
@@ -268,7 +318,7 @@ public class PlaywrightUtil {
      */
     public static void fill(String selector, String text) {
         try {
-            PAGE.locator(selector).fill(text);
+            getPageObject().locator(selector).fill(text);
             log.info("已在元素{}中输入文本", selector);
         } catch (PlaywrightException e) {
             log.error("填写表单失败: {}", selector, e);
@@ -285,7 +335,7 @@ public class PlaywrightUtil {
      */
     public static void typeHumanLike(String selector, String text, int minDelay, int maxDelay) {
         try {
-            Locator locator = PAGE.locator(selector);
+            Locator locator = getPageObject().locator(selector);
             
             // 先模拟鼠标移动到元素
             simulateHumanMouseMove(selector);
@@ -314,7 +364,7 @@ public class PlaywrightUtil {
      */
     public static void simulateHumanMouseMove(String selector) {
         try {
-            Locator locator = PAGE.locator(selector);
+            Locator locator = getPageObject().locator(selector);
             
             // 获取元素边界框
             var boundingBox = locator.boundingBox();
@@ -326,7 +376,7 @@ public class PlaywrightUtil {
                 double targetY = boundingBox.y + random.nextDouble() * boundingBox.height;
                 
                 // 模拟鼠标移动轨迹
-                PAGE.mouse().move(targetX, targetY);
+                getPageObject().mouse().move(targetX, targetY);
                 
                 // 添加随机短暂停留
                 randomSleep(1, 2);
@@ -350,7 +400,7 @@ public class PlaywrightUtil {
             randomSleep(1, 3);
             
             // 点击元素
-            PAGE.locator(selector).click();
+            getPageObject().locator(selector).click();
             log.info("已模拟人类点击元素: {}", selector);
         } catch (PlaywrightException e) {
             log.error("模拟人类点击失败: {}", selector, e);
@@ -372,7 +422,7 @@ public class PlaywrightUtil {
                 // 随机化每步的滚动量
                 int currentStep = stepSize + random.nextInt(20) - 10;
                 
-                PAGE.mouse().wheel(0, currentStep);
+                getPageObject().mouse().wheel(0, currentStep);
                 
                 // 随机延迟
                 int delay = 100 + random.nextInt(200);
@@ -409,7 +459,7 @@ public class PlaywrightUtil {
             int pageHeight = 1080; // 假设页面高度
             double randomX = random.nextDouble() * pageWidth;
             double randomY = random.nextDouble() * pageHeight;
-            PAGE.mouse().move(randomX, randomY);
+            getPageObject().mouse().move(randomX, randomY);
             
             log.info("已模拟随机浏览行为");
         } catch (PlaywrightException e) {
@@ -456,11 +506,13 @@ public class PlaywrightUtil {
 
     /**
      * 获取Page对象
+     * 当前线程租用了上下文池中的上下文时返回租用的页面，否则返回默认页面
      *
      * @return Page对象
      */
     public static Page getPageObject() {
-        return PAGE;
+        ThreadBinding binding = THREAD_BINDING.get().peek();
+        return binding != null ? binding.page() : PAGE;
     }
 
     /**
@@ -469,7 +521,8 @@ public class PlaywrightUtil {
      * @return Browser对象
      */
     public static Browser getBrowser() {
-        return BROWSER;
+        ThreadBinding binding = THREAD_BINDING.get().peek();
+        return binding != null ? binding.context().browser() : BROWSER;
     }
 
     /**
@@ -478,7 +531,51 @@ public class PlaywrightUtil {
      * @return BrowserContext对象
      */
     public static BrowserContext getContext() {
-        return CONTEXT;
+        ThreadBinding binding = THREAD_BINDING.get().peek();
+        return binding != null ? binding.context() : CONTEXT;
+    }
+
+    /**
+     * 获取当前上下文的响应路由器
+     *
+     * @return 响应路由器，未初始化时返回null
+     */
+    public static ResponseRouter getResponseRouter() {
+        ThreadBinding binding = THREAD_BINDING.get().peek();
+        return binding != null ? binding.router() : RESPONSE_ROUTER;
+    }
+
+    /**
+     * 将租用的上下文绑定到当前线程，之后本线程通过本工具类获取的页面、上下文均为租用的实例。
+     * 已有绑定时新绑定叠加在上面，解除后恢复外层的绑定。
+     *
+     * @param page    租用的页面
+     * @param context 租用的上下文
+     * @param router  上下文的响应路由器
+     * @return 解除本次绑定的动作，必须在绑定的线程中调用
+     */
+    public static Runnable bindThread(Page page, BrowserContext context, ResponseRouter router) {
+        ThreadBinding binding = new ThreadBinding(page, context, router);
+        THREAD_BINDING.get().push(binding);
+        return () -> unbindThread(binding);
+    }
+
+    /**
+     * 解除当前线程的一次绑定；外层租约先于内层归还时只移除外层的绑定，内层绑定保持不变
+     */
+    private static void unbindThread(ThreadBinding binding) {
+        Deque<ThreadBinding> bindings = THREAD_BINDING.get();
+        bindings.removeFirstOccurrence(binding);
+        if (bindings.isEmpty()) {
+            THREAD_BINDING.remove();
+        }
+    }
+
+    /**
+     * 当前线程是否绑定了租用的上下文
+     */
+    public static boolean isThreadBound() {
+        return !THREAD_BINDING.get().isEmpty();
     }
 
     /**
@@ -513,8 +610,11 @@ public class PlaywrightUtil {
         List<com.microsoft.playwright.options.Cookie> cookies = new ArrayList<>();
         cookies.add(cookie);
 
-        CONTEXT.addCookies(cookies);
+        getContext().addCookies(cookies);
         log.info("已设置Cookie: {}", name);
     }
 
+    private record ThreadBinding(Page page, BrowserContext context, ResponseRouter router) {
+    }
+
 }
@@ -0,0 +1,506 @@
+package getjobs.utils;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import getjobs.service.browser.ResponseRouter;
+import getjobs.service.profiling.BrowserWaitEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 基于列表接口响应驱动的翻页器
+ * <p>
+ * 每次翻页（滚动或点击页码）之后，等待匹配的列表接口响应到达即进入下一页，
+ * 超过空闲超时仍未收到响应时再重试，接口明确返回没有更多数据时立即停止。
+ * 每一页的耗时与等待结束原因都会被记录，便于分析采集耗时。
+ * <p>
+ * 翻页器既可以通过{@link #run()}阻塞执行，也可以通过{@link #step()}由调用方轮询推进，
+ * 轮询方式适用于同一线程交替驱动多个页面的场景。翻页前的随机间隔与限流闸门都以非阻塞方式生效，
+ * 等待期间不会占用驱动线程。
+ * <p>
+ * 页面所在上下文挂载了{@link ResponseRouter}时，通过路由器的临时监听接收列表响应，
+ * 与监控服务共用路由器读取的响应体，不再单独读取一次。
+ */
+@Slf4j
+public class ResponseDrivenPager implements AutoCloseable {
+
+    /**
+     * 单页等待结束原因
+     */
+    public enum WaitReason {
+        /** 收到列表接口响应 */
+        RESPONSE,
+        /** 空闲超时未收到响应 */
+        IDLE_TIMEOUT,
+        /** 接口返回没有更多数据 */
+        NO_MORE,
+        /** 无法继续翻页（例如没有下一页按钮） */
+        ADVANCE_FAILED,
+        /** 达到最大页数 */
+        MAX_PAGES,
+        /** 本页条目大多已采集过，增量采集提前结束 */
+        KNOWN
+    }
+
+    /**
+     * 列表接口响应中解析出的分页信息
+     *
+     * @param itemCount  本页条目数
+     * @param hasMore    接口是否声明还有更多数据，null表示接口未提供
+     * @param totalCount 接口声明的总条目数，null表示接口未提供
+     * @param itemIds    本页条目ID，用于增量采集判断是否已采集过
+     */
+    public record PageInfo(int itemCount, Boolean hasMore, Integer totalCount, List<String> itemIds) {
+
+        public PageInfo(int itemCount, Boolean hasMore, Integer totalCount) {
+            this(itemCount, hasMore, totalCount, List.of());
+        }
+    }
+
+    /**
+     * 单页记录
+     *
+     * @param pageIndex  页序号，从1开始
+     * @param wallTimeMs 从翻页动作到等待结束的耗时
+     * @param reason     等待结束原因
+     * @param itemCount  本页条目数
+     */
+    public record PageRecord(int pageIndex, long wallTimeMs, WaitReason reason, int itemCount) {
+    }
+
+    /**
+     * 翻页结果
+     *
+     * @param label      翻页器标识
+     * @param pages      每页记录
+     * @param totalItems 收到的条目总数
+     * @param totalMs    总耗时
+     * @param stopReason 停止原因
+     */
+    public record PagerResult(String label, List<PageRecord> pages, int totalItems, long totalMs,
+                              WaitReason stopReason) {
+
+        public long countByReason(WaitReason reason) {
+            return pages.stream().filter(record -> record.reason() == reason).count();
+        }
+    }
+
+    private record Arrival(PageInfo info, long arrivedAt) {
+    }
+
+    private final Page page;
+    private final String label;
+    private final String urlFragment;
+    private final Function<String, PageInfo> inspector;
+    private final BooleanSupplier advance;
+    private final long idleTimeoutMs;
+    private final int maxIdleRounds;
+    private final int maxPages;
+    private final long pollIntervalMs;
+    private final boolean awaitInitialResponse;
+    private final long minAdvanceDelayMs;
+    private final long maxAdvanceDelayMs;
+    private final BooleanSupplier gate;
+    private final Predicate<PageInfo> stopWhen;
+    private final int pageOffset;
+
+    private final ResponseRouter router;
+
+    private final Queue<Arrival> arrivals = new ConcurrentLinkedQueue<>();
+    private final Consumer<Response> listener = this::onResponse;
+    private Runnable routerListener;
+    private final List<PageRecord> records = new ArrayList<>();
+
+    private long startedAt;
+    private long waitStartedAt;
+    private int idleRounds;
+    private int totalItems;
+    private int responsePages;
+    private boolean listening;
+    private boolean advancePending;
+    private long advanceNotBefore;
+    private WaitReason stopReason;
+
+    private ResponseDrivenPager(Builder builder) {
+        this.page = builder.page;
+        this.label = builder.label;
+        this.urlFragment = builder.urlFragment;
+        this.inspector = builder.inspector;
+        this.advance = builder.advance;
+        this.idleTimeoutMs = builder.idleTimeoutMs;
+        this.maxIdleRounds = builder.maxIdleRounds;
+        this.maxPages = builder.maxPages;
+        this.pollIntervalMs = builder.pollIntervalMs;
+        this.awaitInitialResponse = builder.awaitInitialResponse;
+        this.minAdvanceDelayMs = builder.minAdvanceDelayMs;
+        this.maxAdvanceDelayMs = builder.maxAdvanceDelayMs;
+        this.gate = builder.gate;
+        this.stopWhen = builder.stopWhen;
+        this.pageOffset = builder.pageOffset;
+        this.router = builder.router;
+    }
+
+    public static Builder builder(Page page, String urlFragment, Function<String, PageInfo> inspector) {
+        return new Builder(page, urlFragment, inspector);
+    }
+
+    /**
+     * 开始翻页：先挂载响应监听，再执行首屏动作（通常是导航），首屏的列表响应计为第1页；
+     * 首屏由服务端渲染、不会触发列表接口时，首屏动作完成后直接翻到下一页
+     *
+     * @param initialAction 首屏动作
+     * @return 当前翻页器
+     */
+    public ResponseDrivenPager start(Runnable initialAction) {
+        ResponseRouter contextRouter = router != null ? router : ResponseRouter.of(page.context());
+        if (contextRouter != null) {
+            routerListener = contextRouter.addListener(page, urlFragment, (response, body) -> onBody(body));
+        } else {
+            page.onResponse(listener);
+        }
+        listening = true;
+        startedAt = System.currentTimeMillis();
+        waitStartedAt = startedAt;
+        if (initialAction != null) {
+            initialAction.run();
+        }
+        if (!awaitInitialResponse) {
+            scheduleAdvance(0);
+            tryAdvance(System.currentTimeMillis());
+        }
+        return this;
+    }
+
+    /**
+     * 推进一步，不阻塞等待
+     *
+     * @return 是否仍需继续推进
+     */
+    public boolean step() {
+        if (stopReason != null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        if (advancePending) {
+            return tryAdvance(now);
+        }
+
+        Arrival arrival = arrivals.poll();
+
+        if (arrival != null) {
+            idleRounds = 0;
+            PageInfo info = arrival.info();
+            totalItems += info.itemCount();
+            responsePages++;
+            records.add(new PageRecord(records.size() + 1,
+                    Math.max(0, arrival.arrivedAt() - waitStartedAt), WaitReason.RESPONSE, info.itemCount()));
+            log.debug("{}第{}页响应到达，条目: {}，耗时: {} ms", label, records.size(), info.itemCount(),
+                    arrival.arrivedAt() - waitStartedAt);
+
+            if (isLastPage(info)) {
+                return finish(WaitReason.NO_MORE);
+            }
+            if (stopWhen != null && stopWhen.test(info)) {
+                return finish(WaitReason.KNOWN);
+            }
+            if (records.size() >= maxPages) {
+                return finish(WaitReason.MAX_PAGES);
+            }
+            scheduleAdvance(randomAdvanceDelay());
+            return tryAdvance(now);
+        }
+
+        if (now - waitStartedAt >= idleTimeoutMs) {
+            idleRounds++;
+            records.add(new PageRecord(records.size() + 1, now - waitStartedAt, WaitReason.IDLE_TIMEOUT, 0));
+            log.debug("{}等待列表响应超时（第{}次）", label, idleRounds);
+            if (idleRounds >= maxIdleRounds) {
+                return finish(WaitReason.IDLE_TIMEOUT);
+            }
+            scheduleAdvance(0);
+            return tryAdvance(now);
+        }
+        return true;
+    }
+
+    /**
+     * 阻塞执行直到翻页结束
+     *
+     * @return 翻页结果
+     */
+    public PagerResult run() {
+        try {
+            while (step()) {
+                // waitForTimeout期间Playwright会继续分发响应事件
+                BrowserWaitEvent event = new BrowserWaitEvent(BrowserWaitEvent.PAGER_POLL, label);
+                page.waitForTimeout(pollIntervalMs);
+                event.finish();
+            }
+        } catch (Exception e) {
+            log.error("{}翻页过程中发生错误: {}", label, e.getMessage());
+            finish(WaitReason.ADVANCE_FAILED);
+        } finally {
+            close();
+        }
+        PagerResult result = getResult();
+        log.info("{}翻页结束，共{}页，条目: {}，总耗时: {} ms，响应: {}，空闲超时: {}，停止原因: {}",
+                label, result.pages().size(), result.totalItems(), result.totalMs(),
+                result.countByReason(WaitReason.RESPONSE), result.countByReason(WaitReason.IDLE_TIMEOUT),
+                result.stopReason());
+        return result;
+    }
+
+    /**
+     * 是否已结束
+     */
+    public boolean isFinished() {
+        return stopReason != null;
+    }
+
+    /**
+     * 获取当前翻页结果
+     */
+    public PagerResult getResult() {
+        long end = System.currentTimeMillis();
+        return new PagerResult(label, Collections.unmodifiableList(new ArrayList<>(records)), totalItems,
+                startedAt > 0 ? end - startedAt : 0, stopReason);
+    }
+
+    public Page getPage() {
+        return page;
+    }
+
+    /**
+     * 已收到响应的最后一页页码，包含起始页偏移
+     */
+    public int getLastPage() {
+        return pageOffset + responsePages;
+    }
+
+    @Override
+    public void close() {
+        if (listening) {
+            listening = false;
+            try {
+                if (routerListener != null) {
+                    routerListener.run();
+                } else {
+                    page.offResponse(listener);
+                }
+            } catch (Exception e) {
+                log.debug("{}移除响应监听失败: {}", label, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 上下文没有挂载路由器时直接监听页面响应并自行读取响应体
+     */
+    private void onResponse(Response response) {
+        if (!response.url().contains(urlFragment)) {
+            return;
+        }
+        String body;
+        try {
+            body = response.text();
+        } catch (Exception e) {
+            log.debug("{}读取列表响应失败: {}", label, e.getMessage());
+            body = null;
+        }
+        onBody(body);
+    }
+
+    private void onBody(String body) {
+        long arrivedAt = System.currentTimeMillis();
+        PageInfo info;
+        try {
+            info = body == null ? null : inspector.apply(body);
+        } catch (Exception e) {
+            log.debug("{}解析列表响应失败: {}", label, e.getMessage());
+            info = null;
+        }
+        arrivals.add(new Arrival(Objects.requireNonNullElseGet(info, () -> new PageInfo(0, null, null)),
+                arrivedAt));
+    }
+
+    private boolean isLastPage(PageInfo info) {
+        if (Boolean.FALSE.equals(info.hasMore())) {
+            return true;
+        }
+        if (info.totalCount() != null && totalItems >= info.totalCount()) {
+            return true;
+        }
+        return info.itemCount() == 0 && info.hasMore() == null;
+    }
+
+    private void scheduleAdvance(long delayMs) {
+        advancePending = true;
+        advanceNotBefore = System.currentTimeMillis() + delayMs;
+    }
+
+    /**
+     * 翻页间隔已到且限流闸门放行时执行翻页，否则保持等待状态
+     */
+    private boolean tryAdvance(long now) {
+        if (now < advanceNotBefore || (gate != null && !gate.getAsBoolean())) {
+            return true;
+        }
+        advancePending = false;
+        return advance();
+    }
+
+    private long randomAdvanceDelay() {
+        if (maxAdvanceDelayMs <= 0) {
+            return 0;
+        }
+        return minAdvanceDelayMs >= maxAdvanceDelayMs
+                ? minAdvanceDelayMs
+                : ThreadLocalRandom.current().nextLong(minAdvanceDelayMs, maxAdvanceDelayMs + 1);
+    }
+
+    private boolean advance() {
+        boolean advanced;
+        try {
+            advanced = advance != null && advance.getAsBoolean();
+        } catch (Exception e) {
+            log.warn("{}翻页动作执行失败: {}", label, e.getMessage());
+            advanced = false;
+        }
+        if (!advanced) {
+            return finish(WaitReason.ADVANCE_FAILED);
+        }
+        waitStartedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    private boolean finish(WaitReason reason) {
+        stopReason = reason;
+        return false;
+    }
+
+    /**
+     * 翻页器构建器
+     */
+    public static class Builder {
+        private final Page page;
+        private final String urlFragment;
+        private final Function<String, PageInfo> inspector;
+        private String label = "列表";
+        private BooleanSupplier advance;
+        private long idleTimeoutMs = 4000;
+        private int maxIdleRounds = 2;
+        private int maxPages = 50;
+        private long pollIntervalMs = 100;
+        private boolean awaitInitialResponse = true;
+        private long minAdvanceDelayMs;
+        private long maxAdvanceDelayMs;
+        private BooleanSupplier gate;
+        private Predicate<PageInfo> stopWhen;
+        private int pageOffset;
+        private ResponseRouter router;
+
+        private Builder(Page page, String urlFragment, Function<String, PageInfo> inspector) {
+            this.page = page;
+            this.urlFragment = urlFragment;
+            this.inspector = inspector;
+        }
+
+        public Builder label(String label) {
+            this.label = label;
+            return this;
+        }
+
+        /**
+         * 翻页动作，返回false表示无法继续翻页
+         */
+        public Builder advance(BooleanSupplier advance) {
+            this.advance = advance;
+            return this;
+        }
+
+        public Builder idleTimeoutMs(long idleTimeoutMs) {
+            this.idleTimeoutMs = idleTimeoutMs;
+            return this;
+        }
+
+        public Builder maxIdleRounds(int maxIdleRounds) {
+            this.maxIdleRounds = maxIdleRounds;
+            return this;
+        }
+
+        public Builder maxPages(int maxPages) {
+            this.maxPages = maxPages;
+            return this;
+        }
+
+        public Builder pollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+            return this;
+        }
+
+        /**
+         * 首屏动作是否会触发列表接口响应
+         */
+        public Builder awaitInitialResponse(boolean awaitInitialResponse) {
+            this.awaitInitialResponse = awaitInitialResponse;
+            return this;
+        }
+
+        /**
+         * 收到响应后到下一次翻页之间的随机间隔，等待以非阻塞方式进行
+         */
+        public Builder advanceDelayMs(long minDelayMs, long maxDelayMs) {
+            this.minAdvanceDelayMs = minDelayMs;
+            this.maxAdvanceDelayMs = maxDelayMs;
+            return this;
+        }
+
+        /**
+         * 限流闸门，返回false时本轮不翻页，下一次推进时再尝试
+         */
+        public Builder gate(BooleanSupplier gate) {
+            this.gate = gate;
+            return this;
+        }
+
+        /**
+         * 提前结束条件，每收到一页响应判断一次，返回true时不再翻页
+         */
+        public Builder stopWhen(Predicate<PageInfo> stopWhen) {
+            this.stopWhen = stopWhen;
+            return this;
+        }
+
+        /**
+         * 起始页偏移，从第N页开始翻页时为N-1，用于计算绝对页码
+         */
+        public Builder pageOffset(int pageOffset) {
+            this.pageOffset = Math.max(0, pageOffset);
+            return this;
+        }
+
+        /**
+         * 接收列表响应的路由器，默认使用页面所在上下文挂载的路由器
+         */
+        public Builder router(ResponseRouter router) {
+            this.router = router;
+            return this;
+        }
+
+        public ResponseDrivenPager build() {
+            return new ResponseDrivenPager(this);
+        }
+    }
+}
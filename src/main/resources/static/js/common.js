@@ -114,6 +114,74 @@ class CommonUtils {
     }
 
     // 初始化工具提示
+    // 提交异步任务并等待结束，返回合并了任务结果的对象 { success, message, taskId, status, ...result }
+    // statusId 对应的元素在执行期间显示排队、阶段、进度和采集计数
+    static async runTask(url, body, statusId) {
+        const response = await fetch(url, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify(body)
+        });
+        const submitted = await response.json();
+        if (!response.ok || !submitted.success) return submitted;
+
+        const statusEl = statusId ? document.getElementById(statusId) : null;
+        const render = (task) => {
+            if (statusEl) statusEl.textContent = CommonUtils.describeTask(task);
+        };
+        const taskUrl = `/api/tasks/${encodeURIComponent(submitted.taskId)}`;
+        if (window.EventSource) {
+            const finished = await new Promise((resolve) => {
+                const source = new EventSource(`${taskUrl}/events`);
+                source.addEventListener('progress', (e) => render(JSON.parse(e.data)));
+                source.addEventListener('done', (e) => {
+                    source.close();
+                    resolve(JSON.parse(e.data));
+                });
+                // 连接失败时改为轮询
+                source.onerror = () => {
+                    source.close();
+                    resolve(null);
+                };
+            });
+            if (finished) return CommonUtils.toTaskResult(finished);
+        }
+
+        while (true) {
+            await new Promise(resolve => setTimeout(resolve, 1000));
+            const res = await fetch(taskUrl);
+            const payload = await res.json();
+            if (!payload.success) return payload;
+            const task = payload.data;
+            if (task.state === 'QUEUED' || task.state === 'RUNNING') {
+                render(task);
+                continue;
+            }
+            return CommonUtils.toTaskResult(task);
+        }
+    }
+
+    // 任务执行中的状态文字，如：搜索岗位 3/12 · 翻页18 · 岗位420(新增95)
+    static describeTask(task) {
+        if (task.state === 'QUEUED') return '排队中...';
+        const parts = [`${task.stage || '执行中'}${task.total > 0 ? ` ${task.done}/${task.total}` : ''}`];
+        const c = task.counters || {};
+        if (c.pages) parts.push(`翻页${c.pages}`);
+        if (c.jobsCaptured) parts.push(`岗位${c.jobsCaptured}(新增${c.jobsNew || 0})`);
+        if (c.delivered) parts.push(`已投递${c.delivered}`);
+        return parts.join(' · ');
+    }
+
+    static toTaskResult(task) {
+        return {
+            ...(task.result || {}),
+            taskId: task.taskId,
+            status: task.state,
+            success: task.state === 'COMPLETED',
+            message: task.state === 'COMPLETED' ? task.message : (task.error || task.message)
+        };
+    }
+
     static initializeTooltips() {
         const tooltipTriggerList = [].slice.call(document.querySelectorAll('[data-bs-toggle="tooltip"]'));
         tooltipTriggerList.map(function (tooltipTriggerEl) {
@@ -847,13 +847,7 @@
 
             try {
                 const config = this.getCurrentConfig();
-                const response = await fetch('/api/boss/task/login', {
-                    method: 'POST',
-                    headers: { 'Content-Type': 'application/json' },
-                    body: JSON.stringify(config)
-                });
-
-                const result = await response.json();
+                const result = await CommonUtils.runTask('/api/boss/task/login', config, 'loginStatus');
 
                 if (result.success) {
                     this.taskStates.loginTaskId = result.taskId;
@@ -893,13 +887,7 @@
 
             try {
                 const config = this.getCurrentConfig();
-                const response = await fetch('/api/boss/task/collect', {
-                    method: 'POST',
-                    headers: { 'Content-Type': 'application/json' },
-                    body: JSON.stringify(config)
-                });
-
-                const result = await response.json();
+                const result = await CommonUtils.runTask('/api/boss/task/collect', config, 'collectStatus');
 
                 if (result.success) {
                     this.taskStates.collectTaskId = result.taskId;
@@ -931,13 +919,7 @@
                     config: config
                 };
 
-                const response = await fetch('/api/boss/task/filter', {
-                    method: 'POST',
-                    headers: { 'Content-Type': 'application/json' },
-                    body: JSON.stringify(request)
-                });
-
-                const result = await response.json();
+                const result = await CommonUtils.runTask('/api/boss/task/filter', request, 'filterStatus');
 
                 if (result.success) {
                     this.taskStates.filterTaskId = result.taskId;
@@ -980,19 +962,13 @@
                     enableActualDelivery: enableActualDelivery
                 };
 
-                const response = await fetch('/api/boss/task/deliver', {
-                    method: 'POST',
-                    headers: { 'Content-Type': 'application/json' },
-                    body: JSON.stringify(request)
-                });
-
-                const result = await response.json();
+                const result = await CommonUtils.runTask('/api/boss/task/deliver', request, 'deliverStatus');
 
                 if (result.success) {
                     this.taskStates.applyTaskId = result.taskId;
                     const deliveryType = result.actualDelivery ? '实际投递' : '模拟投递';
-                    this.updateButtonState('deliverBtn', 'deliverStatus', `${deliveryType}完成(${result.appliedCount}/${result.totalCount})`, false, 'success');
-                    CommonUtils.showToast(`${deliveryType}完成！处理了 ${result.appliedCount} 个职位`);
+                    this.updateButtonState('deliverBtn', 'deliverStatus', `${deliveryType}完成(${result.deliveredCount}/${result.totalCount})`, false, 'success');
+                    CommonUtils.showToast(`${deliveryType}完成！处理了 ${result.deliveredCount} 个职位`);
                 } else {
                     this.updateButtonState('deliverBtn', 'deliverStatus', '投递失败', false, 'danger');
                     CommonUtils.showToast(result.message || '投递失败', 'danger');
@@ -166,13 +166,15 @@
                         // PENDING(1, "待处理"),
                         //     FILTERED(2, "已过滤"),
                         //     DELIVERED_SUCCESS(3, "投递成功"),
-                        //     DELIVERED_FAILED(4, "投递失败");
+                        //     DELIVERED_FAILED(4, "投递失败"),
+                        //     INVALID(5, "已失效");
                         const statusMap = {
                             0: '待处理',
                             1: '待处理',
                             2: '已过滤',
                             3: '投递成功',
-                            4: '投递失败'
+                            4: '投递失败',
+                            5: '已失效'
                         };
                         return statusMap[status] || '未知';
                     },
@@ -629,13 +629,7 @@ class Job51ConfigForm {
         
         try {
             const config = this.getCurrentConfig();
-            const response = await fetch('/api/job51/task/login', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(config)
-            });
-
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/job51/task/login', config, 'job51LoginStatus');
             
             if (result.success) {
                 this.taskStates.loginTaskId = result.taskId;
@@ -686,13 +680,7 @@ class Job51ConfigForm {
         
         try {
             const config = this.getCurrentConfig();
-            const response = await fetch('/api/job51/task/collect', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(config)
-            });
-
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/job51/task/collect', config, 'job51CollectStatus');
             
             if (result.success) {
                 this.taskStates.collectTaskId = result.taskId;
@@ -725,13 +713,7 @@ class Job51ConfigForm {
                 config: config
             };
 
-            const response = await fetch('/api/job51/task/filter', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(request)
-            });
-
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/job51/task/filter', request, 'job51FilterStatus');
             
             if (result.success) {
                 this.taskStates.filterTaskId = result.taskId;
@@ -775,20 +757,14 @@ class Job51ConfigForm {
                 enableActualDelivery: enableActualDelivery
             };
 
-            const response = await fetch('/api/job51/task/deliver', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(request)
-            });
-
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/job51/task/deliver', request, 'job51ApplyStatus');
             
             if (result.success) {
                 this.taskStates.applyTaskId = result.taskId;
                 const deliveryType = result.actualDelivery ? '实际投递' : '模拟投递';
                 this.updateButtonState('job51ApplyBtn', 'job51ApplyStatus', 
-                    `${deliveryType}完成(${result.appliedCount}/${result.totalCount})`, false);
-                this.showToast(`${deliveryType}完成！处理了 ${result.appliedCount} 个职位`);
+                    `${deliveryType}完成(${result.deliveredCount}/${result.totalCount})`, false);
+                this.showToast(`${deliveryType}完成！处理了 ${result.deliveredCount} 个职位`);
             } else {
                 this.updateButtonState('job51ApplyBtn', 'job51ApplyStatus', '投递失败', false);
                 this.showToast(result.message || '投递失败', 'danger');
@@ -304,12 +304,7 @@ class LiepinConfigForm {
     async handleLogin() {
         this.updateButtonState('liepinLoginBtn', 'liepinLoginStatus', '执行中...', true);
         try {
-            const response = await fetch('/api/liepin/task/login', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(this.getCurrentConfig())
-            });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/liepin/task/login', this.getCurrentConfig(), 'liepinLoginStatus');
             if (result.success) {
                 this.taskStates.loginTaskId = result.taskId;
                 this.updateButtonState('liepinLoginBtn', 'liepinLoginStatus', '登录成功', false);
@@ -334,12 +329,7 @@ class LiepinConfigForm {
         }
         this.updateButtonState('liepinCollectBtn', 'liepinCollectStatus', '采集中...', true);
         try {
-            const response = await fetch('/api/liepin/task/collect', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(this.getCurrentConfig())
-            });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/liepin/task/collect', this.getCurrentConfig(), 'liepinCollectStatus');
             if (result.success) {
                 this.taskStates.collectTaskId = result.taskId;
                 this.updateButtonState('liepinCollectBtn', 'liepinCollectStatus', `采集完成(${result.jobCount}个职位)`, false);
@@ -362,12 +352,7 @@ class LiepinConfigForm {
         this.updateButtonState('liepinFilterBtn', 'liepinFilterStatus', '过滤中...', true);
         try {
             const request = { collectTaskId: this.taskStates.collectTaskId, config: this.getCurrentConfig() };
-            const response = await fetch('/api/liepin/task/filter', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(request)
-            });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/liepin/task/filter', request, 'liepinFilterStatus');
             if (result.success) {
                 this.taskStates.filterTaskId = result.taskId;
                 this.updateButtonState('liepinFilterBtn', 'liepinFilterStatus', `过滤完成(${result.originalCount}→${result.filteredCount})`, false);
@@ -394,17 +379,12 @@ class LiepinConfigForm {
         this.updateButtonState('liepinApplyBtn', 'liepinApplyStatus', '投递中...', true);
         try {
             const request = { filterTaskId: this.taskStates.filterTaskId, config: this.getCurrentConfig(), enableActualDelivery };
-            const response = await fetch('/api/liepin/task/deliver', {
-                method: 'POST',
-                headers: { 'Content-Type': 'application/json' },
-                body: JSON.stringify(request)
-            });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/liepin/task/deliver', request, 'liepinApplyStatus');
             if (result.success) {
                 this.taskStates.applyTaskId = result.taskId;
                 const deliveryType = result.actualDelivery ? '实际投递' : '模拟投递';
-                this.updateButtonState('liepinApplyBtn', 'liepinApplyStatus', `${deliveryType}完成(${result.appliedCount}/${result.totalCount})`, false);
-                this.showToast(`${deliveryType}完成！处理了 ${result.appliedCount} 个职位`);
+                this.updateButtonState('liepinApplyBtn', 'liepinApplyStatus', `${deliveryType}完成(${result.deliveredCount}/${result.totalCount})`, false);
+                this.showToast(`${deliveryType}完成！处理了 ${result.deliveredCount} 个职位`);
             } else {
                 this.updateButtonState('liepinApplyBtn', 'liepinApplyStatus', '投递失败', false);
                 this.showToast(result.message || '投递失败', 'danger');
@@ -143,7 +143,8 @@
                             1: { text: '待处理', class: 'badge bg-secondary' },
                             2: { text: '已过滤', class: 'badge bg-warning' },
                             3: { text: '投递成功', class: 'badge bg-success' },
-                            4: { text: '投递失败', class: 'badge bg-danger' }
+                            4: { text: '投递失败', class: 'badge bg-danger' },
+                            5: { text: '已失效', class: 'badge bg-light text-dark' }
                         };
                         return statusMap[status] || { text: '未知', class: 'badge bg-dark' };
                     },
@@ -397,10 +397,7 @@ class ZhilianConfigForm {
         if (!this.validateRequiredFields()) { this.showAlertModal('验证失败', '请先完善必填项'); return; }
         this.updateButtonState('zhilianLoginBtn', 'zhilianLoginStatus', '执行中...', true);
         try {
-            const response = await fetch('/api/zhilian/task/login', {
-                method: 'POST', headers: { 'Content-Type': 'application/json' }, body: JSON.stringify(this.getCurrentConfig())
-            });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/zhilian/task/login', this.getCurrentConfig(), 'zhilianLoginStatus');
             if (result.success) {
                 this.taskStates.loginTaskId = result.taskId;
                 this.updateButtonState('zhilianLoginBtn', 'zhilianLoginStatus', '登录成功', false);
@@ -431,10 +428,7 @@ class ZhilianConfigForm {
         if (!this.taskStates.loginTaskId) { this.showAlertModal('操作提示', '请先完成登录步骤'); return; }
         this.updateButtonState('zhilianCollectBtn', 'zhilianCollectStatus', '采集中...', true);
         try {
-            const response = await fetch('/api/zhilian/task/collect', {
-                method: 'POST', headers: { 'Content-Type': 'application/json' }, body: JSON.stringify(this.getCurrentConfig())
-            });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/zhilian/task/collect', this.getCurrentConfig(), 'zhilianCollectStatus');
             if (result.success) {
                 this.taskStates.collectTaskId = result.taskId;
                 this.updateButtonState('zhilianCollectBtn', 'zhilianCollectStatus', `采集完成(${result.jobCount}个职位)`, false);
@@ -454,8 +448,7 @@ class ZhilianConfigForm {
         this.updateButtonState('zhilianFilterBtn', 'zhilianFilterStatus', '过滤中...', true);
         try {
             const request = { collectTaskId: this.taskStates.collectTaskId, config: this.getCurrentConfig() };
-            const response = await fetch('/api/zhilian/task/filter', { method: 'POST', headers: { 'Content-Type': 'application/json' }, body: JSON.stringify(request) });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/zhilian/task/filter', request, 'zhilianFilterStatus');
             if (result.success) {
                 this.taskStates.filterTaskId = result.taskId;
                 this.updateButtonState('zhilianFilterBtn', 'zhilianFilterStatus', `过滤完成(${result.originalCount}→${result.filteredCount})`, false);
@@ -479,13 +472,12 @@ class ZhilianConfigForm {
         this.updateButtonState('zhilianApplyBtn', 'zhilianApplyStatus', '投递中...', true);
         try {
             const request = { filterTaskId: this.taskStates.filterTaskId, config: this.getCurrentConfig(), enableActualDelivery };
-            const response = await fetch('/api/zhilian/task/deliver', { method: 'POST', headers: { 'Content-Type': 'application/json' }, body: JSON.stringify(request) });
-            const result = await response.json();
+            const result = await CommonUtils.runTask('/api/zhilian/task/deliver', request, 'zhilianApplyStatus');
             if (result.success) {
                 this.taskStates.applyTaskId = result.taskId;
                 const deliveryType = result.actualDelivery ? '实际投递' : '模拟投递';
-                this.updateButtonState('zhilianApplyBtn', 'zhilianApplyStatus', `${deliveryType}完成(${result.appliedCount}/${result.totalCount})`, false);
-                this.showToast(`${deliveryType}完成！处理了 ${result.appliedCount} 个职位`);
+                this.updateButtonState('zhilianApplyBtn', 'zhilianApplyStatus', `${deliveryType}完成(${result.deliveredCount}/${result.totalCount})`, false);
+                this.showToast(`${deliveryType}完成！处理了 ${result.deliveredCount} 个职位`);
             } else {
                 this.updateButtonState('zhilianApplyBtn', 'zhilianApplyStatus', '投递失败', false);
                 this.showToast(result.message || '投递失败', 'danger');